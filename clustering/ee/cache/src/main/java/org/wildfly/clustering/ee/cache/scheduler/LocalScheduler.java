@@ -49,6 +49,7 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
     private final ScheduledEntries<T, Instant> entries;
     private final Predicate<T> task;
     private final Duration closeTimeout;
+    private final Duration pollingInterval;
 
     private volatile Future<?> future = null;
 
@@ -60,6 +61,7 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
         this.entries = entries;
         this.task = task;
         this.closeTimeout = closeTimeout;
+        this.pollingInterval = entries.getPollingInterval();
     }
 
     @Override
@@ -151,6 +153,10 @@ public class LocalScheduler<T> implements Scheduler<T, Instant>, Iterable<T>, Ru
 
     private Future<?> schedule(Map.Entry<T, Instant> entry) {
         Duration delay = Duration.between(Instant.now(), entry.getValue());
+        // Entries added after scheduling this task might precede the current first entry
+        if ((this.pollingInterval != null) && (delay.compareTo(this.pollingInterval) > 0)) {
+            delay = this.pollingInterval;
+        }
         long millis = !delay.isNegative() ? delay.toMillis() + 1 : 0;
         try {
             return this.executor.schedule(this, millis, TimeUnit.MILLISECONDS);
@@ -21,6 +21,7 @@
  */
 package org.wildfly.clustering.ee.cache.scheduler;
 
+import java.time.Duration;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -32,10 +33,19 @@ public interface ScheduledEntries<K, V> extends Iterable<Map.Entry<K, V>> {
 
     /**
      * Indicates whether the entries are sorted, or if iteration order recapitulates insertion order.
+     * A scheduler tracks the first entry of sorted entries as entries are added or removed.
      * @return true, if these entries are sorted, false otherwise.
      */
     boolean isSorted();
 
+    /**
+     * Returns the maximum interval at which a scheduler should poll unsorted entries whose first entry may change as entries are added.
+     * @return a polling interval, or null, if the first entry is only ever superseded by its removal.
+     */
+    default Duration getPollingInterval() {
+        return null;
+    }
+
     /**
      * Adds an entry using the specified key and value.
      * @param key an entry key
@@ -0,0 +1,193 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * {@link ScheduledEntries} implemented using a timing wheel, where entries are hashed into buckets based on their scheduled instant, truncated to a given resolution.
+ * A sorted index of the ticks of non-empty buckets allows iteration to skip directly to the next occupied bucket, regardless of the resolution of the wheel or of how far into the future entries are scheduled.
+ * Adding or removing an entry runs in O(1) time, unless it creates or empties a bucket, which updates the index in O(log n) time, where n is the number of non-empty buckets.
+ * The cost of sorting entries is deferred to iteration, which only sorts the entries of a given bucket.
+ * While iteration is sorted, determining the first entry requires sorting the first bucket.
+ * As this is too expensive to perform on every addition or removal, these entries report themselves as unsorted, and are instead polled by a scheduler at the resolution of the wheel.
+ * @author Paul Ferraro
+ */
+public class TimingWheelScheduledEntries<K> implements ScheduledEntries<K, Instant> {
+
+    private final Map<K, Entry<K>> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Map<K, Entry<K>>> buckets = new ConcurrentHashMap<>();
+    // Ticks of non-empty buckets, only modified while computing the bucket of a given tick
+    private final NavigableSet<Long> ticks = new ConcurrentSkipListSet<>();
+    private final long resolution;
+
+    /**
+     * Creates a new entries object using the specified resolution.
+     * @param resolution the duration of time spanned by each bucket of the wheel
+     */
+    public TimingWheelScheduledEntries(Duration resolution) {
+        if (resolution.isNegative() || resolution.isZero()) {
+            throw new IllegalArgumentException(resolution.toString());
+        }
+        this.resolution = Math.max(resolution.toMillis(), 1L);
+    }
+
+    @Override
+    public boolean isSorted() {
+        // Prevents a scheduler from peeking the first entry on every addition or removal
+        return false;
+    }
+
+    @Override
+    public Duration getPollingInterval() {
+        return Duration.ofMillis(this.resolution);
+    }
+
+    @Override
+    public void add(K key, Instant value) {
+        Entry<K> entry = new Entry<>(key, value, Math.floorDiv(value.toEpochMilli(), this.resolution));
+        this.entries.compute(key, (k, oldEntry) -> {
+            if (oldEntry != null) {
+                this.removeFromBucket(oldEntry);
+            }
+            this.addToBucket(entry);
+            return entry;
+        });
+    }
+
+    @Override
+    public void remove(K key) {
+        this.entries.computeIfPresent(key, (k, entry) -> {
+            this.removeFromBucket(entry);
+            return null;
+        });
+    }
+
+    @Override
+    public Iterator<Map.Entry<K, Instant>> iterator() {
+        return this.entries.isEmpty() ? Collections.emptyIterator() : new EntryIterator(this.ticks.iterator());
+    }
+
+    private void addToBucket(Entry<K> entry) {
+        this.buckets.compute(entry.tick, (tick, bucket) -> {
+            if (bucket == null) {
+                bucket = new ConcurrentHashMap<>();
+                this.ticks.add(tick);
+            }
+            bucket.put(entry.getKey(), entry);
+            return bucket;
+        });
+    }
+
+    private void removeFromBucket(Entry<K> entry) {
+        this.buckets.computeIfPresent(entry.tick, (tick, bucket) -> {
+            bucket.remove(entry.getKey());
+            if (!bucket.isEmpty()) return bucket;
+            this.ticks.remove(tick);
+            return null;
+        });
+    }
+
+    /**
+     * Returns the entries of the bucket for the specified tick, sorted by value.
+     */
+    private Iterator<Entry<K>> due(long tick) {
+        Map<K, Entry<K>> bucket = this.buckets.get(tick);
+        if (bucket == null) return Collections.emptyIterator();
+        List<Entry<K>> due = new ArrayList<>(bucket.values());
+        if (due.size() > 1) {
+            due.sort(Map.Entry.comparingByValue());
+        }
+        return due.iterator();
+    }
+
+    private void remove(Entry<K> entry) {
+        this.entries.computeIfPresent(entry.getKey(), (key, existing) -> {
+            if (existing != entry) return existing;
+            this.removeFromBucket(existing);
+            return null;
+        });
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, Instant>> {
+        private final Iterator<Long> ticks;
+        private Iterator<Entry<K>> due = Collections.emptyIterator();
+        private Entry<K> current = null;
+
+        EntryIterator(Iterator<Long> ticks) {
+            this.ticks = ticks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!this.due.hasNext()) {
+                if (!this.ticks.hasNext()) return false;
+                this.due = TimingWheelScheduledEntries.this.due(this.ticks.next());
+            }
+            return true;
+        }
+
+        @Override
+        public Map.Entry<K, Instant> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            this.current = this.due.next();
+            return this.current;
+        }
+
+        @Override
+        public void remove() {
+            if (this.current == null) {
+                throw new IllegalStateException();
+            }
+            TimingWheelScheduledEntries.this.remove(this.current);
+            this.current = null;
+        }
+    }
+
+    /**
+     * A {@link SimpleImmutableEntry} that additionally records the tick of the wheel to which it was assigned.
+     */
+    static class Entry<K> extends SimpleImmutableEntry<K, Instant> {
+        private static final long serialVersionUID = 2966316898024384766L;
+
+        final long tick;
+
+        Entry(K key, Instant value, long tick) {
+            super(key, value);
+            this.tick = tick;
+        }
+    }
+}
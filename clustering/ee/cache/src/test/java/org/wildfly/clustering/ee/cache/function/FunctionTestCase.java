@@ -22,6 +22,8 @@
 
 package org.wildfly.clustering.ee.cache.function;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -119,4 +121,50 @@ public class FunctionTestCase {
         Map<String, String> result4 = new ConcurrentMapRemoveFunction<String, String>("bar").apply(null, result3);
         Assert.assertNull(result4);
     }
+
+    @Test
+    public void copyOnWriteMapCompute() {
+        Map<String, String> changes = new HashMap<>();
+        changes.put("foo", "a");
+        changes.put("bar", "b");
+        Map<String, String> result = new CopyOnWriteMapComputeFunction<>(changes).apply(null, null);
+        Assert.assertNotNull(result);
+        Assert.assertEquals("a", result.get("foo"));
+        Assert.assertEquals("b", result.get("bar"));
+
+        changes.clear();
+        changes.put("foo", null);
+        changes.put("bar", "c");
+        Map<String, String> result2 = new CopyOnWriteMapComputeFunction<>(changes).apply(null, result);
+        Assert.assertNotNull(result2);
+        Assert.assertNotSame(result, result2);
+        Assert.assertFalse(result2.containsKey("foo"));
+        Assert.assertEquals("c", result2.get("bar"));
+
+        Map<String, String> result3 = new CopyOnWriteMapComputeFunction<>(Collections.<String, String>singletonMap("bar", null)).apply(null, result2);
+        Assert.assertNull(result3);
+    }
+
+    @Test
+    public void concurrentMapCompute() {
+        Map<String, String> changes = new HashMap<>();
+        changes.put("foo", "a");
+        changes.put("bar", "b");
+        Map<String, String> result = new ConcurrentMapComputeFunction<>(changes).apply(null, null);
+        Assert.assertNotNull(result);
+        Assert.assertEquals("a", result.get("foo"));
+        Assert.assertEquals("b", result.get("bar"));
+
+        changes.clear();
+        changes.put("foo", null);
+        changes.put("bar", "c");
+        Map<String, String> result2 = new ConcurrentMapComputeFunction<>(changes).apply(null, result);
+        Assert.assertNotNull(result2);
+        Assert.assertSame(result, result2);
+        Assert.assertFalse(result2.containsKey("foo"));
+        Assert.assertEquals("c", result2.get("bar"));
+
+        Map<String, String> result3 = new ConcurrentMapComputeFunction<>(Collections.<String, String>singletonMap("bar", null)).apply(null, result2);
+        Assert.assertNull(result3);
+    }
 }
@@ -31,6 +31,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 import org.junit.Assert;
@@ -135,4 +137,26 @@ public class LocalSchedulerTestCase {
             verify(entries).remove(entry.getKey());
         }
     }
+
+    @Test
+    public void poll() throws InterruptedException {
+        ScheduledEntries<UUID, Instant> entries = new TimingWheelScheduledEntries<>(Duration.ofMillis(50));
+        UUID laterKey = UUID.randomUUID();
+        UUID earlierKey = UUID.randomUUID();
+        CountDownLatch latch = new CountDownLatch(1);
+        Predicate<UUID> task = key -> {
+            if (key.equals(earlierKey)) {
+                latch.countDown();
+            }
+            return true;
+        };
+
+        try (Scheduler<UUID, Instant> scheduler = new LocalScheduler<>(entries, task, Duration.ZERO)) {
+            scheduler.schedule(laterKey, Instant.now().plus(Duration.ofHours(1)));
+            // Scheduling an entry that precedes the first entry does not reschedule the task, but is found by polling
+            scheduler.schedule(earlierKey, Instant.now().plus(Duration.ofMillis(100)));
+
+            Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+        }
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.ee.Scheduler;
+
+/**
+ * Compares the cost of rescheduling an entry, i.e. the cost incurred by every access to a session or stateful session bean, for each {@link ScheduledEntries} implementation.
+ * Also compares the cost of peeking the first entry, i.e. the cost incurred by a scheduler on every poll of unsorted entries.
+ * Entries are scheduled relative to the time of their last access, either densely, using a fixed timeout plus a random jitter, or sparsely, spread over days.
+ * Run from the test classpath via {@link org.openjdk.jmh.Main}, with multiple threads (e.g. -t 4) to observe contention.
+ * @author Paul Ferraro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ScheduledEntriesBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(30);
+
+    public enum Distribution implements UnaryOperator<Instant> {
+        // Session-length timeout, plus a jitter of up to a second
+        DENSE() {
+            @Override
+            public Instant apply(Instant lastAccess) {
+                return lastAccess.plus(TIMEOUT).plusMillis(ThreadLocalRandom.current().nextInt(1000));
+            }
+        },
+        // Session-length timeout, plus a jitter of up to 30 days, such that most ticks of a fine-grained wheel are empty
+        SPARSE() {
+            @Override
+            public Instant apply(Instant lastAccess) {
+                return lastAccess.plus(TIMEOUT).plusSeconds(ThreadLocalRandom.current().nextLong(Duration.ofDays(30).getSeconds()));
+            }
+        },
+        ;
+    }
+
+    public enum Implementation implements Supplier<ScheduledEntries<Integer, Instant>> {
+        LINKED() {
+            @Override
+            public ScheduledEntries<Integer, Instant> get() {
+                return new LinkedScheduledEntries<>();
+            }
+        },
+        SORTED() {
+            @Override
+            public ScheduledEntries<Integer, Instant> get() {
+                return new SortedScheduledEntries<>();
+            }
+        },
+        TIMING_WHEEL() {
+            @Override
+            public ScheduledEntries<Integer, Instant> get() {
+                return new TimingWheelScheduledEntries<>(Duration.ofSeconds(1));
+            }
+        },
+        FINE_TIMING_WHEEL() {
+            @Override
+            public ScheduledEntries<Integer, Instant> get() {
+                return new TimingWheelScheduledEntries<>(Duration.ofMillis(1));
+            }
+        },
+        ;
+    }
+
+    @Param
+    private Implementation implementation;
+
+    @Param({ "10000", "1000000" })
+    private int size;
+
+    @Param
+    private Distribution distribution;
+
+    private ScheduledEntries<Integer, Instant> entries;
+    private Scheduler<Integer, Instant> scheduler;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.entries = this.implementation.get();
+        Instant now = Instant.now();
+        for (int i = 0; i < this.size; ++i) {
+            this.entries.add(i, this.distribution.apply(now));
+        }
+        // None of the entries will expire during the benchmark, so the task is never run
+        this.scheduler = new LocalScheduler<>(this.implementation.get(), key -> true, Duration.ZERO);
+        for (int i = 0; i < this.size; ++i) {
+            this.scheduler.schedule(i, this.distribution.apply(now));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.scheduler.close();
+    }
+
+    /**
+     * Measures the cost of removing and re-adding an entry.
+     */
+    @Benchmark
+    public void reschedule() {
+        Integer key = ThreadLocalRandom.current().nextInt(this.size);
+        this.entries.remove(key);
+        this.entries.add(key, this.distribution.apply(Instant.now()));
+    }
+
+    /**
+     * Measures the cost of peeking the first entry, as performed by a scheduler on every poll of unsorted entries.
+     */
+    @Benchmark
+    public Map.Entry<Integer, Instant> peek() {
+        return this.entries.peek();
+    }
+
+    /**
+     * Measures the cost of cancelling and rescheduling an entry via a {@link LocalScheduler}, which additionally tracks the first entry of sorted entries.
+     */
+    @Benchmark
+    public void schedulerReschedule() {
+        Integer key = ThreadLocalRandom.current().nextInt(this.size);
+        this.scheduler.cancel(key);
+        this.scheduler.schedule(key, this.distribution.apply(Instant.now()));
+    }
+}
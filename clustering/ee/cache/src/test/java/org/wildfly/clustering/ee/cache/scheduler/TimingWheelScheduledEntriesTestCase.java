@@ -0,0 +1,79 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.cache.scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelScheduledEntries}
+ * @author Paul Ferraro
+ */
+public class TimingWheelScheduledEntriesTestCase extends AbstractScheduledEntriesTestCase {
+
+    public TimingWheelScheduledEntriesTestCase() {
+        super(new TimingWheelScheduledEntries<>(Duration.ofMillis(100)), list -> {
+            List<Map.Entry<UUID, Instant>> result = new LinkedList<>(list);
+            Collections.sort(result, Map.Entry.comparingByValue());
+            return result;
+        });
+    }
+
+    @Test
+    public void sparse() {
+        // Fine resolution, with entries days apart, i.e. billions of empty ticks
+        ScheduledEntries<Integer, Instant> entries = new TimingWheelScheduledEntries<>(Duration.ofMillis(1));
+        Instant now = Instant.now();
+        entries.add(2, now.plus(Duration.ofDays(30)));
+        entries.add(0, now.minus(Duration.ofDays(1)));
+        entries.add(1, now.plus(Duration.ofDays(1)));
+        entries.add(3, now.plus(Duration.ofDays(365)));
+
+        Iterator<Map.Entry<Integer, Instant>> iterator = entries.iterator();
+        for (int i = 0; i < 4; ++i) {
+            Assert.assertTrue(iterator.hasNext());
+            Assert.assertEquals(Integer.valueOf(i), iterator.next().getKey());
+        }
+        Assert.assertFalse(iterator.hasNext());
+
+        // Rescheduling moves an entry to its new bucket
+        entries.add(3, now.minus(Duration.ofDays(2)));
+        Assert.assertEquals(Integer.valueOf(3), entries.peek().getKey());
+
+        // Removal via iterator empties buckets
+        iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        Assert.assertNull(entries.peek());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.MutatorFactory;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Mutator factory whose mutators defer writes to a periodic task, coalescing repeated mutations of the same cache entry.
+ * Pending mutations are written together, replacing only those entries that still exist, so that a deferred write cannot resurrect a removed entry.
+ * Consequently, the value of a given cache entry, as seen by other members, may be stale by up to the configured interval.
+ * @author Paul Ferraro
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+public class CoalescingMutatorFactory<K, V> implements MutatorFactory<K, V>, Runnable, AutoCloseable {
+
+    private final Cache<K, V> cache;
+    private final CacheProperties properties;
+    private final Map<K, V> mutations = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public CoalescingMutatorFactory(Cache<K, V> cache, CacheProperties properties, Duration interval) {
+        this.cache = cache;
+        this.properties = properties;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+        long delay = interval.toMillis();
+        executor.scheduleWithFixedDelay(this, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Mutator createMutator(K key, V value) {
+        if (!this.properties.isPersistent()) return Mutator.PASSIVE;
+        Map<K, V> mutations = this.mutations;
+        return new Mutator() {
+            @Override
+            public void mutate() {
+                mutations.put(key, value);
+            }
+        };
+    }
+
+    /**
+     * Discards any pending mutation of the specified cache entry, e.g. prior to its removal.
+     * @param key a cache key
+     */
+    public void cancel(K key) {
+        this.mutations.remove(key);
+    }
+
+    @Override
+    public void run() {
+        if (this.mutations.isEmpty()) return;
+        Cache<K, V> cache = this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES);
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : this.mutations.keySet()) {
+            // Remove prior to writing, so that any concurrent mutation is retained for the next run
+            V value = this.mutations.remove(key);
+            if (value != null) {
+                // Issue all writes before waiting for any of them to complete
+                futures.put(key, cache.replaceAsync(key, value));
+            }
+        }
+        for (Map.Entry<K, CompletableFuture<V>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().join();
+            } catch (CancellationException | CompletionException e) {
+                Logger.ROOT_LOGGER.failedToMutate(e, entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        try {
+            this.executor.awaitTermination(this.cache.getCacheConfiguration().transaction().cacheStopTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write any remaining mutations
+        this.run();
+    }
+}
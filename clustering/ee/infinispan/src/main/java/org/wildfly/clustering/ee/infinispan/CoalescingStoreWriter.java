@@ -0,0 +1,262 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.infinispan;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.Cache;
+import org.infinispan.configuration.cache.PersistenceConfiguration;
+import org.infinispan.configuration.cache.StoreConfiguration;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Defers writes to the store of a cache to a periodic task, coalescing repeated writes of the same cache entry.
+ * Cache operations issued via {@link #getCache()} skip the cache store, but are otherwise unaffected.
+ * Each member records the entries it is responsible for persisting that were subsequently created, modified, or removed,
+ * and periodically writes the current content of its data container for those entries (or their removal) directly to the cache store.
+ * The data container itself is never written by this task, so a concurrent update of an entry can never be overwritten by a stale value;
+ * the update is instead recorded, and written on the next run.
+ * Consequently, the content of the cache store may be stale by up to the configured interval.
+ * This writer is registered as a component of the cache, from which its statistics are exposed as management metrics.
+ * @author Paul Ferraro
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+@Listener(observation = Listener.Observation.POST)
+public class CoalescingStoreWriter<K, V> implements Runnable, AutoCloseable {
+
+    private final Cache<K, V> cache;
+    private final boolean shared;
+    private final PersistenceManager persistence;
+    private final MarshallableEntryFactory<K, V> entryFactory;
+    private final KeyPartitioner partitioner;
+    // Pending writes, where true indicates a write of the current value, and false indicates a removal
+    private final Map<K, Boolean> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private volatile long lastFlushNanos = 0;
+
+    @SuppressWarnings("unchecked")
+    public CoalescingStoreWriter(Cache<K, V> cache, Duration interval) {
+        this.cache = cache;
+        this.shared = cache.getCacheConfiguration().persistence().stores().stream().anyMatch(StoreConfiguration::shared);
+        ComponentRegistry registry = cache.getAdvancedCache().getComponentRegistry();
+        this.persistence = registry.getLocalComponent(PersistenceManager.class);
+        this.entryFactory = registry.getLocalComponent(MarshallableEntryFactory.class);
+        this.partitioner = registry.getLocalComponent(KeyPartitioner.class);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+        registry.registerComponent(this, CoalescingStoreWriter.class);
+        this.cache.addListener(this);
+        long delay = interval.toMillis();
+        executor.scheduleWithFixedDelay(this, delay, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indicates whether writes to the store of the specified cache would benefit from being deferred,
+     * i.e. whether the cache has a non-transactional store that is written to on every cache write.
+     * Transactional stores are excluded, as their writes are bound to the transaction of the cache write.
+     * @param cache a cache
+     * @return true, if the specified cache writes through to a cache store, false otherwise
+     */
+    public static boolean isSupported(Cache<?, ?> cache) {
+        PersistenceConfiguration persistence = cache.getCacheConfiguration().persistence();
+        return !persistence.passivation() && !persistence.stores().isEmpty() && persistence.stores().stream().allMatch(store -> !store.ignoreModifications() && !store.transactional());
+    }
+
+    /**
+     * Returns a cache whose writes skip the cache store, deferring them to this writer.
+     * @return a cache whose writes skip the cache store.
+     */
+    @SuppressWarnings("unchecked")
+    public <KK, VV> Cache<KK, VV> getCache() {
+        return (Cache<KK, VV>) this.cache.getAdvancedCache().withFlags(Flag.SKIP_CACHE_STORE);
+    }
+
+    /**
+     * Returns the number of cache entries whose write to the cache store is pending.
+     * @return a number of cache entries
+     */
+    public int getPendingCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Returns the number of times pending writes were flushed to the cache store.
+     * @return a number of flushes
+     */
+    public long getFlushCount() {
+        return this.flushes.sum();
+    }
+
+    /**
+     * Returns the number of cache entries written to, or removed from, the cache store.
+     * @return a number of cache entries
+     */
+    public long getWriteCount() {
+        return this.writes.sum();
+    }
+
+    /**
+     * Returns the mean duration of the flushes of pending writes to the cache store.
+     * @return a duration
+     */
+    public Duration getMeanFlushDuration() {
+        long flushes = this.flushes.sum();
+        return (flushes > 0) ? Duration.ofNanos(this.flushNanos.sum() / flushes) : Duration.ZERO;
+    }
+
+    /**
+     * Returns the duration of the last flush of pending writes to the cache store.
+     * @return a duration
+     */
+    public Duration getLastFlushDuration() {
+        return Duration.ofNanos(this.lastFlushNanos);
+    }
+
+    @CacheEntryCreated
+    @CacheEntryModified
+    @CacheEntryRemoved
+    public void modified(CacheEntryEvent<K, V> event) {
+        K key = event.getKey();
+        if (this.isWriter(key)) {
+            this.pending.put(key, !(event instanceof CacheEntryRemovedEvent));
+        }
+    }
+
+    @TopologyChanged
+    public void topologyChanged(TopologyChangedEvent<K, V> event) {
+        // Flush pending writes before this member relinquishes ownership of their entries
+        if (!this.pending.isEmpty()) {
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Writer was closed
+            }
+        }
+    }
+
+    private boolean isWriter(K key) {
+        DistributionManager dist = this.cache.getAdvancedCache().getDistributionManager();
+        // A shared store is written by the primary owner only, otherwise each owner writes to its own store
+        return (dist == null) || !this.shared || dist.getCacheTopology().getDistribution(key).isPrimary();
+    }
+
+    @Override
+    public synchronized void run() {
+        if (this.pending.isEmpty()) return;
+        long start = System.nanoTime();
+        Map<K, Boolean> writes = new HashMap<>();
+        for (K key : this.pending.keySet()) {
+            // Remove prior to writing, so that any concurrent modification is retained for the next run
+            Boolean write = this.pending.remove(key);
+            if (write != null) {
+                writes.put(key, write);
+            }
+        }
+        AdvancedCache<K, V> cache = this.cache.getAdvancedCache();
+        Map<K, CompletableFuture<?>> futures = new HashMap<>();
+        for (Map.Entry<K, Boolean> entry : writes.entrySet()) {
+            K key = entry.getKey();
+            int segment = this.partitioner.getSegment(key);
+            if (entry.getValue()) {
+                // Read the local copy, irrespective of whether this member is still an owner, without affecting its access time
+                InternalCacheEntry<K, V> cacheEntry = cache.getDataContainer().peek(key);
+                // Skip entries that are no longer present locally, their removal was recorded separately
+                if (cacheEntry != null) {
+                    futures.put(key, this.persistence.writeToAllNonTxStores(this.entryFactory.create(cacheEntry), segment, PersistenceManager.AccessMode.BOTH).toCompletableFuture());
+                }
+            } else {
+                futures.put(key, this.persistence.deleteFromAllStores(key, segment, PersistenceManager.AccessMode.BOTH).toCompletableFuture());
+            }
+        }
+        int count = 0;
+        RuntimeException exception = null;
+        for (Map.Entry<K, CompletableFuture<?>> entry : futures.entrySet()) {
+            K key = entry.getKey();
+            try {
+                entry.getValue().join();
+                count += 1;
+            } catch (CompletionException e) {
+                // Retain failed writes for the next run, unless superseded by a subsequent modification
+                this.pending.putIfAbsent(key, writes.get(key));
+                if (exception == null) {
+                    exception = e;
+                }
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        this.flushes.increment();
+        this.writes.add(count);
+        this.flushNanos.add(nanos);
+        this.lastFlushNanos = nanos;
+        if (exception != null) {
+            Logger.ROOT_LOGGER.failedToWriteBehind(exception, futures.size() - count, this.cache.getName());
+        }
+        Logger.ROOT_LOGGER.wroteBehind(count, this.cache.getName(), TimeUnit.NANOSECONDS.toMillis(nanos), this.pending.size());
+    }
+
+    @Override
+    public void close() {
+        this.cache.removeListener(this);
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        try {
+            this.executor.awaitTermination(this.cache.getCacheConfiguration().transaction().cacheStopTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Write any remaining entries
+        this.run();
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.infinispan.Cache;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryCreated;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryExpired;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryModified;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntryRemoved;
+import org.infinispan.notifications.cachelistener.annotation.TopologyChanged;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.infinispan.notifications.cachelistener.event.TopologyChangedEvent;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+
+/**
+ * A bounded near cache of entries not owned by the local member, invalidated via a cluster listener.
+ * Entries owned by the local member are always read from the cache directly.
+ * Cluster-wide modifications of a near cached entry are propagated as key-only events, which invalidate the local copy.
+ * A value loaded concurrently with an invalidation of the same key is returned to its caller, but is not retained.
+ * Since cache entry values may be shared between threads, this should only front caches whose values are either immutable or whose local mutations are always written back to the cache.
+ * <p>
+ * N.B. Every member using a near cache registers a cluster listener on the same cache, thus every write to that cache, by any member, sends an invalidation event to every such member.
+ * For write-heavy workloads, or workloads with strong session affinity (where most reads are local anyway), the cost of these events can outweigh the savings of near cached reads.
+ * Compare the hit ratio of {@link NearCacheStatistics} with the rate of cache writes before enabling a near cache.
+ * </p>
+ * @author Paul Ferraro
+ */
+@Listener(clustered = true)
+public class InvalidationNearCache implements NearCache {
+
+    private final Cache<?, ?> cache;
+    private final Map<Object, Object> entries;
+    private final Object topologyListener = new TopologyChangeListener();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final NearCacheStatistics statistics;
+
+    public InvalidationNearCache(Cache<?, ?> cache, int maxEntries) {
+        this(cache, maxEntries, new NearCacheStatistics());
+    }
+
+    /**
+     * Creates a near cache for the specified cache.
+     * @param cache the cache fronted by this near cache
+     * @param maxEntries the maximum number of entries retained by this near cache
+     * @param statistics the statistics to which this near cache reports, in addition to its own
+     */
+    public InvalidationNearCache(Cache<?, ?> cache, int maxEntries, NearCacheStatistics statistics) {
+        this.cache = cache;
+        this.statistics = statistics;
+        this.entries = new LinkedHashMap<Object, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = -1836839599829716236L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                return this.size() > maxEntries;
+            }
+        };
+        this.cache.addListener(this, null, InvalidationEventConverter.INSTANCE);
+        this.cache.addListener(this.topologyListener);
+    }
+
+    @Override
+    public void close() {
+        this.cache.removeListener(this.topologyListener);
+        this.cache.removeListener(this);
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+        Logger.ROOT_LOGGER.nearCacheStatistics(this.cache.getName(), this.getHits(), this.getMisses(), this.getInvalidations());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <K, V> V get(K key, Function<K, V> loader) {
+        DistributionManager dist = this.cache.getAdvancedCache().getDistributionManager();
+        if ((dist == null) || dist.getCacheTopology().isReadOwner(key)) {
+            return loader.apply(key);
+        }
+        Object pending = new Pending();
+        Object cached;
+        synchronized (this.entries) {
+            cached = this.entries.putIfAbsent(key, pending);
+        }
+        if ((cached != null) && !(cached instanceof Pending)) {
+            this.hits.increment();
+            this.statistics.recordHit();
+            return (V) cached;
+        }
+        this.misses.increment();
+        this.statistics.recordMiss();
+        V value = null;
+        try {
+            value = loader.apply(key);
+            return value;
+        } finally {
+            // Only the caller that installed the pending marker may populate the entry, and only if it was not invalidated in the meantime
+            if (cached == null) {
+                synchronized (this.entries) {
+                    if (this.entries.get(key) == pending) {
+                        if (value != null) {
+                            this.entries.put(key, value);
+                        } else {
+                            this.entries.remove(key);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        Object value;
+        synchronized (this.entries) {
+            value = this.entries.remove(key);
+        }
+        if ((value != null) && !(value instanceof Pending)) {
+            this.invalidations.increment();
+            this.statistics.recordInvalidation();
+        }
+    }
+
+    @CacheEntryCreated
+    @CacheEntryModified
+    @CacheEntryRemoved
+    @CacheEntryExpired
+    public void changed(CacheEntryEvent<?, ?> event) {
+        this.invalidate(event.getKey());
+    }
+
+    /**
+     * Returns the number of reads of non-local entries that were served by this near cache.
+     * @return a number of reads
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of reads of non-local entries that were delegated to the cache.
+     * @return a number of reads
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of near cached entries discarded due to a cluster-wide modification.
+     * @return a number of invalidations
+     */
+    public long getInvalidations() {
+        return this.invalidations.sum();
+    }
+
+    /**
+     * Returns the number of entries currently retained by this near cache.
+     * @return a number of entries
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    // Marks an entry whose value is being loaded
+    private static class Pending {
+    }
+
+    @Listener(sync = false)
+    public class TopologyChangeListener {
+        @TopologyChanged
+        public void topologyChanged(TopologyChangedEvent<?, ?> event) {
+            // Entry ownership may have changed, and invalidations may have been lost by departed members
+            if (!event.isPre()) {
+                synchronized (InvalidationNearCache.this.entries) {
+                    InvalidationNearCache.this.entries.clear();
+                }
+            }
+        }
+    }
+}
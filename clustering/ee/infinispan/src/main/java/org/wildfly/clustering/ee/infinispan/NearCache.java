@@ -0,0 +1,69 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan;
+
+import java.util.function.Function;
+
+/**
+ * A local tier of cache entries, fronting reads of cache entries not owned by the local member.
+ * @author Paul Ferraro
+ */
+public interface NearCache extends AutoCloseable {
+
+    /**
+     * A near cache that does not cache anything, i.e. every read is delegated to its loader.
+     */
+    NearCache NONE = new NearCache() {
+        @Override
+        public <K, V> V get(K key, Function<K, V> loader) {
+            return loader.apply(key);
+        }
+
+        @Override
+        public void invalidate(Object key) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Returns the near cached value of the specified key, loading it via the specified function if necessary.
+     * @param <K> the cache key type
+     * @param <V> the cache value type
+     * @param key a cache key
+     * @param loader a function that reads the value of a given key from the underlying cache
+     * @return the value of the specified key, or null, if no such entry exists
+     */
+    <K, V> V get(K key, Function<K, V> loader);
+
+    /**
+     * Discards any near cached value of the specified key.
+     * @param key a cache key
+     */
+    void invalidate(Object key);
+
+    @Override
+    void close();
+}
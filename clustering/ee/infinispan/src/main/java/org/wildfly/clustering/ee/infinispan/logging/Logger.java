@@ -21,7 +21,9 @@
  */
 package org.wildfly.clustering.ee.infinispan.logging;
 
+import static org.jboss.logging.Logger.Level.DEBUG;
 import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
 
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.annotations.Cause;
@@ -46,4 +48,24 @@ public interface Logger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 2, value = "Failed to schedule %s on primary owner.")
     void failedToSchedule(@Cause Throwable cause, Object id);
+
+    @LogMessage(level = WARN)
+    @Message(id = 3, value = "Failed to write deferred mutation of %s.")
+    void failedToMutate(@Cause Throwable cause, Object id);
+
+    @LogMessage(level = DEBUG)
+    @Message(id = 4, value = "Near cache of %s served %d reads, delegated %d reads, and discarded %d invalidated entries.")
+    void nearCacheStatistics(String cacheName, long hits, long misses, long invalidations);
+
+    @LogMessage(level = DEBUG)
+    @Message(id = 5, value = "Scheduled %d of %d local entries of %s in %d ms.")
+    void scheduledLocalEntries(long scheduled, long scanned, String cacheName, long millis);
+
+    @LogMessage(level = WARN)
+    @Message(id = 6, value = "Failed to write %d deferred entries to the store of %s; these will be retried.")
+    void failedToWriteBehind(@Cause Throwable cause, int entries, String cacheName);
+
+    @LogMessage(level = DEBUG)
+    @Message(id = 7, value = "Wrote %d deferred entries to the store of %s in %d ms, %d entries remain pending.")
+    void wroteBehind(int entries, String cacheName, long millis, int pending);
 }
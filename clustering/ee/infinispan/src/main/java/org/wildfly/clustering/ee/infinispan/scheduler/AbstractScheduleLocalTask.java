@@ -0,0 +1,182 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.infinispan.Cache;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.commons.util.IntSets;
+import org.infinispan.distribution.DistributionManager;
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.ExecutorServiceFactory;
+import org.wildfly.clustering.ee.cache.Key;
+import org.wildfly.clustering.ee.infinispan.logging.Logger;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A task which schedules the local cache entries of which the local member became the primary owner.
+ * For distributed and replicated caches, only those segments whose primary ownership changed are streamed.
+ * These segments are partitioned among a bounded number of threads, each of which iterates over the local entries of its segments.
+ * Threads are pooled for the lifetime of this task, and must be released via {@link #close()}.
+ * @author Paul Ferraro
+ * @param <I> identifier type
+ * @param <K> cache key type
+ * @param <T> cache stream element type
+ */
+public abstract class AbstractScheduleLocalTask<I, K extends Key<I>, T> implements BiConsumer<Locality, Locality>, AutoCloseable {
+
+    private final Cache<K, ?> cache;
+    private final ScheduleLocalTaskStatistics statistics;
+    private final int maxParallelism;
+    private final ExecutorService executor;
+
+    protected AbstractScheduleLocalTask(Cache<K, ?> cache, ScheduleLocalTaskStatistics statistics) {
+        this(cache, statistics, Runtime.getRuntime().availableProcessors());
+    }
+
+    protected AbstractScheduleLocalTask(Cache<K, ?> cache, ScheduleLocalTaskStatistics statistics, int maxParallelism) {
+        this.cache = cache;
+        this.statistics = statistics;
+        this.maxParallelism = maxParallelism;
+        // Rescans are serialized by the topology change listener, so at most maxParallelism threads are in use at once, and idle threads expire
+        this.executor = new DefaultExecutorService(this.getClass(), ExecutorServiceFactory.CACHED_THREAD);
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doUnchecked(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+    }
+
+    /**
+     * Returns a stream of the local elements of the cache, including any cache stores to include entries that may be passivated/invalidated.
+     * @return a cache stream
+     */
+    protected abstract CacheStream<T> stream();
+
+    /**
+     * Returns the cache key of the specified stream element.
+     * @param element a stream element
+     * @return a cache key
+     */
+    protected abstract K getKey(T element);
+
+    /**
+     * Schedules the specified stream element.
+     * @param element a stream element
+     */
+    protected abstract void schedule(T element);
+
+    @Override
+    public void accept(Locality oldLocality, Locality newLocality) {
+        long start = System.nanoTime();
+        LongAdder scanned = new LongAdder();
+        LongAdder scheduled = new LongAdder();
+        DistributionManager dist = this.cache.getAdvancedCache().getDistributionManager();
+        if (dist != null) {
+            // Partition segments whose primary ownership changed, round-robin
+            int segments = dist.getCacheTopology().getNumSegments();
+            List<IntSet> partitions = new ArrayList<>(this.maxParallelism);
+            int count = 0;
+            for (int segment = 0; segment < segments; ++segment) {
+                if (!oldLocality.isLocalSegment(segment) && newLocality.isLocalSegment(segment)) {
+                    if (partitions.size() < this.maxParallelism) {
+                        partitions.add(IntSets.mutableEmptySet(segments));
+                    }
+                    partitions.get(count++ % this.maxParallelism).set(segment);
+                }
+            }
+            this.statistics.recordSegments(count);
+            if (partitions.size() == 1) {
+                this.scan(this.stream().filterKeySegments(partitions.get(0)), key -> true, scanned, scheduled);
+            } else if (!partitions.isEmpty()) {
+                this.scan(partitions, scanned, scheduled);
+            }
+        } else {
+            this.scan(this.stream(), key -> !oldLocality.isLocal(key) && newLocality.isLocal(key), scanned, scheduled);
+        }
+        long duration = System.nanoTime() - start;
+        this.statistics.recordRescan(scanned.sum(), scheduled.sum(), duration);
+        Logger.ROOT_LOGGER.scheduledLocalEntries(scheduled.sum(), scanned.sum(), this.cache.getName(), TimeUnit.NANOSECONDS.toMillis(duration));
+    }
+
+    private void scan(List<IntSet> partitions, LongAdder scanned, LongAdder scheduled) {
+        List<Future<?>> futures = new ArrayList<>(partitions.size());
+        try {
+            for (IntSet partition : partitions) {
+                futures.add(this.executor.submit(() -> this.scan(this.stream().filterKeySegments(partition), key -> true, scanned, scheduled)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (RejectedExecutionException e) {
+            // Task was closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // Interrupt any incomplete scans, e.g. if this rescan was cancelled by a subsequent topology change
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private void scan(Stream<T> elements, Predicate<K> filter, LongAdder scanned, LongAdder scheduled) {
+        try (Stream<T> stream = elements) {
+            Iterator<T> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) break;
+                T element = iterator.next();
+                scanned.increment();
+                // If we are the new primary owner of this entry then schedule it locally
+                if (filter.test(this.getKey(element))) {
+                    this.schedule(element);
+                    scheduled.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics to which this task records its progress.
+     * @return task statistics
+     */
+    public ScheduleLocalTaskStatistics getStatistics() {
+        return this.statistics;
+    }
+}
@@ -22,16 +22,13 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
-import java.util.Iterator;
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.cache.Key;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 
 /**
  * A task which schedules newly owned entries.
@@ -40,31 +37,34 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  * @param <K> cache key type
  * @param <V> cache value type
  */
-public class ScheduleLocalEntriesTask<I, M, K extends Key<I>, V extends M> implements BiConsumer<Locality, Locality> {
+public class ScheduleLocalEntriesTask<I, M, K extends Key<I>, V extends M> extends AbstractScheduleLocalTask<I, K, Map.Entry<K, V>> {
     private final Cache<K, V> cache;
     private final Predicate<Map.Entry<? super K, ? super V>> filter;
     private final Scheduler<I, M> scheduler;
 
     public ScheduleLocalEntriesTask(Cache<K, V> cache, Predicate<Map.Entry<? super K, ? super V>> filter, Scheduler<I, M> scheduler) {
+        this(cache, filter, scheduler, new ScheduleLocalTaskStatistics());
+    }
+
+    public ScheduleLocalEntriesTask(Cache<K, V> cache, Predicate<Map.Entry<? super K, ? super V>> filter, Scheduler<I, M> scheduler, ScheduleLocalTaskStatistics statistics) {
+        super(cache, statistics);
         this.cache = cache;
         this.filter = filter;
         this.scheduler = scheduler;
     }
 
     @Override
-    public void accept(Locality oldLocality, Locality newLocality) {
-        // Iterate over local entries, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<Map.Entry<K, V>> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).entrySet().stream().filter(this.filter)) {
-            Iterator<Map.Entry<K, V>> entries = stream.iterator();
-            while (entries.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
-                Map.Entry<K, V> entry = entries.next();
-                K key = entry.getKey();
-                // If we are the new primary owner of this bean then schedule expiration of this bean locally
-                if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
-                    this.scheduler.schedule(key.getId(), entry.getValue());
-                }
-            }
-        }
+    protected CacheStream<Map.Entry<K, V>> stream() {
+        return this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).entrySet().stream().filter(this.filter);
+    }
+
+    @Override
+    protected K getKey(Map.Entry<K, V> entry) {
+        return entry.getKey();
+    }
+
+    @Override
+    protected void schedule(Map.Entry<K, V> entry) {
+        this.scheduler.schedule(entry.getKey().getId(), entry.getValue());
     }
 }
@@ -22,15 +22,12 @@
 
 package org.wildfly.clustering.ee.infinispan.scheduler;
 
-import java.util.Iterator;
-import java.util.function.BiConsumer;
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 import org.infinispan.Cache;
+import org.infinispan.CacheStream;
 import org.infinispan.context.Flag;
 import org.wildfly.clustering.ee.cache.Key;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 
 /**
  * A task which schedules newly owned keys.
@@ -38,30 +35,34 @@ import org.wildfly.clustering.infinispan.spi.distribution.Locality;
  * @param <I> identifier type
  * @param <K> cache key type
  */
-public class ScheduleLocalKeysTask<I, K extends Key<I>> implements BiConsumer<Locality, Locality> {
+public class ScheduleLocalKeysTask<I, K extends Key<I>> extends AbstractScheduleLocalTask<I, K, K> {
     private final Cache<K, ?> cache;
     private final Predicate<? super K> filter;
     private final Scheduler<I, ?> scheduler;
 
     public ScheduleLocalKeysTask(Cache<K, ?> cache, Predicate<? super K> filter, Scheduler<I, ?> scheduler) {
+        this(cache, filter, scheduler, new ScheduleLocalTaskStatistics());
+    }
+
+    public ScheduleLocalKeysTask(Cache<K, ?> cache, Predicate<? super K> filter, Scheduler<I, ?> scheduler, ScheduleLocalTaskStatistics statistics) {
+        super(cache, statistics);
         this.cache = cache;
         this.filter = filter;
         this.scheduler = scheduler;
     }
 
     @Override
-    public void accept(Locality oldLocality, Locality newLocality) {
-        // Iterate over local keys, including any cache stores to include entries that may be passivated/invalidated
-        try (Stream<K> stream = this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream().filter(this.filter)) {
-            Iterator<K> keys = stream.iterator();
-            while (keys.hasNext()) {
-                if (Thread.currentThread().isInterrupted()) break;
-                K key = keys.next();
-                // If we are the new primary owner of this entry then schedule it locally
-                if (!oldLocality.isLocal(key) && newLocality.isLocal(key)) {
-                    this.scheduler.schedule(key.getId());
-                }
-            }
-        }
+    protected CacheStream<K> stream() {
+        return this.cache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL).keySet().stream().filter(this.filter);
+    }
+
+    @Override
+    protected K getKey(K key) {
+        return key;
+    }
+
+    @Override
+    protected void schedule(K key) {
+        this.scheduler.schedule(key.getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,92 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the progress of an {@link AbstractScheduleLocalTask}, i.e. of the rescans of local cache entries following a topology change.
+ * A single instance may be shared by multiple tasks, e.g. by all deployments using a given profile.
+ * @author Paul Ferraro
+ */
+public class ScheduleLocalTaskStatistics {
+
+    private final LongAdder rescans = new LongAdder();
+    private final LongAdder segments = new LongAdder();
+    private final LongAdder scannedEntries = new LongAdder();
+    private final LongAdder scheduledEntries = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    void recordSegments(long segments) {
+        this.segments.add(segments);
+    }
+
+    void recordRescan(long scanned, long scheduled, long nanos) {
+        this.rescans.increment();
+        this.scannedEntries.add(scanned);
+        this.scheduledEntries.add(scheduled);
+        this.nanos.add(nanos);
+    }
+
+    /**
+     * Returns the number of completed rescans.
+     * @return a number of rescans
+     */
+    public long getRescans() {
+        return this.rescans.sum();
+    }
+
+    /**
+     * Returns the number of segments, whose primary ownership moved to the local member, that were rescanned.
+     * @return a number of segments
+     */
+    public long getScannedSegments() {
+        return this.segments.sum();
+    }
+
+    /**
+     * Returns the number of local entries iterated by all rescans.
+     * @return a number of entries
+     */
+    public long getScannedEntries() {
+        return this.scannedEntries.sum();
+    }
+
+    /**
+     * Returns the number of local entries scheduled by all rescans.
+     * @return a number of entries
+     */
+    public long getScheduledEntries() {
+        return this.scheduledEntries.sum();
+    }
+
+    /**
+     * Returns the cumulative duration of all rescans.
+     * @param unit the unit of the returned duration
+     * @return a duration
+     */
+    public long getRescanTime(TimeUnit unit) {
+        return unit.convert(this.nanos.sum(), TimeUnit.NANOSECONDS);
+    }
+}
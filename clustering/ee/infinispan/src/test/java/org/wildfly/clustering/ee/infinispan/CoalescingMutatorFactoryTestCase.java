@@ -0,0 +1,93 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.context.Flag;
+import org.junit.Test;
+import org.wildfly.clustering.ee.Mutator;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+
+/**
+ * Unit test for {@link CoalescingMutatorFactory}.
+ * @author Paul Ferraro
+ */
+public class CoalescingMutatorFactoryTestCase {
+
+    @Test
+    public void test() {
+        AdvancedCache<Object, Object> cache = mock(AdvancedCache.class);
+        CacheProperties properties = mock(CacheProperties.class);
+        Object id = new Object();
+        Object value = new Object();
+        Object removedId = new Object();
+        Object removedValue = new Object();
+
+        when(properties.isPersistent()).thenReturn(true);
+        when(cache.getAdvancedCache()).thenReturn(cache);
+        when(cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().build());
+        when(cache.withFlags(Flag.IGNORE_RETURN_VALUES)).thenReturn(cache);
+        when(cache.replaceAsync(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        try (CoalescingMutatorFactory<Object, Object> factory = new CoalescingMutatorFactory<>(cache, properties, Duration.ofHours(1))) {
+            Mutator mutator = factory.createMutator(id, value);
+            Mutator removedMutator = factory.createMutator(removedId, removedValue);
+
+            mutator.mutate();
+            mutator.mutate();
+            removedMutator.mutate();
+            factory.cancel(removedId);
+
+            // Mutations are deferred
+            verify(cache, never()).replaceAsync(any(), any());
+
+            factory.run();
+
+            // Repeated mutations are coalesced
+            verify(cache).replaceAsync(same(id), same(value));
+            verify(cache, never()).replaceAsync(same(removedId), any());
+
+            // Nothing left to write
+            factory.run();
+
+            verify(cache, times(1)).replaceAsync(same(id), same(value));
+
+            mutator.mutate();
+        }
+
+        // Pending mutations are written on close
+        verify(cache, times(2)).replaceAsync(same(id), same(value));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.clustering.ee.infinispan;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.configuration.cache.ConfigurationBuilder;
+import org.infinispan.container.DataContainer;
+import org.infinispan.container.entries.InternalCacheEntry;
+import org.infinispan.distribution.ch.KeyPartitioner;
+import org.infinispan.factories.ComponentRegistry;
+import org.infinispan.notifications.cachelistener.event.CacheEntryCreatedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryModifiedEvent;
+import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
+import org.infinispan.persistence.manager.PersistenceManager;
+import org.infinispan.persistence.spi.MarshallableEntry;
+import org.infinispan.persistence.spi.MarshallableEntryFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CoalescingStoreWriter}.
+ * @author Paul Ferraro
+ */
+public class CoalescingStoreWriterTestCase {
+
+    @Test
+    public void test() {
+        AdvancedCache<Object, Object> cache = mock(AdvancedCache.class);
+        ComponentRegistry registry = mock(ComponentRegistry.class);
+        PersistenceManager persistence = mock(PersistenceManager.class);
+        MarshallableEntryFactory<Object, Object> entryFactory = mock(MarshallableEntryFactory.class);
+        KeyPartitioner partitioner = mock(KeyPartitioner.class);
+        DataContainer<Object, Object> container = mock(DataContainer.class);
+        InternalCacheEntry<Object, Object> cacheEntry = mock(InternalCacheEntry.class);
+        MarshallableEntry<Object, Object> storeEntry = mock(MarshallableEntry.class);
+        Object key = new Object();
+        Object removedKey = new Object();
+        CacheEntryCreatedEvent<Object, Object> createdEvent = mock(CacheEntryCreatedEvent.class);
+        CacheEntryModifiedEvent<Object, Object> modifiedEvent = mock(CacheEntryModifiedEvent.class);
+        CacheEntryRemovedEvent<Object, Object> removedEvent = mock(CacheEntryRemovedEvent.class);
+
+        when(cache.getAdvancedCache()).thenReturn(cache);
+        when(cache.getCacheConfiguration()).thenReturn(new ConfigurationBuilder().build());
+        when(cache.getComponentRegistry()).thenReturn(registry);
+        when(cache.getDataContainer()).thenReturn(container);
+        when(registry.getLocalComponent(PersistenceManager.class)).thenReturn(persistence);
+        when(registry.getLocalComponent(MarshallableEntryFactory.class)).thenReturn(entryFactory);
+        when(registry.getLocalComponent(KeyPartitioner.class)).thenReturn(partitioner);
+        when(partitioner.getSegment(any())).thenReturn(1);
+        when(container.peek(key)).thenReturn(cacheEntry);
+        when(entryFactory.create(cacheEntry)).thenReturn(storeEntry);
+        when(persistence.writeToAllNonTxStores(same(storeEntry), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(persistence.deleteFromAllStores(same(removedKey), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(true));
+        when(createdEvent.getKey()).thenReturn(key);
+        when(modifiedEvent.getKey()).thenReturn(key);
+        when(removedEvent.getKey()).thenReturn(removedKey);
+
+        try (CoalescingStoreWriter<Object, Object> writer = new CoalescingStoreWriter<>(cache, Duration.ofHours(1))) {
+            verify(registry).registerComponent(same(writer), eq(CoalescingStoreWriter.class));
+
+            writer.modified(createdEvent);
+            writer.modified(modifiedEvent);
+            writer.modified(removedEvent);
+
+            // Writes are deferred
+            Assert.assertEquals(2, writer.getPendingCount());
+            verify(persistence, never()).writeToAllNonTxStores(any(), anyInt(), any());
+            verify(persistence, never()).deleteFromAllStores(any(), anyInt(), any());
+
+            writer.run();
+
+            // Repeated writes are coalesced
+            verify(persistence).writeToAllNonTxStores(same(storeEntry), eq(1), same(PersistenceManager.AccessMode.BOTH));
+            verify(persistence).deleteFromAllStores(same(removedKey), eq(1), same(PersistenceManager.AccessMode.BOTH));
+            // In-memory state is never written
+            verify(cache, never()).put(any(), any());
+            verify(cache, never()).remove(any());
+            Assert.assertEquals(0, writer.getPendingCount());
+            Assert.assertEquals(1, writer.getFlushCount());
+            Assert.assertEquals(2, writer.getWriteCount());
+
+            // Nothing left to write
+            writer.run();
+
+            verify(persistence, times(1)).writeToAllNonTxStores(same(storeEntry), anyInt(), any());
+            Assert.assertEquals(1, writer.getFlushCount());
+
+            // Failed writes are retried
+            CompletableFuture<Void> failure = new CompletableFuture<>();
+            failure.completeExceptionally(new IllegalStateException());
+            when(persistence.writeToAllNonTxStores(same(storeEntry), anyInt(), any())).thenReturn(failure);
+            writer.modified(modifiedEvent);
+            writer.run();
+
+            verify(persistence, times(2)).writeToAllNonTxStores(same(storeEntry), anyInt(), any());
+            Assert.assertEquals(1, writer.getPendingCount());
+
+            when(persistence.writeToAllNonTxStores(same(storeEntry), anyInt(), any())).thenReturn(CompletableFuture.completedFuture(null));
+        }
+
+        // Pending writes are flushed on close
+        verify(persistence, times(3)).writeToAllNonTxStores(same(storeEntry), anyInt(), any());
+        verify(persistence, times(1)).deleteFromAllStores(same(removedKey), anyInt(), any());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.notifications.cachelistener.event.CacheEntryEvent;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link InvalidationNearCache}.
+ * @author Paul Ferraro
+ */
+public class InvalidationNearCacheTestCase {
+
+    @Test
+    public void test() {
+        AdvancedCache<Object, Object> cache = mock(AdvancedCache.class);
+        DistributionManager dist = mock(DistributionManager.class);
+        LocalizedCacheTopology topology = mock(LocalizedCacheTopology.class);
+        CacheEntryEvent<Object, Object> event = mock(CacheEntryEvent.class);
+        Object localKey = "local";
+        Object remoteKey = "remote";
+        Object otherRemoteKey = "other";
+        Object value = new Object();
+        AtomicInteger loads = new AtomicInteger();
+        Function<Object, Object> loader = key -> {
+            loads.incrementAndGet();
+            return value;
+        };
+
+        when(cache.getAdvancedCache()).thenReturn(cache);
+        when(cache.getName()).thenReturn("cache");
+        when(cache.getDistributionManager()).thenReturn(dist);
+        when(dist.getCacheTopology()).thenReturn(topology);
+        when(topology.isReadOwner(localKey)).thenReturn(true);
+        when(topology.isReadOwner(remoteKey)).thenReturn(false);
+        when(topology.isReadOwner(otherRemoteKey)).thenReturn(false);
+        when(event.getKey()).thenReturn(remoteKey);
+
+        NearCacheStatistics statistics = new NearCacheStatistics();
+
+        try (InvalidationNearCache nearCache = new InvalidationNearCache(cache, 1, statistics)) {
+            // Locally owned entries are never near cached
+            assertSame(value, nearCache.get(localKey, loader));
+            assertSame(value, nearCache.get(localKey, loader));
+            assertEquals(2, loads.get());
+            assertEquals(0, nearCache.size());
+
+            // Remote entries are loaded once
+            assertSame(value, nearCache.get(remoteKey, loader));
+            assertSame(value, nearCache.get(remoteKey, loader));
+            assertEquals(3, loads.get());
+            assertEquals(1, nearCache.getHits());
+            assertEquals(1, nearCache.getMisses());
+            assertEquals(1, statistics.getHits());
+            assertEquals(1, statistics.getMisses());
+
+            // Modification by any member invalidates the near cached entry
+            nearCache.changed(event);
+            assertEquals(1, nearCache.getInvalidations());
+            assertEquals(1, statistics.getInvalidations());
+            assertSame(value, nearCache.get(remoteKey, loader));
+            assertEquals(4, loads.get());
+
+            // Near cache is bounded
+            assertSame(value, nearCache.get(otherRemoteKey, loader));
+            assertSame(value, nearCache.get(remoteKey, loader));
+            assertEquals(6, loads.get());
+            assertEquals(1, nearCache.size());
+
+            // Non-existent entries are not near cached
+            nearCache.invalidate(remoteKey);
+            assertNull(nearCache.get(remoteKey, key -> null));
+            assertEquals(0, nearCache.size());
+
+            // A value loaded concurrently with its invalidation is not retained
+            Function<Object, Object> invalidatingLoader = key -> {
+                nearCache.invalidate(key);
+                return value;
+            };
+            assertSame(value, nearCache.get(remoteKey, invalidatingLoader));
+            assertEquals(0, nearCache.size());
+        }
+
+        // Shared statistics outlive the near cache, and aggregate those of other near caches
+        try (InvalidationNearCache nearCache = new InvalidationNearCache(cache, 1, statistics)) {
+            long misses = statistics.getMisses();
+            assertSame(value, nearCache.get(remoteKey, loader));
+            assertEquals(misses + 1, statistics.getMisses());
+            assertEquals(1, nearCache.getMisses());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.ee.infinispan.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.infinispan.AdvancedCache;
+import org.infinispan.CacheSet;
+import org.infinispan.CacheStream;
+import org.infinispan.commons.util.IntSet;
+import org.infinispan.context.Flag;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.infinispan.spi.distribution.Locality;
+
+/**
+ * Unit test for {@link ScheduleLocalKeysTask}.
+ * @author Paul Ferraro
+ */
+public class ScheduleLocalKeysTaskTestCase {
+
+    @Test
+    public void test() {
+        AdvancedCache<GroupedKey<Integer>, Object> cache = mock(AdvancedCache.class);
+        DistributionManager dist = mock(DistributionManager.class);
+        LocalizedCacheTopology topology = mock(LocalizedCacheTopology.class);
+        CacheSet<GroupedKey<Integer>> keySet = mock(CacheSet.class);
+        CacheStream<GroupedKey<Integer>> stream = mock(CacheStream.class);
+        Scheduler<Integer, Object> scheduler = mock(Scheduler.class);
+        Locality oldLocality = mock(Locality.class);
+        Locality newLocality = mock(Locality.class);
+        int segments = 4;
+        // For the purpose of this test, the segment of a key is its identifier modulo the number of segments
+        List<GroupedKey<Integer>> keys = Arrays.asList(new GroupedKey<>(0), new GroupedKey<>(1), new GroupedKey<>(2), new GroupedKey<>(3), new GroupedKey<>(5), new GroupedKey<>(6));
+
+        when(cache.getAdvancedCache()).thenReturn(cache);
+        when(cache.getName()).thenReturn("cache");
+        when(cache.withFlags(Flag.CACHE_MODE_LOCAL)).thenReturn(cache);
+        when(cache.getDistributionManager()).thenReturn(dist);
+        when(dist.getCacheTopology()).thenReturn(topology);
+        when(topology.getNumSegments()).thenReturn(segments);
+        when(cache.keySet()).thenReturn(keySet);
+        when(keySet.stream()).thenReturn(stream);
+        when(stream.filter(any())).thenReturn(stream);
+        when(stream.filterKeySegments(any(IntSet.class))).thenAnswer(invocation -> {
+            IntSet filter = invocation.getArgument(0);
+            List<GroupedKey<Integer>> segmentKeys = keys.stream().filter(key -> filter.contains(key.getId() % segments)).collect(Collectors.toList());
+            // Segments may be streamed concurrently, so avoid stubbing here
+            return mock(CacheStream.class, (Answer<?>) streamInvocation -> streamInvocation.getMethod().getName().equals("iterator") ? segmentKeys.iterator() : null);
+        });
+
+        // Primary ownership of segments 1 and 2 is transferred to the local member, segment 0 was already owned
+        when(oldLocality.isLocalSegment(0)).thenReturn(true);
+        when(newLocality.isLocalSegment(0)).thenReturn(true);
+        when(newLocality.isLocalSegment(1)).thenReturn(true);
+        when(newLocality.isLocalSegment(2)).thenReturn(true);
+
+        ScheduleLocalTaskStatistics statistics = new ScheduleLocalTaskStatistics();
+
+        try (ScheduleLocalKeysTask<Integer, GroupedKey<Integer>> task = new ScheduleLocalKeysTask<>(cache, key -> true, scheduler, statistics)) {
+            task.accept(oldLocality, newLocality);
+        }
+
+        verify(scheduler, never()).schedule(0);
+        verify(scheduler).schedule(1);
+        verify(scheduler).schedule(2);
+        verify(scheduler, never()).schedule(3);
+        verify(scheduler).schedule(5);
+        verify(scheduler).schedule(6);
+
+        assertEquals(1, statistics.getRescans());
+        assertEquals(2, statistics.getScannedSegments());
+        assertEquals(4, statistics.getScannedEntries());
+        assertEquals(4, statistics.getScheduledEntries());
+    }
+}
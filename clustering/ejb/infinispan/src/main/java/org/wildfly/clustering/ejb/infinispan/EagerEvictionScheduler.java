@@ -34,7 +34,9 @@ import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
 import org.wildfly.clustering.ejb.infinispan.bean.InfinispanBeanKey;
@@ -58,7 +60,16 @@ public class EagerEvictionScheduler<I, T> implements Scheduler<I, ImmutableBeanE
     private final CommandDispatcher<BeanGroupEvictor<I>> dispatcher;
 
     public EagerEvictionScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, BeanGroupEvictor<I> evictor, Duration idleTimeout, CommandDispatcherFactory dispatcherFactory, String dispatcherName, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(group.isSingleton() ? new LinkedScheduledEntries<>() : new SortedScheduledEntries<>(), this, closeTimeout);
+        this(group, batcher, factory, evictor, idleTimeout, dispatcherFactory, dispatcherName, closeTimeout, Duration.ZERO);
+    }
+
+    /**
+     * Creates an eager eviction scheduler whose eviction is scheduled using a timing wheel of the specified resolution.
+     * @param resolution the resolution of the timing wheel used to schedule eviction, or zero, to use a sorted set
+     */
+    public EagerEvictionScheduler(Group group, Batcher<TransactionBatch> batcher, BeanFactory<I, T> factory, BeanGroupEvictor<I> evictor, Duration idleTimeout, CommandDispatcherFactory dispatcherFactory, String dispatcherName, Duration closeTimeout, Duration resolution) {
+        ScheduledEntries<I, Instant> entries = group.isSingleton() ? new LinkedScheduledEntries<>() : resolution.isZero() ? new SortedScheduledEntries<>() : new TimingWheelScheduledEntries<>(resolution);
+        this.scheduler = new LocalScheduler<>(entries, this, closeTimeout);
         this.batcher = batcher;
         this.factory = factory;
         this.idleTimeout = idleTimeout;
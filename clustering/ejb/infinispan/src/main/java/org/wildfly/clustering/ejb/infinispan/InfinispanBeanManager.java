@@ -25,7 +25,6 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -43,6 +42,7 @@ import org.jboss.ejb.client.NodeAffinity;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalEntriesTask;
@@ -60,7 +60,6 @@ import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.security.manager.WildFlySecurityManager;
@@ -76,6 +75,8 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, TransactionBatch> {
 
     private static final String IDLE_TIMEOUT_PROPERTY = "jboss.ejb.stateful.%s.idle-timeout";
+    // Resolution, in milliseconds, of the timing wheel used to schedule expiration/eviction; if 0, a sorted set is used
+    private static final String EXPIRATION_RESOLUTION_PROPERTY = "jboss.ejb.stateful.expiration-resolution";
 
     private final String name;
     private final Cache<BeanKey<I>, BeanEntry<I>> cache;
@@ -92,7 +93,9 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
     private final Group group;
     private final Function<BeanKey<I>, Node> primaryOwnerLocator;
 
+    private final NearCache nearCache;
     private volatile org.wildfly.clustering.ee.Scheduler<I, ImmutableBeanEntry<I>> scheduler;
+    private volatile ScheduleLocalEntriesTask<I, ImmutableBeanEntry<I>, BeanKey<I>, BeanEntry<I>> scheduleTask;
     private volatile SchedulerListener listener;
 
     public InfinispanBeanManager(InfinispanBeanManagerConfiguration<I, T> configuration, IdentifierFactory<I> identifierFactory, Configuration<BeanKey<I>, BeanEntry<I>, BeanFactory<I, T>> beanConfiguration, Configuration<BeanGroupKey<I>, BeanGroupEntry<I, T, C>, BeanGroupFactory<I, T, C>> groupConfiguration) {
@@ -113,6 +116,7 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         this.passivation = configuration.getPassivationConfiguration();
         this.primaryOwnerLocator = new PrimaryOwnerLocator<>(beanConfiguration.getCache(), configuration.getGroup());
         this.group = configuration.getGroup();
+        this.nearCache = configuration.getNearCache();
     }
 
     @Override
@@ -120,10 +124,11 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         this.affinity.start();
 
         Duration stopTimeout = Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout());
+        Duration resolution = Duration.ofMillis(Long.parseLong(WildFlySecurityManager.getPropertyPrivileged(EXPIRATION_RESOLUTION_PROPERTY, "0")));
         List<Scheduler<I, ImmutableBeanEntry<I>>> schedulers = new ArrayList<>(2);
         Duration timeout = this.expiration.getTimeout();
         if ((timeout != null) && !timeout.isNegative()) {
-            schedulers.add(new BeanExpirationScheduler<>(this.dispatcherFactory.getGroup(), this.batcher, this.beanFactory, this.expiration, new ExpiredBeanRemover<>(this.beanFactory, this.expiration), stopTimeout));
+            schedulers.add(new BeanExpirationScheduler<>(this.dispatcherFactory.getGroup(), this.batcher, this.beanFactory, this.expiration, new ExpiredBeanRemover<>(this.beanFactory, this.expiration), stopTimeout, resolution));
         }
 
         String dispatcherName = String.join("/", this.cache.getName(), this.filter.toString());
@@ -133,17 +138,17 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         if (idleTimeout != null) {
             Duration idleDuration = Duration.parse(idleTimeout);
             if (!idleDuration.isNegative()) {
-                schedulers.add(new EagerEvictionScheduler<>(this.dispatcherFactory.getGroup(), this.batcher, this.beanFactory, this.groupFactory, idleDuration, this.dispatcherFactory, dispatcherName + "/eager-passivation", stopTimeout));
+                schedulers.add(new EagerEvictionScheduler<>(this.dispatcherFactory.getGroup(), this.batcher, this.beanFactory, this.groupFactory, idleDuration, this.dispatcherFactory, dispatcherName + "/eager-passivation", stopTimeout, resolution));
             }
         }
 
         Scheduler<I, ImmutableBeanEntry<I>> localScheduler = !schedulers.isEmpty() ? new CompositeScheduler<>(schedulers) : null;
         this.scheduler = (localScheduler != null) ? (this.dispatcherFactory.getGroup().isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(this.dispatcherFactory, dispatcherName, localScheduler, this.primaryOwnerLocator, InfinispanBeanKey::new)) : null;
 
-        BiConsumer<Locality, Locality> scheduleTask = new ScheduleLocalEntriesTask<>(this.cache, this.filter, localScheduler);
-        this.listener = (localScheduler != null) ? new SchedulerTopologyChangeListener<>(this.cache, localScheduler, scheduleTask) : null;
-        if (this.listener != null) {
-            scheduleTask.accept(new SimpleLocality(false), new CacheLocality(this.cache));
+        this.scheduleTask = (localScheduler != null) ? new ScheduleLocalEntriesTask<>(this.cache, this.filter, localScheduler) : null;
+        this.listener = (localScheduler != null) ? new SchedulerTopologyChangeListener<>(this.cache, localScheduler, this.scheduleTask) : null;
+        if (this.scheduleTask != null) {
+            this.scheduleTask.accept(new SimpleLocality(false), new CacheLocality(this.cache));
         }
     }
 
@@ -152,11 +157,15 @@ public class InfinispanBeanManager<I, T, C> implements BeanManager<I, T, Transac
         if (this.listener != null) {
             this.listener.close();
         }
+        if (this.scheduleTask != null) {
+            this.scheduleTask.close();
+        }
         if (this.scheduler != null) {
             this.scheduler.close();
         }
         this.affinity.stop();
         this.groupFactory.close();
+        this.nearCache.close();
     }
 
     @Override
@@ -26,6 +26,7 @@ import java.util.function.Predicate;
 
 import org.infinispan.remoting.transport.Address;
 import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.spi.group.Group;
@@ -44,4 +45,5 @@ public interface InfinispanBeanManagerConfiguration<I, T> {
     ExpirationConfiguration<T> getExpirationConfiguration();
     PassivationConfiguration<T> getPassivationConfiguration();
     CacheProperties getProperties();
+    NearCache getNearCache();
 }
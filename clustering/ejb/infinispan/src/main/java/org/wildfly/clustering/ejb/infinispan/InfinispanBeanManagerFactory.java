@@ -30,6 +30,8 @@ import org.infinispan.remoting.transport.Address;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.InfinispanCacheProperties;
+import org.wildfly.clustering.ee.infinispan.InvalidationNearCache;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.ejb.BeanManager;
 import org.wildfly.clustering.ejb.BeanManagerFactory;
 import org.wildfly.clustering.ejb.BeanPassivationConfiguration;
@@ -43,8 +45,10 @@ import org.wildfly.clustering.marshalling.jboss.JBossByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.CompressingByteBufferMarshaller;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
 import org.wildfly.clustering.spi.group.Group;
+import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
  * Factory for creating an infinispan-based {@link BeanManager}.
@@ -56,6 +60,11 @@ import org.wildfly.clustering.spi.group.Group;
  */
 public class InfinispanBeanManagerFactory<I, T> implements BeanManagerFactory<I, T, TransactionBatch> {
 
+    // Minimum size, in bytes, of a marshalled bean group above which it will be compressed; undefined by default
+    private static final String COMPRESSION_THRESHOLD_PROPERTY = "jboss.ejb.stateful.compression-threshold";
+    // Maximum number of non-local bean entries to retain in a near cache of a distributed cache; none by default
+    private static final String NEAR_CACHE_MAX_ENTRIES_PROPERTY = "jboss.ejb.stateful.near-cache-max-entries";
+
     private final InfinispanBeanManagerFactoryConfiguration configuration;
 
     public InfinispanBeanManagerFactory(InfinispanBeanManagerFactoryConfiguration configuration) {
@@ -65,10 +74,16 @@ public class InfinispanBeanManagerFactory<I, T> implements BeanManagerFactory<I,
     @Override
     public BeanManager<I, T, TransactionBatch> createBeanManager(IdentifierFactory<I> identifierFactory, PassivationListener<T> passivationListener, RemoveListener<T> removeListener) {
         ByteBufferMarshaller marshaller = new JBossByteBufferMarshaller(this.configuration.getMarshallingConfigurationRepository(), this.configuration.getBeanContext().getClassLoader());
+        String compressionThreshold = WildFlySecurityManager.getPropertyPrivileged(COMPRESSION_THRESHOLD_PROPERTY, null);
+        if (compressionThreshold != null) {
+            marshaller = new CompressingByteBufferMarshaller(marshaller, Integer.parseInt(compressionThreshold));
+        }
         MarshalledValueFactory<ByteBufferMarshaller> factory = new ByteBufferMarshalledValueFactory(marshaller);
         Cache<BeanKey<I>, BeanEntry<I>> beanCache = this.configuration.getCache();
         Cache<BeanGroupKey<I>, BeanGroupEntry<I, T, ByteBufferMarshaller>> groupCache = this.configuration.getCache();
         CacheProperties properties = new InfinispanCacheProperties(groupCache.getCacheConfiguration());
+        int nearCacheMaxEntries = Integer.parseInt(WildFlySecurityManager.getPropertyPrivileged(NEAR_CACHE_MAX_ENTRIES_PROPERTY, "0"));
+        NearCache nearCache = (nearCacheMaxEntries > 0) && groupCache.getCacheConfiguration().clustering().cacheMode().isDistributed() ? new InvalidationNearCache(groupCache, nearCacheMaxEntries) : NearCache.NONE;
         String beanName = this.configuration.getBeanContext().getBeanName();
         BeanPassivationConfiguration passivationConfig = this.configuration.getPassivationConfiguration();
         PassivationConfiguration<T> passivation = new PassivationConfiguration<T>() {
@@ -83,9 +98,9 @@ public class InfinispanBeanManagerFactory<I, T> implements BeanManagerFactory<I,
             }
         };
         Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter = new BeanFilter<>(beanName);
-        BeanGroupFactory<I, T, ByteBufferMarshaller> groupFactory = new InfinispanBeanGroupFactory<>(groupCache, beanCache, beanFilter, factory, properties, passivation);
+        BeanGroupFactory<I, T, ByteBufferMarshaller> groupFactory = new InfinispanBeanGroupFactory<>(groupCache, beanCache, beanFilter, factory, properties, passivation, nearCache);
         Configuration<BeanGroupKey<I>, BeanGroupEntry<I, T, ByteBufferMarshaller>, BeanGroupFactory<I, T, ByteBufferMarshaller>> groupConfiguration = new SimpleConfiguration<>(groupCache, groupFactory);
-        BeanFactory<I, T> beanFactory = new InfinispanBeanFactory<>(beanName, groupFactory, beanCache, properties, this.configuration.getBeanContext().getTimeout(), properties.isPersistent() ? passivationListener : null);
+        BeanFactory<I, T> beanFactory = new InfinispanBeanFactory<>(beanName, groupFactory, beanCache, properties, this.configuration.getBeanContext().getTimeout(), properties.isPersistent() ? passivationListener : null, nearCache);
         Configuration<BeanKey<I>, BeanEntry<I>, BeanFactory<I, T>> beanConfiguration = new SimpleConfiguration<>(beanCache, beanFactory);
         Group<Address> group = this.configuration.getGroup();
         KeyAffinityServiceFactory affinityFactory = this.configuration.getKeyAffinityServiceFactory();
@@ -143,6 +158,11 @@ public class InfinispanBeanManagerFactory<I, T> implements BeanManagerFactory<I,
             public CacheProperties getProperties() {
                 return properties;
             }
+
+            @Override
+            public NearCache getNearCache() {
+                return nearCache;
+            }
         };
         return new InfinispanBeanManager<>(configuration, identifierFactory, beanConfiguration, groupConfiguration);
     }
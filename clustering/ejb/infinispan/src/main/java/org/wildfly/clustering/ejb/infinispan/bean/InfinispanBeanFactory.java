@@ -32,6 +32,7 @@ import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.ejb.Bean;
 import org.wildfly.clustering.ejb.PassivationListener;
 import org.wildfly.clustering.ejb.RemoveListener;
@@ -60,8 +61,9 @@ public class InfinispanBeanFactory<I, T, C> implements BeanFactory<I, T> {
     private final Duration timeout;
     private final PassivationListener<T> listener;
     private final MutatorFactory<BeanKey<I>, BeanEntry<I>> mutatorFactory;
+    private final NearCache nearCache;
 
-    public InfinispanBeanFactory(String beanName, BeanGroupFactory<I, T, C> groupFactory, Cache<BeanKey<I>, BeanEntry<I>> cache, CacheProperties properties, Duration timeout, PassivationListener<T> listener) {
+    public InfinispanBeanFactory(String beanName, BeanGroupFactory<I, T, C> groupFactory, Cache<BeanKey<I>, BeanEntry<I>> cache, CacheProperties properties, Duration timeout, PassivationListener<T> listener, NearCache nearCache) {
         this.beanName = beanName;
         this.groupFactory = groupFactory;
         this.cache = cache;
@@ -69,6 +71,8 @@ public class InfinispanBeanFactory<I, T, C> implements BeanFactory<I, T> {
         this.timeout = timeout;
         this.listener = listener;
         this.mutatorFactory = new InfinispanMutatorFactory<>(cache, properties);
+        // Reads that must acquire a lock cannot be served by the near cache
+        this.nearCache = properties.isLockOnRead() ? NearCache.NONE : nearCache;
     }
 
     @Override
@@ -94,7 +98,7 @@ public class InfinispanBeanFactory<I, T, C> implements BeanFactory<I, T> {
     public BeanEntry<I> findValue(I id) {
         // TODO WFLY-14167 Cache lookup timeout should reflect @AccessTimeout of associated bean/invocation
         try {
-            return this.findCache.get(this.createKey(id));
+            return this.nearCache.get(this.createKey(id), this.findCache::get);
         } catch (TimeoutException e) {
             throw new ConcurrentAccessTimeoutException(e.getLocalizedMessage());
         }
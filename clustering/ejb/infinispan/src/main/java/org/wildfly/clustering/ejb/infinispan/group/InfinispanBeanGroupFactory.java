@@ -50,6 +50,7 @@ import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.ejb.PassivationListener;
 import org.wildfly.clustering.ejb.infinispan.BeanEntry;
 import org.wildfly.clustering.ejb.infinispan.BeanGroup;
@@ -84,8 +85,9 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
     private final PassivationListener<T> passivationListener;
     private final MutatorFactory<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> mutatorFactory;
     private final ExecutorService executor = new DefaultExecutorService(this.getClass(), ExecutorServiceFactory.CACHED_THREAD);
+    private final NearCache nearCache;
 
-    public InfinispanBeanGroupFactory(Cache<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> cache, Cache<BeanKey<I>, BeanEntry<I>> beanCache, Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter, MarshalledValueFactory<C> factory, CacheProperties properties, PassivationConfiguration<T> passivation) {
+    public InfinispanBeanGroupFactory(Cache<BeanGroupKey<I>, BeanGroupEntry<I, T, C>> cache, Cache<BeanKey<I>, BeanEntry<I>> beanCache, Predicate<Map.Entry<? super BeanKey<I>, ? super BeanEntry<I>>> beanFilter, MarshalledValueFactory<C> factory, CacheProperties properties, PassivationConfiguration<T> passivation, NearCache nearCache) {
         this.cache = cache;
         this.findCache = properties.isLockOnRead() ? cache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : cache;
         this.beanCache = beanCache.getAdvancedCache().withFlags(Flag.CACHE_MODE_LOCAL, Flag.SKIP_LISTENER_NOTIFICATION);
@@ -94,6 +96,8 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
         this.passivationListener = !properties.isPersistent() ? passivation.getPassivationListener() : null;
         this.cache.addListener(this, BeanGroupFilter.INSTANCE, null);
         this.mutatorFactory = new InfinispanMutatorFactory<>(cache, properties);
+        // Reads that must acquire a lock cannot be served by the near cache
+        this.nearCache = properties.isLockOnRead() ? NearCache.NONE : nearCache;
     }
 
     @Override
@@ -133,7 +137,7 @@ public class InfinispanBeanGroupFactory<I, T, C> implements BeanGroupFactory<I,
 
     @Override
     public BeanGroupEntry<I, T, C> findValue(I id) {
-        return this.findCache.get(this.createKey(id));
+        return this.nearCache.get(this.createKey(id), this.findCache::get);
     }
 
     @Override
@@ -23,6 +23,7 @@
 package org.jboss.as.clustering.infinispan.subsystem;
 
 import org.infinispan.Cache;
+import org.jboss.as.clustering.controller.BinaryCapabilityNameResolver;
 import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
 
 /**
@@ -38,6 +39,11 @@ public class CacheComponentMetricExecutor<C> extends CacheMetricExecutor<C> {
         this.componentClass = componentClass;
     }
 
+    public CacheComponentMetricExecutor(FunctionExecutorRegistry<Cache<?, ?>> executors, Class<C> componentClass, BinaryCapabilityNameResolver resolver) {
+        super(executors, resolver);
+        this.componentClass = componentClass;
+    }
+
     @Override
     public C apply(Cache<?, ?> cache) {
         return cache.getAdvancedCache().getComponentRegistry().getLocalComponent(this.componentClass);
@@ -21,6 +21,9 @@
  */
 package org.jboss.as.clustering.infinispan.subsystem;
 
+import java.util.Optional;
+
+import org.infinispan.commons.marshall.Marshaller;
 import org.infinispan.manager.EmbeddedCacheManager;
 import org.infinispan.remoting.transport.Address;
 import org.jboss.as.clustering.controller.Metric;
@@ -29,6 +32,8 @@ import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.infinispan.marshalling.protostream.ProtoStreamMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 
 /**
  * Enumeration of management metrics for a cache container.
@@ -69,16 +74,52 @@ public enum CacheContainerMetric implements Metric<EmbeddedCacheManager> {
             return (address != null) ? new ModelNode(address.toString()) : null;
         }
     },
+    MARSHALLING_BUFFER_ACQUISITIONS("marshalling-buffer-acquisitions", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(EmbeddedCacheManager manager) {
+            return getBufferPool(manager).map(ByteBufferOutputStreamPool::getAcquisitionCount).map(ModelNode::new).orElse(null);
+        }
+    },
+    MARSHALLING_BUFFER_ALLOCATIONS("marshalling-buffer-allocations", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(EmbeddedCacheManager manager) {
+            return getBufferPool(manager).map(ByteBufferOutputStreamPool::getAllocationCount).map(ModelNode::new).orElse(null);
+        }
+    },
+    MARSHALLING_BUFFER_DISCARDS("marshalling-buffer-discards", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(EmbeddedCacheManager manager) {
+            return getBufferPool(manager).map(ByteBufferOutputStreamPool::getDiscardCount).map(ModelNode::new).orElse(null);
+        }
+    },
+    MARSHALLING_BUFFER_COPIED_BYTES("marshalling-buffer-copied-bytes", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(EmbeddedCacheManager manager) {
+            return getBufferPool(manager).map(ByteBufferOutputStreamPool::getCopiedBytes).map(ModelNode::new).orElse(null);
+        }
+    },
     ;
     private final AttributeDefinition definition;
 
     CacheContainerMetric(String name, ModelType type) {
+        this(name, type, AttributeAccess.Flag.GAUGE_METRIC);
+    }
+
+    CacheContainerMetric(String name, ModelType type, AttributeAccess.Flag metricType) {
         this.definition = new SimpleAttributeDefinitionBuilder(name, type, true)
-                .setFlags(AttributeAccess.Flag.GAUGE_METRIC)
+                .setFlags(metricType)
                 .setStorageRuntime()
                 .build();
     }
 
+    /**
+     * Returns the buffer pool of the marshaller of the specified cache manager, if the cache container was configured with pooled marshalling buffers.
+     */
+    static Optional<ByteBufferOutputStreamPool> getBufferPool(EmbeddedCacheManager manager) {
+        Marshaller marshaller = manager.getCacheManagerConfiguration().serialization().marshaller();
+        return (marshaller instanceof ProtoStreamMarshaller) ? ((ProtoStreamMarshaller) marshaller).getBufferPool() : Optional.empty();
+    }
+
     @Override
     public AttributeDefinition getDefinition() {
         return this.definition;
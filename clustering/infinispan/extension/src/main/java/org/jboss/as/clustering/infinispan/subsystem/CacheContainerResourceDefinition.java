@@ -62,6 +62,8 @@ import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
 import org.jboss.as.controller.operations.global.ListOperations;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker.DiscardAttributeValueChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -139,6 +141,12 @@ public class CacheContainerResourceDefinition extends ChildResourceDefinition<Ma
                 return builder.setAllowExpression(false).setCapabilityReference(new CapabilityReference(DEFAULT_CAPABILITIES.get(InfinispanCacheRequirement.CONFIGURATION), InfinispanCacheRequirement.CONFIGURATION, WILDCARD_PATH));
             }
         },
+        POOLED_MARSHALLING_BUFFERS("pooled-marshalling-buffers", ModelType.BOOLEAN) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(ModelNode.FALSE);
+            }
+        },
         STATISTICS_ENABLED(ModelDescriptionConstants.STATISTICS_ENABLED, ModelType.BOOLEAN) {
             @Override
             public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
@@ -274,6 +282,8 @@ public class CacheContainerResourceDefinition extends ChildResourceDefinition<Ma
                     .setValueConverter(new SingletonListAttributeConverter(ListAttribute.MODULES), DeprecatedAttribute.MODULE.getDefinition())
                     .setDiscard(DiscardSingletonListAttributeChecker.INSTANCE, ListAttribute.MODULES.getDefinition())
                     .addRejectCheck(RejectNonSingletonListAttributeChecker.INSTANCE, ListAttribute.MODULES.getDefinition())
+                    .setDiscard(new DiscardAttributeValueChecker(false, true, ModelNode.FALSE), Attribute.POOLED_MARSHALLING_BUFFERS.getDefinition())
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.POOLED_MARSHALLING_BUFFERS.getDefinition())
                     .end();
         }
         if (InfinispanModel.VERSION_3_0_0.requiresTransformation(version)) {
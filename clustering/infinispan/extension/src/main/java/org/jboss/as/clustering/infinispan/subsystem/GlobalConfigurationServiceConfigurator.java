@@ -23,6 +23,7 @@
 package org.jboss.as.clustering.infinispan.subsystem;
 
 import static org.jboss.as.clustering.infinispan.subsystem.CacheContainerResourceDefinition.Attribute.DEFAULT_CACHE;
+import static org.jboss.as.clustering.infinispan.subsystem.CacheContainerResourceDefinition.Attribute.POOLED_MARSHALLING_BUFFERS;
 import static org.jboss.as.clustering.infinispan.subsystem.CacheContainerResourceDefinition.Attribute.STATISTICS_ENABLED;
 import static org.jboss.as.clustering.infinispan.subsystem.CacheContainerResourceDefinition.Capability.CONFIGURATION;
 
@@ -66,6 +67,7 @@ import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.infinispan.marshalling.jboss.JBossMarshaller;
 import org.wildfly.clustering.infinispan.spi.marshalling.InfinispanProtoStreamMarshaller;
 import org.wildfly.clustering.marshalling.protostream.ModuleClassLoaderMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 import org.wildfly.clustering.service.CompositeDependency;
 import org.wildfly.clustering.service.Dependency;
 import org.wildfly.clustering.service.FunctionalService;
@@ -88,6 +90,7 @@ public class GlobalConfigurationServiceConfigurator extends CapabilityServiceNam
     private volatile SupplierDependency<MBeanServer> server;
     private volatile String defaultCache;
     private volatile boolean statisticsEnabled;
+    private volatile boolean pooledMarshallingBuffers;
 
     GlobalConfigurationServiceConfigurator(PathAddress address) {
         super(CONFIGURATION, address);
@@ -108,6 +111,7 @@ public class GlobalConfigurationServiceConfigurator extends CapabilityServiceNam
         this.server = context.hasOptionalCapability(CommonRequirement.MBEAN_SERVER.getName(), null, null) ? new ServiceSupplierDependency<>(CommonRequirement.MBEAN_SERVER.getServiceName(context)) : null;
         this.defaultCache = DEFAULT_CACHE.resolveModelAttribute(context, model).asStringOrNull();
         this.statisticsEnabled = STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean();
+        this.pooledMarshallingBuffers = POOLED_MARSHALLING_BUFFERS.resolveModelAttribute(context, model).asBoolean();
         return this;
     }
 
@@ -176,7 +180,7 @@ public class GlobalConfigurationServiceConfigurator extends CapabilityServiceNam
     private Marshaller createMarshaller(ClassLoader loader) {
         ModuleLoader moduleLoader = this.loader.get();
         try {
-            return new InfinispanProtoStreamMarshaller(new ModuleClassLoaderMarshaller(moduleLoader), loader);
+            return new InfinispanProtoStreamMarshaller(new ModuleClassLoaderMarshaller(moduleLoader), loader, this.pooledMarshallingBuffers ? new ByteBufferOutputStreamPool() : null);
         } catch (NoSuchElementException e) {
             return new JBossMarshaller(ModularClassResolver.getInstance(moduleLoader), loader);
         }
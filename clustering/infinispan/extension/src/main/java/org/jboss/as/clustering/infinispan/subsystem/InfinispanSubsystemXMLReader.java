@@ -186,6 +186,12 @@ public class InfinispanSubsystemXMLReader implements XMLElementReader<List<Model
                         break;
                     }
                 }
+                case POOLED_MARSHALLING_BUFFERS: {
+                    if (this.schema.since(InfinispanSchema.VERSION_13_0)) {
+                        readAttribute(reader, i, operation, CacheContainerResourceDefinition.Attribute.POOLED_MARSHALLING_BUFFERS);
+                        break;
+                    }
+                }
                 default: {
                     throw ParseUtils.unexpectedAttribute(reader, i);
                 }
@@ -29,6 +29,7 @@ import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
 import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.wildfly.clustering.ee.infinispan.CoalescingStoreWriter;
 
 /**
  * @author Paul Ferraro
@@ -48,6 +49,7 @@ public class PersistenceRuntimeResourceDefinition extends CacheComponentRuntimeR
     public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
         ManagementResourceRegistration registration = super.register(parent);
         new MetricHandler<>(new CacheInterceptorMetricExecutor<>(this.executors, CacheLoaderInterceptor.class, BinaryCapabilityNameResolver.GRANDPARENT_PARENT), StoreMetric.class).register(registration);
+        new MetricHandler<>(new CacheComponentMetricExecutor<>(this.executors, CoalescingStoreWriter.class, BinaryCapabilityNameResolver.GRANDPARENT_PARENT), StoreWriterMetric.class).register(registration);
         return registration;
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.infinispan.subsystem;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.ee.infinispan.CoalescingStoreWriter;
+
+/**
+ * Enumeration of management metrics for the deferred writes to a cache store.
+ * These metrics are only defined for caches whose store writes are deferred, e.g. via the store-flush-interval of a distributable web application.
+ * @author Paul Ferraro
+ */
+@SuppressWarnings("rawtypes")
+public enum StoreWriterMetric implements Metric<CoalescingStoreWriter> {
+
+    PENDING_WRITES("pending-writes", ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        public ModelNode execute(CoalescingStoreWriter writer) {
+            return new ModelNode(writer.getPendingCount());
+        }
+    },
+    FLUSHES("flushes", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CoalescingStoreWriter writer) {
+            return new ModelNode(writer.getFlushCount());
+        }
+    },
+    FLUSHED_WRITES("flushed-writes", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CoalescingStoreWriter writer) {
+            return new ModelNode(writer.getWriteCount());
+        }
+    },
+    AVERAGE_FLUSH_TIME("average-flush-time", ModelType.LONG, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CoalescingStoreWriter writer) {
+            return new ModelNode(writer.getMeanFlushDuration().toMillis());
+        }
+    },
+    LAST_FLUSH_TIME("last-flush-time", ModelType.LONG, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CoalescingStoreWriter writer) {
+            return new ModelNode(writer.getLastFlushDuration().toMillis());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    StoreWriterMetric(String name, ModelType type, AttributeAccess.Flag metricType) {
+        this(name, type, metricType, null);
+    }
+
+    StoreWriterMetric(String name, ModelType type, MeasurementUnit unit) {
+        this(name, type, AttributeAccess.Flag.GAUGE_METRIC, unit);
+    }
+
+    StoreWriterMetric(String name, ModelType type, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
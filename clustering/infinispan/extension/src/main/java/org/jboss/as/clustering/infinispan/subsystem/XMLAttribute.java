@@ -104,6 +104,7 @@ public enum XMLAttribute {
     OWNERS(DistributedCacheResourceDefinition.Attribute.OWNERS),
     PASSIVATION(StoreResourceDefinition.Attribute.PASSIVATION),
     PATH(FileStoreResourceDefinition.Attribute.RELATIVE_PATH),
+    POOLED_MARSHALLING_BUFFERS(CacheContainerResourceDefinition.Attribute.POOLED_MARSHALLING_BUFFERS),
     PREFIX(StringTableResourceDefinition.Attribute.PREFIX),
     PRELOAD(StoreResourceDefinition.Attribute.PRELOAD),
     PURGE(StoreResourceDefinition.Attribute.PURGE),
@@ -391,6 +391,7 @@ public class InfinispanTransformersTestCase extends OperationTestCaseBase {
         List<String> rejectedRemoteContainerAttributes = new LinkedList<>();
 
         if (InfinispanModel.VERSION_14_0_0.requiresTransformation(version)) {
+            config.addFailedAttribute(containerAddress, new FailedOperationTransformationConfig.NewAttributesConfig(CacheContainerResourceDefinition.Attribute.POOLED_MARSHALLING_BUFFERS.getDefinition()));
             rejectedRemoteContainerAttributes.add(RemoteCacheContainerResourceDefinition.ListAttribute.MODULES.getName());
         }
 
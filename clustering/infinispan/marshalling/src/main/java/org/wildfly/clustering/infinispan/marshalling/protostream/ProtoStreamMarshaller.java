@@ -25,6 +25,7 @@ package org.wildfly.clustering.infinispan.marshalling.protostream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.Optional;
 
 import org.infinispan.commons.dataconversion.MediaType;
 import org.infinispan.protostream.ImmutableSerializationContext;
@@ -32,6 +33,7 @@ import org.wildfly.clustering.infinispan.marshalling.AbstractMarshaller;
 import org.wildfly.clustering.marshalling.protostream.ClassLoaderMarshaller;
 import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 
 /**
  * @author Paul Ferraro
@@ -41,15 +43,32 @@ public class ProtoStreamMarshaller extends AbstractMarshaller {
     private final ProtoStreamByteBufferMarshaller marshaller;
 
     public ProtoStreamMarshaller(ClassLoaderMarshaller loaderMarshaller, ClassLoader loader) {
-        this(new SerializationContextBuilder(loaderMarshaller).require(loader));
+        this(new SerializationContextBuilder(loaderMarshaller).require(loader), null);
     }
 
-    protected ProtoStreamMarshaller(SerializationContextBuilder builder) {
-        this(builder.register(new IOSerializationContextInitializer()).build());
+    protected ProtoStreamMarshaller(SerializationContextBuilder builder, ByteBufferOutputStreamPool pool) {
+        this(builder.register(new IOSerializationContextInitializer()).build(), pool);
     }
 
     public ProtoStreamMarshaller(ImmutableSerializationContext context) {
-        this.marshaller = new ProtoStreamByteBufferMarshaller(context);
+        this(context, null);
+    }
+
+    /**
+     * Creates a marshaller that marshals embedded messages into buffers obtained from the specified pool.
+     * @param context a serialization context
+     * @param pool a buffer pool, or null, if buffers should not be pooled
+     */
+    public ProtoStreamMarshaller(ImmutableSerializationContext context, ByteBufferOutputStreamPool pool) {
+        this.marshaller = new ProtoStreamByteBufferMarshaller(context, pool);
+    }
+
+    /**
+     * Returns the pool of buffers used for marshalling, if enabled.
+     * @return an optional buffer pool
+     */
+    public Optional<ByteBufferOutputStreamPool> getBufferPool() {
+        return this.marshaller.getBufferPool();
     }
 
     @Override
@@ -54,4 +54,9 @@ public class ConsistentHashLocality implements Locality {
     public boolean isLocal(Object key) {
         return this.topology.getDistribution(key).isPrimary();
     }
+
+    @Override
+    public boolean isLocalSegment(int segment) {
+        return this.topology.getSegmentDistribution(segment).isPrimary();
+    }
 }
@@ -26,6 +26,7 @@ import org.wildfly.clustering.infinispan.marshalling.protostream.ProtoStreamMars
 import org.wildfly.clustering.infinispan.spi.metadata.MetadataSerializationContextInitializer;
 import org.wildfly.clustering.marshalling.protostream.ClassLoaderMarshaller;
 import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 
 /**
  * @author Paul Ferraro
@@ -33,6 +34,16 @@ import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilde
 public class InfinispanProtoStreamMarshaller extends ProtoStreamMarshaller {
 
     public InfinispanProtoStreamMarshaller(ClassLoaderMarshaller loaderMarshaller, ClassLoader loader) {
-        super(new SerializationContextBuilder(loaderMarshaller).register(new MetadataSerializationContextInitializer()).require(loader));
+        this(loaderMarshaller, loader, null);
+    }
+
+    /**
+     * Creates a marshaller that marshals embedded messages into buffers obtained from the specified pool.
+     * @param loaderMarshaller a class loader marshaller
+     * @param loader a class loader
+     * @param pool a buffer pool, or null, if buffers should not be pooled
+     */
+    public InfinispanProtoStreamMarshaller(ClassLoaderMarshaller loaderMarshaller, ClassLoader loader, ByteBufferOutputStreamPool pool) {
+        super(new SerializationContextBuilder(loaderMarshaller).register(new MetadataSerializationContextInitializer()).require(loader), pool);
     }
 }
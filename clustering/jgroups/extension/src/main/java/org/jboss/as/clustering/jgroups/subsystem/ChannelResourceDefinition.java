@@ -36,6 +36,8 @@ import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.clustering.controller.SimpleResourceRegistration;
 import org.jboss.as.clustering.controller.ResourceServiceHandler;
 import org.jboss.as.clustering.controller.UnaryRequirementCapability;
+import org.jboss.as.clustering.controller.validation.IntRangeValidatorBuilder;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.clustering.controller.validation.ModuleIdentifierValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelVersion;
@@ -45,6 +47,7 @@ import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.Resource;
@@ -58,6 +61,7 @@ import org.jboss.as.controller.transform.description.ResourceTransformationDescr
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jgroups.JChannel;
+import org.wildfly.clustering.jgroups.spi.CommandBatchConfiguration;
 import org.wildfly.clustering.jgroups.spi.JGroupsRequirement;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.spi.ClusteringRequirement;
@@ -81,6 +85,7 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
         JCHANNEL_FACTORY(JGroupsRequirement.CHANNEL_SOURCE),
         JCHANNEL_MODULE(JGroupsRequirement.CHANNEL_MODULE),
         JCHANNEL_CLUSTER(JGroupsRequirement.CHANNEL_CLUSTER),
+        JCHANNEL_COMMAND_BATCH(JGroupsRequirement.CHANNEL_COMMAND_BATCH),
         ;
         private org.jboss.as.clustering.controller.Capability capability;
 
@@ -126,6 +131,23 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
                 return builder.setDefaultValue(ModelNode.FALSE);
             }
         },
+        COMMAND_BATCH_WINDOW("command-batch-window", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0L))
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
+        COMMAND_BATCH_MAX_SIZE("command-batch-max-size", ModelType.INT) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(64))
+                        .setValidator(new IntRangeValidatorBuilder().min(1).configure(builder).build())
+                        ;
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -231,6 +253,13 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
         } else {
             ResourceTransformationDescriptionBuilder builder = parent.addChildResource(WILDCARD_PATH, discardAutoGeneratedChannel);
 
+            if (JGroupsModel.VERSION_9_0_0.requiresTransformation(version)) {
+                builder.getAttributeBuilder()
+                        .setDiscard(DiscardAttributeChecker.UNDEFINED, Attribute.COMMAND_BATCH_WINDOW.getDefinition(), Attribute.COMMAND_BATCH_MAX_SIZE.getDefinition())
+                        .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.COMMAND_BATCH_WINDOW.getDefinition(), Attribute.COMMAND_BATCH_MAX_SIZE.getDefinition())
+                        .end();
+            }
+
             if (JGroupsModel.VERSION_4_0_0.requiresTransformation(version)) {
                 DiscardAttributeChecker discarder = new DefaultDiscardAttributeChecker(false, true) {
                     @Override
@@ -278,6 +307,7 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
         ManagementResourceRegistration registration = parent.registerSubModel(this);
 
         ServiceValueExecutorRegistry<JChannel> executors = new ServiceValueExecutorRegistry<>();
+        ServiceValueExecutorRegistry<CommandBatchConfiguration> batchExecutors = new ServiceValueExecutorRegistry<>();
         ResourceDescriptor descriptor = new ResourceDescriptor(this.getResourceDescriptionResolver())
                 .addAttributes(Attribute.class)
                 .addCapabilities(Capability.class)
@@ -286,11 +316,12 @@ public class ChannelResourceDefinition extends ChildResourceDefinition<Managemen
                 .setAddOperationTransformation(new AddOperationTransformation())
                 .addRuntimeResourceRegistration(new ChannelRuntimeResourceRegistration(executors))
                 ;
-        ResourceServiceHandler handler = new ChannelServiceHandler(executors);
+        ResourceServiceHandler handler = new ChannelServiceHandler(executors, batchExecutors);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
         if (registration.isRuntimeOnlyRegistrationValid()) {
             new MetricHandler<>(new ChannelMetricExecutor(executors), ChannelMetric.class).register(registration);
+            new MetricHandler<>(new CommandBatchMetricExecutor(batchExecutors), CommandBatchMetric.class).register(registration);
         }
 
         new ForkResourceDefinition(executors).register(registration);
@@ -28,6 +28,7 @@ import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinitio
 import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinition.Attribute.STATISTICS_ENABLED;
 import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinition.Capability.FORK_CHANNEL_FACTORY;
 import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinition.Capability.JCHANNEL;
+import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinition.Capability.JCHANNEL_COMMAND_BATCH;
 import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinition.Capability.JCHANNEL_FACTORY;
 import static org.jboss.as.clustering.jgroups.subsystem.ChannelResourceDefinition.Capability.JCHANNEL_MODULE;
 
@@ -49,6 +50,7 @@ import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
 import org.jgroups.JChannel;
+import org.wildfly.clustering.jgroups.spi.CommandBatchConfiguration;
 import org.wildfly.clustering.jgroups.spi.JGroupsRequirement;
 import org.wildfly.clustering.service.IdentityServiceConfigurator;
 import org.wildfly.clustering.service.ServiceNameProvider;
@@ -64,9 +66,11 @@ import org.wildfly.clustering.spi.GroupServiceConfiguratorProvider;
 public class ChannelServiceHandler implements ResourceServiceHandler {
 
     private final ServiceValueRegistry<JChannel> registry;
+    private final ServiceValueRegistry<CommandBatchConfiguration> batchRegistry;
 
-    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry) {
+    public ChannelServiceHandler(ServiceValueRegistry<JChannel> registry, ServiceValueRegistry<CommandBatchConfiguration> batchRegistry) {
         this.registry = registry;
+        this.batchRegistry = batchRegistry;
     }
 
     @Override
@@ -84,7 +88,11 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
         new ForkChannelFactoryServiceConfigurator(FORK_CHANNEL_FACTORY, address.append(ForkResourceDefinition.pathElement(name))).configure(context, new ModelNode()).build(target).install();
         new ModuleServiceConfigurator(JCHANNEL_MODULE.getServiceName(address), MODULE).configure(context, model).build(target).setInitialMode(ServiceController.Mode.PASSIVE).install();
 
+        ChannelCommandBatchServiceConfigurator batchConfigurator = new ChannelCommandBatchServiceConfigurator(address);
+        batchConfigurator.configure(context, model).build(target).install();
+
         new ServiceValueCaptorServiceConfigurator<>(this.registry.add(channelBuilder.getServiceName())).build(target).install();
+        new ServiceValueCaptorServiceConfigurator<>(this.batchRegistry.add(batchConfigurator.getServiceName())).build(target).install();
 
         new BinderServiceConfigurator(JGroupsBindingFactory.createChannelBinding(name), JGroupsRequirement.CHANNEL.getServiceName(context, name)).build(target).install();
         new BinderServiceConfigurator(JGroupsBindingFactory.createChannelFactoryBinding(name), JGroupsRequirement.CHANNEL_FACTORY.getServiceName(context, name)).build(target).install();
@@ -122,5 +130,6 @@ public class ChannelServiceHandler implements ResourceServiceHandler {
         }
 
         context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.registry.remove(JCHANNEL.getServiceName(address))).getServiceName());
+        context.removeService(new ServiceValueCaptorServiceConfigurator<>(this.batchRegistry.remove(JCHANNEL_COMMAND_BATCH.getServiceName(address))).getServiceName());
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.clustering.jgroups.subsystem;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.jgroups.spi.CommandBatchStatistics;
+
+/**
+ * Enumerates management metrics for the command batching of a channel.
+ * @author Paul Ferraro
+ */
+public enum CommandBatchMetric implements Metric<CommandBatchStatistics> {
+
+    BATCHES("command-batches", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CommandBatchStatistics statistics) {
+            return new ModelNode(statistics.getBatchCount());
+        }
+    },
+    BATCHED_COMMANDS("batched-commands", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CommandBatchStatistics statistics) {
+            return new ModelNode(statistics.getCommandCount());
+        }
+    },
+    AVERAGE_BATCH_SIZE("average-command-batch-size", ModelType.DOUBLE, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        public ModelNode execute(CommandBatchStatistics statistics) {
+            return new ModelNode(statistics.getAverageBatchSize());
+        }
+    },
+    LARGEST_BATCH_SIZE("largest-command-batch-size", ModelType.INT, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        public ModelNode execute(CommandBatchStatistics statistics) {
+            return new ModelNode(statistics.getMaxBatchSize());
+        }
+    },
+    AVERAGE_LATENCY("average-batched-command-latency", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CommandBatchStatistics statistics) {
+            return new ModelNode(statistics.getAverageLatency().toMillis());
+        }
+    },
+    MAX_LATENCY("max-batched-command-latency", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MILLISECONDS) {
+        @Override
+        public ModelNode execute(CommandBatchStatistics statistics) {
+            return new ModelNode(statistics.getMaxLatency().toMillis());
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    CommandBatchMetric(String name, ModelType type, AttributeAccess.Flag metricType) {
+        this(name, type, metricType, null);
+    }
+
+    CommandBatchMetric(String name, ModelType type, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
@@ -60,6 +60,7 @@ public class ForkResourceDefinition extends ChildResourceDefinition<ManagementRe
     enum Capability implements CapabilityProvider {
         FORK_CHANNEL(JGroupsRequirement.CHANNEL),
         FORK_CHANNEL_CLUSTER(JGroupsRequirement.CHANNEL_CLUSTER),
+        FORK_CHANNEL_COMMAND_BATCH(JGroupsRequirement.CHANNEL_COMMAND_BATCH),
         FORK_CHANNEL_FACTORY(JGroupsRequirement.CHANNEL_FACTORY),
         FORK_CHANNEL_MODULE(JGroupsRequirement.CHANNEL_MODULE),
         FORK_CHANNEL_SOURCE(JGroupsRequirement.CHANNEL_SOURCE),
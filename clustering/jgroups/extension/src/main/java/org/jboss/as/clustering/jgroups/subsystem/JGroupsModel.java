@@ -39,8 +39,9 @@ public enum JGroupsModel implements Model {
     VERSION_6_0_0(6, 0, 0), // WildFly 12-16, EAP 7.2
     VERSION_7_0_0(7, 0, 0), // WildFly 17, EAP 7.3
     VERSION_8_0_0(8, 0, 0), // WildFly 20
+    VERSION_9_0_0(9, 0, 0), // WildFly 23
     ;
-    static final JGroupsModel CURRENT = VERSION_8_0_0;
+    static final JGroupsModel CURRENT = VERSION_9_0_0;
 
     private final ModelVersion version;
 
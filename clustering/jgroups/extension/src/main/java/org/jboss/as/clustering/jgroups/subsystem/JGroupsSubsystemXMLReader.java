@@ -179,6 +179,18 @@ public class JGroupsSubsystemXMLReader implements XMLElementReader<List<ModelNod
                         break;
                     }
                 }
+                case COMMAND_BATCH_WINDOW: {
+                    if (this.schema.since(JGroupsSchema.VERSION_9_0)) {
+                        readAttribute(reader, i, operation, ChannelResourceDefinition.Attribute.COMMAND_BATCH_WINDOW);
+                        break;
+                    }
+                }
+                case COMMAND_BATCH_MAX_SIZE: {
+                    if (this.schema.since(JGroupsSchema.VERSION_9_0)) {
+                        readAttribute(reader, i, operation, ChannelResourceDefinition.Attribute.COMMAND_BATCH_MAX_SIZE);
+                        break;
+                    }
+                }
                 default: {
                     throw ParseUtils.unexpectedAttribute(reader, i);
                 }
@@ -384,6 +384,11 @@ public class JGroupsTransformersTestCase extends OperationTestCaseBase {
 
         PathAddress subsystemAddress = PathAddress.pathAddress(JGroupsSubsystemResourceDefinition.PATH);
 
+        if (JGroupsModel.VERSION_9_0_0.requiresTransformation(version) && !JGroupsModel.VERSION_3_0_0.requiresTransformation(version)) {
+            config.addFailedAttribute(subsystemAddress.append(ChannelResourceDefinition.pathElement("bridge")),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(ChannelResourceDefinition.Attribute.COMMAND_BATCH_WINDOW.getDefinition()));
+        }
+
         if (JGroupsModel.VERSION_8_0_0.requiresTransformation(version)) {
             config.addFailedAttribute(subsystemAddress.append(StackResourceDefinition.pathElement("credentialReference1")).append(ProtocolResourceDefinition.pathElement("SYM_ENCRYPT")),
                     FailedOperationTransformationConfig.REJECTED_RESOURCE);
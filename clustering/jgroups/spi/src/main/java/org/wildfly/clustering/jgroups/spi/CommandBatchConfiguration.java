@@ -0,0 +1,51 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.jgroups.spi;
+
+import java.time.Duration;
+
+/**
+ * Configures the coalescing of commands, dispatched via a channel to the same member, into a single message.
+ * @author Paul Ferraro
+ */
+public interface CommandBatchConfiguration {
+
+    /**
+     * Returns the duration within which commands destined for the same member are coalesced into a single message.
+     * A zero duration disables batching.
+     * @return a batch window
+     */
+    Duration getWindow();
+
+    /**
+     * Returns the maximum number of commands coalesced into a single message.
+     * @return a maximum batch size
+     */
+    int getMaxSize();
+
+    /**
+     * Returns the statistics shared by all command batchers of a channel.
+     * @return command batch statistics
+     */
+    CommandBatchStatistics getStatistics();
+}
@@ -0,0 +1,116 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.jgroups.spi;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the statistics of the command batchers of a channel.
+ * @author Paul Ferraro
+ */
+public class CommandBatchStatistics {
+
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder commandCount = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0L);
+    private final LongAdder responseCount = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Records the sending of a message containing the specified number of commands.
+     * @param size a number of commands
+     */
+    public void batchSent(int size) {
+        this.batchCount.increment();
+        this.commandCount.add(size);
+        this.maxBatchSize.accumulate(size);
+    }
+
+    /**
+     * Records the completion of a batched command.
+     * @param latency the duration, in nanoseconds, between the submission of a command and its completion
+     */
+    public void commandCompleted(long latency) {
+        this.responseCount.increment();
+        this.totalLatency.add(latency);
+        this.maxLatency.accumulate(latency);
+    }
+
+    /**
+     * Returns the number of messages sent.
+     * @return a number of messages
+     */
+    public long getBatchCount() {
+        return this.batchCount.sum();
+    }
+
+    /**
+     * Returns the number of batched commands sent.
+     * @return a number of commands
+     */
+    public long getCommandCount() {
+        return this.commandCount.sum();
+    }
+
+    /**
+     * Returns the largest number of commands sent within a single message.
+     * @return a number of commands
+     */
+    public int getMaxBatchSize() {
+        return (int) this.maxBatchSize.get();
+    }
+
+    /**
+     * Returns the mean number of commands sent per message.
+     * @return a mean number of commands
+     */
+    public double getAverageBatchSize() {
+        long batches = this.getBatchCount();
+        return (batches > 0) ? (double) this.getCommandCount() / batches : 0d;
+    }
+
+    /**
+     * Returns the mean duration between the submission of a command and its completion, including any time spent waiting for its batch to be sent.
+     * @return a mean duration
+     */
+    public Duration getAverageLatency() {
+        long responses = this.responseCount.sum();
+        return (responses > 0) ? Duration.ofNanos(this.totalLatency.sum() / responses) : Duration.ZERO;
+    }
+
+    /**
+     * Returns the longest duration between the submission of a command and its completion.
+     * @return a duration
+     */
+    public Duration getMaxLatency() {
+        return Duration.ofNanos(this.maxLatency.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d commands within %d messages (mean batch size = %.2f, max batch size = %d, mean latency = %s, max latency = %s)", this.getCommandCount(), this.getBatchCount(), this.getAverageBatchSize(), this.getMaxBatchSize(), this.getAverageLatency(), this.getMaxLatency());
+    }
+}
@@ -35,6 +35,7 @@ import org.wildfly.clustering.service.Requirement;
 public enum JGroupsRequirement implements DefaultableUnaryRequirement, DefaultableUnaryServiceNameFactoryProvider {
     CHANNEL("org.wildfly.clustering.jgroups.channel", JGroupsDefaultRequirement.CHANNEL),
     CHANNEL_CLUSTER("org.wildfly.clustering.jgroups.channel-cluster", JGroupsDefaultRequirement.CHANNEL_CLUSTER),
+    CHANNEL_COMMAND_BATCH("org.wildfly.clustering.jgroups.channel-command-batch", JGroupsDefaultRequirement.CHANNEL_COMMAND_BATCH),
     CHANNEL_FACTORY("org.wildfly.clustering.jgroups.channel-factory", JGroupsDefaultRequirement.CHANNEL_FACTORY),
     CHANNEL_MODULE("org.wildfly.clustering.jgroups.channel-module", JGroupsDefaultRequirement.CHANNEL_MODULE),
     CHANNEL_SOURCE("org.wildfly.clustering.jgroups.channel-source", JGroupsDefaultRequirement.CHANNEL_SOURCE),
@@ -33,6 +33,7 @@ import org.infinispan.protostream.RawProtoStreamWriter;
 import org.infinispan.protostream.impl.RawProtoStreamWriterImpl;
 import org.infinispan.protostream.impl.WireFormat;
 import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 
 import protostream.com.google.protobuf.CodedOutputStream;
 
@@ -67,19 +68,34 @@ public class DefaultProtoStreamWriter implements ProtoStreamWriter {
 
     @Override
     public void writeObjectNoTag(Object value) throws IOException {
-        BaseMarshaller<?> marshaller = this.context.getMarshaller(value.getClass());
-        @SuppressWarnings("unchecked")
-        OptionalInt size = (marshaller instanceof Marshallable) ? ((Marshallable<Object>) marshaller).size(this.context, value) : OptionalInt.empty();
-        try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
-            ProtobufUtil.writeTo(this.context, output, value);
-            ByteBuffer buffer = output.getBuffer();
-            int offset = buffer.arrayOffset();
-            int length = buffer.limit() - offset;
-            this.output.writeUInt32NoTag(length);
-            this.output.writeRawBytes(buffer.array(), offset, length);
+        ByteBufferOutputStreamPool pool = ProtoStreamWriterContext.INSTANCE.get().getBufferPool();
+        if (pool != null) {
+            // A pooled buffer obviates the need to compute the size of the embedded message
+            ByteBufferOutputStream output = pool.acquire();
+            try {
+                this.writeObjectNoTag(output, value);
+            } finally {
+                pool.release(output);
+            }
+        } else {
+            BaseMarshaller<?> marshaller = this.context.getMarshaller(value.getClass());
+            @SuppressWarnings("unchecked")
+            OptionalInt size = (marshaller instanceof Marshallable) ? ((Marshallable<Object>) marshaller).size(this.context, value) : OptionalInt.empty();
+            try (ByteBufferOutputStream output = new ByteBufferOutputStream(size)) {
+                this.writeObjectNoTag(output, value);
+            }
         }
     }
 
+    private void writeObjectNoTag(ByteBufferOutputStream output, Object value) throws IOException {
+        ProtobufUtil.writeTo(this.context, output, value);
+        ByteBuffer buffer = output.getBuffer();
+        int offset = buffer.arrayOffset();
+        int length = buffer.limit() - offset;
+        this.output.writeUInt32NoTag(length);
+        this.output.writeRawBytes(buffer.array(), offset, length);
+    }
+
     @Override
     public <E extends Enum<E>> void writeEnum(int index, E value) throws IOException {
         EnumMarshaller<E> marshaller = (EnumMarshaller<E>) this.context.getMarshaller(value.getDeclaringClass());
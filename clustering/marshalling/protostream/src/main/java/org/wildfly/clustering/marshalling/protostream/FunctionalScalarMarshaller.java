@@ -44,7 +44,7 @@ import protostream.com.google.protobuf.CodedOutputStream;
  */
 public class FunctionalScalarMarshaller<T, V> implements ProtoStreamMarshaller<T> {
 
-    private static final int VALUE_INDEX = 1;
+    static final int VALUE_INDEX = 1;
 
     private final Class<? extends T> targetClass;
     private final Supplier<T> defaultFactory;
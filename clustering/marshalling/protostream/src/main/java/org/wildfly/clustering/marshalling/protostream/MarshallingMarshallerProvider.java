@@ -23,14 +23,27 @@
 package org.wildfly.clustering.marshalling.protostream;
 
 import java.nio.ByteBuffer;
+import java.util.OptionalInt;
 
+import org.infinispan.protostream.ImmutableSerializationContext;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 
+import protostream.com.google.protobuf.CodedOutputStream;
+
 /**
  * @author Paul Ferraro
  */
 public enum MarshallingMarshallerProvider implements ProtoStreamMarshallerProvider {
-    BYTE_BUFFER_MARSHALLED_VALUE(new FunctionalScalarMarshaller<>(Scalar.BYTE_BUFFER.cast(ByteBuffer.class), ByteBufferMarshalledValue::new, ByteBufferMarshalledValue::isEmpty, ByteBufferMarshalledValue::getBuffer, ByteBufferMarshalledValue::new)),
+    BYTE_BUFFER_MARSHALLED_VALUE(new FunctionalScalarMarshaller<ByteBufferMarshalledValue<Object>, ByteBuffer>(Scalar.BYTE_BUFFER.cast(ByteBuffer.class), ByteBufferMarshalledValue::new, ByteBufferMarshalledValue::isEmpty, ByteBufferMarshalledValue::getBuffer, ByteBufferMarshalledValue::new) {
+        @Override
+        public OptionalInt size(ImmutableSerializationContext context, ByteBufferMarshalledValue<Object> value) {
+            // Avoid marshalling the wrapped object solely to compute its size
+            OptionalInt size = value.size();
+            if (!size.isPresent() || (size.getAsInt() == 0)) return size;
+            int length = size.getAsInt();
+            return OptionalInt.of(CodedOutputStream.computeTagSize(VALUE_INDEX) + CodedOutputStream.computeUInt32SizeNoTag(length) + length);
+        }
+    }),
     ;
     private final ProtoStreamMarshaller<?> marshaller;
 
@@ -27,11 +27,15 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Optional;
 import java.util.OptionalInt;
 
 import org.infinispan.protostream.ImmutableSerializationContext;
 import org.infinispan.protostream.ProtobufUtil;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStream;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
 import org.wildfly.security.manager.WildFlySecurityManager;
 
 /**
@@ -40,9 +44,42 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 public class ProtoStreamByteBufferMarshaller implements ByteBufferMarshaller {
 
     private final ImmutableSerializationContext context;
+    private final ByteBufferOutputStreamPool pool;
 
     public ProtoStreamByteBufferMarshaller(ImmutableSerializationContext context) {
+        this(context, null);
+    }
+
+    /**
+     * Creates a marshaller that marshals messages, including embedded messages, into buffers obtained from the specified pool,
+     * in lieu of computing the size of each message in advance.
+     * @param context a serialization context
+     * @param pool a buffer pool, or null, if buffers should not be pooled
+     */
+    public ProtoStreamByteBufferMarshaller(ImmutableSerializationContext context, ByteBufferOutputStreamPool pool) {
         this.context = context;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the pool of buffers used for marshalling, if enabled, e.g. to inspect its allocation statistics.
+     * @return an optional buffer pool
+     */
+    public Optional<ByteBufferOutputStreamPool> getBufferPool() {
+        return Optional.ofNullable(this.pool);
+    }
+
+    @Override
+    public ByteBuffer write(Object object) throws IOException {
+        ByteBufferOutputStreamPool pool = this.pool;
+        if (pool == null) return ByteBufferMarshaller.super.write(object);
+        ByteBufferOutputStream output = pool.acquire();
+        try {
+            this.writeTo(output, object);
+            return pool.copy(output);
+        } finally {
+            pool.release(output);
+        }
     }
 
     @Override
@@ -80,6 +117,7 @@ public class ProtoStreamByteBufferMarshaller implements ByteBufferMarshaller {
     @Override
     public void writeTo(OutputStream output, Object object) throws IOException {
         try (ProtoStreamWriterContext context = ProtoStreamWriterContext.INSTANCE.get()) {
+            context.setBufferPool(this.pool);
             ProtobufUtil.writeTo(this.context, output, new Any(object));
         }
     }
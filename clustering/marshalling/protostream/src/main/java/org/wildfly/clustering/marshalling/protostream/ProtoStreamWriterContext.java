@@ -25,6 +25,8 @@ package org.wildfly.clustering.marshalling.protostream;
 import java.util.IdentityHashMap;
 import java.util.Map;
 
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
+
 /**
  * @author Paul Ferraro
  */
@@ -36,6 +38,7 @@ public interface ProtoStreamWriterContext extends AutoCloseable {
             return new ProtoStreamWriterContext() {
                 private final Map<Object, Integer> references = new IdentityHashMap<>();
                 private int index = 0;
+                private ByteBufferOutputStreamPool pool;
 
                 @Override
                 public Integer getReferenceId(Object object) {
@@ -46,6 +49,16 @@ public interface ProtoStreamWriterContext extends AutoCloseable {
                 public void setReference(Object object) {
                     this.references.put(object, this.index++);
                 }
+
+                @Override
+                public ByteBufferOutputStreamPool getBufferPool() {
+                    return this.pool;
+                }
+
+                @Override
+                public void setBufferPool(ByteBufferOutputStreamPool pool) {
+                    this.pool = pool;
+                }
             };
         }
     };
@@ -54,6 +67,14 @@ public interface ProtoStreamWriterContext extends AutoCloseable {
 
     void setReference(Object object);
 
+    /**
+     * Returns the pool of buffers into which embedded messages are marshalled, if any.
+     * @return a buffer pool, or null, if embedded messages are marshalled into buffers presized via size computation.
+     */
+    ByteBufferOutputStreamPool getBufferPool();
+
+    void setBufferPool(ByteBufferOutputStreamPool pool);
+
     @Override
     default void close() {
         INSTANCE.remove();
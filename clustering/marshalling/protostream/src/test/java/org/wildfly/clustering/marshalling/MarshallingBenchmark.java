@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.infinispan.protostream.ImmutableSerializationContext;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wildfly.clustering.marshalling.jboss.DynamicClassTable;
+import org.wildfly.clustering.marshalling.jboss.ExternalizerObjectTable;
+import org.wildfly.clustering.marshalling.jboss.JBossByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRepository;
+import org.wildfly.clustering.marshalling.protostream.ProtoStreamByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.protostream.SerializationContextBuilder;
+import org.wildfly.clustering.marshalling.protostream.SimpleClassLoaderMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
+
+/**
+ * Compares the cost of marshalling and unmarshalling a session-like payload, i.e. a map of session attributes, for each {@link ByteBufferMarshaller} implementation.
+ * Each attribute is itself a small object graph, so that ProtoStream marshalling writes embedded messages, which is where buffer pooling applies.
+ * Run from the test classpath via {@link org.openjdk.jmh.Main}, with the GC profiler (-prof gc) to compare the allocation rate of pooled vs unpooled buffers.
+ * @author Paul Ferraro
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class MarshallingBenchmark {
+
+    public enum Implementation implements Function<ClassLoader, ByteBufferMarshaller> {
+        JBOSS() {
+            @Override
+            public ByteBufferMarshaller apply(ClassLoader loader) {
+                MarshallingConfiguration configuration = new MarshallingConfiguration();
+                configuration.setClassTable(new DynamicClassTable(loader));
+                configuration.setObjectTable(new ExternalizerObjectTable(loader));
+                return new JBossByteBufferMarshaller(new SimpleMarshallingConfigurationRepository(configuration), loader);
+            }
+        },
+        PROTOSTREAM() {
+            @Override
+            public ByteBufferMarshaller apply(ClassLoader loader) {
+                return new ProtoStreamByteBufferMarshaller(createSerializationContext(loader));
+            }
+        },
+        PROTOSTREAM_POOLED() {
+            @Override
+            public ByteBufferMarshaller apply(ClassLoader loader) {
+                return new ProtoStreamByteBufferMarshaller(createSerializationContext(loader), new ByteBufferOutputStreamPool());
+            }
+        },
+        ;
+
+        static ImmutableSerializationContext createSerializationContext(ClassLoader loader) {
+            return new SerializationContextBuilder(new SimpleClassLoaderMarshaller(loader)).load(loader).build();
+        }
+    }
+
+    @Param
+    private Implementation implementation;
+
+    @Param({ "1", "10", "100" })
+    private int attributes;
+
+    private ByteBufferMarshaller marshaller;
+    private Map<String, Object> session;
+    private ByteBuffer buffer;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.marshaller = this.implementation.apply(MarshallingBenchmark.class.getClassLoader());
+        this.session = new HashMap<>();
+        for (int i = 0; i < this.attributes; ++i) {
+            Map<String, Object> attribute = new HashMap<>();
+            attribute.put("id", UUID.randomUUID());
+            attribute.put("created", Instant.now());
+            attribute.put("count", i);
+            List<String> values = new ArrayList<>(8);
+            for (int j = 0; j < 8; ++j) {
+                values.add("value-" + j);
+            }
+            attribute.put("values", values);
+            this.session.put("attribute-" + i, attribute);
+        }
+        this.buffer = this.marshaller.write(this.session);
+    }
+
+    /**
+     * Measures the cost of marshalling the session attributes.
+     */
+    @Benchmark
+    public ByteBuffer write() throws IOException {
+        return this.marshaller.write(this.session);
+    }
+
+    /**
+     * Measures the cost of unmarshalling the session attributes.
+     */
+    @Benchmark
+    public Object read() throws IOException {
+        return this.marshaller.read(this.buffer.duplicate());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.protostream;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.infinispan.protostream.ImmutableSerializationContext;
+import org.junit.Test;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferOutputStreamPool;
+
+/**
+ * Validates that marshalling into pooled buffers is equivalent to marshalling into presized buffers.
+ * @author Paul Ferraro
+ */
+public class ProtoStreamPooledBufferTestCase {
+
+    @Test
+    public void test() throws IOException {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        ImmutableSerializationContext context = new SerializationContextBuilder(new SimpleClassLoaderMarshaller(loader)).load(loader).build();
+        ByteBufferOutputStreamPool pool = new ByteBufferOutputStreamPool();
+        ByteBufferMarshaller pooled = new ProtoStreamByteBufferMarshaller(context, pool);
+        ByteBufferMarshaller unpooled = new ProtoStreamByteBufferMarshaller(context);
+
+        assertTrue(((ProtoStreamByteBufferMarshaller) pooled).getBufferPool().isPresent());
+        assertFalse(((ProtoStreamByteBufferMarshaller) unpooled).getBufferPool().isPresent());
+
+        // Object graph with nested embedded messages
+        Map<String, List<Object>> value = new HashMap<>();
+        value.put("foo", Arrays.asList(UUID.randomUUID(), Collections.singletonMap("bar", Arrays.asList(1, 2L, "3"))));
+        value.put("empty", Collections.emptyList());
+
+        for (int i = 0; i < 2; ++i) {
+            ByteBuffer expected = unpooled.write(value);
+            ByteBuffer result = pooled.write(value);
+            assertEquals(expected, result);
+            assertEquals(value, pooled.read(result));
+        }
+
+        assertTrue(pool.getAcquisitionCount() > 2);
+        // Nested acquisitions of the 2nd write were satisfied by the streams released by the 1st
+        assertTrue(pool.getAllocationCount() < pool.getAcquisitionCount());
+    }
+}
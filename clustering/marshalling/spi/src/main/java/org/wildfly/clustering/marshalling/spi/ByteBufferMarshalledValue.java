@@ -27,6 +27,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.OptionalInt;
 
 /**
  * @author Paul Ferraro
@@ -38,6 +39,8 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
     private transient volatile ByteBufferMarshaller marshaller;
     private transient volatile T object;
     private transient volatile ByteBuffer buffer;
+    // Size of the most recently marshalled buffer, used as a size hint for subsequent marshalling
+    private transient volatile OptionalInt size = OptionalInt.empty();
 
     public ByteBufferMarshalledValue(T object, ByteBufferMarshaller marshaller) {
         this.marshaller = marshaller;
@@ -65,7 +68,23 @@ public class ByteBufferMarshalledValue<T> implements MarshalledValue<T, ByteBuff
         ByteBuffer buffer = this.buffer;
         if (buffer != null) return buffer;
         if (this.object == null) return null;
-        return this.marshaller.write(this.object);
+        ByteBuffer result = this.marshaller.write(this.object);
+        this.size = OptionalInt.of(result.limit() - result.arrayOffset());
+        return result;
+    }
+
+    /**
+     * Returns the expected size of the buffer of this marshalled value, without marshalling the wrapped object, if possible.
+     * If the wrapped object was previously marshalled, returns the size of that buffer, which may be stale if the wrapped object was since mutated.
+     * Consequently, the returned size must only be used as a hint.
+     * @return the expected buffer size, if known.
+     */
+    public synchronized OptionalInt size() {
+        ByteBuffer buffer = this.buffer;
+        if (buffer != null) return OptionalInt.of(buffer.limit() - buffer.arrayOffset());
+        if (this.object == null) return OptionalInt.of(0);
+        OptionalInt size = this.size;
+        return size.isPresent() ? size : this.marshaller.size(this.object);
     }
 
     @SuppressWarnings("unchecked")
@@ -71,12 +71,10 @@ public class ByteBufferMarshalledValueExternalizer implements Externalizer<ByteB
 
     @Override
     public OptionalInt size(ByteBufferMarshalledValue<Object> value) {
-        try {
-            ByteBuffer buffer = value.getBuffer();
-            int length = (buffer != null) ? buffer.limit() - buffer.arrayOffset() : 0;
-            return OptionalInt.of(IndexSerializer.VARIABLE.size(length) + length);
-        } catch (IOException e) {
-            return OptionalInt.empty();
-        }
+        // Avoid marshalling the wrapped object solely to compute its size
+        OptionalInt size = value.size();
+        if (!size.isPresent()) return size;
+        int length = size.getAsInt();
+        return OptionalInt.of(IndexSerializer.VARIABLE.size(length) + length);
     }
 }
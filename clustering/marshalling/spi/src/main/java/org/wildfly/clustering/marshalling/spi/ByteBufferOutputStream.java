@@ -51,4 +51,12 @@ public final class ByteBufferOutputStream extends ByteArrayOutputStream {
     public ByteBuffer getBuffer() {
         return ByteBuffer.wrap(this.buf, 0, this.count);
     }
+
+    /**
+     * Returns the capacity of the internal buffer of this output stream.
+     * @return the length of the internal byte buffer.
+     */
+    public int capacity() {
+        return this.buf.length;
+    }
 }
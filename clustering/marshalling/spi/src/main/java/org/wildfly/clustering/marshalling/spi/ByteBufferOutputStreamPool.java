@@ -0,0 +1,137 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A per-thread pool of {@link ByteBufferOutputStream} instances, allowing an object to be marshalled without first computing its size, and without reallocating its buffer.
+ * Supports nested acquisition, e.g. when marshalling an object graph containing embedded messages or marshalled values.
+ * Streams whose buffer has grown beyond a maximum capacity are discarded on release, so that the pool does not retain buffers for exceptionally large payloads.
+ * @author Paul Ferraro
+ */
+public class ByteBufferOutputStreamPool {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 512;
+    private static final int DEFAULT_MAX_CAPACITY = 65536;
+    private static final int DEFAULT_MAX_DEPTH = 4;
+
+    private final int initialCapacity;
+    private final int maxCapacity;
+    private final int maxDepth;
+    private final ThreadLocal<Deque<ByteBufferOutputStream>> streams = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+    private final LongAdder copiedBytes = new LongAdder();
+
+    public ByteBufferOutputStreamPool() {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_MAX_CAPACITY, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Creates a pool of output streams.
+     * @param initialCapacity the initial buffer capacity of a new stream
+     * @param maxCapacity the maximum buffer capacity of a pooled stream
+     * @param maxDepth the maximum number of streams pooled per thread
+     */
+    public ByteBufferOutputStreamPool(int initialCapacity, int maxCapacity, int maxDepth) {
+        this.initialCapacity = initialCapacity;
+        this.maxCapacity = maxCapacity;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Acquires an empty output stream from the pool of the current thread, or creates a new stream if none are available.
+     * The returned stream must be returned to the pool via {@link #release(ByteBufferOutputStream)}.
+     * @return an empty output stream
+     */
+    public ByteBufferOutputStream acquire() {
+        this.acquisitions.increment();
+        ByteBufferOutputStream stream = this.streams.get().pollFirst();
+        if (stream != null) return stream;
+        this.allocations.increment();
+        return new ByteBufferOutputStream(this.initialCapacity);
+    }
+
+    /**
+     * Returns the specified output stream, previously obtained via {@link #acquire()}, to the pool of the current thread.
+     * @param stream an output stream
+     */
+    public void release(ByteBufferOutputStream stream) {
+        Deque<ByteBufferOutputStream> streams = this.streams.get();
+        if ((stream.capacity() > this.maxCapacity) || (streams.size() >= this.maxDepth)) {
+            this.discards.increment();
+            return;
+        }
+        stream.reset();
+        streams.offerFirst(stream);
+    }
+
+    /**
+     * Returns an exactly sized copy of the content of the specified pooled output stream, which may safely outlive its release.
+     * @param stream an output stream
+     * @return a byte buffer
+     */
+    public ByteBuffer copy(ByteBufferOutputStream stream) {
+        byte[] bytes = stream.toByteArray();
+        this.copiedBytes.add(bytes.length);
+        return ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Returns the number of streams acquired from this pool.
+     * @return a number of acquisitions
+     */
+    public long getAcquisitionCount() {
+        return this.acquisitions.sum();
+    }
+
+    /**
+     * Returns the number of streams created by this pool, i.e. the number of acquisitions that could not be satisfied by a pooled stream.
+     * @return a number of allocations
+     */
+    public long getAllocationCount() {
+        return this.allocations.sum();
+    }
+
+    /**
+     * Returns the number of released streams that were discarded, either because their buffer exceeded the maximum capacity, or because the pool of the releasing thread was full.
+     * @return a number of discarded streams
+     */
+    public long getDiscardCount() {
+        return this.discards.sum();
+    }
+
+    /**
+     * Returns the total number of bytes copied out of pooled streams.
+     * @return a number of bytes
+     */
+    public long getCopiedBytes() {
+        return this.copiedBytes.sum();
+    }
+}
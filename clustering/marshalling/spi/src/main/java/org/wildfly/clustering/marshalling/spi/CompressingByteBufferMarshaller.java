@@ -0,0 +1,140 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.util.OptionalInt;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A {@link ByteBufferMarshaller} decorator that compresses marshalled payloads whose size meets a given threshold.
+ * A compressed payload is prefixed by a marker byte and its uncompressed size.
+ * Payloads below the threshold, or that do not benefit from compression, are written as is,
+ * thus payloads written prior to enabling compression remain readable.
+ * Consequently, the decorated marshaller must never emit {@link #COMPRESSED} as the first byte of a payload,
+ * e.g. the first byte written by JBoss Marshalling is its marshalling version.
+ * @author Paul Ferraro
+ */
+public class CompressingByteBufferMarshaller implements ByteBufferMarshaller {
+
+    static final int COMPRESSED = 0xFF;
+
+    private final ByteBufferMarshaller marshaller;
+    private final int threshold;
+    private final CompressionStatistics statistics;
+
+    /**
+     * Creates a compressing marshaller whose statistics are not reported.
+     * @param marshaller the decorated marshaller
+     * @param threshold the minimum size, in bytes, of a payload to be compressed
+     */
+    public CompressingByteBufferMarshaller(ByteBufferMarshaller marshaller, int threshold) {
+        this(marshaller, threshold, new CompressionStatistics());
+    }
+
+    /**
+     * Creates a compressing marshaller.
+     * @param marshaller the decorated marshaller
+     * @param threshold the minimum size, in bytes, of a payload to be compressed
+     * @param statistics records the statistics of this marshaller
+     */
+    public CompressingByteBufferMarshaller(ByteBufferMarshaller marshaller, int threshold, CompressionStatistics statistics) {
+        this.marshaller = marshaller;
+        this.threshold = threshold;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public boolean isMarshallable(Object object) {
+        return this.marshaller.isMarshallable(object);
+    }
+
+    @Override
+    public OptionalInt size(Object object) {
+        // Uncompressed size is an upper bound
+        return this.marshaller.size(object);
+    }
+
+    @Override
+    public Object readFrom(InputStream input) throws IOException {
+        PushbackInputStream pushbackInput = new PushbackInputStream(input, 1);
+        int marker = pushbackInput.read();
+        if (marker != COMPRESSED) {
+            if (marker >= 0) {
+                pushbackInput.unread(marker);
+            }
+            return this.marshaller.readFrom(pushbackInput);
+        }
+        long start = System.nanoTime();
+        DataInputStream data = new DataInputStream(pushbackInput);
+        byte[] bytes = new byte[IndexSerializer.VARIABLE.readInt(data)];
+        Inflater inflater = new Inflater();
+        try {
+            new DataInputStream(new InflaterInputStream(pushbackInput, inflater)).readFully(bytes);
+        } finally {
+            inflater.end();
+        }
+        this.statistics.recordDecompression(System.nanoTime() - start);
+        return this.marshaller.read(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public void writeTo(OutputStream output, Object object) throws IOException {
+        ByteBuffer buffer = this.marshaller.write(object);
+        int offset = buffer.arrayOffset();
+        int length = buffer.limit() - offset;
+        if (length >= this.threshold) {
+            long start = System.nanoTime();
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (ByteBufferOutputStream compressedOutput = new ByteBufferOutputStream(length / 2)) {
+                try (DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(compressedOutput, deflater)) {
+                    deflaterOutput.write(buffer.array(), offset, length);
+                }
+                ByteBuffer compressedBuffer = compressedOutput.getBuffer();
+                int compressedLength = compressedBuffer.limit() - compressedBuffer.arrayOffset();
+                if (compressedLength < length) {
+                    DataOutputStream data = new DataOutputStream(output);
+                    data.write(COMPRESSED);
+                    IndexSerializer.VARIABLE.writeInt(data, length);
+                    data.write(compressedBuffer.array(), compressedBuffer.arrayOffset(), compressedLength);
+                    data.flush();
+                    this.statistics.recordCompression(length, compressedLength, System.nanoTime() - start);
+                    return;
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+        this.statistics.recordSkippedCompression();
+        output.write(buffer.array(), offset, length);
+    }
+}
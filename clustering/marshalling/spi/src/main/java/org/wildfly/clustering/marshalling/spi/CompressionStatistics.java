@@ -0,0 +1,109 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the statistics of a {@link CompressingByteBufferMarshaller}.
+ * A single instance may be shared by multiple marshallers, e.g. by all deployments using a given profile.
+ * @author Paul Ferraro
+ */
+public class CompressionStatistics {
+
+    private final LongAdder compressions = new LongAdder();
+    private final LongAdder skippedCompressions = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionTime = new LongAdder();
+    private final LongAdder decompressions = new LongAdder();
+    private final LongAdder decompressionTime = new LongAdder();
+
+    void recordCompression(int uncompressedSize, int compressedSize, long nanos) {
+        this.compressions.increment();
+        this.uncompressedBytes.add(uncompressedSize);
+        this.compressedBytes.add(compressedSize);
+        this.compressionTime.add(nanos);
+    }
+
+    void recordSkippedCompression() {
+        this.skippedCompressions.increment();
+    }
+
+    void recordDecompression(long nanos) {
+        this.decompressions.increment();
+        this.decompressionTime.add(nanos);
+    }
+
+    /**
+     * Returns the number of compressed payloads written.
+     * @return a number of payloads
+     */
+    public long getCompressionCount() {
+        return this.compressions.sum();
+    }
+
+    /**
+     * Returns the number of payloads written uncompressed, either because they were smaller than the compression threshold, or because compression did not reduce their size.
+     * @return a number of payloads
+     */
+    public long getSkippedCompressionCount() {
+        return this.skippedCompressions.sum();
+    }
+
+    /**
+     * Returns the ratio of the uncompressed to the compressed size of all compressed payloads.
+     * @return a compression ratio, or 1 if no payloads were compressed.
+     */
+    public double getCompressionRatio() {
+        long compressed = this.compressedBytes.sum();
+        return (compressed > 0) ? (double) this.uncompressedBytes.sum() / compressed : 1d;
+    }
+
+    /**
+     * Returns the mean duration of the compression of a payload.
+     * @return a mean duration
+     */
+    public Duration getAverageCompressionTime() {
+        long count = this.compressions.sum();
+        return (count > 0) ? Duration.ofNanos(this.compressionTime.sum() / count) : Duration.ZERO;
+    }
+
+    /**
+     * Returns the number of compressed payloads read.
+     * @return a number of payloads
+     */
+    public long getDecompressionCount() {
+        return this.decompressions.sum();
+    }
+
+    /**
+     * Returns the mean duration of the decompression of a payload.
+     * @return a mean duration
+     */
+    public Duration getAverageDecompressionTime() {
+        long count = this.decompressions.sum();
+        return (count > 0) ? Duration.ofNanos(this.decompressionTime.sum() / count) : Duration.ZERO;
+    }
+}
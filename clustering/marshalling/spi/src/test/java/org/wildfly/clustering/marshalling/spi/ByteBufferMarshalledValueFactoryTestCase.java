@@ -121,6 +121,23 @@ public class ByteBufferMarshalledValueFactoryTestCase {
         assertEquals(0, mv.hashCode());
     }
 
+    @Test
+    public void size() throws Exception {
+        UUID uuid = UUID.randomUUID();
+        ByteBufferMarshalledValue<UUID> mv = this.factory.createMarshalledValue(uuid);
+
+        ByteBuffer buffer = mv.getBuffer();
+        int length = buffer.limit() - buffer.arrayOffset();
+        // Size of a previously marshalled value is cached
+        assertEquals(length, mv.size().getAsInt());
+
+        ByteBufferMarshalledValue<UUID> copy = replicate(mv);
+        assertEquals(length, copy.size().getAsInt());
+
+        mv = this.factory.createMarshalledValue(null);
+        assertEquals(0, mv.size().getAsInt());
+    }
+
     @SuppressWarnings("unchecked")
     <V> ByteBufferMarshalledValue<V> replicate(ByteBufferMarshalledValue<V> value) throws IOException {
         ByteBuffer buffer = this.marshaller.write(value);
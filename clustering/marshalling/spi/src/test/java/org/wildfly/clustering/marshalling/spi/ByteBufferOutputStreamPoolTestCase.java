@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link ByteBufferOutputStreamPool}.
+ * @author Paul Ferraro
+ */
+public class ByteBufferOutputStreamPoolTestCase {
+
+    @Test
+    public void test() throws Exception {
+        ByteBufferOutputStreamPool pool = new ByteBufferOutputStreamPool(4, 8, 2);
+
+        ByteBufferOutputStream stream = pool.acquire();
+        // Nested acquisition must not return the same stream
+        ByteBufferOutputStream nestedStream = pool.acquire();
+        assertNotSame(stream, nestedStream);
+        assertEquals(2, pool.getAllocationCount());
+
+        stream.write(new byte[] { 1, 2, 3 });
+        ByteBuffer buffer = pool.copy(stream);
+        pool.release(nestedStream);
+        pool.release(stream);
+
+        // Copy must survive release of its stream
+        assertArrayEquals(new byte[] { 1, 2, 3 }, buffer.array());
+        assertEquals(3, pool.getCopiedBytes());
+
+        // Released stream is reset and reused
+        ByteBufferOutputStream reusedStream = pool.acquire();
+        assertSame(stream, reusedStream);
+        assertEquals(0, reusedStream.size());
+        assertEquals(2, pool.getAllocationCount());
+
+        // Streams exceeding max capacity are discarded
+        reusedStream.write(new byte[16]);
+        pool.release(reusedStream);
+        assertEquals(1, pool.getDiscardCount());
+        assertNotSame(reusedStream, pool.acquire());
+        assertEquals(4, pool.getAcquisitionCount());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.marshalling.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link CompressingByteBufferMarshaller}.
+ * @author Paul Ferraro
+ */
+public class CompressingByteBufferMarshallerTestCase {
+
+    private final CompressionStatistics statistics = new CompressionStatistics();
+    private final ByteBufferMarshaller marshaller = new CompressingByteBufferMarshaller(JavaByteBufferMarshaller.INSTANCE, 256, this.statistics);
+
+    @Test
+    public void uncompressed() throws Exception {
+        UUID value = UUID.randomUUID();
+        ByteBuffer buffer = this.marshaller.write(value);
+        ByteBuffer uncompressedBuffer = JavaByteBufferMarshaller.INSTANCE.write(value);
+
+        // Payloads below threshold are written as is
+        assertEquals(uncompressedBuffer, buffer);
+        assertEquals(value, this.marshaller.read(buffer));
+        assertEquals(1, this.statistics.getSkippedCompressionCount());
+        assertEquals(0, this.statistics.getCompressionCount());
+    }
+
+    @Test
+    public void compressed() throws Exception {
+        char[] chars = new char[4096];
+        Arrays.fill(chars, 'x');
+        String value = new String(chars);
+        ByteBuffer buffer = this.marshaller.write(value);
+        ByteBuffer uncompressedBuffer = JavaByteBufferMarshaller.INSTANCE.write(value);
+
+        assertEquals(CompressingByteBufferMarshaller.COMPRESSED, buffer.get(0) & 0xFF);
+        assertTrue(buffer.limit() < uncompressedBuffer.limit());
+        assertEquals(value, this.marshaller.read(buffer));
+        assertEquals(1, this.statistics.getCompressionCount());
+        assertEquals(1, this.statistics.getDecompressionCount());
+        assertTrue(this.statistics.getCompressionRatio() > 1d);
+
+        // Uncompressed payloads, e.g. written before compression was enabled, remain readable
+        assertEquals(value, this.marshaller.read(uncompressedBuffer));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.util.List;
+
+import org.jgroups.Address;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+
+/**
+ * A {@link ServiceRequest} for a batch of commands, whose response is the list of responses to each command of the batch.
+ * @author Paul Ferraro
+ */
+public class BatchServiceRequest<C> extends ServiceRequest<List<Object>, C> {
+
+    public BatchServiceRequest(RequestCorrelator correlator, Address target, RequestOptions options, C context) {
+        super(correlator, target, options, context);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void receiveResponse(Object value, Address sender, boolean exceptional) {
+        if (this.isDone()) return;
+
+        if (!exceptional && (value instanceof List)) {
+            // Individual responses are demultiplexed by the caller
+            this.complete((List<Object>) value);
+            this.corrDone();
+        } else {
+            super.receiveResponse(value, sender, exceptional);
+        }
+    }
+}
@@ -45,6 +45,8 @@ import org.wildfly.clustering.dispatcher.Command;
 import org.wildfly.clustering.dispatcher.CommandDispatcher;
 import org.wildfly.clustering.dispatcher.CommandDispatcherException;
 import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.jgroups.spi.CommandBatchConfiguration;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.spi.group.Group;
 
 /**
@@ -76,8 +78,17 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     private final Runnable closeTask;
     private final Address localAddress;
     private final RequestOptions options;
+    private final CommandBatcher<CC, MC> batcher;
 
     public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
+        this(dispatcher, marshaller, context, group, timeout, null, localDispatcher, closeTask);
+    }
+
+    /**
+     * Creates a command dispatcher that coalesces commands destined for the same member within the configured batch window into a single message.
+     * Batching is disabled if the batch configuration is null, its batch window is zero, or its maximum batch size is less than 2.
+     */
+    public ChannelCommandDispatcher(MessageDispatcher dispatcher, CommandMarshaller<CC> marshaller, MC context, Group<Address> group, Duration timeout, CommandBatchConfiguration batchConfiguration, CommandDispatcher<CC> localDispatcher, Runnable closeTask) {
         this.dispatcher = dispatcher;
         this.marshaller = marshaller;
         this.context = context;
@@ -87,6 +98,8 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         this.closeTask = closeTask;
         this.localAddress = dispatcher.getChannel().getAddress();
         this.options = new RequestOptions(ResponseMode.GET_ALL, this.timeout.toMillis(), false, FILTER, Message.Flag.DONT_BUNDLE, Message.Flag.OOB);
+        boolean batching = (batchConfiguration != null) && !batchConfiguration.getWindow().isZero() && !batchConfiguration.getWindow().isNegative() && (batchConfiguration.getMaxSize() > 1);
+        this.batcher = batching ? new CommandBatcher<>(dispatcher.getCorrelator(), marshaller, context, this.options, batchConfiguration) : null;
     }
 
     @Override
@@ -96,6 +109,9 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
 
     @Override
     public void close() {
+        if (this.batcher != null) {
+            this.batcher.close();
+        }
         this.closeTask.run();
     }
 
@@ -106,6 +122,9 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         if (this.localAddress.equals(address)) {
             return this.localDispatcher.executeOnMember(command, member);
         }
+        if (this.batcher != null) {
+            return this.batcher.submit(this.createMarshalledValue(command), address);
+        }
         Buffer buffer = this.createBuffer(command);
         ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
         return request.send(buffer);
@@ -115,7 +134,9 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
     public <R> Map<Node, CompletionStage<R>> executeOnGroup(Command<R, ? super CC> command, Node... excludedMembers) throws CommandDispatcherException {
         Set<Node> excluded = (excludedMembers != null) ? new HashSet<>(Arrays.asList(excludedMembers)) : Collections.emptySet();
         Map<Node, CompletionStage<R>> results = new ConcurrentHashMap<>();
-        Buffer buffer = this.createBuffer(command);
+        // Marshal command only once, regardless of the number of members
+        MarshalledValue<Command<R, ? super CC>, ?> value = (this.batcher != null) ? this.createMarshalledValue(command) : null;
+        Buffer buffer = (this.batcher == null) ? this.createBuffer(command) : null;
         for (Node member : this.group.getMembership().getMembers()) {
             if (!excluded.contains(member)) {
                 Address address = this.group.getAddress(member);
@@ -123,8 +144,7 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
                     results.put(member, this.localDispatcher.executeOnMember(command, member));
                 } else {
                     try {
-                        ServiceRequest<R, MC> request = new ServiceRequest<>(this.dispatcher.getCorrelator(), this.group.getAddress(member), this.options, this.context);
-                        CompletionStage<R> future = request.send(buffer);
+                        CompletionStage<R> future = (this.batcher != null) ? this.batcher.submit(value, address) : new ServiceRequest<R, MC>(this.dispatcher.getCorrelator(), address, this.options, this.context).send(buffer);
                         results.put(member, future);
                         future.whenComplete(new PruneCancellationTask<>(results, member));
                     } catch (CommandDispatcherException e) {
@@ -149,6 +169,14 @@ public class ChannelCommandDispatcher<CC, MC> implements CommandDispatcher<CC> {
         }
     }
 
+    private <R> MarshalledValue<Command<R, ? super CC>, ?> createMarshalledValue(Command<R, ? super CC> command) {
+        try {
+            return this.marshaller.createMarshalledValue(command);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     private static class PruneCancellationTask<T> implements BiConsumer<T, Throwable> {
         private final Map<Node, CompletionStage<T>> results;
         private final Node member;
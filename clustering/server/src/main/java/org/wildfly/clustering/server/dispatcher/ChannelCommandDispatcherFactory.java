@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -62,6 +63,7 @@ import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.group.GroupListener;
 import org.wildfly.clustering.group.Membership;
 import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.jgroups.spi.CommandBatchConfiguration;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
@@ -94,6 +96,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private final ByteBufferMarshaller marshaller;
     private final MessageDispatcher dispatcher;
     private final Duration timeout;
+    private final CommandBatchConfiguration batchConfiguration;
     private final Function<ClassLoader, ByteBufferMarshaller> marshallerFactory;
     private final Function<ClassLoader, Contextualizer> contextualizerFactory;
 
@@ -101,6 +104,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     public ChannelCommandDispatcherFactory(ChannelCommandDispatcherFactoryConfiguration config) {
         this.marshaller = config.getMarshaller();
         this.timeout = config.getTimeout();
+        this.batchConfiguration = config.getCommandBatchConfiguration();
         this.marshallerFactory = config.getMarshallerFactory();
         this.contextualizerFactory = config.getContextualizerFactory();
         JChannel channel = config.getChannel();
@@ -170,13 +174,44 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
     private ExceptionSupplier<Object, Exception> read(Message message) throws IOException {
         ByteBuffer buffer = ByteBuffer.wrap(message.getRawBuffer(), message.getOffset(), message.getLength());
         @SuppressWarnings("unchecked")
-        Map.Entry<Object, MarshalledValue<Command<Object, Object>, Object>> entry = (Map.Entry<Object, MarshalledValue<Command<Object, Object>, Object>>) this.marshaller.read(buffer);
+        Map.Entry<Object, Object> entry = (Map.Entry<Object, Object>) this.marshaller.read(buffer);
         Object clientId = entry.getKey();
         CommandDispatcherContext<?, ?> context = this.contexts.get(clientId);
         if (context == null) return NO_SUCH_SERVICE_SUPPLIER;
+        Object value = entry.getValue();
+        if (value instanceof List) {
+            // Batch of commands sent by a batching command dispatcher
+            // Commands of a batch execute sequentially within a single task, thus a slow command delays the responses to subsequent commands of the batch
+            @SuppressWarnings("unchecked")
+            List<MarshalledValue<Command<Object, Object>, Object>> values = (List<MarshalledValue<Command<Object, Object>, Object>>) value;
+            List<ExceptionSupplier<Object, Exception>> tasks = new ArrayList<>(values.size());
+            for (MarshalledValue<Command<Object, Object>, Object> marshalledCommand : values) {
+                tasks.add(this.createCommandTask(context, marshalledCommand));
+            }
+            return new ExceptionSupplier<Object, Exception>() {
+                @Override
+                public Object get() {
+                    // Responses are demultiplexed by position, thus each command must yield a response
+                    List<Object> results = new ArrayList<>(tasks.size());
+                    for (ExceptionSupplier<Object, Exception> task : tasks) {
+                        try {
+                            results.add(task.get());
+                        } catch (Exception e) {
+                            results.add(e);
+                        }
+                    }
+                    return results;
+                }
+            };
+        }
+        @SuppressWarnings("unchecked")
+        MarshalledValue<Command<Object, Object>, Object> marshalledCommand = (MarshalledValue<Command<Object, Object>, Object>) value;
+        return this.createCommandTask(context, marshalledCommand);
+    }
+
+    private ExceptionSupplier<Object, Exception> createCommandTask(CommandDispatcherContext<?, ?> context, MarshalledValue<Command<Object, Object>, Object> value) throws IOException {
         Object commandContext = context.getCommandContext();
         Contextualizer contextualizer = context.getContextualizer();
-        MarshalledValue<Command<Object, Object>, Object> value = entry.getValue();
         Command<Object, Object> command = value.get(context.getMarshalledValueFactory().getMarshallingContext());
         ExceptionSupplier<Object, Exception> commandExecutionTask = new ExceptionSupplier<Object, Exception>() {
             @Override
@@ -224,7 +259,7 @@ public class ChannelCommandDispatcherFactory implements AutoCloseableCommandDisp
         }
         CommandMarshaller<C> marshaller = new CommandDispatcherMarshaller<>(this.marshaller, id, factory);
         CommandDispatcher<C> localDispatcher = new LocalCommandDispatcher<>(this.getLocalMember(), commandContext);
-        return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, localDispatcher, () -> {
+        return new ChannelCommandDispatcher<>(this.dispatcher, marshaller, dispatcherMarshaller, this, this.timeout, this.batchConfiguration, localDispatcher, () -> {
             localDispatcher.close();
             this.contexts.remove(id);
         });
@@ -28,6 +28,7 @@ import java.util.function.Predicate;
 
 import org.jboss.as.clustering.context.Contextualizer;
 import org.jgroups.JChannel;
+import org.wildfly.clustering.jgroups.spi.CommandBatchConfiguration;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
 
 /**
@@ -41,4 +42,10 @@ public interface ChannelCommandDispatcherFactoryConfiguration {
     Duration getTimeout();
     Function<ClassLoader, ByteBufferMarshaller> getMarshallerFactory();
     Function<ClassLoader, Contextualizer> getContextualizerFactory();
+
+    /**
+     * Returns the configuration for coalescing commands destined for the same member into a single message.
+     * @return a command batch configuration
+     */
+    CommandBatchConfiguration getCommandBatchConfiguration();
 }
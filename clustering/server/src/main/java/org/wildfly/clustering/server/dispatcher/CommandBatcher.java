@@ -0,0 +1,322 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.jboss.as.clustering.context.DefaultExecutorService;
+import org.jboss.as.clustering.context.DefaultThreadFactory;
+import org.jgroups.Address;
+import org.jgroups.blocks.RequestCorrelator;
+import org.jgroups.blocks.RequestOptions;
+import org.jgroups.util.Buffer;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.dispatcher.CommandDispatcherException;
+import org.wildfly.clustering.jgroups.spi.CommandBatchConfiguration;
+import org.wildfly.clustering.jgroups.spi.CommandBatchStatistics;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * Coalesces commands destined for the same member, submitted within a short window, into a single multi-command message.
+ * The responses to a batch are demultiplexed by position to the completion stage of each command.
+ * A batch is sent when its window elapses, or as soon as it reaches its maximum size.
+ * A batch containing a single command is sent as a regular request.
+ * Each command is marshalled once, on submission, regardless of the number of batches, i.e. members, to which it is sent.
+ * <p>
+ * N.B. The recipient of a batch executes its commands sequentially, within a single task, so that a slow command delays the responses to the commands that follow it within the same batch.
+ * Without batching, each command would execute concurrently within the out-of-band thread pool of the recipient.
+ * Consequently, batching best suits small, fast commands, e.g. cache or membership notifications, rather than long-running ones.
+ * @author Paul Ferraro
+ * @param <CC> command execution context
+ * @param <MC> marshalling context
+ */
+public class CommandBatcher<CC, MC> implements Function<Address, CommandBatcher<CC, MC>.Batch>, AutoCloseable {
+
+    private final RequestCorrelator correlator;
+    private final CommandMarshaller<CC> marshaller;
+    private final MC context;
+    private final RequestOptions options;
+    private final Duration window;
+    private final int maxSize;
+    private final Map<Address, Batch> batches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+    private final CommandBatchStatistics statistics;
+
+    public CommandBatcher(RequestCorrelator correlator, CommandMarshaller<CC> marshaller, MC context, RequestOptions options, CommandBatchConfiguration configuration) {
+        this.correlator = correlator;
+        this.marshaller = marshaller;
+        this.context = context;
+        this.options = options;
+        this.window = configuration.getWindow();
+        this.maxSize = configuration.getMaxSize();
+        this.statistics = configuration.getStatistics();
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultThreadFactory(this.getClass()));
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = executor;
+    }
+
+    /**
+     * Submits the specified command for execution on the specified member, as part of the next batch destined for that member.
+     * @param <R> the command return type
+     * @param command a command, marshalled via {@link CommandMarshaller#createMarshalledValue(Command)}
+     * @param address the address of the target member
+     * @return the completion stage of the command
+     * @throws CommandDispatcherException if this batcher was already closed
+     */
+    public <R> CompletionStage<R> submit(MarshalledValue<Command<R, ? super CC>, ?> command, Address address) throws CommandDispatcherException {
+        BatchedCommand<R, CC> batchedCommand = new BatchedCommand<>(command, this.options.timeout());
+        batchedCommand.whenComplete(new LatencyRecorder<>(System.nanoTime()));
+        try {
+            while (true) {
+                Batch batch = this.batches.computeIfAbsent(address, this);
+                int size = batch.add(batchedCommand);
+                if (size > 0) {
+                    if (size >= this.maxSize) {
+                        batch.run();
+                    }
+                    return batchedCommand;
+                }
+                // Batch was already sent, but not yet removed
+                this.batches.remove(address, batch);
+            }
+        } catch (RejectedExecutionException e) {
+            throw new CommandDispatcherException(e);
+        }
+    }
+
+    @Override
+    public Batch apply(Address address) {
+        Batch batch = new Batch(address);
+        batch.setFuture(this.executor.schedule(batch, this.window.toNanos(), TimeUnit.NANOSECONDS));
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        WildFlySecurityManager.doPrivilegedWithParameter(this.executor, DefaultExecutorService.SHUTDOWN_NOW_ACTION);
+        // Send any pending batches
+        for (Batch batch : this.batches.values()) {
+            batch.run();
+        }
+    }
+
+    void send(Address address, List<BatchedCommand<?, CC>> batchedCommands) {
+        int size = batchedCommands.size();
+        this.statistics.batchSent(size);
+        try {
+            if (size == 1) {
+                this.send(address, batchedCommands.get(0));
+            } else {
+                List<MarshalledValue<? extends Command<?, ? super CC>, ?>> commands = new ArrayList<>(size);
+                for (BatchedCommand<?, CC> batchedCommand : batchedCommands) {
+                    commands.add(batchedCommand.getCommand());
+                }
+                BatchServiceRequest<MC> request = new BatchServiceRequest<>(this.correlator, address, this.options, this.context);
+                request.send(createBuffer(this.marshaller.marshal(commands))).whenComplete(new BatchResponseHandler<>(batchedCommands, this.context));
+            }
+        } catch (IOException | CommandDispatcherException e) {
+            for (BatchedCommand<?, CC> batchedCommand : batchedCommands) {
+                batchedCommand.completeExceptionally(e);
+            }
+        }
+    }
+
+    private <R> void send(Address address, BatchedCommand<R, CC> batchedCommand) throws IOException, CommandDispatcherException {
+        ServiceRequest<R, MC> request = new ServiceRequest<>(this.correlator, address, this.options, this.context);
+        request.send(createBuffer(this.marshaller.marshal(batchedCommand.getCommand()))).whenComplete(batchedCommand);
+    }
+
+    private static Buffer createBuffer(ByteBuffer buffer) {
+        return new Buffer(buffer.array(), buffer.arrayOffset(), buffer.limit() - buffer.arrayOffset());
+    }
+
+    /**
+     * The pending commands destined for a given member.
+     */
+    class Batch implements Runnable {
+        private final Address address;
+        private final List<BatchedCommand<?, CC>> commands = new ArrayList<>();
+        private boolean sent = false;
+        private volatile Future<?> future;
+
+        Batch(Address address) {
+            this.address = address;
+        }
+
+        void setFuture(Future<?> future) {
+            this.future = future;
+        }
+
+        /**
+         * Adds the specified command to this batch.
+         * @return the resulting size of this batch, or 0, if this batch was already sent.
+         */
+        synchronized int add(BatchedCommand<?, CC> command) {
+            if (this.sent) return 0;
+            this.commands.add(command);
+            return this.commands.size();
+        }
+
+        @Override
+        public void run() {
+            CommandBatcher.this.batches.remove(this.address, this);
+            Future<?> future = this.future;
+            if (future != null) {
+                future.cancel(false);
+            }
+            List<BatchedCommand<?, CC>> commands;
+            synchronized (this) {
+                if (this.sent) return;
+                this.sent = true;
+                commands = this.commands;
+            }
+            if (!commands.isEmpty()) {
+                CommandBatcher.this.send(this.address, commands);
+            }
+        }
+    }
+
+    /**
+     * Completion stage of a batched command.
+     * Like {@link ServiceRequest}, waits at most for the request timeout.
+     */
+    static class BatchedCommand<R, CC> extends CompletableFuture<R> implements BiConsumer<R, Throwable> {
+        private final MarshalledValue<Command<R, ? super CC>, ?> command;
+        private final long timeout;
+
+        BatchedCommand(MarshalledValue<Command<R, ? super CC>, ?> command, long timeout) {
+            this.command = command;
+            this.timeout = timeout;
+        }
+
+        MarshalledValue<Command<R, ? super CC>, ?> getCommand() {
+            return this.command;
+        }
+
+        @Override
+        public void accept(R result, Throwable exception) {
+            if (exception != null) {
+                this.completeExceptionally(exception);
+            } else {
+                this.complete(result);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        <C> void receive(Object response, C context) {
+            if (response instanceof Throwable) {
+                this.completeExceptionally((Throwable) response);
+            } else if (response instanceof NoSuchService) {
+                this.completeExceptionally(new CancellationException());
+            } else {
+                try {
+                    this.complete(((MarshalledValue<R, C>) response).get(context));
+                } catch (IOException e) {
+                    this.completeExceptionally(e);
+                }
+            }
+        }
+
+        @Override
+        public R get() throws InterruptedException, ExecutionException {
+            try {
+                return super.get(this.timeout, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Auto-cancel on timeout
+                this.cancel(true);
+                throw new CancellationException(e.getLocalizedMessage());
+            }
+        }
+
+        @Override
+        public R join() {
+            try {
+                return this.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Demultiplexes the responses to a batch of commands.
+     */
+    static class BatchResponseHandler<CC, MC> implements BiConsumer<List<Object>, Throwable> {
+        private final List<BatchedCommand<?, CC>> commands;
+        private final MC context;
+
+        BatchResponseHandler(List<BatchedCommand<?, CC>> commands, MC context) {
+            this.commands = commands;
+            this.context = context;
+        }
+
+        @Override
+        public void accept(List<Object> responses, Throwable exception) {
+            for (int i = 0; i < this.commands.size(); ++i) {
+                BatchedCommand<?, CC> command = this.commands.get(i);
+                if (exception != null) {
+                    command.completeExceptionally(exception);
+                } else {
+                    command.receive(responses.get(i), this.context);
+                }
+            }
+        }
+    }
+
+    private class LatencyRecorder<R> implements BiConsumer<R, Throwable> {
+        private final long start;
+
+        LatencyRecorder(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void accept(R result, Throwable exception) {
+            CommandBatcher.this.statistics.commandCompleted(System.nanoTime() - this.start);
+        }
+    }
+}
@@ -25,9 +25,11 @@ package org.wildfly.clustering.server.dispatcher;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.AbstractMap;
+import java.util.List;
 import java.util.Map;
 
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
@@ -53,4 +55,28 @@ public class CommandDispatcherMarshaller<C, MC> implements CommandMarshaller<C>
         Map.Entry<Object, MarshalledValue<Command<R, ? super C>, MC>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, value);
         return this.marshaller.write(entry);
     }
+
+    @Override
+    public <R> MarshalledValue<Command<R, ? super C>, ?> createMarshalledValue(Command<R, ? super C> command) throws IOException {
+        MarshalledValue<Command<R, ? super C>, MC> value = this.factory.createMarshalledValue(command);
+        if (value instanceof ByteBufferMarshalledValue) {
+            // A ByteBufferMarshalledValue marshals its object on every write, so capture its buffer instead
+            @SuppressWarnings("unchecked")
+            ByteBufferMarshalledValue<Command<R, ? super C>> marshalledValue = (ByteBufferMarshalledValue<Command<R, ? super C>>) value;
+            return new ByteBufferMarshalledValue<>(marshalledValue.getBuffer());
+        }
+        return value;
+    }
+
+    @Override
+    public ByteBuffer marshal(MarshalledValue<? extends Command<?, ? super C>, ?> command) throws IOException {
+        Map.Entry<Object, MarshalledValue<? extends Command<?, ? super C>, ?>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, command);
+        return this.marshaller.write(entry);
+    }
+
+    @Override
+    public ByteBuffer marshal(List<MarshalledValue<? extends Command<?, ? super C>, ?>> commands) throws IOException {
+        Map.Entry<Object, List<MarshalledValue<? extends Command<?, ? super C>, ?>>> entry = new AbstractMap.SimpleImmutableEntry<>(this.id, commands);
+        return this.marshaller.write(entry);
+    }
 }
@@ -23,8 +23,10 @@ package org.wildfly.clustering.server.dispatcher;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.List;
 
 import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 
 /**
  * Marshalling strategy for a command.
@@ -40,4 +42,29 @@ public interface CommandMarshaller<C> {
      * @throws IOException if marshalling fails.
      */
     <R> ByteBuffer marshal(Command<R, ? super C> command) throws IOException;
+
+    /**
+     * Marshals the specified command to a value that can be sent to any number of members, either individually or as part of a batch.
+     * The command is marshalled once, regardless of the number of messages in which it is included.
+     * @param command a command
+     * @return a marshalled command.
+     * @throws IOException if marshalling fails.
+     */
+    <R> MarshalledValue<Command<R, ? super C>, ?> createMarshalledValue(Command<R, ? super C> command) throws IOException;
+
+    /**
+     * Marshals the specified previously marshalled command to a byte[].
+     * @param command a command marshalled via {@link #createMarshalledValue(Command)}
+     * @return a serialized command.
+     * @throws IOException if marshalling fails.
+     */
+    ByteBuffer marshal(MarshalledValue<? extends Command<?, ? super C>, ?> command) throws IOException;
+
+    /**
+     * Marshals the specified batch of previously marshalled commands to a single byte[].
+     * @param commands a list of commands marshalled via {@link #createMarshalledValue(Command)}
+     * @return a serialized batch of commands.
+     * @throws IOException if marshalling fails.
+     */
+    ByteBuffer marshal(List<MarshalledValue<? extends Command<?, ? super C>, ?>> commands) throws IOException;
 }
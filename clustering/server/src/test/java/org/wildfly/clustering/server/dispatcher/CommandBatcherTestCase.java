@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.server.dispatcher;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import org.wildfly.clustering.dispatcher.Command;
+import org.wildfly.clustering.marshalling.protostream.TestProtoStreamByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValue;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.MarshalledValue;
+import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
+import org.wildfly.clustering.server.dispatcher.CommandBatcher.BatchResponseHandler;
+import org.wildfly.clustering.server.dispatcher.CommandBatcher.BatchedCommand;
+import org.wildfly.clustering.server.singleton.Lifecycle;
+import org.wildfly.clustering.server.singleton.StartCommand;
+import org.wildfly.clustering.server.singleton.StopCommand;
+
+/**
+ * Unit test for the marshalling of command batches and the demultiplexing of their responses.
+ * @author Paul Ferraro
+ */
+public class CommandBatcherTestCase {
+
+    private final ByteBufferMarshaller marshaller = TestProtoStreamByteBufferMarshaller.INSTANCE;
+    private final MarshalledValueFactory<ByteBufferMarshaller> factory = new ByteBufferMarshalledValueFactory(this.marshaller);
+
+    @Test
+    public void marshalling() throws IOException {
+        CommandMarshaller<Lifecycle> subject = new CommandDispatcherMarshaller<>(this.marshaller, "id", this.factory);
+
+        MarshalledValue<Command<Void, ? super Lifecycle>, ?> start = subject.createMarshalledValue(new StartCommand());
+        MarshalledValue<Command<Void, ? super Lifecycle>, ?> stop = subject.createMarshalledValue(new StopCommand());
+
+        // Command is marshalled on creation, thus its buffer is reused by every batch
+        assertTrue(start instanceof ByteBufferMarshalledValue);
+        assertSame(((ByteBufferMarshalledValue<?>) start).getBuffer(), ((ByteBufferMarshalledValue<?>) start).getBuffer());
+
+        ByteBuffer buffer = subject.marshal(Arrays.asList(start, stop));
+
+        @SuppressWarnings("unchecked")
+        Map.Entry<Object, Object> entry = (Map.Entry<Object, Object>) this.marshaller.read(buffer);
+        assertEquals("id", entry.getKey());
+        assertTrue(entry.getValue() instanceof List);
+        @SuppressWarnings("unchecked")
+        List<MarshalledValue<Command<Object, Object>, ByteBufferMarshaller>> commands = (List<MarshalledValue<Command<Object, Object>, ByteBufferMarshaller>>) entry.getValue();
+        assertEquals(2, commands.size());
+        assertTrue(commands.get(0).get(this.marshaller) instanceof StartCommand);
+        assertTrue(commands.get(1).get(this.marshaller) instanceof StopCommand);
+
+        // Single command
+        @SuppressWarnings("unchecked")
+        Map.Entry<Object, Object> singleEntry = (Map.Entry<Object, Object>) this.marshaller.read(subject.marshal(stop));
+        assertEquals("id", singleEntry.getKey());
+        @SuppressWarnings("unchecked")
+        MarshalledValue<Command<Object, Object>, ByteBufferMarshaller> command = (MarshalledValue<Command<Object, Object>, ByteBufferMarshaller>) singleEntry.getValue();
+        assertTrue(command.get(this.marshaller) instanceof StopCommand);
+    }
+
+    @Test
+    public void responses() throws Exception {
+        BatchedCommand<Object, Object> success = createCommand(60_000L);
+        BatchedCommand<Object, Object> failure = createCommand(60_000L);
+        BatchedCommand<Object, Object> missing = createCommand(60_000L);
+
+        List<Object> responses = Arrays.asList(this.factory.createMarshalledValue("result"), new IllegalStateException("failure"), NoSuchService.INSTANCE);
+        // Responses are marshalled by the recipient as a single list
+        @SuppressWarnings("unchecked")
+        List<Object> received = (List<Object>) this.marshaller.read(this.marshaller.write(responses));
+
+        new BatchResponseHandler<>(Arrays.<BatchedCommand<?, Object>>asList(success, failure, missing), this.marshaller).accept(received, null);
+
+        assertEquals("result", success.get());
+
+        try {
+            failure.get();
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("failure", e.getCause().getMessage());
+        }
+
+        // Command for which no service was registered on the recipient
+        assertTrue(missing.isCancelled());
+    }
+
+    @Test
+    public void batchFailure() throws Exception {
+        BatchedCommand<Object, Object> command1 = createCommand(60_000L);
+        BatchedCommand<Object, Object> command2 = createCommand(60_000L);
+        Exception exception = new TimeoutException();
+
+        new BatchResponseHandler<>(Arrays.<BatchedCommand<?, Object>>asList(command1, command2), this.marshaller).accept(null, exception);
+
+        for (BatchedCommand<Object, Object> command : Arrays.asList(command1, command2)) {
+            try {
+                command.get();
+                fail("Expected ExecutionException");
+            } catch (ExecutionException e) {
+                assertSame(exception, e.getCause());
+            }
+        }
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        BatchedCommand<Object, Object> command = createCommand(10L);
+        try {
+            command.get();
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            assertTrue(command.isCancelled());
+        }
+
+        // A late response is ignored
+        command.receive(this.factory.createMarshalledValue("result"), this.marshaller);
+        assertTrue(command.isCancelled());
+
+        // Each command of a batch times out independently
+        BatchedCommand<Object, Object> completed = createCommand(10L);
+        BatchedCommand<Object, Object> pending = createCommand(10L);
+        completed.receive(this.factory.createMarshalledValue("result"), this.marshaller);
+        assertEquals("result", completed.join());
+        try {
+            pending.join();
+            fail("Expected CancellationException");
+        } catch (CancellationException e) {
+            assertTrue(pending.isCancelled());
+        }
+    }
+
+    private static BatchedCommand<Object, Object> createCommand(long timeout) {
+        return new BatchedCommand<>(new ByteBufferMarshalledValue<>(), timeout);
+    }
+}
@@ -32,10 +32,28 @@ public class CompositeSessionMetaData implements InvalidatableSessionMetaData {
 
     private final SessionCreationMetaData creationMetaData;
     private final SessionAccessMetaData accessMetaData;
+    private final Duration expirationTolerance;
 
     public CompositeSessionMetaData(SessionCreationMetaData creationMetaData, SessionAccessMetaData accessMetaData) {
+        this(creationMetaData, accessMetaData, Duration.ZERO);
+    }
+
+    /**
+     * Creates a composite view of the meta data of a session whose last access time may be stale.
+     * @param creationMetaData the creation meta data of the session
+     * @param accessMetaData the access meta data of the session
+     * @param expirationTolerance the maximum staleness of the access meta data, by which expiration is deferred
+     */
+    public CompositeSessionMetaData(SessionCreationMetaData creationMetaData, SessionAccessMetaData accessMetaData, Duration expirationTolerance) {
         this.creationMetaData = creationMetaData;
         this.accessMetaData = accessMetaData;
+        this.expirationTolerance = expirationTolerance;
+    }
+
+    @Override
+    public boolean isExpired() {
+        Duration maxInactiveInterval = this.getMaxInactiveInterval();
+        return !maxInactiveInterval.isZero() ? this.getLastAccessEndTime().plus(maxInactiveInterval).plus(this.expirationTolerance).isBefore(Instant.now()) : false;
     }
 
     @Override
@@ -0,0 +1,114 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.cache.session.coarse;
+
+import java.io.NotSerializableException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.marshalling.spi.Marshallability;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+
+/**
+ * Exposes session attributes for a coarse granularity session that replicates only those attributes that changed.
+ * Unlike {@link CoarseSessionAttributes}, which mutates the entire attribute map whenever any attribute is modified,
+ * this implementation tracks the names of modified attributes and, on close, hands the changes to a consumer.
+ * A null value in the map of changes indicates a removed attribute.
+ * @author Paul Ferraro
+ */
+public class DeltaSessionAttributes extends CoarseImmutableSessionAttributes implements SessionAttributes {
+    private final Map<String, Object> attributes;
+    private final Consumer<Map<String, Object>> mutator;
+    private final Marshallability marshallability;
+    private final Immutability immutability;
+    private final CacheProperties properties;
+    private final SessionActivationNotifier notifier;
+    private final Set<String> updates = ConcurrentHashMap.newKeySet();
+
+    public DeltaSessionAttributes(Map<String, Object> attributes, Consumer<Map<String, Object>> mutator, Marshallability marshallability, Immutability immutability, CacheProperties properties, SessionActivationNotifier notifier) {
+        super(attributes);
+        this.attributes = attributes;
+        this.mutator = mutator;
+        this.marshallability = marshallability;
+        this.immutability = immutability;
+        this.properties = properties;
+        this.notifier = notifier;
+        if (this.notifier != null) {
+            this.notifier.postActivate();
+        }
+    }
+
+    @Override
+    public Object removeAttribute(String name) {
+        Object value = this.attributes.remove(name);
+        if (value != null) {
+            this.updates.add(name);
+        }
+        return value;
+    }
+
+    @Override
+    public Object setAttribute(String name, Object value) {
+        if (value == null) {
+            return this.removeAttribute(name);
+        }
+        if (this.properties.isMarshalling() && !this.marshallability.isMarshallable(value)) {
+            throw new IllegalArgumentException(new NotSerializableException(value.getClass().getName()));
+        }
+        Object old = this.attributes.put(name, value);
+        // Always trigger mutation, even if this is an immutable object that was previously retrieved via getAttribute(...)
+        this.updates.add(name);
+        return old;
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        Object value = this.attributes.get(name);
+        if ((value != null) && !this.immutability.test(value)) {
+            this.updates.add(name);
+        }
+        return value;
+    }
+
+    @Override
+    public void close() {
+        if (this.notifier != null) {
+            this.notifier.prePassivate();
+        }
+        if (!this.updates.isEmpty()) {
+            Map<String, Object> changes = new HashMap<>();
+            for (String name : this.updates) {
+                // Null value indicates removal
+                changes.put(name, this.attributes.get(name));
+            }
+            this.updates.clear();
+            this.mutator.accept(changes);
+        }
+    }
+}
@@ -25,15 +25,26 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityReference;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
+import org.jboss.as.clustering.controller.validation.IntRangeValidatorBuilder;
+import org.jboss.as.clustering.controller.validation.LongRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.ee.infinispan.NearCacheStatistics;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTaskStatistics;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanDefaultCacheRequirement;
+import org.wildfly.clustering.web.infinispan.routing.RouteLocatorStatistics;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementProvider;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 /**
  * Definition of the /subsystem=distributable-web/infinispan-session-management=* resource.
@@ -61,6 +72,41 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
                         ;
             }
         },
+        ACCESS_FLUSH_INTERVAL("access-flush-interval", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0L))
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
+        NEAR_CACHE_MAX_ENTRIES("near-cache-max-entries", ModelType.INT) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0))
+                        .setValidator(new IntRangeValidatorBuilder().min(0).configure(builder).build())
+                        ;
+            }
+        },
+        EXPIRATION_RESOLUTION("expiration-resolution", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0L))
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
+        STORE_FLUSH_INTERVAL("store-flush-interval", ModelType.LONG) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setDefaultValue(new ModelNode(0L))
+                        .setValidator(new LongRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                        ;
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -95,9 +141,33 @@ public class InfinispanSessionManagementResourceDefinition extends SessionManage
     public ManagementResourceRegistration register(ManagementResourceRegistration parent) {
         ManagementResourceRegistration registration = super.register(parent);
 
-        new PrimaryOwnerAffinityResourceDefinition().register(registration);
-        new RankedAffinityResourceDefinition().register(registration);
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new SessionManagementMetricExecutor<>(this.executors, InfinispanSessionManagementResourceDefinition::getNearCacheStatistics), NearCacheMetric.class).register(registration);
+            new MetricHandler<>(new SessionManagementMetricExecutor<>(this.executors, InfinispanSessionManagementResourceDefinition::getScheduleLocalTaskStatistics), ScheduleLocalTaskMetric.class).register(registration);
+        }
+
+        ManagementResourceRegistration primaryOwnerRegistration = new PrimaryOwnerAffinityResourceDefinition().register(registration);
+        ManagementResourceRegistration rankedRegistration = new RankedAffinityResourceDefinition().register(registration);
+
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            // Route table metrics are registered by the affinity resources, but read from the provider of their parent resource
+            MetricHandler<RouteLocatorStatistics> handler = new MetricHandler<>(new SessionManagementMetricExecutor<>(this.executors, InfinispanSessionManagementResourceDefinition::getRouteLocatorStatistics, PathAddress::getParent), RouteLocatorMetric.class);
+            handler.register(primaryOwnerRegistration);
+            handler.register(rankedRegistration);
+        }
 
         return registration;
     }
+
+    private static NearCacheStatistics getNearCacheStatistics(DistributableSessionManagementProvider provider) {
+        return ((InfinispanSessionManagementProvider) provider).getSessionManagementConfiguration().getNearCacheStatistics();
+    }
+
+    private static ScheduleLocalTaskStatistics getScheduleLocalTaskStatistics(DistributableSessionManagementProvider provider) {
+        return ((InfinispanSessionManagementProvider) provider).getSessionManagementConfiguration().getScheduleLocalTaskStatistics();
+    }
+
+    static RouteLocatorStatistics getRouteLocatorStatistics(DistributableSessionManagementProvider provider) {
+        return ((InfinispanSessionManagementProvider) provider).getSessionManagementConfiguration().getRouteLocatorStatistics();
+    }
 }
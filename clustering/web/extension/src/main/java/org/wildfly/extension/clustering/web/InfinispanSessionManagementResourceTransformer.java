@@ -25,7 +25,10 @@ package org.wildfly.extension.clustering.web;
 import java.util.function.Consumer;
 
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute;
 
 /**
  * @author Paul Ferraro
@@ -42,6 +45,14 @@ public class InfinispanSessionManagementResourceTransformer implements Consumer<
     public void accept(ModelVersion version) {
         ResourceTransformationDescriptionBuilder builder = this.parent.addChildResource(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH);
 
+        if (DistributableWebModel.VERSION_3_0_0.requiresTransformation(version)) {
+            builder.getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, Attribute.ACCESS_FLUSH_INTERVAL.getDefinition(), Attribute.NEAR_CACHE_MAX_ENTRIES.getDefinition(), Attribute.EXPIRATION_RESOLUTION.getDefinition(), Attribute.STORE_FLUSH_INTERVAL.getDefinition())
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, Attribute.ACCESS_FLUSH_INTERVAL.getDefinition(), Attribute.NEAR_CACHE_MAX_ENTRIES.getDefinition(), Attribute.EXPIRATION_RESOLUTION.getDefinition(), Attribute.STORE_FLUSH_INTERVAL.getDefinition())
+                    .end();
+        }
+
+        new SessionManagementResourceTransformer(builder).accept(version);
         new RankedAffinityResourceTransformer(builder).accept(version);
     }
 }
@@ -22,14 +22,23 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.ACCESS_FLUSH_INTERVAL;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE;
 import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.CACHE_CONTAINER;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.EXPIRATION_RESOLUTION;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_MAX_ENTRIES;
+import static org.wildfly.extension.clustering.web.InfinispanSessionManagementResourceDefinition.Attribute.STORE_FLUSH_INTERVAL;
+
+import java.time.Duration;
 
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.clustering.ee.infinispan.NearCacheStatistics;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTaskStatistics;
 import org.wildfly.clustering.service.ServiceConfigurator;
+import org.wildfly.clustering.web.infinispan.routing.RouteLocatorStatistics;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
 import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementProvider;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
@@ -40,8 +49,16 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementProvider
  */
 public class InfinispanSessionManagementServiceConfigurator extends SessionManagementServiceConfigurator<InfinispanSessionManagementConfiguration> implements InfinispanSessionManagementConfiguration {
 
+    private final NearCacheStatistics nearCacheStatistics = new NearCacheStatistics();
+    private final ScheduleLocalTaskStatistics scheduleLocalTaskStatistics = new ScheduleLocalTaskStatistics();
+    private final RouteLocatorStatistics routeLocatorStatistics = new RouteLocatorStatistics();
+
     private volatile String containerName;
     private volatile String cacheName;
+    private volatile Duration accessFlushInterval;
+    private volatile int nearCacheMaxEntries;
+    private volatile Duration expirationResolution;
+    private volatile Duration storeFlushInterval;
 
     public InfinispanSessionManagementServiceConfigurator(PathAddress address) {
         super(address);
@@ -51,6 +68,10 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.containerName = CACHE_CONTAINER.resolveModelAttribute(context, model).asString();
         this.cacheName = CACHE.resolveModelAttribute(context, model).asStringOrNull();
+        this.accessFlushInterval = Duration.ofMillis(ACCESS_FLUSH_INTERVAL.resolveModelAttribute(context, model).asLong());
+        this.nearCacheMaxEntries = NEAR_CACHE_MAX_ENTRIES.resolveModelAttribute(context, model).asInt();
+        this.expirationResolution = Duration.ofMillis(EXPIRATION_RESOLUTION.resolveModelAttribute(context, model).asLong());
+        this.storeFlushInterval = Duration.ofMillis(STORE_FLUSH_INTERVAL.resolveModelAttribute(context, model).asLong());
         return super.configure(context, model);
     }
 
@@ -68,4 +89,39 @@ public class InfinispanSessionManagementServiceConfigurator extends SessionManag
     public String getCacheName() {
         return this.cacheName;
     }
+
+    @Override
+    public Duration getAccessFlushInterval() {
+        return this.accessFlushInterval;
+    }
+
+    @Override
+    public int getNearCacheMaxEntries() {
+        return this.nearCacheMaxEntries;
+    }
+
+    @Override
+    public NearCacheStatistics getNearCacheStatistics() {
+        return this.nearCacheStatistics;
+    }
+
+    @Override
+    public ScheduleLocalTaskStatistics getScheduleLocalTaskStatistics() {
+        return this.scheduleLocalTaskStatistics;
+    }
+
+    @Override
+    public RouteLocatorStatistics getRouteLocatorStatistics() {
+        return this.routeLocatorStatistics;
+    }
+
+    @Override
+    public Duration getExpirationResolution() {
+        return this.expirationResolution;
+    }
+
+    @Override
+    public Duration getStoreFlushInterval() {
+        return this.storeFlushInterval;
+    }
 }
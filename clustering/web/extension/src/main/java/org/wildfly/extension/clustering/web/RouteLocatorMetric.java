@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.web.infinispan.routing.RouteLocatorStatistics;
+
+/**
+ * Enumerates management metrics for the rebuilds of the route tables of all deployments using the affinity of an Infinispan session management provider.
+ * @author Paul Ferraro
+ */
+public enum RouteLocatorMetric implements Metric<RouteLocatorStatistics> {
+
+    REBUILD_COUNT("rebuild-count", AttributeAccess.Flag.COUNTER_METRIC, MeasurementUnit.NONE) {
+        @Override
+        public ModelNode execute(RouteLocatorStatistics statistics) {
+            return new ModelNode(statistics.getRebuildCount());
+        }
+    },
+    LAST_REBUILD_TIME("last-rebuild-time", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MICROSECONDS) {
+        @Override
+        public ModelNode execute(RouteLocatorStatistics statistics) {
+            return new ModelNode(statistics.getLastRebuildTime(TimeUnit.MICROSECONDS));
+        }
+    },
+    MEAN_REBUILD_TIME("mean-rebuild-time", AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MICROSECONDS) {
+        @Override
+        public ModelNode execute(RouteLocatorStatistics statistics) {
+            return new ModelNode(statistics.getMeanRebuildTime(TimeUnit.MICROSECONDS));
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    RouteLocatorMetric(String name, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, ModelType.LONG, true)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
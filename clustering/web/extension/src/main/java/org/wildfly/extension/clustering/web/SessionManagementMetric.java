@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
+/**
+ * Enumerates management metrics for the compression of session payloads by all deployments using a session management provider.
+ * @author Paul Ferraro
+ */
+public enum SessionManagementMetric implements Metric<CompressionStatistics> {
+
+    COMPRESSIONS("compressions", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getCompressionCount());
+        }
+    },
+    SKIPPED_COMPRESSIONS("skipped-compressions", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getSkippedCompressionCount());
+        }
+    },
+    COMPRESSION_RATIO("compression-ratio", ModelType.DOUBLE, AttributeAccess.Flag.GAUGE_METRIC) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getCompressionRatio());
+        }
+    },
+    AVERAGE_COMPRESSION_TIME("average-compression-time", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MICROSECONDS) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getAverageCompressionTime().toNanos() / 1000);
+        }
+    },
+    DECOMPRESSIONS("decompressions", ModelType.LONG, AttributeAccess.Flag.COUNTER_METRIC) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getDecompressionCount());
+        }
+    },
+    AVERAGE_DECOMPRESSION_TIME("average-decompression-time", ModelType.LONG, AttributeAccess.Flag.GAUGE_METRIC, MeasurementUnit.MICROSECONDS) {
+        @Override
+        public ModelNode execute(CompressionStatistics statistics) {
+            return new ModelNode(statistics.getAverageDecompressionTime().toNanos() / 1000);
+        }
+    },
+    ;
+    private final AttributeDefinition definition;
+
+    SessionManagementMetric(String name, ModelType type, AttributeAccess.Flag metricType) {
+        this(name, type, metricType, null);
+    }
+
+    SessionManagementMetric(String name, ModelType type, AttributeAccess.Flag metricType, MeasurementUnit unit) {
+        this.definition = new SimpleAttributeDefinitionBuilder(name, type, true)
+                .setFlags(metricType)
+                .setMeasurementUnit(unit)
+                .setStorageRuntime()
+                .build();
+    }
+
+    @Override
+    public AttributeDefinition getDefinition() {
+        return this.definition;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.jboss.as.clustering.controller.FunctionExecutor;
+import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
+import org.jboss.as.clustering.controller.Metric;
+import org.jboss.as.clustering.controller.MetricExecutor;
+import org.jboss.as.clustering.controller.MetricFunction;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
+
+/**
+ * Handler for reading the statistics of a session management provider.
+ * Metrics are undefined while the provider is not used by any deployment.
+ * @author Paul Ferraro
+ * @param <T> the statistics type
+ */
+public class SessionManagementMetricExecutor<T> implements MetricExecutor<T> {
+
+    private final FunctionExecutorRegistry<DistributableSessionManagementProvider> executors;
+    private final Function<DistributableSessionManagementProvider, T> statistics;
+    private final UnaryOperator<PathAddress> resolver;
+
+    public SessionManagementMetricExecutor(FunctionExecutorRegistry<DistributableSessionManagementProvider> executors, Function<DistributableSessionManagementProvider, T> statistics) {
+        this(executors, statistics, UnaryOperator.identity());
+    }
+
+    /**
+     * Creates a handler for the metrics of a child resource of a session management provider.
+     * @param executors the registry of session management provider executors
+     * @param statistics a function returning the statistics of a provider
+     * @param resolver resolves the address of the session management resource from the address of the current resource
+     */
+    public SessionManagementMetricExecutor(FunctionExecutorRegistry<DistributableSessionManagementProvider> executors, Function<DistributableSessionManagementProvider, T> statistics, UnaryOperator<PathAddress> resolver) {
+        this.executors = executors;
+        this.statistics = statistics;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public ModelNode execute(OperationContext context, Metric<T> metric) throws OperationFailedException {
+        ServiceName name = SessionManagementResourceDefinition.Capability.SESSION_MANAGEMENT_PROVIDER.getServiceName(this.resolver.apply(context.getCurrentAddress()));
+        FunctionExecutor<DistributableSessionManagementProvider> executor = this.executors.get(name);
+        return (executor != null) ? executor.execute(new MetricFunction<>(this.statistics, metric)) : null;
+    }
+}
@@ -26,24 +26,28 @@ import java.util.function.UnaryOperator;
 
 import org.jboss.as.clustering.controller.CapabilityProvider;
 import org.jboss.as.clustering.controller.ChildResourceDefinition;
+import org.jboss.as.clustering.controller.MetricHandler;
 import org.jboss.as.clustering.controller.ResourceDescriptor;
 import org.jboss.as.clustering.controller.ResourceServiceConfiguratorFactory;
 import org.jboss.as.clustering.controller.ResourceServiceHandler;
+import org.jboss.as.clustering.controller.ServiceValueExecutorRegistry;
 import org.jboss.as.clustering.controller.SimpleResourceRegistration;
-import org.jboss.as.clustering.controller.SimpleResourceServiceHandler;
 import org.jboss.as.clustering.controller.UnaryCapabilityNameResolver;
 import org.jboss.as.clustering.controller.UnaryRequirementCapability;
 import org.jboss.as.clustering.controller.validation.EnumValidator;
+import org.jboss.as.clustering.controller.validation.IntRangeValidatorBuilder;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.AttributeAccess.Flag;
 import org.jboss.dmr.ModelType;
 import org.wildfly.clustering.service.UnaryRequirement;
 import org.wildfly.clustering.web.WebProviderRequirement;
 import org.wildfly.clustering.web.WebRequirement;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 /**
  * Base definition for session management resources.
@@ -79,6 +83,15 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 return builder.setValidator(new EnumValidator<>(SessionGranularity.class));
             }
         },
+        COMPRESSION_THRESHOLD("compression-threshold", ModelType.INT) {
+            @Override
+            public SimpleAttributeDefinitionBuilder apply(SimpleAttributeDefinitionBuilder builder) {
+                return builder.setRequired(false)
+                        .setValidator(new IntRangeValidatorBuilder().min(0).configure(builder).build())
+                        .setMeasurementUnit(MeasurementUnit.BYTES)
+                        ;
+            }
+        },
         ;
         private final AttributeDefinition definition;
 
@@ -96,6 +109,7 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
         }
     }
 
+    final ServiceValueExecutorRegistry<DistributableSessionManagementProvider> executors = new ServiceValueExecutorRegistry<>();
     private final UnaryOperator<ResourceDescriptor> configurator;
     private final ResourceServiceConfiguratorFactory factory;
 
@@ -112,9 +126,13 @@ public class SessionManagementResourceDefinition extends ChildResourceDefinition
                 .addAttributes(Attribute.class)
                 .addCapabilities(Capability.class)
                 ;
-        ResourceServiceHandler handler = new SimpleResourceServiceHandler(this.factory);
+        ResourceServiceHandler handler = new SessionManagementServiceHandler(this.factory, this.executors);
         new SimpleResourceRegistration(descriptor, handler).register(registration);
 
+        if (registration.isRuntimeOnlyRegistrationValid()) {
+            new MetricHandler<>(new SessionManagementMetricExecutor<>(this.executors, provider -> provider.getSessionManagementConfiguration().getCompressionStatistics()), SessionManagementMetric.class).register(registration);
+        }
+
         new NoAffinityResourceDefinition().register(registration);
         new LocalAffinityResourceDefinition().register(registration);
 
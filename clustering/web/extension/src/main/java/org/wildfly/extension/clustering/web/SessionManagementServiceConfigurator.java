@@ -22,8 +22,10 @@
 
 package org.wildfly.extension.clustering.web;
 
+import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD;
 import static org.wildfly.extension.clustering.web.SessionManagementResourceDefinition.Attribute.GRANULARITY;
 
+import java.util.OptionalInt;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -40,6 +42,7 @@ import org.jboss.msc.service.ServiceBuilder;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
 import org.wildfly.clustering.service.FunctionalService;
 import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
@@ -55,7 +58,10 @@ import org.wildfly.clustering.web.session.SessionAttributePersistenceStrategy;
  */
 public abstract class SessionManagementServiceConfigurator<C extends DistributableSessionManagementConfiguration> extends CapabilityServiceNameProvider implements ResourceServiceConfigurator, DistributableSessionManagementConfiguration, Supplier<DistributableSessionManagementProvider> {
 
+    private final CompressionStatistics compressionStatistics = new CompressionStatistics();
+
     private volatile SessionGranularity granularity;
+    private volatile OptionalInt compressionThreshold;
     private volatile SupplierDependency<RouteLocatorServiceConfiguratorFactory<C>> factory;
 
     SessionManagementServiceConfigurator(PathAddress address) {
@@ -65,6 +71,8 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
     @Override
     public ServiceConfigurator configure(OperationContext context, ModelNode model) throws OperationFailedException {
         this.granularity = ModelNodes.asEnum(GRANULARITY.resolveModelAttribute(context, model), SessionGranularity.class);
+        ModelNode threshold = COMPRESSION_THRESHOLD.resolveModelAttribute(context, model);
+        this.compressionThreshold = threshold.isDefined() ? OptionalInt.of(threshold.asInt()) : OptionalInt.empty();
         this.factory = new ServiceSupplierDependency<>(new AffinityServiceNameProvider(context.getCurrentAddress()));
         return this;
     }
@@ -83,6 +91,16 @@ public abstract class SessionManagementServiceConfigurator<C extends Distributab
         return this.granularity.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public OptionalInt getCompressionThreshold() {
+        return this.compressionThreshold;
+    }
+
+    @Override
+    public CompressionStatistics getCompressionStatistics() {
+        return this.compressionStatistics;
+    }
+
     public RouteLocatorServiceConfiguratorFactory<C> getRouteLocatorServiceConfiguratorFactory() {
         return this.factory.get();
     }
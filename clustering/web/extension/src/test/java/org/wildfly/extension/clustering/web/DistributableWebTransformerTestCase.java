@@ -26,7 +26,9 @@ import java.util.EnumSet;
 import java.util.List;
 
 import org.jboss.as.clustering.subsystem.AdditionalInitialization;
+import org.jboss.as.clustering.subsystem.RejectedValueConfig;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.model.test.FailedOperationTransformationConfig;
 import org.jboss.as.model.test.ModelTestControllerVersion;
 import org.jboss.as.model.test.ModelTestUtils;
@@ -165,6 +167,25 @@ public class DistributableWebTransformerTestCase extends AbstractSubsystemTest {
         Assert.assertTrue(legacyServices.isSuccessfulBoot());
 
         List<ModelNode> operations = builder.parseXmlResource("wildfly-distributable-web-transform-reject.xml");
-        ModelTestUtils.checkFailedTransformedBootOperations(services, this.version, operations, new FailedOperationTransformationConfig());
+        ModelTestUtils.checkFailedTransformedBootOperations(services, this.version, operations, this.createFailedOperationTransformationConfig());
+    }
+
+    private FailedOperationTransformationConfig createFailedOperationTransformationConfig() {
+        FailedOperationTransformationConfig config = new FailedOperationTransformationConfig();
+        PathAddress subsystemAddress = PathAddress.pathAddress(DistributableWebResourceDefinition.PATH);
+
+        if (DistributableWebModel.VERSION_3_0_0.requiresTransformation(this.version)) {
+            config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "attribute"), new FailedOperationTransformationConfig.NewAttributesConfig(InfinispanSessionManagementResourceDefinition.Attribute.ACCESS_FLUSH_INTERVAL.getDefinition(), InfinispanSessionManagementResourceDefinition.Attribute.NEAR_CACHE_MAX_ENTRIES.getDefinition(), InfinispanSessionManagementResourceDefinition.Attribute.EXPIRATION_RESOLUTION.getDefinition(), InfinispanSessionManagementResourceDefinition.Attribute.STORE_FLUSH_INTERVAL.getDefinition()));
+            config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "delta"), createGranularityConfig());
+            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "remote-delta"), createGranularityConfig());
+            config.addFailedAttribute(subsystemAddress.append(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "session"), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD.getDefinition()));
+            config.addFailedAttribute(subsystemAddress.append(HotRodSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "remote"), new FailedOperationTransformationConfig.NewAttributesConfig(SessionManagementResourceDefinition.Attribute.COMPRESSION_THRESHOLD.getDefinition()));
+        }
+
+        return config;
+    }
+
+    private static RejectedValueConfig createGranularityConfig() {
+        return new RejectedValueConfig(SessionManagementResourceDefinition.Attribute.GRANULARITY, value -> value.asString().equals(SessionGranularity.SESSION_DELTA.name()), value -> new ModelNode(SessionGranularity.SESSION.name()));
     }
 }
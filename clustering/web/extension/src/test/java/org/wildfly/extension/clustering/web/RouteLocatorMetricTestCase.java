@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.clustering.web;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.clustering.controller.FunctionExecutor;
+import org.jboss.as.clustering.controller.FunctionExecutorRegistry;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceName;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.clustering.web.infinispan.routing.RouteLocatorStatistics;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementConfiguration;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionManagementProvider;
+import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
+import org.wildfly.common.function.ExceptionFunction;
+
+/**
+ * Unit test for {@link RouteLocatorMetric}, read from an affinity resource via a {@link SessionManagementMetricExecutor}.
+ * @author Paul Ferraro
+ */
+public class RouteLocatorMetricTestCase {
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void test() throws OperationFailedException {
+        PathAddress providerAddress = PathAddress.pathAddress(DistributableWebResourceDefinition.PATH, PathElement.pathElement(InfinispanSessionManagementResourceDefinition.WILDCARD_PATH.getKey(), "foo"));
+        PathAddress affinityAddress = providerAddress.append(PrimaryOwnerAffinityResourceDefinition.PATH);
+
+        RouteLocatorStatistics statistics = mock(RouteLocatorStatistics.class);
+        InfinispanSessionManagementConfiguration configuration = mock(InfinispanSessionManagementConfiguration.class);
+        InfinispanSessionManagementProvider provider = mock(InfinispanSessionManagementProvider.class);
+        FunctionExecutorRegistry<DistributableSessionManagementProvider> executors = mock(FunctionExecutorRegistry.class);
+        OperationContext context = mock(OperationContext.class);
+        FunctionExecutor<DistributableSessionManagementProvider> executor = new FunctionExecutor<DistributableSessionManagementProvider>() {
+            @Override
+            public <R, E extends Exception> R execute(ExceptionFunction<DistributableSessionManagementProvider, R, E> function) throws E {
+                return function.apply(provider);
+            }
+        };
+        ArgumentCaptor<ServiceName> name = ArgumentCaptor.forClass(ServiceName.class);
+
+        when(context.getCurrentAddress()).thenReturn(affinityAddress);
+        when(executors.get(name.capture())).thenReturn(executor);
+        when(provider.getSessionManagementConfiguration()).thenReturn(configuration);
+        when(configuration.getRouteLocatorStatistics()).thenReturn(statistics);
+        when(statistics.getRebuildCount()).thenReturn(2L);
+        when(statistics.getLastRebuildTime(TimeUnit.MICROSECONDS)).thenReturn(30L);
+        when(statistics.getMeanRebuildTime(TimeUnit.MICROSECONDS)).thenReturn(20L);
+
+        SessionManagementMetricExecutor<RouteLocatorStatistics> subject = new SessionManagementMetricExecutor<>(executors, InfinispanSessionManagementResourceDefinition::getRouteLocatorStatistics, PathAddress::getParent);
+
+        Assert.assertEquals(new ModelNode(2L), subject.execute(context, RouteLocatorMetric.REBUILD_COUNT));
+        Assert.assertEquals(new ModelNode(30L), subject.execute(context, RouteLocatorMetric.LAST_REBUILD_TIME));
+        Assert.assertEquals(new ModelNode(20L), subject.execute(context, RouteLocatorMetric.MEAN_REBUILD_TIME));
+
+        // Metrics must be read from the provider of the parent session management resource
+        Assert.assertEquals(SessionManagementResourceDefinition.Capability.SESSION_MANAGEMENT_PROVIDER.getServiceName(providerAddress), name.getValue());
+
+        // Metrics are undefined while no deployment uses the provider
+        when(executors.get(any())).thenReturn(null);
+
+        Assert.assertNull(subject.execute(context, RouteLocatorMetric.REBUILD_COUNT));
+    }
+}
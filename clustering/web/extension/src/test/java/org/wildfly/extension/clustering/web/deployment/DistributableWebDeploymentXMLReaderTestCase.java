@@ -105,7 +105,7 @@ public class DistributableWebDeploymentXMLReaderTestCase {
             InfinispanSessionManagementConfiguration configuration = provider.getSessionManagementConfiguration();
             Assert.assertEquals("foo", configuration.getContainerName());
             Assert.assertEquals("bar", configuration.getCacheName());
-            Assert.assertSame(SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
+            Assert.assertSame(this.schema.since(DistributableWebDeploymentSchema.VERSION_3_0) ? SessionAttributePersistenceStrategy.DELTA : SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
 
             if (this.schema.since(DistributableWebDeploymentSchema.VERSION_2_0)) {
                 Assert.assertTrue(provider.getRouteLocatorServiceConfiguratorFactory() instanceof RankedRouteLocatorServiceConfiguratorFactory);
@@ -139,7 +139,7 @@ public class DistributableWebDeploymentXMLReaderTestCase {
             Assert.assertTrue(result instanceof HotRodSessionManagementProvider);
             HotRodSessionManagementConfiguration configuration = ((HotRodSessionManagementProvider) result).getSessionManagementConfiguration();
             Assert.assertEquals("foo", configuration.getContainerName());
-            Assert.assertSame(SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
+            Assert.assertSame(this.schema.since(DistributableWebDeploymentSchema.VERSION_3_0) ? SessionAttributePersistenceStrategy.DELTA : SessionAttributePersistenceStrategy.FINE, configuration.getAttributePersistenceStrategy());
         } finally {
             mapper.unregisterRootAttribute(this.schema.getRoot());
         }
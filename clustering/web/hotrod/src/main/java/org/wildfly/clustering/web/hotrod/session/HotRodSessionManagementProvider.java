@@ -49,6 +49,7 @@ public class HotRodSessionManagementProvider implements DistributableSessionMana
         return new LocalRouteLocatorServiceConfigurator(configuration);
     }
 
+    @Override
     public HotRodSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
@@ -118,6 +118,8 @@ public class HotRodSessionManagerFactory<S, SC, AL, MC, LC> implements SessionMa
             case FINE: {
                 return new FineSessionAttributesFactory<>(new HotRodMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
+            // Remote caches cannot execute functions on the server, thus delta replication degenerates to coarse replication
+            case DELTA:
             case COARSE: {
                 return new CoarseSessionAttributesFactory<>(new HotRodMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
             }
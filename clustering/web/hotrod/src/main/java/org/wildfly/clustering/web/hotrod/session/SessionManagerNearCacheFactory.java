@@ -95,6 +95,7 @@ public class SessionManagerNearCacheFactory<K, V> implements NearCacheFactory<K,
             List<Object> keys = new LinkedList<>();
             keys.add(new SessionAccessMetaDataKey(id));
             switch (this.strategy) {
+                case DELTA:
                 case COARSE: {
                     keys.add(new SessionAttributesKey(id));
                     break;
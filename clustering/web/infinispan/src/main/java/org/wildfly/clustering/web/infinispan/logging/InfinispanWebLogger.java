@@ -93,4 +93,8 @@ public interface InfinispanWebLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 13, value = "Disabling expiration for cache '%s'. Web session expiration should be configured per \u00A77.5 of the servlet specification.")
     void expirationDisabled(String cacheName);
+
+    @LogMessage(level = DEBUG)
+    @Message(id = 14, value = "Rebuilt routes for %d segments of cache %s for topology %d in %d \u00B5s")
+    void rebuiltRouteTable(int segments, String cacheName, int topologyId, long micros);
 }
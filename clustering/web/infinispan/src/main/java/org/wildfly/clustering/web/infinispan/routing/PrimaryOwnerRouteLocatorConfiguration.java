@@ -38,4 +38,12 @@ public interface PrimaryOwnerRouteLocatorConfiguration {
     Cache<GroupedKey<String>, ?> getCache();
 
     NodeFactory<Address> getMemberFactory();
+
+    /**
+     * Returns the statistics to which the locator records the rebuilds of its route table.
+     * @return route table statistics
+     */
+    default RouteLocatorStatistics getStatistics() {
+        return new RouteLocatorStatistics();
+    }
 }
@@ -23,12 +23,13 @@
 package org.wildfly.clustering.web.infinispan.routing;
 
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.infinispan.Cache;
 import org.infinispan.remoting.transport.Address;
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.jboss.as.clustering.function.Consumers;
+import org.jboss.as.clustering.function.Functions;
 import org.jboss.as.controller.capability.CapabilityServiceSupport;
 import org.jboss.msc.Service;
 import org.jboss.msc.service.ServiceBuilder;
@@ -55,7 +56,7 @@ import org.wildfly.clustering.web.routing.RouteLocator;
  * Configures a service providing a primary owner route locator.
  * @author Paul Ferraro
  */
-public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorServiceNameProvider implements CapabilityServiceConfigurator, PrimaryOwnerRouteLocatorConfiguration, Supplier<RouteLocator> {
+public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorServiceNameProvider implements CapabilityServiceConfigurator, PrimaryOwnerRouteLocatorConfiguration, Supplier<SegmentRouteLocator> {
 
     private final InfinispanSessionManagementConfiguration managementConfiguration;
     private final WebDeploymentConfiguration deploymentConfiguration;
@@ -71,7 +72,7 @@ public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorSer
     }
 
     @Override
-    public RouteLocator get() {
+    public SegmentRouteLocator get() {
         return new PrimaryOwnerRouteLocator(this);
     }
 
@@ -80,7 +81,7 @@ public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorSer
         ServiceName name = this.getServiceName();
         ServiceBuilder<?> builder = new AsyncServiceConfigurator(name).build(target);
         Consumer<RouteLocator> locator = new CompositeDependency(this.registry, this.cache, this.factory).register(builder).provides(name);
-        Service service = new FunctionalService<>(locator, Function.identity(), this);
+        Service service = new FunctionalService<>(locator, Functions.identity(), this, Consumers.close());
         return builder.setInstance(service).setInitialMode(ServiceController.Mode.ON_DEMAND);
     }
 
@@ -106,4 +107,9 @@ public class PrimaryOwnerRouteLocatorServiceConfigurator extends RouteLocatorSer
     public NodeFactory<Address> getMemberFactory() {
         return this.factory.get();
     }
+
+    @Override
+    public RouteLocatorStatistics getStatistics() {
+        return this.managementConfiguration.getRouteLocatorStatistics();
+    }
 }
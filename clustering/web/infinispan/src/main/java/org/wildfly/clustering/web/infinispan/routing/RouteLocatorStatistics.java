@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the rebuilds of the route table of a {@link SegmentRouteLocator}.
+ * A single instance may be shared by multiple locators, e.g. by all deployments using a given profile.
+ * @author Paul Ferraro
+ */
+public class RouteLocatorStatistics {
+
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+
+    private volatile long lastNanos = 0L;
+
+    void recordRebuild(long nanos) {
+        this.lastNanos = nanos;
+        this.nanos.add(nanos);
+        this.rebuilds.increment();
+    }
+
+    /**
+     * Returns the number of rebuilds of the route table.
+     * @return a number of rebuilds
+     */
+    public long getRebuildCount() {
+        return this.rebuilds.sum();
+    }
+
+    /**
+     * Returns the duration of the most recent rebuild of the route table.
+     * @param unit the unit of the returned duration
+     * @return a duration
+     */
+    public long getLastRebuildTime(TimeUnit unit) {
+        return unit.convert(this.lastNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Returns the mean duration of a rebuild of the route table.
+     * @param unit the unit of the returned duration
+     * @return a duration, or zero, if the route table was never rebuilt
+     */
+    public long getMeanRebuildTime(TimeUnit unit) {
+        long rebuilds = this.rebuilds.sum();
+        return (rebuilds > 0) ? unit.convert(this.nanos.sum() / rebuilds, TimeUnit.NANOSECONDS) : 0L;
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.routing;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.infinispan.Cache;
+import org.infinispan.distribution.DistributionInfo;
+import org.infinispan.distribution.DistributionManager;
+import org.infinispan.distribution.LocalizedCacheTopology;
+import org.infinispan.remoting.transport.Address;
+import org.wildfly.clustering.Registration;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.group.Node;
+import org.wildfly.clustering.registry.Registry;
+import org.wildfly.clustering.registry.RegistryListener;
+import org.wildfly.clustering.spi.NodeFactory;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.routing.RouteLocator;
+
+/**
+ * Route locator that caches the route of each segment of the session cache.
+ * The route table is rebuilt only following a change to the cache topology or to the entries of the route registry,
+ * thus locating the route of a session requires only the computation of its segment.
+ * @author Paul Ferraro
+ */
+public abstract class SegmentRouteLocator implements RouteLocator, RegistryListener<String, Void>, AutoCloseable {
+
+    private final Registry<String, Void> registry;
+    private final NodeFactory<Address> factory;
+    private final String cacheName;
+    private final DistributionManager distribution;
+    private final String localRoute;
+    private final Registration registration;
+    private final AtomicInteger registryVersion = new AtomicInteger();
+    private final RouteLocatorStatistics statistics;
+
+    private volatile RouteTable table = null;
+
+    protected SegmentRouteLocator(PrimaryOwnerRouteLocatorConfiguration config) {
+        Cache<GroupedKey<String>, ?> cache = config.getCache();
+        this.registry = config.getRegistry();
+        this.factory = config.getMemberFactory();
+        this.cacheName = cache.getName();
+        this.distribution = cache.getCacheConfiguration().clustering().cacheMode().isClustered() ? cache.getAdvancedCache().getDistributionManager() : null;
+        this.statistics = config.getStatistics();
+        this.localRoute = this.registry.getEntry(this.registry.getGroup().getLocalMember()).getKey();
+        this.registration = (this.distribution != null) ? this.registry.register(this) : null;
+    }
+
+    @Override
+    public void close() {
+        if (this.registration != null) {
+            this.registration.close();
+        }
+    }
+
+    @Override
+    public String locate(String sessionId) {
+        if (this.distribution == null) return this.localRoute;
+        LocalizedCacheTopology topology = this.distribution.getCacheTopology();
+        RouteTable table = this.table;
+        if ((table == null) || !table.isCurrent(topology, this.registryVersion.get())) {
+            table = this.rebuild(topology);
+        }
+        return table.getRoute(topology.getSegment(new GroupedKey<>(sessionId)));
+    }
+
+    /**
+     * Computes the route for the segment with the specified distribution.
+     * @param info the distribution of a segment
+     * @return a route
+     */
+    protected abstract String route(DistributionInfo info);
+
+    /**
+     * Returns the route of the local member.
+     * @return a route
+     */
+    protected String getLocalRoute() {
+        return this.localRoute;
+    }
+
+    /**
+     * Returns the route registered for the specified member.
+     * @param member a group member
+     * @return the registered route, or null, if the specified member has no registered route
+     */
+    protected String getRoute(Node member) {
+        Map.Entry<String, Void> entry = this.registry.getEntry(member);
+        return (entry != null) ? entry.getKey() : null;
+    }
+
+    /**
+     * Returns the route registered for the specified cache member.
+     * @param address a cache member
+     * @return the registered route, or null, if the specified member has no registered route
+     */
+    protected String getRoute(Address address) {
+        Node member = this.factory.createNode(address);
+        return (member != null) ? this.getRoute(member) : null;
+    }
+
+    /**
+     * Returns the route registered for the local member.
+     * @return the registered route, or null, if the local member has no registered route
+     */
+    protected String getRegisteredLocalRoute() {
+        return this.getRoute(this.registry.getGroup().getLocalMember());
+    }
+
+    private synchronized RouteTable rebuild(LocalizedCacheTopology topology) {
+        // Read registry version before computing routes, so that any concurrent registry change triggers a subsequent rebuild
+        int version = this.registryVersion.get();
+        RouteTable table = this.table;
+        if ((table != null) && table.isCurrent(topology, version)) return table;
+
+        long start = System.nanoTime();
+        String[] routes = new String[topology.getNumSegments()];
+        for (int i = 0; i < routes.length; ++i) {
+            routes[i] = this.route(topology.getSegmentDistribution(i));
+        }
+        table = new RouteTable(topology, version, routes);
+        this.table = table;
+        long duration = System.nanoTime() - start;
+
+        this.statistics.recordRebuild(duration);
+        InfinispanWebLogger.ROOT_LOGGER.rebuiltRouteTable(routes.length, this.cacheName, topology.getTopologyId(), TimeUnit.NANOSECONDS.toMicros(duration));
+        return table;
+    }
+
+    /**
+     * Returns the statistics of the rebuilds of the route table.
+     * @return route table statistics
+     */
+    public RouteLocatorStatistics getStatistics() {
+        return this.statistics;
+    }
+
+    @Override
+    public void addedEntries(Map<String, Void> added) {
+        this.registryVersion.incrementAndGet();
+    }
+
+    @Override
+    public void updatedEntries(Map<String, Void> updated) {
+        this.registryVersion.incrementAndGet();
+    }
+
+    @Override
+    public void removedEntries(Map<String, Void> removed) {
+        this.registryVersion.incrementAndGet();
+    }
+
+    private static class RouteTable {
+        private final LocalizedCacheTopology topology;
+        private final int registryVersion;
+        private final String[] routes;
+
+        RouteTable(LocalizedCacheTopology topology, int registryVersion, String[] routes) {
+            this.topology = topology;
+            this.registryVersion = registryVersion;
+            this.routes = routes;
+        }
+
+        boolean isCurrent(LocalizedCacheTopology topology, int registryVersion) {
+            // Distribution manager creates a new topology instance on every topology change
+            return (this.topology == topology) && (this.registryVersion == registryVersion);
+        }
+
+        String getRoute(int segment) {
+            return this.routes[segment];
+        }
+    }
+}
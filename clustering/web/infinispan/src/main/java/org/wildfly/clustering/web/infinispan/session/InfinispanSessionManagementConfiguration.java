@@ -22,7 +22,12 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
+
+import org.wildfly.clustering.ee.infinispan.NearCacheStatistics;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTaskStatistics;
 import org.wildfly.clustering.web.infinispan.InfinispanCacheConfiguration;
+import org.wildfly.clustering.web.infinispan.routing.RouteLocatorStatistics;
 import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 
 /**
@@ -30,4 +35,61 @@ import org.wildfly.clustering.web.session.DistributableSessionManagementConfigur
  * @author Paul Ferraro
  */
 public interface InfinispanSessionManagementConfiguration extends DistributableSessionManagementConfiguration, InfinispanCacheConfiguration {
+
+    /**
+     * Returns the interval at which deferred writes of session access meta data are flushed to the cache.
+     * @return a flush interval, or zero, if access meta data should be written at the end of each request.
+     */
+    default Duration getAccessFlushInterval() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the maximum number of entries owned by other members to retain in a local near cache.
+     * @return a maximum number of entries, or zero, if no near cache should be used.
+     */
+    default int getNearCacheMaxEntries() {
+        return 0;
+    }
+
+    /**
+     * Returns the near cache statistics of all deployments using this configuration.
+     * Only used if {@link #getNearCacheMaxEntries()} is positive.
+     * @return near cache statistics
+     */
+    default NearCacheStatistics getNearCacheStatistics() {
+        return new NearCacheStatistics();
+    }
+
+    /**
+     * Returns the statistics of the rescans of local sessions, following topology changes, of all deployments using this configuration.
+     * @return rescan statistics
+     */
+    default ScheduleLocalTaskStatistics getScheduleLocalTaskStatistics() {
+        return new ScheduleLocalTaskStatistics();
+    }
+
+    /**
+     * Returns the statistics of the rebuilds of the route tables of all deployments using this configuration.
+     * @return route table statistics
+     */
+    default RouteLocatorStatistics getRouteLocatorStatistics() {
+        return new RouteLocatorStatistics();
+    }
+
+    /**
+     * Returns the resolution of the timing wheel used to schedule session expiration.
+     * @return a resolution, or zero, if session expiration should be scheduled using a sorted set.
+     */
+    default Duration getExpirationResolution() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the interval at which writes to the cache store are coalesced and flushed.
+     * @return an interval, or zero, if cache writes should write through to the cache store.
+     */
+    default Duration getStoreFlushInterval() {
+        return Duration.ZERO;
+    }
 }
@@ -52,6 +52,7 @@ public class InfinispanSessionManagementProvider implements DistributableSession
         return this.factory.createRouteLocatorServiceConfigurator(this.configuration, config);
     }
 
+    @Override
     public InfinispanSessionManagementConfiguration getSessionManagementConfiguration() {
         return this.configuration;
     }
@@ -22,7 +22,6 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.time.Duration;
-import java.util.function.BiConsumer;
 
 import org.infinispan.Cache;
 import org.wildfly.clustering.Registrar;
@@ -33,6 +32,9 @@ import org.wildfly.clustering.ee.cache.ConcurrentManager;
 import org.wildfly.clustering.ee.cache.Key;
 import org.wildfly.clustering.ee.cache.SimpleManager;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ee.infinispan.CoalescingStoreWriter;
+import org.wildfly.clustering.ee.infinispan.InvalidationNearCache;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.ee.infinispan.PrimaryOwnerLocator;
 import org.wildfly.clustering.ee.infinispan.scheduler.PrimaryOwnerScheduler;
 import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalKeysTask;
@@ -43,7 +45,6 @@ import org.wildfly.clustering.ee.infinispan.tx.InfinispanBatcher;
 import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.infinispan.spi.distribution.CacheLocality;
-import org.wildfly.clustering.infinispan.spi.distribution.Locality;
 import org.wildfly.clustering.infinispan.spi.distribution.SimpleLocality;
 import org.wildfly.clustering.marshalling.spi.MarshalledValue;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
@@ -54,9 +55,9 @@ import org.wildfly.clustering.web.cache.session.ConcurrentSessionManager;
 import org.wildfly.clustering.web.cache.session.MarshalledValueSessionAttributesFactoryConfiguration;
 import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
 import org.wildfly.clustering.web.cache.session.SessionFactory;
-import org.wildfly.clustering.web.cache.session.SessionMetaDataFactory;
 import org.wildfly.clustering.web.infinispan.AffinityIdentifierFactory;
 import org.wildfly.clustering.web.infinispan.session.coarse.CoarseSessionAttributesFactory;
+import org.wildfly.clustering.web.infinispan.session.coarse.DeltaSessionAttributesFactory;
 import org.wildfly.clustering.web.infinispan.session.fine.FineSessionAttributesFactory;
 import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
 import org.wildfly.clustering.web.session.SessionExpirationListener;
@@ -84,8 +85,11 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
     final SpecificationProvider<S, SC, AL> provider;
 
     private final KeyAffinityServiceFactory affinityFactory;
+    private final NearCache nearCache;
+    private final CoalescingStoreWriter<Key<String>, Object> storeWriter;
+    private final InfinispanSessionMetaDataFactory<LC> metaDataFactory;
     private final SessionFactory<SC, CompositeSessionMetaDataEntry<LC>, ?, LC> factory;
-    private final BiConsumer<Locality, Locality> scheduleTask;
+    private final ScheduleLocalKeysTask<String, Key<String>> scheduleTask;
     private final SchedulerListener listener;
 
     public InfinispanSessionManagerFactory(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> config) {
@@ -94,16 +98,39 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
         this.batcher = new InfinispanBatcher(this.cache);
         this.properties = config.getCacheProperties();
         this.provider = config.getSpecificationProvider();
-        SessionMetaDataFactory<CompositeSessionMetaDataEntry<LC>> metaDataFactory = new InfinispanSessionMetaDataFactory<>(config);
-        this.factory = new CompositeSessionFactory<>(metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
+        // A near cache only benefits distributed caches, where reads of entries owned by other members are remote
+        int nearCacheMaxEntries = config.getNearCacheMaxEntries();
+        NearCache nearCache = (nearCacheMaxEntries > 0) && this.cache.getCacheConfiguration().clustering().cacheMode().isDistributed() ? new InvalidationNearCache(this.cache, nearCacheMaxEntries, config.getNearCacheStatistics()) : NearCache.NONE;
+        this.nearCache = nearCache;
+        // Writes to the store of the cache are only deferred when the store would otherwise be written on every cache write
+        Duration storeFlushInterval = config.getStoreFlushInterval();
+        CoalescingStoreWriter<Key<String>, Object> storeWriter = !storeFlushInterval.isZero() && CoalescingStoreWriter.isSupported(this.cache) ? new CoalescingStoreWriter<>(config.getCache(), storeFlushInterval) : null;
+        this.storeWriter = storeWriter;
+        this.metaDataFactory = new InfinispanSessionMetaDataFactory<>(new InfinispanSessionMetaDataFactoryConfiguration() {
+            @Override
+            public <K, V> Cache<K, V> getCache() {
+                return (storeWriter != null) ? storeWriter.getCache() : config.getCache();
+            }
+
+            @Override
+            public Duration getAccessFlushInterval() {
+                return config.getAccessFlushInterval();
+            }
+
+            @Override
+            public NearCache getNearCache() {
+                return nearCache;
+            }
+        });
+        this.factory = new CompositeSessionFactory<>(this.metaDataFactory, this.createSessionAttributesFactory(config), config.getLocalContextFactory());
         ExpiredSessionRemover<SC, ?, ?, LC> remover = new ExpiredSessionRemover<>(this.factory);
         this.expirationRegistrar = remover;
-        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()));
+        Scheduler<String, ImmutableSessionMetaData> localScheduler = new SessionExpirationScheduler<>(this.batcher, this.factory.getMetaDataFactory(), remover, Duration.ofMillis(this.cache.getCacheConfiguration().transaction().cacheStopTimeout()), config.getAccessFlushInterval(), config.getExpirationResolution());
         CommandDispatcherFactory dispatcherFactory = config.getCommandDispatcherFactory();
         Group group = dispatcherFactory.getGroup();
         this.scheduler = group.isSingleton() ? localScheduler : new PrimaryOwnerScheduler<>(dispatcherFactory, this.cache.getName(), localScheduler, new PrimaryOwnerLocator<>(this.cache, config.getMemberFactory(), group), SessionCreationMetaDataKey::new);
 
-        this.scheduleTask = new ScheduleLocalKeysTask<>(this.cache, SessionCreationMetaDataKeyFilter.INSTANCE, localScheduler);
+        this.scheduleTask = new ScheduleLocalKeysTask<>(this.cache, SessionCreationMetaDataKeyFilter.INSTANCE, localScheduler, config.getScheduleLocalTaskStatistics());
         this.listener = new SchedulerTopologyChangeListener<>(this.cache, localScheduler, this.scheduleTask);
     }
 
@@ -177,10 +204,13 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
     private SessionAttributesFactory<SC, ?> createSessionAttributesFactory(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration) {
         switch (configuration.getAttributePersistenceStrategy()) {
             case FINE: {
-                return new FineSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
+                return new FineSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.nearCache, this.storeWriter));
             }
             case COARSE: {
-                return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration));
+                return new CoarseSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.nearCache, this.storeWriter));
+            }
+            case DELTA: {
+                return new DeltaSessionAttributesFactory<>(new InfinispanMarshalledValueSessionAttributesFactoryConfiguration<>(configuration, this.nearCache, this.storeWriter));
             }
             default: {
                 // Impossible
@@ -192,21 +222,36 @@ public class InfinispanSessionManagerFactory<S, SC, AL, MC, LC> implements Sessi
     @Override
     public void close() {
         this.listener.close();
+        this.scheduleTask.close();
         this.scheduler.close();
         this.factory.close();
+        this.metaDataFactory.close();
+        if (this.storeWriter != null) {
+            this.storeWriter.close();
+        }
+        this.nearCache.close();
     }
 
     private static class InfinispanMarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> extends MarshalledValueSessionAttributesFactoryConfiguration<S, SC, AL, V, MC, LC> implements InfinispanSessionAttributesFactoryConfiguration<S, SC, AL, V, MarshalledValue<V, MC>> {
         private final InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration;
+        private final NearCache nearCache;
+        private final CoalescingStoreWriter<Key<String>, Object> storeWriter;
 
-        InfinispanMarshalledValueSessionAttributesFactoryConfiguration(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration) {
+        InfinispanMarshalledValueSessionAttributesFactoryConfiguration(InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC> configuration, NearCache nearCache, CoalescingStoreWriter<Key<String>, Object> storeWriter) {
             super(configuration);
             this.configuration = configuration;
+            this.nearCache = nearCache;
+            this.storeWriter = storeWriter;
         }
 
         @Override
         public <CK, CV> Cache<CK, CV> getCache() {
-            return this.configuration.getCache();
+            return (this.storeWriter != null) ? this.storeWriter.getCache() : this.configuration.getCache();
+        }
+
+        @Override
+        public NearCache getNearCache() {
+            return this.nearCache;
         }
     }
 }
@@ -21,7 +21,11 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
+
 import org.infinispan.remoting.transport.Address;
+import org.wildfly.clustering.ee.infinispan.NearCacheStatistics;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTaskStatistics;
 import org.wildfly.clustering.infinispan.spi.affinity.KeyAffinityServiceFactory;
 import org.wildfly.clustering.spi.NodeFactory;
 import org.wildfly.clustering.spi.dispatcher.CommandDispatcherFactory;
@@ -43,4 +47,45 @@ public interface InfinispanSessionManagerFactoryConfiguration<S, SC, AL, MC, LC>
     CommandDispatcherFactory getCommandDispatcherFactory();
 
     NodeFactory<Address> getMemberFactory();
+
+    /**
+     * Returns the maximum number of entries owned by other members to retain in a local near cache.
+     * @return a maximum number of entries, or zero, if no near cache should be used.
+     */
+    default int getNearCacheMaxEntries() {
+        return 0;
+    }
+
+    /**
+     * Returns the near cache statistics of all deployments using this configuration.
+     * Only used if {@link #getNearCacheMaxEntries()} is positive.
+     * @return near cache statistics
+     */
+    default NearCacheStatistics getNearCacheStatistics() {
+        return new NearCacheStatistics();
+    }
+
+    /**
+     * Returns the statistics of the rescans of local sessions, following topology changes, of all deployments using this configuration.
+     * @return rescan statistics
+     */
+    default ScheduleLocalTaskStatistics getScheduleLocalTaskStatistics() {
+        return new ScheduleLocalTaskStatistics();
+    }
+
+    /**
+     * Returns the resolution of the timing wheel used to schedule session expiration.
+     * @return a resolution, or zero, if session expiration should be scheduled using a sorted set.
+     */
+    default Duration getExpirationResolution() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the interval at which writes to the cache store are coalesced and flushed.
+     * @return an interval, or zero, if cache writes should write through to the cache store.
+     */
+    default Duration getStoreFlushInterval() {
+        return Duration.ZERO;
+    }
 }
@@ -21,6 +21,7 @@
  */
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.LinkedList;
@@ -47,6 +48,8 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.ee.Immutability;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
+import org.wildfly.clustering.ee.infinispan.NearCacheStatistics;
+import org.wildfly.clustering.ee.infinispan.scheduler.ScheduleLocalTaskStatistics;
 import org.wildfly.clustering.infinispan.spi.DataContainerConfigurationBuilder;
 import org.wildfly.clustering.infinispan.spi.InfinispanCacheRequirement;
 import org.wildfly.clustering.infinispan.spi.InfinispanRequirement;
@@ -195,6 +198,36 @@ public class InfinispanSessionManagerFactoryServiceConfigurator<S, SC, AL, MC, L
         return this.configuration.getAttributePersistenceStrategy();
     }
 
+    @Override
+    public Duration getAccessFlushInterval() {
+        return this.configuration.getAccessFlushInterval();
+    }
+
+    @Override
+    public int getNearCacheMaxEntries() {
+        return this.configuration.getNearCacheMaxEntries();
+    }
+
+    @Override
+    public NearCacheStatistics getNearCacheStatistics() {
+        return this.configuration.getNearCacheStatistics();
+    }
+
+    @Override
+    public ScheduleLocalTaskStatistics getScheduleLocalTaskStatistics() {
+        return this.configuration.getScheduleLocalTaskStatistics();
+    }
+
+    @Override
+    public Duration getExpirationResolution() {
+        return this.configuration.getExpirationResolution();
+    }
+
+    @Override
+    public Duration getStoreFlushInterval() {
+        return this.configuration.getStoreFlushInterval();
+    }
+
     @Override
     public Integer getMaxActiveSessions() {
         return this.factoryConfiguration.getMaxActiveSessions();
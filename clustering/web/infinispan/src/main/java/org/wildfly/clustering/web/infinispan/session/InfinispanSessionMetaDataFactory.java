@@ -22,6 +22,7 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
 import java.util.EnumSet;
 
 import javax.transaction.SystemException;
@@ -35,8 +36,10 @@ import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent
 import org.wildfly.clustering.ee.Mutator;
 import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.infinispan.CoalescingMutatorFactory;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.web.cache.session.CompositeSessionMetaData;
 import org.wildfly.clustering.web.cache.session.CompositeSessionMetaDataEntry;
 import org.wildfly.clustering.web.cache.session.InvalidatableSessionMetaData;
@@ -54,14 +57,17 @@ import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
  * @author Paul Ferraro
  */
 @Listener(sync = false)
-public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>> {
+public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFactory<CompositeSessionMetaDataEntry<L>>, AutoCloseable {
 
     private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataCache;
     private final MutatorFactory<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> creationMetaDataMutatorFactory;
     private final Cache<SessionCreationMetaDataKey, SessionCreationMetaDataEntry<L>> findCreationMetaDataCache;
     private final Cache<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataCache;
     private final MutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> accessMetaDataMutatorFactory;
+    private final CoalescingMutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> coalescingAccessMetaDataMutatorFactory;
+    private final Duration expirationTolerance;
     private final CacheProperties properties;
+    private final NearCache nearCache;
 
     public InfinispanSessionMetaDataFactory(InfinispanSessionMetaDataFactoryConfiguration configuration) {
         this.properties = configuration.getCacheProperties();
@@ -69,7 +75,19 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
         this.creationMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.creationMetaDataCache, this.properties);
         this.findCreationMetaDataCache = this.properties.isLockOnRead() ? this.creationMetaDataCache.getAdvancedCache().withFlags(Flag.FORCE_WRITE_LOCK) : this.creationMetaDataCache;
         this.accessMetaDataCache = configuration.getCache();
+        // If configured, defer and coalesce writes of access meta data, tolerating the resulting staleness when determining expiration
+        Duration interval = configuration.getAccessFlushInterval();
+        this.coalescingAccessMetaDataMutatorFactory = !interval.isZero() ? new CoalescingMutatorFactory<>(this.accessMetaDataCache, this.properties, interval) : null;
         this.accessMetaDataMutatorFactory = new InfinispanMutatorFactory<>(this.accessMetaDataCache, this.properties);
+        this.expirationTolerance = interval;
+        this.nearCache = configuration.getNearCache();
+    }
+
+    @Override
+    public void close() {
+        if (this.coalescingAccessMetaDataMutatorFactory != null) {
+            this.coalescingAccessMetaDataMutatorFactory.close();
+        }
     }
 
     @Override
@@ -95,9 +113,11 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
 
     private CompositeSessionMetaDataEntry<L> getValue(String id, Flag... flags) {
         SessionCreationMetaDataKey key = new SessionCreationMetaDataKey(id);
-        SessionCreationMetaDataEntry<L> creationMetaDataEntry = this.findCreationMetaDataCache.getAdvancedCache().withFlags(flags).get(key);
+        // Reads that must acquire a lock cannot be served by the near cache
+        NearCache nearCache = (flags.length == 0) ? this.nearCache : NearCache.NONE;
+        SessionCreationMetaDataEntry<L> creationMetaDataEntry = this.properties.isLockOnRead() ? this.findCreationMetaDataCache.getAdvancedCache().withFlags(flags).get(key) : nearCache.get(key, this.findCreationMetaDataCache.getAdvancedCache().withFlags(flags)::get);
         if (creationMetaDataEntry != null) {
-            SessionAccessMetaData accessMetaData = this.accessMetaDataCache.get(new SessionAccessMetaDataKey(id));
+            SessionAccessMetaData accessMetaData = nearCache.get(new SessionAccessMetaDataKey(id), this.accessMetaDataCache::get);
             if (accessMetaData != null) {
                 return new CompositeSessionMetaDataEntry<>(creationMetaDataEntry, accessMetaData);
             }
@@ -118,15 +138,37 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
         SessionCreationMetaData creationMetaData = new MutableSessionCreationMetaData(entry.getCreationMetaData(), creationMutator);
 
         SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
-        Mutator accessMutator = this.properties.isTransactional() && newSession ? Mutator.PASSIVE : this.accessMetaDataMutatorFactory.createMutator(accessMetaDataKey, entry.getAccessMetaData());
+        Mutator accessMutator = this.properties.isTransactional() && newSession ? Mutator.PASSIVE : this.createAccessMetaDataMutator(accessMetaDataKey, entry);
         SessionAccessMetaData accessMetaData = new MutableSessionAccessMetaData(entry.getAccessMetaData(), accessMutator);
 
-        return new CompositeSessionMetaData(creationMetaData, accessMetaData);
+        return new CompositeSessionMetaData(creationMetaData, accessMetaData, this.expirationTolerance);
+    }
+
+    private Mutator createAccessMetaDataMutator(SessionAccessMetaDataKey key, CompositeSessionMetaDataEntry<L> entry) {
+        Mutator mutator = this.accessMetaDataMutatorFactory.createMutator(key, entry.getAccessMetaData());
+        CoalescingMutatorFactory<SessionAccessMetaDataKey, SessionAccessMetaData> coalescingFactory = this.coalescingAccessMetaDataMutatorFactory;
+        if (coalescingFactory == null) return mutator;
+        Mutator deferredMutator = coalescingFactory.createMutator(key, entry.getAccessMetaData());
+        Duration interval = this.expirationTolerance;
+        return new Mutator() {
+            @Override
+            public void mutate() {
+                // Write through if the session would expire before a deferred write is flushed, i.e. if it nears expiration as soon as it is accessed
+                // N.B. The max inactive interval may have changed during this request
+                Duration maxInactiveInterval = entry.getCreationMetaData().getMaxInactiveInterval();
+                if (!maxInactiveInterval.isZero() && (maxInactiveInterval.compareTo(interval) <= 0)) {
+                    coalescingFactory.cancel(key);
+                    mutator.mutate();
+                } else {
+                    deferredMutator.mutate();
+                }
+            }
+        };
     }
 
     @Override
     public ImmutableSessionMetaData createImmutableSessionMetaData(String id, CompositeSessionMetaDataEntry<L> entry) {
-        return new CompositeSessionMetaData(entry.getCreationMetaData(), entry.getAccessMetaData());
+        return new CompositeSessionMetaData(entry.getCreationMetaData(), entry.getAccessMetaData(), this.expirationTolerance);
     }
 
     @Override
@@ -148,8 +190,16 @@ public class InfinispanSessionMetaDataFactory<L> implements SessionMetaDataFacto
     }
 
     private boolean delete(String id, Flag... flags) {
-        this.creationMetaDataCache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionCreationMetaDataKey(id));
-        this.accessMetaDataCache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionAccessMetaDataKey(id));
+        if (this.coalescingAccessMetaDataMutatorFactory != null) {
+            this.coalescingAccessMetaDataMutatorFactory.cancel(new SessionAccessMetaDataKey(id));
+        }
+        SessionCreationMetaDataKey creationMetaDataKey = new SessionCreationMetaDataKey(id);
+        SessionAccessMetaDataKey accessMetaDataKey = new SessionAccessMetaDataKey(id);
+        this.creationMetaDataCache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(creationMetaDataKey);
+        this.accessMetaDataCache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(accessMetaDataKey);
+        // Purges skip listener notification, so invalidate explicitly
+        this.nearCache.invalidate(creationMetaDataKey);
+        this.nearCache.invalidate(accessMetaDataKey);
         return true;
     }
 
@@ -22,9 +22,12 @@
 
 package org.wildfly.clustering.web.infinispan.session;
 
+import java.time.Duration;
+
 import org.infinispan.Cache;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.infinispan.InfinispanCacheProperties;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 
 /**
  * @author Paul Ferraro
@@ -36,4 +39,20 @@ public interface InfinispanSessionMetaDataFactoryConfiguration {
     default CacheProperties getCacheProperties() {
         return new InfinispanCacheProperties(this.getCache().getCacheConfiguration());
     }
+
+    /**
+     * Returns the interval at which deferred writes of session access meta data are flushed to the cache.
+     * @return a flush interval, or zero, if access meta data should be written at the end of each request.
+     */
+    default Duration getAccessFlushInterval() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the near cache through which non-locking reads of session entries owned by other members are made.
+     * @return a near cache
+     */
+    default NearCache getNearCache() {
+        return NearCache.NONE;
+    }
 }
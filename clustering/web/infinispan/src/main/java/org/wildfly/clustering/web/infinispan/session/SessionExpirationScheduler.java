@@ -22,13 +22,16 @@
 package org.wildfly.clustering.web.infinispan.session;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.function.Predicate;
 
 import org.wildfly.clustering.ee.Batch;
 import org.wildfly.clustering.ee.Batcher;
 import org.wildfly.clustering.ee.Remover;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
+import org.wildfly.clustering.ee.cache.scheduler.ScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.SortedScheduledEntries;
+import org.wildfly.clustering.ee.cache.scheduler.TimingWheelScheduledEntries;
 import org.wildfly.clustering.ee.cache.tx.TransactionBatch;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.scheduler.Scheduler;
@@ -48,12 +51,32 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
     private final Batcher<TransactionBatch> batcher;
     private final Remover<String> remover;
     private final ImmutableSessionMetaDataFactory<MV> metaDataFactory;
+    private final Duration expirationTolerance;
 
     public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout) {
-        this.scheduler = new LocalScheduler<>(new SortedScheduledEntries<>(), this, closeTimeout);
+        this(batcher, metaDataFactory, remover, closeTimeout, Duration.ZERO);
+    }
+
+    /**
+     * Creates a session expiration scheduler that tolerates stale session access meta data.
+     * @param expirationTolerance the maximum staleness of session access meta data, by which expiration is deferred
+     */
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, Duration expirationTolerance) {
+        this(batcher, metaDataFactory, remover, closeTimeout, expirationTolerance, Duration.ZERO);
+    }
+
+    /**
+     * Creates a session expiration scheduler that tolerates stale session access meta data, and whose expiration is scheduled using a timing wheel of the specified resolution.
+     * @param expirationTolerance the maximum staleness of session access meta data, by which expiration is deferred
+     * @param expirationResolution the resolution of the timing wheel used to schedule expiration, or zero, to use a sorted set
+     */
+    public SessionExpirationScheduler(Batcher<TransactionBatch> batcher, ImmutableSessionMetaDataFactory<MV> metaDataFactory, Remover<String> remover, Duration closeTimeout, Duration expirationTolerance, Duration expirationResolution) {
+        ScheduledEntries<String, Instant> entries = expirationResolution.isZero() ? new SortedScheduledEntries<>() : new TimingWheelScheduledEntries<>(expirationResolution);
+        this.scheduler = new LocalScheduler<>(entries, this, closeTimeout);
         this.batcher = batcher;
         this.metaDataFactory = metaDataFactory;
         this.remover = remover;
+        this.expirationTolerance = expirationTolerance;
     }
 
     @Override
@@ -69,7 +92,7 @@ public class SessionExpirationScheduler<MV> implements Scheduler<String, Immutab
     public void schedule(String sessionId, ImmutableSessionMetaData metaData) {
         Duration maxInactiveInterval = metaData.getMaxInactiveInterval();
         if (!maxInactiveInterval.isZero()) {
-            this.scheduler.schedule(sessionId, metaData.getLastAccessEndTime().plus(maxInactiveInterval));
+            this.scheduler.schedule(sessionId, metaData.getLastAccessEndTime().plus(maxInactiveInterval).plus(this.expirationTolerance));
         }
     }
 
@@ -39,6 +39,7 @@ import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
@@ -67,6 +68,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     private final Immutability immutability;
     private final MutatorFactory<SessionAttributesKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final NearCache nearCache;
 
     public CoarseSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Map<String, Object>, V> configuration) {
         this.cache = configuration.getCache();
@@ -75,6 +77,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.cache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.nearCache = configuration.getNearCache();
     }
 
     @Override
@@ -100,7 +103,7 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     }
 
     private Map<String, Object> getValue(String id, boolean purgeIfInvalid) {
-        V value = this.cache.get(new SessionAttributesKey(id));
+        V value = this.nearCache.get(new SessionAttributesKey(id), this.cache::get);
         if (value != null) {
             try {
                 return this.marshaller.read(value);
@@ -125,7 +128,9 @@ public class CoarseSessionAttributesFactory<S, C, L, V> implements SessionAttrib
     }
 
     private boolean delete(String id, Flag... flags) {
-        this.cache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionAttributesKey(id));
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        this.cache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(key);
+        this.nearCache.invalidate(key);
         return true;
     }
 
@@ -0,0 +1,176 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.clustering.web.infinispan.session.coarse;
+
+import java.io.IOException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.infinispan.Cache;
+import org.infinispan.context.Flag;
+import org.infinispan.notifications.Listener;
+import org.infinispan.notifications.cachelistener.annotation.CacheEntriesEvicted;
+import org.infinispan.notifications.cachelistener.event.CacheEntriesEvictedEvent;
+import org.wildfly.clustering.ee.Immutability;
+import org.wildfly.clustering.ee.cache.CacheProperties;
+import org.wildfly.clustering.ee.cache.function.ConcurrentMapComputeFunction;
+import org.wildfly.clustering.ee.cache.function.CopyOnWriteMapComputeFunction;
+import org.wildfly.clustering.ee.infinispan.GroupedKey;
+import org.wildfly.clustering.ee.infinispan.NearCache;
+import org.wildfly.clustering.marshalling.spi.Marshaller;
+import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
+import org.wildfly.clustering.web.cache.session.ImmutableSessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionActivationNotifier;
+import org.wildfly.clustering.web.cache.session.SessionAttributes;
+import org.wildfly.clustering.web.cache.session.SessionAttributesFactory;
+import org.wildfly.clustering.web.cache.session.coarse.CoarseImmutableSessionAttributes;
+import org.wildfly.clustering.web.cache.session.coarse.DeltaSessionAttributes;
+import org.wildfly.clustering.web.infinispan.logging.InfinispanWebLogger;
+import org.wildfly.clustering.web.infinispan.session.InfinispanSessionAttributesFactoryConfiguration;
+import org.wildfly.clustering.web.infinispan.session.SessionCreationMetaDataKey;
+import org.wildfly.clustering.web.session.HttpSessionActivationListenerProvider;
+import org.wildfly.clustering.web.session.ImmutableSessionAttributes;
+import org.wildfly.clustering.web.session.ImmutableSessionMetaData;
+
+/**
+ * {@link SessionAttributesFactory} for coarse granularity sessions that replicate only modified attributes.
+ * All session attributes are stored in a single cache entry as a map of individually marshalled values.
+ * Modified attributes are applied to this entry via a function executed on the owners of the entry,
+ * such that only the modified attributes are marshalled and replicated.
+ * @author Paul Ferraro
+ */
+@Listener(sync = false)
+public class DeltaSessionAttributesFactory<S, C, L, V> implements SessionAttributesFactory<C, Map<String, Object>> {
+
+    private final Cache<SessionAttributesKey, Map<String, V>> cache;
+    private final Marshaller<Object, V> marshaller;
+    private final CacheProperties properties;
+    private final Immutability immutability;
+    private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final NearCache nearCache;
+
+    public DeltaSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
+        this.cache = configuration.getCache();
+        this.marshaller = configuration.getMarshaller();
+        this.immutability = configuration.getImmutability();
+        this.properties = configuration.getCacheProperties();
+        this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.nearCache = configuration.getNearCache();
+    }
+
+    @Override
+    public Map<String, Object> createValue(String id, Void context) {
+        // An absent cache entry is equivalent to an empty attribute map
+        return this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Map<String, Object> findValue(String id) {
+        return this.getValue(id, true);
+    }
+
+    @Override
+    public Map<String, Object> tryValue(String id) {
+        return this.getValue(id, false);
+    }
+
+    private Map<String, Object> getValue(String id, boolean purgeIfInvalid) {
+        Map<String, Object> attributes = this.properties.isLockOnRead() ? new HashMap<>() : new ConcurrentHashMap<>();
+        Map<String, V> values = this.nearCache.get(new SessionAttributesKey(id), this.cache::get);
+        if (values != null) {
+            for (Map.Entry<String, V> entry : values.entrySet()) {
+                String name = entry.getKey();
+                try {
+                    attributes.put(name, this.marshaller.read(entry.getValue()));
+                } catch (IOException e) {
+                    InfinispanWebLogger.ROOT_LOGGER.failedToActivateSessionAttribute(e, id, name);
+                    if (purgeIfInvalid) {
+                        this.purge(id);
+                    }
+                    return null;
+                }
+            }
+        }
+        return attributes;
+    }
+
+    @Override
+    public boolean remove(String id) {
+        return this.delete(id);
+    }
+
+    @Override
+    public boolean purge(String id) {
+        return this.delete(id, Flag.SKIP_LISTENER_NOTIFICATION);
+    }
+
+    private boolean delete(String id, Flag... flags) {
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        this.cache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(key);
+        this.nearCache.invalidate(key);
+        return true;
+    }
+
+    @Override
+    public SessionAttributes createSessionAttributes(String id, Map<String, Object> attributes, ImmutableSessionMetaData metaData, C context) {
+        SessionAttributesKey key = new SessionAttributesKey(id);
+        Consumer<Map<String, Object>> mutator = new Consumer<Map<String, Object>>() {
+            @Override
+            public void accept(Map<String, Object> changes) {
+                Map<String, V> values = new HashMap<>();
+                for (Map.Entry<String, Object> entry : changes.entrySet()) {
+                    Object value = entry.getValue();
+                    try {
+                        values.put(entry.getKey(), (value != null) ? DeltaSessionAttributesFactory.this.marshaller.write(value) : null);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                DeltaSessionAttributesFactory.this.cache.getAdvancedCache().withFlags(Flag.IGNORE_RETURN_VALUES).compute(key, DeltaSessionAttributesFactory.this.properties.isTransactional() ? new CopyOnWriteMapComputeFunction<>(values) : new ConcurrentMapComputeFunction<>(values));
+            }
+        };
+        SessionActivationNotifier notifier = this.properties.isPersistent() ? new ImmutableSessionActivationNotifier<>(this.provider, new CompositeImmutableSession(id, metaData, this.createImmutableSessionAttributes(id, attributes)), context) : null;
+        return new DeltaSessionAttributes(attributes, mutator, this.marshaller, this.immutability, this.properties, notifier);
+    }
+
+    @Override
+    public ImmutableSessionAttributes createImmutableSessionAttributes(String id, Map<String, Object> values) {
+        return new CoarseImmutableSessionAttributes(values);
+    }
+
+    @CacheEntriesEvicted
+    public void evicted(CacheEntriesEvictedEvent<GroupedKey<String>, ?> event) {
+        if (!event.isPre()) {
+            Cache<SessionAttributesKey, Map<String, V>> cache = this.cache.getAdvancedCache().withFlags(Flag.SKIP_LISTENER_NOTIFICATION);
+            for (GroupedKey<String> key : event.getEntries().keySet()) {
+                // Workaround for ISPN-8324
+                if (key instanceof SessionCreationMetaDataKey) {
+                    cache.evict(new SessionAttributesKey(key.getId()));
+                }
+            }
+        }
+    }
+}
@@ -42,6 +42,7 @@ import org.wildfly.clustering.ee.MutatorFactory;
 import org.wildfly.clustering.ee.cache.CacheProperties;
 import org.wildfly.clustering.ee.infinispan.GroupedKey;
 import org.wildfly.clustering.ee.infinispan.InfinispanMutatorFactory;
+import org.wildfly.clustering.ee.infinispan.NearCache;
 import org.wildfly.clustering.marshalling.spi.Marshaller;
 import org.wildfly.clustering.web.cache.session.CompositeImmutableSession;
 import org.wildfly.clustering.web.cache.session.ImmutableSessionAttributeActivationNotifier;
@@ -73,6 +74,7 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     private final CacheProperties properties;
     private final MutatorFactory<SessionAttributeKey, V> mutatorFactory;
     private final HttpSessionActivationListenerProvider<S, C, L> provider;
+    private final NearCache nearCache;
 
     public FineSessionAttributesFactory(InfinispanSessionAttributesFactoryConfiguration<S, C, L, Object, V> configuration) {
         this.namesCache = configuration.getCache();
@@ -82,6 +84,7 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
         this.properties = configuration.getCacheProperties();
         this.mutatorFactory = new InfinispanMutatorFactory<>(this.attributeCache, this.properties);
         this.provider = configuration.getHttpSessionActivationListenerProvider();
+        this.nearCache = configuration.getNearCache();
     }
 
     @Override
@@ -100,10 +103,10 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     private AtomicReference<Map<String, UUID>> getValue(String id, boolean purgeIfInvalid) {
-        Map<String, UUID> names = this.namesCache.get(new SessionAttributeNamesKey(id));
+        Map<String, UUID> names = this.nearCache.get(new SessionAttributeNamesKey(id), this.namesCache::get);
         if (names != null) {
             for (Map.Entry<String, UUID> nameEntry : names.entrySet()) {
-                V value = this.attributeCache.get(new SessionAttributeKey(id, nameEntry.getValue()));
+                V value = this.nearCache.get(new SessionAttributeKey(id, nameEntry.getValue()), this.attributeCache::get);
                 if (value != null) {
                     try {
                         this.marshaller.read(value);
@@ -135,10 +138,14 @@ public class FineSessionAttributesFactory<S, C, L, V> implements SessionAttribut
     }
 
     private boolean delete(String id, Flag... flags) {
-        Map<String, UUID> names = this.namesCache.getAdvancedCache().withFlags(EnumSet.of(Flag.FORCE_SYNCHRONOUS, flags)).remove(new SessionAttributeNamesKey(id));
+        SessionAttributeNamesKey namesKey = new SessionAttributeNamesKey(id);
+        Map<String, UUID> names = this.namesCache.getAdvancedCache().withFlags(EnumSet.of(Flag.FORCE_SYNCHRONOUS, flags)).remove(namesKey);
+        this.nearCache.invalidate(namesKey);
         if (names != null) {
             for (UUID attributeId : names.values()) {
-                this.attributeCache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(new SessionAttributeKey(id, attributeId));
+                SessionAttributeKey key = new SessionAttributeKey(id, attributeId);
+                this.attributeCache.getAdvancedCache().withFlags(EnumSet.of(Flag.IGNORE_RETURN_VALUES, flags)).remove(key);
+                this.nearCache.invalidate(key);
             }
         }
         return true;
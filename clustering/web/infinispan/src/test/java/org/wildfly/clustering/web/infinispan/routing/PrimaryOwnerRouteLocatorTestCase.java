@@ -26,6 +26,7 @@ import static org.mockito.Mockito.*;
 
 import java.util.AbstractMap;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.EnumSet;
 import java.util.stream.Collectors;
 
@@ -50,7 +51,6 @@ import org.wildfly.clustering.group.Group;
 import org.wildfly.clustering.group.Node;
 import org.wildfly.clustering.registry.Registry;
 import org.wildfly.clustering.spi.NodeFactory;
-import org.wildfly.clustering.web.routing.RouteLocator;
 
 /**
  * Unit test for {@link InfinispanRouteLocator}.
@@ -106,10 +106,12 @@ public class PrimaryOwnerRouteLocatorTestCase {
     @Test
     public void test() {
         PrimaryOwnerRouteLocatorConfiguration config = mock(PrimaryOwnerRouteLocatorConfiguration.class);
+        RouteLocatorStatistics statistics = new RouteLocatorStatistics();
 
         when(config.getCache()).thenReturn((AdvancedCache) this.cache);
         when(config.getMemberFactory()).thenReturn(this.factory);
         when(config.getRegistry()).thenReturn(this.registry);
+        when(config.getStatistics()).thenReturn(statistics);
         for (int i = 0; i < this.addresses.length; ++i) {
             when(this.factory.createNode(this.addresses[i])).thenReturn(this.members[i]);
             when(this.registry.getEntry(this.members[i])).thenReturn(new AbstractMap.SimpleImmutableEntry<>(String.valueOf(i), null));
@@ -118,7 +120,7 @@ public class PrimaryOwnerRouteLocatorTestCase {
         when(this.group.getLocalMember()).thenReturn(this.localMember);
         when(this.registry.getEntry(this.localMember)).thenReturn(new AbstractMap.SimpleImmutableEntry<>("local", null));
 
-        RouteLocator locator = new PrimaryOwnerRouteLocator(config);
+        PrimaryOwnerRouteLocator locator = new PrimaryOwnerRouteLocator(config);
 
         switch (this.cache.getCacheConfiguration().clustering().cacheMode()) {
             case INVALIDATION_SYNC:
@@ -136,6 +138,17 @@ public class PrimaryOwnerRouteLocatorTestCase {
                 when(this.partitioner.getSegment(new GroupedKey<>("session"))).thenReturn(2);
                 result = locator.locate("session");
                 Assert.assertEquals("2", result);
+                Assert.assertEquals(1L, statistics.getRebuildCount());
+
+                // Route table should only be rebuilt following a registry change
+                when(this.registry.getEntry(this.members[2])).thenReturn(new AbstractMap.SimpleImmutableEntry<>("two", null));
+                result = locator.locate("session");
+                Assert.assertEquals("2", result);
+
+                locator.updatedEntries(Collections.singletonMap("two", null));
+                result = locator.locate("session");
+                Assert.assertEquals("two", result);
+                Assert.assertEquals(2L, statistics.getRebuildCount());
                 break;
             }
             default: {
@@ -110,6 +110,7 @@ public class RankedRouteLocatorTestCase {
         when(config.getCache()).thenReturn((AdvancedCache) this.cache);
         when(config.getMemberFactory()).thenReturn(this.factory);
         when(config.getRegistry()).thenReturn(this.registry);
+        when(config.getStatistics()).thenReturn(new RouteLocatorStatistics());
         when(config.getDelimiter()).thenReturn(".");
         when(config.getMaxRoutes()).thenReturn(3);
         for (int i = 0; i < this.addresses.length; ++i) {
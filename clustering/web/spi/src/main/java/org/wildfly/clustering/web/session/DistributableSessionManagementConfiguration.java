@@ -22,6 +22,10 @@
 
 package org.wildfly.clustering.web.session;
 
+import java.util.OptionalInt;
+
+import org.wildfly.clustering.marshalling.spi.CompressionStatistics;
+
 /**
  * Encapsulates the configuration of a {@link DistributableSessionManagementProvider} profile.
  * @author Paul Ferraro
@@ -29,4 +33,21 @@ package org.wildfly.clustering.web.session;
 public interface DistributableSessionManagementConfiguration {
 
     SessionAttributePersistenceStrategy getAttributePersistenceStrategy();
+
+    /**
+     * Returns the minimum size, in bytes, of a marshalled session attribute payload to be compressed, if compression is enabled.
+     * @return an optional compression threshold
+     */
+    default OptionalInt getCompressionThreshold() {
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Returns the compression statistics of all deployments using this configuration.
+     * Only used if {@link #getCompressionThreshold()} is present.
+     * @return compression statistics
+     */
+    default CompressionStatistics getCompressionStatistics() {
+        return new CompressionStatistics();
+    }
 }
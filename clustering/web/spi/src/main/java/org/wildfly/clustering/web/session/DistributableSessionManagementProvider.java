@@ -53,4 +53,10 @@ public interface DistributableSessionManagementProvider {
      * @return a service configurator
      */
     CapabilityServiceConfigurator getRouteLocatorServiceConfigurator(WebDeploymentConfiguration configuration);
+
+    /**
+     * Returns the configuration of this session management provider.
+     * @return a session management configuration
+     */
+    DistributableSessionManagementConfiguration getSessionManagementConfiguration();
 }
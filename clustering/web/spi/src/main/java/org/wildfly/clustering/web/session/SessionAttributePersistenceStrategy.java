@@ -26,5 +26,10 @@ package org.wildfly.clustering.web.session;
  * @author Paul Ferraro
  */
 public enum SessionAttributePersistenceStrategy {
-    COARSE, FINE
+    COARSE,
+    FINE,
+    /**
+     * Stores all attributes of a session together, but replicates only those attributes that were modified.
+     */
+    DELTA,
 }
\ No newline at end of file
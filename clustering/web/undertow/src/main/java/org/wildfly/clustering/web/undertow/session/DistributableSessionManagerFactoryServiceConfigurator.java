@@ -24,6 +24,7 @@ package org.wildfly.clustering.web.undertow.session;
 import java.io.Externalizable;
 import java.io.Serializable;
 import java.util.Map;
+import java.util.OptionalInt;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -48,11 +49,13 @@ import org.wildfly.clustering.marshalling.jboss.SimpleClassTable;
 import org.wildfly.clustering.marshalling.jboss.SimpleMarshallingConfigurationRepository;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshalledValueFactory;
 import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.spi.CompressingByteBufferMarshaller;
 import org.wildfly.clustering.marshalling.spi.MarshalledValueFactory;
 import org.wildfly.clustering.service.FunctionalService;
 import org.wildfly.clustering.service.ServiceConfigurator;
 import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.web.container.SessionManagerFactoryConfiguration;
+import org.wildfly.clustering.web.session.DistributableSessionManagementConfiguration;
 import org.wildfly.clustering.web.session.DistributableSessionManagementProvider;
 
 import io.undertow.servlet.api.SessionManagerFactory;
@@ -93,13 +96,15 @@ public class DistributableSessionManagerFactoryServiceConfigurator extends Simpl
     public DistributableSessionManagerFactoryServiceConfigurator(ServiceName name, SessionManagerFactoryConfiguration configuration, DistributableSessionManagementProvider provider, Immutability immutability) {
         super(name);
         this.configuration = configuration;
-        ByteBufferMarshaller marshaller = createMarshaller(configuration.getModule());
+        ByteBufferMarshaller marshaller = createMarshaller(configuration.getModule(), provider.getSessionManagementConfiguration());
         MarshalledValueFactory<ByteBufferMarshaller> factory = new ByteBufferMarshalledValueFactory(marshaller);
         this.configurator = provider.getSessionManagerFactoryServiceConfigurator(new SessionManagerFactoryConfigurationAdapter<>(configuration, factory, immutability));
     }
 
-    private static ByteBufferMarshaller createMarshaller(Module module) {
-        return new JBossByteBufferMarshaller(new SimpleMarshallingConfigurationRepository(MarshallingVersion.class, MarshallingVersion.CURRENT, module), module.getClassLoader());
+    private static ByteBufferMarshaller createMarshaller(Module module, DistributableSessionManagementConfiguration configuration) {
+        ByteBufferMarshaller marshaller = new JBossByteBufferMarshaller(new SimpleMarshallingConfigurationRepository(MarshallingVersion.class, MarshallingVersion.CURRENT, module), module.getClassLoader());
+        OptionalInt compressionThreshold = configuration.getCompressionThreshold();
+        return compressionThreshold.isPresent() ? new CompressingByteBufferMarshaller(marshaller, compressionThreshold.getAsInt(), configuration.getCompressionStatistics()) : marshaller;
     }
 
     @Override
@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Stores passivated beans of a {@link SimpleCache} as files of a local directory, one file per bean.
+ *
+ * @param <V> the bean type
+ */
+public class FileBeanStore<V> {
+
+    private final ByteBufferMarshaller marshaller;
+    private final Path directory;
+
+    /**
+     * @param marshaller the marshaller of the stored beans
+     * @param directory the directory of the stored beans, created on demand and deleted by {@link #close()}
+     */
+    public FileBeanStore(ByteBufferMarshaller marshaller, Path directory) {
+        this.marshaller = marshaller;
+        this.directory = directory;
+    }
+
+    /**
+     * Writes the passed bean to a new file.
+     *
+     * @param value a bean
+     * @return the file to which the bean was written
+     * @throws IOException if the bean could not be marshalled or written
+     */
+    public Path write(V value) throws IOException {
+        Files.createDirectories(this.directory);
+        Path file = Files.createTempFile(this.directory, "bean", null);
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+            this.marshaller.writeTo(output, value);
+        } catch (IOException | RuntimeException e) {
+            this.delete(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Reads the bean from the passed file. The file is kept, so that it can be read again if the activation of the bean
+     * fails.
+     *
+     * @param file a file returned by {@link #write(Object)}
+     * @return the bean
+     * @throws IOException if the bean could not be read or unmarshalled
+     */
+    @SuppressWarnings("unchecked")
+    public V read(Path file) throws IOException {
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+            return (V) this.marshaller.readFrom(input);
+        }
+    }
+
+    /**
+     * Deletes the passed file.
+     *
+     * @param file a file returned by {@link #write(Object)}
+     */
+    public void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            EjbLogger.ROOT_LOGGER.debugf(e, "Failed to delete %s", file);
+        }
+    }
+
+    /**
+     * Deletes the remaining files, and the directory.
+     */
+    public void close() {
+        if (Files.isDirectory(this.directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+                for (Path file : files) {
+                    this.delete(file);
+                }
+            } catch (IOException e) {
+                EjbLogger.ROOT_LOGGER.debugf(e, "Failed to list %s", this.directory);
+            }
+            this.delete(this.directory);
+        }
+    }
+}
@@ -21,13 +21,18 @@
  */
 package org.jboss.as.ejb3.cache.simple;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Predicate;
 
 import org.jboss.as.ejb3.cache.Cache;
@@ -42,9 +47,16 @@ import org.wildfly.clustering.ee.Scheduler;
 import org.wildfly.clustering.ee.cache.scheduler.LinkedScheduledEntries;
 import org.wildfly.clustering.ee.cache.scheduler.LocalScheduler;
 import org.wildfly.clustering.ejb.IdentifierFactory;
+import org.wildfly.clustering.ejb.PassivationListener;
 
 /**
  * Simple {@link Cache} implementation using in-memory storage and eager expiration.
+ * <p>
+ * If the cache is bounded, at most {@code maxSize} beans are kept in memory: whenever there are more, the least recently
+ * used beans that are not in use are passivated to a {@link FileBeanStore}, by the thread that created or released a
+ * bean. A passivated bean is activated by the thread that gets it. A passivated bean that times out is discarded
+ * without being activated.
+ * </p>
  *
  * @param <K> the cache key type
  * @param <V> the cache value type
@@ -58,8 +70,33 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     private final Duration timeout;
     private final ServerEnvironment environment;
     private final Scheduler<K, Instant> scheduler = new LocalScheduler<>(new LinkedScheduledEntries<>(), this, Duration.ZERO);
+    private final int maxSize;
+    private final PassivationListener<V> passivationListener;
+    // null if the cache is unbounded
+    private final FileBeanStore<V> store;
+    // In memory entries not in use, least recently used first. Only maintained if the cache is bounded.
+    private final Map<K, Entry<V>> idle = new LinkedHashMap<>();
+    private final AtomicInteger resident = new AtomicInteger();
+    private final AtomicInteger passivated = new AtomicInteger();
+    private final LongAdder passivations = new LongAdder();
+    private final LongAdder activations = new LongAdder();
 
     public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment) {
+        this(factory, identifierFactory, timeout, environment, Integer.MAX_VALUE, null, null);
+    }
+
+    /**
+     * Creates a bounded cache.
+     *
+     * @param factory the factory of the cached beans
+     * @param identifierFactory the factory of bean identifiers
+     * @param timeout the stateful timeout of the cached beans
+     * @param environment the server environment
+     * @param maxSize the maximum number of beans kept in memory
+     * @param passivationListener notified before a bean is passivated and after it is activated
+     * @param store the store of passivated beans, or null if the cache is unbounded
+     */
+    public SimpleCache(StatefulObjectFactory<V> factory, IdentifierFactory<K> identifierFactory, StatefulTimeoutInfo timeout, ServerEnvironment environment, int maxSize, PassivationListener<V> passivationListener, FileBeanStore<V> store) {
         this.factory = factory;
         this.identifierFactory = identifierFactory;
 
@@ -71,6 +108,9 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
         }
 
         this.environment = environment;
+        this.maxSize = maxSize;
+        this.passivationListener = passivationListener;
+        this.store = store;
     }
 
     @Override
@@ -81,10 +121,23 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     @Override
     public void stop() {
         this.scheduler.close();
-        for (Map.Entry<K, Entry<V>> entry : this.entries.entrySet()) {
-            this.factory.destroyInstance(entry.getValue().getValue());
+        for (Entry<V> entry : this.entries.values()) {
+            V value;
+            synchronized (entry) {
+                value = entry.value;
+            }
+            // Passivated beans are discarded with the store
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
         }
         this.entries.clear();
+        if (this.store != null) {
+            synchronized (this.idle) {
+                this.idle.clear();
+            }
+            this.store.close();
+        }
     }
 
     @Override
@@ -109,20 +162,41 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
             throw EjbLogger.ROOT_LOGGER.incompatibleCaches();
         }
         V bean = this.factory.createInstance();
-        this.entries.put(bean.getId(), new Entry<>(bean));
+        K id = bean.getId();
+        Entry<V> entry = new Entry<>(bean);
+        this.entries.put(id, entry);
+        if (this.store != null) {
+            this.resident.incrementAndGet();
+            // The new bean is about to be used, so make room for it among the other beans
+            this.evict();
+            synchronized (entry) {
+                if (!entry.removed && (entry.usage == 0)) {
+                    synchronized (this.idle) {
+                        this.idle.put(id, entry);
+                    }
+                }
+            }
+        }
         return bean;
     }
 
     @Override
     public void discard(V value) {
-        this.entries.remove(value.getId());
+        K id = value.getId();
+        Entry<V> entry = this.entries.remove(id);
+        if (entry != null) {
+            this.invalidate(id, entry);
+        }
     }
 
     @Override
     public void remove(K key) {
         Entry<V> entry = this.entries.remove(key);
         if (entry != null) {
-            this.factory.destroyInstance(entry.getValue());
+            V value = this.invalidate(key, entry);
+            if (value != null) {
+                this.factory.destroyInstance(value);
+            }
         }
     }
 
@@ -131,8 +205,26 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
         Entry<V> entry = this.entries.get(key);
         if (entry == null) return null;
         this.scheduler.cancel(key);
-        entry.use();
-        return entry.getValue();
+        V value;
+        boolean activated = false;
+        synchronized (entry) {
+            if (entry.removed) return null;
+            value = entry.value;
+            if (value == null) {
+                value = this.activate(key, entry);
+                activated = true;
+            }
+            entry.usage++;
+            if (this.store != null) {
+                synchronized (this.idle) {
+                    this.idle.remove(key);
+                }
+            }
+        }
+        if (activated) {
+            this.evict();
+        }
+        return value;
     }
 
     @Override
@@ -144,7 +236,7 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
     public void release(V bean) {
         K id = bean.getId();
         Entry<V> entry = this.entries.get(id);
-        if ((entry != null) && entry.done()) {
+        if ((entry != null) && this.done(id, entry)) {
             if (this.timeout != null) {
                 if (!this.timeout.isZero()) {
                     this.scheduler.schedule(id, Instant.now().plus(this.timeout));
@@ -155,21 +247,42 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
                 }
             }
         }
+        if (this.store != null) {
+            this.evict();
+        }
     }
 
     @Override
     public int getCacheSize() {
-        return this.entries.size();
+        return (this.store != null) ? this.resident.get() : this.entries.size();
     }
 
     @Override
     public int getPassivatedCount() {
-        return 0;
+        return this.passivated.get();
     }
 
     @Override
     public int getTotalSize() {
-        return this.getCacheSize();
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the number of beans passivated since this cache was created.
+     *
+     * @return the number of passivations
+     */
+    public long getPassivations() {
+        return this.passivations.sum();
+    }
+
+    /**
+     * Returns the number of beans activated since this cache was created.
+     *
+     * @return the number of activations
+     */
+    public long getActivations() {
+        return this.activations.sum();
     }
 
     @Override
@@ -178,24 +291,122 @@ public class SimpleCache<K, V extends Identifiable<K>> implements Cache<K, V>, P
         return true;
     }
 
-    static class Entry<V> {
-        private final V value;
-        private final AtomicInteger usage = new AtomicInteger();
+    private boolean done(K id, Entry<V> entry) {
+        synchronized (entry) {
+            if (--entry.usage != 0) {
+                return false;
+            }
+            if ((this.store != null) && !entry.removed) {
+                // Most recently used
+                synchronized (this.idle) {
+                    this.idle.put(id, entry);
+                }
+            }
+            return true;
+        }
+    }
 
-        Entry(V value) {
-            this.value = value;
+    /**
+     * Marks the passed entry, which was removed from the cache, as removed.
+     *
+     * @return the bean of the entry, or null if the bean was passivated
+     */
+    private V invalidate(K id, Entry<V> entry) {
+        synchronized (entry) {
+            entry.removed = true;
+            V value = entry.value;
+            if (this.store != null) {
+                synchronized (this.idle) {
+                    this.idle.remove(id);
+                }
+                if (value != null) {
+                    this.resident.decrementAndGet();
+                } else {
+                    this.passivated.decrementAndGet();
+                    this.store.delete(entry.file);
+                    entry.file = null;
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Passivates idle beans, least recently used first, while there are more than {@code maxSize} beans in memory.
+     */
+    private void evict() {
+        while (this.resident.get() > this.maxSize) {
+            Map.Entry<K, Entry<V>> eldest;
+            synchronized (this.idle) {
+                Iterator<Map.Entry<K, Entry<V>>> iterator = this.idle.entrySet().iterator();
+                if (!iterator.hasNext()) {
+                    // All beans in memory are in use
+                    return;
+                }
+                eldest = iterator.next();
+                iterator.remove();
+            }
+            this.passivate(eldest.getKey(), eldest.getValue());
         }
+    }
 
-        void use() {
-            this.usage.incrementAndGet();
+    private void passivate(K id, Entry<V> entry) {
+        synchronized (entry) {
+            V value = entry.value;
+            // The entry may have been used, removed or passivated since it was selected
+            if (entry.removed || (value == null) || (entry.usage > 0)) return;
+            synchronized (this.idle) {
+                this.idle.remove(id);
+            }
+            try {
+                this.passivationListener.prePassivate(value);
+            } catch (RuntimeException e) {
+                EjbLogger.ROOT_LOGGER.failedToPassivateBean(id, e);
+                return;
+            }
+            try {
+                entry.file = this.store.write(value);
+            } catch (IOException | RuntimeException e) {
+                EjbLogger.ROOT_LOGGER.failedToPassivateBean(id, e);
+                this.passivationListener.postActivate(value);
+                return;
+            }
+            entry.value = null;
+            this.resident.decrementAndGet();
+            this.passivated.incrementAndGet();
+            this.passivations.increment();
         }
+    }
 
-        boolean done() {
-            return this.usage.decrementAndGet() == 0;
+    // Must be called while holding the monitor of the passed entry
+    private V activate(K id, Entry<V> entry) {
+        Path file = entry.file;
+        V value;
+        try {
+            value = this.store.read(file);
+        } catch (IOException e) {
+            throw EjbLogger.ROOT_LOGGER.activationFailed(e, id);
         }
+        this.passivationListener.postActivate(value);
+        this.store.delete(file);
+        entry.file = null;
+        entry.value = value;
+        this.passivated.decrementAndGet();
+        this.resident.incrementAndGet();
+        this.activations.increment();
+        return value;
+    }
+
+    static class Entry<V> {
+        // Guarded by this entry
+        V value;
+        // The file of the passivated bean, while value is null
+        Path file;
+        int usage;
+        boolean removed;
 
-        V getValue() {
-            return this.value;
+        Entry(V value) {
+            this.value = value;
         }
     }
 }
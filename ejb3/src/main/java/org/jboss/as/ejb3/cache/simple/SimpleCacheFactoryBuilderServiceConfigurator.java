@@ -48,8 +48,19 @@ import org.wildfly.clustering.service.ServiceConfigurator;
  */
 public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifiable<K>> extends CacheFactoryBuilderServiceNameProvider implements ServiceConfigurator, CacheFactoryBuilder<K, V> {
 
+    private final Integer maxSize;
+
     public SimpleCacheFactoryBuilderServiceConfigurator(String name) {
+        this(name, null);
+    }
+
+    /**
+     * @param name the name of the cache factory builder
+     * @param maxSize the maximum number of beans kept in memory by each cache, or null if caches are unbounded
+     */
+    public SimpleCacheFactoryBuilderServiceConfigurator(String name, Integer maxSize) {
         super(name);
+        this.maxSize = maxSize;
     }
 
     @Override
@@ -68,11 +79,11 @@ public class SimpleCacheFactoryBuilderServiceConfigurator<K, V extends Identifia
 
     @Override
     public CapabilityServiceConfigurator getServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration) {
-        return new SimpleCacheFactoryServiceConfigurator<>(name, description);
+        return new SimpleCacheFactoryServiceConfigurator<>(name, description, configuration, this.maxSize);
     }
 
     @Override
     public boolean supportsPassivation() {
-        return false;
+        return this.maxSize != null;
     }
 }
@@ -21,15 +21,20 @@
  */
 package org.jboss.as.ejb3.cache.simple;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.Consumer;
 
 import org.jboss.as.clustering.controller.CapabilityServiceConfigurator;
+import org.jboss.as.ee.component.ComponentConfiguration;
 import org.jboss.as.ejb3.cache.Cache;
 import org.jboss.as.ejb3.cache.CacheFactory;
 import org.jboss.as.ejb3.cache.Identifiable;
 import org.jboss.as.ejb3.cache.StatefulObjectFactory;
 import org.jboss.as.ejb3.component.stateful.StatefulComponentDescription;
 import org.jboss.as.ejb3.component.stateful.StatefulTimeoutInfo;
+import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.ServerEnvironmentService;
 import org.jboss.msc.Service;
@@ -38,6 +43,8 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.ServiceTarget;
 import org.wildfly.clustering.ejb.IdentifierFactory;
 import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.jboss.JBossByteBufferMarshaller;
+import org.wildfly.clustering.marshalling.jboss.MarshallingConfigurationRepository;
 import org.wildfly.clustering.service.ServiceSupplierDependency;
 import org.wildfly.clustering.service.SimpleServiceNameProvider;
 import org.wildfly.clustering.service.SupplierDependency;
@@ -53,16 +60,38 @@ public class SimpleCacheFactoryServiceConfigurator<K, V extends Identifiable<K>>
 
     private final StatefulComponentDescription componentDescription;
     private final SupplierDependency<ServerEnvironment> environment = new ServiceSupplierDependency<>(ServerEnvironmentService.SERVICE_NAME);
+    private final ClassLoader loader;
+    private final Integer maxSize;
+    // null unless beans are passivated
+    private final SupplierDependency<MarshallingConfigurationRepository> repository;
 
     public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description) {
+        this(name, description, null, null);
+    }
+
+    /**
+     * @param name the service name of the cache factory
+     * @param description the description of the stateful component
+     * @param configuration the configuration of the stateful component
+     * @param maxSize the maximum number of beans kept in memory by the cache, or null if the cache is unbounded
+     */
+    public SimpleCacheFactoryServiceConfigurator(ServiceName name, StatefulComponentDescription description, ComponentConfiguration configuration, Integer maxSize) {
         super(name);
         this.componentDescription = description;
+        // Beans that are not passivation capable are never evicted
+        boolean passivation = (maxSize != null) && description.isPassivationApplicable();
+        this.maxSize = passivation ? maxSize : null;
+        this.loader = passivation ? configuration.getModuleClassLoader() : null;
+        this.repository = passivation ? new ServiceSupplierDependency<>(description.getDeploymentUnitServiceName().append("marshalling")) : null;
     }
 
     @Override
     public ServiceBuilder<?> build(ServiceTarget target) {
         ServiceName name = this.getServiceName();
         ServiceBuilder<?> builder = target.addService(name);
+        if (this.repository != null) {
+            this.repository.register(builder);
+        }
         Consumer<CacheFactory<K, V>> factory = this.environment.register(builder).provides(name);
         Service service = Service.newInstance(factory, this);
         return builder.setInstance(service);
@@ -71,6 +100,17 @@ public class SimpleCacheFactoryServiceConfigurator<K, V extends Identifiable<K>>
     @Override
     public Cache<K, V> createCache(IdentifierFactory<K> identifierFactory, StatefulObjectFactory<V> factory, PassivationListener<V> passivationListener) {
         final StatefulTimeoutInfo timeout = this.componentDescription.getStatefulTimeout();
-        return new SimpleCache<>(factory, identifierFactory, this.componentDescription.getStatefulTimeout(), this.environment.get());
+        if (this.maxSize == null) {
+            return new SimpleCache<>(factory, identifierFactory, timeout, this.environment.get());
+        }
+        Path tempDir = this.environment.get().getServerTempDir().toPath();
+        Path directory;
+        try {
+            directory = Files.createTempDirectory(tempDir, this.componentDescription.getEJBName());
+        } catch (IOException e) {
+            throw EjbLogger.ROOT_LOGGER.passivationDirectoryCreationFailed(e, tempDir.toString());
+        }
+        FileBeanStore<V> store = new FileBeanStore<>(new JBossByteBufferMarshaller(this.repository.get(), this.loader), directory);
+        return new SimpleCache<>(factory, identifierFactory, timeout, this.environment.get(), this.maxSize, passivationListener, store);
     }
 }
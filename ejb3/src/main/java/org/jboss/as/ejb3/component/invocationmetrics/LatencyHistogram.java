@@ -0,0 +1,117 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of non-negative durations, with log-linear buckets.
+ * <p>
+ * Each power of two is divided into {@value #SUB_BUCKETS} buckets of equal width, so that a recorded value is known
+ * within 1/{@value #SUB_BUCKETS} of its magnitude, whatever that magnitude is. Values below {@value #SUB_BUCKETS} are
+ * recorded exactly.
+ * </p>
+ * <p>
+ * Each bucket is a striped counter, so that threads concurrently recording values in the same bucket (e.g. invocations
+ * of the same fast method) do not contend on a single memory location. A bucket only allocates its stripes once it
+ * first becomes contended.
+ * </p>
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values of 2^40 and above (more than 12 days, in microseconds) are recorded in an overflow bucket
+    private static final int MAX_EXPONENT = 39;
+    private static final int OVERFLOW = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int BUCKETS = OVERFLOW + 1;
+
+    private final LongAdder[] counts = new LongAdder[BUCKETS];
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records the passed value. Negative values are recorded as 0.
+     *
+     * @param value a duration
+     */
+    public void record(final long value) {
+        this.counts[index(Math.max(value, 0L))].increment();
+    }
+
+    /**
+     * Returns the value at the passed percentile of the recorded values, i.e. the smallest value such that the passed
+     * percentage of recorded values are less than or equal to it, rounded up to the highest value of its bucket.
+     *
+     * @param percentile a percentile between 0 and 100
+     * @return the value at the passed percentile, or 0 if no values were recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            snapshot[i] = this.counts[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max((long) Math.ceil(Math.min(Math.max(percentile, 0d), 100d) * total / 100d), 1L);
+        long count = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            count += snapshot[i];
+            if (count >= rank) {
+                return highestValue(i);
+            }
+        }
+        return highestValue(OVERFLOW);
+    }
+
+    static int index(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return OVERFLOW;
+        }
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS) + subBucket;
+    }
+
+    static long highestValue(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        if (index == OVERFLOW) {
+            return Long.MAX_VALUE;
+        }
+        final int exponent = (index / SUB_BUCKETS) + SUB_BUCKET_BITS - 1;
+        final long width = 1L << (exponent - SUB_BUCKET_BITS);
+        final long lowest = (1L << exponent) + ((index % SUB_BUCKETS) * width);
+        return lowest + width - 1;
+    }
+}
@@ -42,6 +42,11 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     private volatile int maxPoolSize;
 
+    /**
+     * The size at which an adaptive pool starts, and below which it never shrinks; or 0, if the pool has a fixed size.
+     */
+    private volatile int minPoolSize;
+
     private volatile TimeUnit timeoutUnit;
 
     private volatile long timeout;
@@ -55,7 +60,16 @@ public class StrictMaxPoolConfig extends PoolConfig {
 
     @Override
     public <T> Pool<T> createPool(final StatelessObjectFactory<T> statelessObjectFactory) {
-        return new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+        int minPoolSize = this.minPoolSize;
+        return (minPoolSize > 0) ? new StrictMaxPool<T>(statelessObjectFactory, minPoolSize, this.maxPoolSize, this.timeout, this.timeoutUnit) : new StrictMaxPool<T>(statelessObjectFactory, this.maxPoolSize, this.timeout, this.timeoutUnit);
+    }
+
+    public int getMinPoolSize() {
+        return minPoolSize;
+    }
+
+    public void setMinPoolSize(int minPoolSize) {
+        this.minPoolSize = minPoolSize;
     }
 
     public int getMaxPoolSize() {
@@ -86,6 +100,7 @@ public class StrictMaxPoolConfig extends PoolConfig {
     public String toString() {
         return "StrictMaxPoolConfig{" +
                 "name=" + this.poolName +
+                ", minPoolSize=" + minPoolSize +
                 ", maxPoolSize=" + maxPoolSize +
                 ", timeoutUnit=" + timeoutUnit +
                 ", timeout=" + timeout +
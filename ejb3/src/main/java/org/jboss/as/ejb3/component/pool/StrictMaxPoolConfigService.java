@@ -49,9 +49,13 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
 
 
     public StrictMaxPoolConfigService(final String poolName, int declaredMaxSize, Derive derive, long timeout, TimeUnit timeUnit) {
-        this.declaredMaxSize = declaredMaxSize;
+        this(new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit), derive);
+    }
+
+    public StrictMaxPoolConfigService(final StrictMaxPoolConfig poolConfig, Derive derive) {
+        this.declaredMaxSize = poolConfig.getMaxPoolSize();
         this.derive = derive;
-        this.poolConfig = new StrictMaxPoolConfig(poolName, declaredMaxSize, timeout, timeUnit);
+        this.poolConfig = poolConfig;
     }
 
     @Override
@@ -98,6 +102,10 @@ public class StrictMaxPoolConfigService implements Service<StrictMaxPoolConfig>
         poolConfig.setMaxPoolSize(max);
     }
 
+    public void setMinPoolSize(int minPoolSize) {
+        poolConfig.setMinPoolSize(minPoolSize);
+    }
+
     public void setTimeout(long timeout) {
         poolConfig.setTimeout(timeout);
     }
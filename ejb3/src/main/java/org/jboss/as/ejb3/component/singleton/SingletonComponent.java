@@ -74,9 +74,9 @@ public class SingletonComponent extends SessionBeanComponent {
     private final Object creationLock = new Object();
 
     /**
-     * A spec compliant {@link EJBReadWriteLock}
+     * A spec compliant {@link EJBReadWriteLock}, or a {@link StripedEJBReadWriteLock} if the bean defaults to read locks
      */
-    private final ReadWriteLock readWriteLock = new EJBReadWriteLock();
+    private final ReadWriteLock readWriteLock;
 
     /**
      * Construct a new instance.
@@ -94,6 +94,8 @@ public class SingletonComponent extends SessionBeanComponent {
         this.methodLockTypes = singletonComponentCreateService.getMethodApplicableLockTypes();
         this.methodAccessTimeouts = singletonComponentCreateService.getMethodApplicableAccessTimeouts();
         this.defaultAccessTimeoutProvider = singletonComponentCreateService.getDefaultAccessTimeoutService();
+        // Beans annotated with @Lock(READ) mostly acquire read locks, which the striped lock acquires without contention
+        this.readWriteLock = (this.beanLevelLockType.get(this.getComponentClass().getName()) == LockType.READ) ? new StripedEJBReadWriteLock() : new EJBReadWriteLock();
     }
 
     @Override
@@ -0,0 +1,319 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.singleton;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+
+/**
+ * A {@link ReadWriteLock} with the same semantics as {@link EJBReadWriteLock}, optimized for singletons whose methods
+ * mostly use {@link javax.ejb.LockType#READ}.
+ * <p>
+ * Readers announce themselves by incrementing one of several counters, chosen by thread, so that concurrent readers
+ * neither contend on a shared word nor allocate. A writer first excludes other writers, then announces itself and waits
+ * for the counters to drain; readers that arrive while a writer is announced back off until it is done. Read locks
+ * are reentrant, a thread holding the write lock may acquire the read lock, and a thread holding a read lock that
+ * requests the write lock gets a {@link javax.ejb.IllegalLoopbackException}.
+ * </p>
+ */
+public class StripedEJBReadWriteLock implements ReadWriteLock {
+
+    private static final int STRIPES = stripes(Runtime.getRuntime().availableProcessors());
+    // Keeps the counters of different stripes on different cache lines
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray readers = new AtomicLongArray(STRIPES * PADDING);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ThreadLocal<ReadHolds> readHolds = ThreadLocal.withInitial(ReadHolds::new);
+    private volatile boolean writing;
+    private volatile Thread writer;
+
+    private final Lock readLockView = new ReadLock();
+    private final Lock writeLockView = new WriteLock();
+
+    /**
+     * The read locks held by a thread. Only accessed by that thread.
+     */
+    private static class ReadHolds {
+        final int home = (Long.hashCode(Thread.currentThread().getId()) & (STRIPES - 1)) * PADDING;
+        int count;
+        // The counter incremented on behalf of this thread, or -1 if none
+        int counter = -1;
+    }
+
+    @Override
+    public Lock readLock() {
+        return this.readLockView;
+    }
+
+    @Override
+    public Lock writeLock() {
+        return this.writeLockView;
+    }
+
+    private class ReadLock implements Lock {
+
+        @Override
+        public void lock() {
+            try {
+                acquireRead(false, 0L, false);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            acquireRead(false, 0L, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            final ReadHolds holds = readHolds.get();
+            return reenterRead(holds) || tryAcquireRead(holds);
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return acquireRead(true, unit.toNanos(time), true);
+        }
+
+        @Override
+        public void unlock() {
+            releaseRead();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private class WriteLock implements Lock {
+
+        @Override
+        public void lock() {
+            try {
+                acquireWrite(false, 0L, false);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            acquireWrite(false, 0L, true);
+        }
+
+        @Override
+        public boolean tryLock() {
+            checkLoopback();
+            if (!writeLock.tryLock()) {
+                return false;
+            }
+            if (writeLock.getHoldCount() == 1) {
+                announceWriter();
+                if (hasReaders()) {
+                    releaseWrite();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            return acquireWrite(true, unit.toNanos(time), true);
+        }
+
+        @Override
+        public void unlock() {
+            releaseWrite();
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private boolean reenterRead(ReadHolds holds) {
+        if ((holds.count > 0) || this.writeLock.isHeldByCurrentThread()) {
+            holds.count++;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean tryAcquireRead(ReadHolds holds) {
+        this.readers.incrementAndGet(holds.home);
+        if (!this.writing) {
+            holds.counter = holds.home;
+            holds.count = 1;
+            return true;
+        }
+        // Back off, and wake up the writer in case it saw our counter
+        this.readers.decrementAndGet(holds.home);
+        this.signalWriter();
+        return false;
+    }
+
+    private boolean acquireRead(boolean timed, long nanos, boolean interruptible) throws InterruptedException {
+        final ReadHolds holds = this.readHolds.get();
+        if (this.reenterRead(holds)) {
+            return true;
+        }
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        while (!this.tryAcquireRead(holds)) {
+            // Wait for the writer to release the write lock
+            if (timed) {
+                final long remaining = deadline - System.nanoTime();
+                if ((remaining <= 0L) || !this.writeLock.tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                    return false;
+                }
+            } else if (interruptible) {
+                this.writeLock.lockInterruptibly();
+            } else {
+                this.writeLock.lock();
+            }
+            this.writeLock.unlock();
+        }
+        return true;
+    }
+
+    private void releaseRead() {
+        final ReadHolds holds = this.readHolds.get();
+        if (holds.count == 0) {
+            throw new IllegalMonitorStateException();
+        }
+        if ((--holds.count == 0) && (holds.counter >= 0)) {
+            this.readers.decrementAndGet(holds.counter);
+            holds.counter = -1;
+            this.signalWriter();
+        }
+    }
+
+    private boolean acquireWrite(boolean timed, long nanos, boolean interruptible) throws InterruptedException {
+        this.checkLoopback();
+        final long deadline = timed ? System.nanoTime() + nanos : 0L;
+        if (timed) {
+            if (!this.writeLock.tryLock(nanos, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        } else if (interruptible) {
+            this.writeLock.lockInterruptibly();
+        } else {
+            this.writeLock.lock();
+        }
+        if (this.writeLock.getHoldCount() > 1) {
+            return true;
+        }
+        this.announceWriter();
+        // Wait for the current readers to release their read locks
+        boolean interrupted = false;
+        while (this.hasReaders()) {
+            if (timed) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    this.releaseWrite();
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            } else {
+                LockSupport.park(this);
+            }
+            if (Thread.interrupted()) {
+                if (interruptible) {
+                    this.releaseWrite();
+                    throw new InterruptedException();
+                }
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private void releaseWrite() {
+        if (!this.writeLock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException();
+        }
+        if (this.writeLock.getHoldCount() == 1) {
+            final ReadHolds holds = this.readHolds.get();
+            if ((holds.count > 0) && (holds.counter < 0)) {
+                // Read locks acquired while holding the write lock are retained, so announce them as a regular reader
+                this.readers.incrementAndGet(holds.home);
+                holds.counter = holds.home;
+            }
+            this.writing = false;
+            this.writer = null;
+        }
+        this.writeLock.unlock();
+    }
+
+    private void announceWriter() {
+        this.writer = Thread.currentThread();
+        this.writing = true;
+    }
+
+    private void signalWriter() {
+        if (this.writing) {
+            final Thread writer = this.writer;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+    }
+
+    private boolean hasReaders() {
+        for (int i = 0; i < STRIPES; ++i) {
+            if (this.readers.get(i * PADDING) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ensures that the current thread doesn't hold any read locks. If
+     * the thread holds any read locks, this method throws a {@link javax.ejb.IllegalLoopbackException}.
+     */
+    private void checkLoopback() {
+        if (this.readHolds.get().count > 0) {
+            throw EjbLogger.ROOT_LOGGER.failToUpgradeToWriteLock();
+        }
+    }
+
+    private static int stripes(int processors) {
+        final int stripes = Math.min(Math.max(processors * 2, 2), 64);
+        return Integer.highestOneBit(stripes - 1) << 1;
+    }
+}
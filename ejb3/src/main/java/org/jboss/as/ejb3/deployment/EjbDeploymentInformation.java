@@ -25,6 +25,8 @@ package org.jboss.as.ejb3.deployment;
 import org.jboss.as.ee.component.ComponentView;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.iiop.EjbIIOPService;
+import org.jboss.as.ejb3.remote.ObjectClonerPool;
+import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
 import org.jboss.msc.value.InjectedValue;
 
 import java.util.Collection;
@@ -51,6 +53,8 @@ public class EjbDeploymentInformation {
     private final InjectedValue<EjbIIOPService> iorFactory;
     private final Set<String> remoteViewClassNames = new HashSet<String>();
 
+    private final ObjectClonerPool parameterCloners;
+
     /**
      * @param ejbName               The EJB name
      * @param ejbComponent          The EJB component
@@ -66,6 +70,7 @@ public class EjbDeploymentInformation {
         this.componentViews = componentViews;
         this.deploymentClassLoader = deploymentClassLoader;
         this.iorFactory = iorFactory;
+        this.parameterCloners = new ObjectClonerPool(new ClassLoaderClassCloner(deploymentClassLoader));
     }
 
     /**
@@ -91,6 +96,7 @@ public class EjbDeploymentInformation {
         }
         this.deploymentClassLoader = deploymentClassLoader;
         this.iorFactory = iorFactory;
+        this.parameterCloners = new ObjectClonerPool(new ClassLoaderClassCloner(deploymentClassLoader));
     }
 
     public String getEjbName() {
@@ -121,6 +127,15 @@ public class EjbDeploymentInformation {
         return iorFactory.getOptionalValue();
     }
 
+    /**
+     * Returns the cloners used to copy the parameters of local invocations on a remote view into the deployment classloader.
+     *
+     * @return the parameter cloners of the EJB component
+     */
+    public ObjectClonerPool getParameterCloners() {
+        return parameterCloners;
+    }
+
     /**
      * Returns true if the passed <code>viewClassName</code> represents a remote view of the EJB component.
      * Else returns false.
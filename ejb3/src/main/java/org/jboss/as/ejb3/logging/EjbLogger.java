@@ -2744,9 +2744,8 @@ public interface EjbLogger extends BasicLogger {
     @Message(id = 401, value = "Failed to activate %s")
     RuntimeException activationFailed(@Cause Throwable cause, Object id);
 
-    @Deprecated
     @Message(id = 402, value = "Failed to create passivation directory: %s")
-    RuntimeException passivationDirectoryCreationFailed(String path);
+    RuntimeException passivationDirectoryCreationFailed(@Cause Throwable cause, String path);
 
     @Deprecated
     @Message(id = 403, value = "Failed to create passivation directory: %s")
@@ -3238,4 +3237,24 @@ public interface EjbLogger extends BasicLogger {
     @Message(id = 525, value = "The 'mappedName' in EJB annotations is not supported. Value of '%s' for EJB '%s' will be ignored.")
     void mappedNameNotSupported(String mappedName, String ejb);
 
+    @LogMessage(level = ERROR)
+    @Message(id = 526, value = "Failed to dispatch timeout task %s")
+    void failedToDispatchTimeout(Object task, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 527, value = "Discarding corrupt or incomplete records of timer journal %s, starting at offset %d")
+    void discardingTimerJournalRecords(File file, long offset);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 528, value = "Failed to refresh the timers of partition %s changed after version %d")
+    void failedToRefreshChangedTimers(String partition, long version, @Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 529, value = "Cannot add a VERSION column to the timer table or create the version counter of the partition, incremental refresh of timers is disabled")
+    void couldNotAddVersionColumn(@Cause SQLException e);
+
+    @LogMessage(level = WARN)
+    @Message(id = 530, value = "Failed to passivate stateful session bean %s, it will remain in memory")
+    void failedToPassivateBean(Object id, @Cause Throwable cause);
+
 }
@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Adjusts the effective size of a pool between a floor and a ceiling, based on the wait times observed by threads
+ * acquiring instances from that pool.
+ * <p/>
+ * The pool grows by a single instance whenever a thread would otherwise have to wait for an instance, until the ceiling
+ * is reached. Sizing is re-evaluated at a fixed interval, piggybacking on instance release, so no additional threads are
+ * required. If no thread had to wait for an instance during the preceding interval, the pool shrinks half way towards the
+ * peak number of instances concurrently in use during that interval (but never below the floor); idle instances in excess
+ * of the new size are evicted by the pool.
+ */
+public class AdaptivePoolSizer {
+
+    public static final long DEFAULT_INTERVAL = 1;
+    public static final TimeUnit DEFAULT_INTERVAL_UNIT = TimeUnit.SECONDS;
+
+    /**
+     * The view of a pool required by this sizer.
+     */
+    public interface Resizable {
+        /**
+         * Returns the effective size of the pool, i.e. the number of instances that may currently be in use concurrently.
+         * @return the effective pool size
+         */
+        int getSize();
+
+        /**
+         * Returns the number of instances currently in use.
+         * @return a number of instances
+         */
+        int getInUseCount();
+
+        /**
+         * Changes the effective size of this pool, evicting idle instances in excess of the new size.
+         * @param size the new effective pool size
+         */
+        void resize(int size);
+    }
+
+    private final Resizable pool;
+    private final int minSize;
+    private final long interval;
+    private final LongSupplier ticker;
+    private volatile int maxSize;
+
+    private final LongAdder waits = new LongAdder();
+    private final LongAccumulator peakInUse = new LongAccumulator(Math::max, 0L);
+    private final AtomicLong nextEvaluation;
+
+    public AdaptivePoolSizer(Resizable pool, int minSize, int maxSize) {
+        this(pool, minSize, maxSize, DEFAULT_INTERVAL, DEFAULT_INTERVAL_UNIT);
+    }
+
+    public AdaptivePoolSizer(Resizable pool, int minSize, int maxSize, long interval, TimeUnit unit) {
+        this(pool, minSize, maxSize, interval, unit, System::nanoTime);
+    }
+
+    /**
+     * @param ticker a source of nanosecond time, e.g. {@link System#nanoTime()}
+     */
+    public AdaptivePoolSizer(Resizable pool, int minSize, int maxSize, long interval, TimeUnit unit, LongSupplier ticker) {
+        this.pool = pool;
+        this.minSize = minSize;
+        this.maxSize = Math.max(minSize, maxSize);
+        this.interval = unit.toNanos(interval);
+        this.ticker = ticker;
+        this.nextEvaluation = new AtomicLong(ticker.getAsLong() + this.interval);
+    }
+
+    /**
+     * Returns the size below which the pool never shrinks, and at which the pool starts.
+     * @return the minimum pool size
+     */
+    public int getMinSize() {
+        return this.minSize;
+    }
+
+    /**
+     * Returns the size beyond which the pool never grows.
+     * @return the maximum pool size
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Changes the size beyond which the pool never grows, shrinking the pool immediately if necessary.
+     * @param maxSize the maximum pool size
+     */
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(this.minSize, maxSize);
+        if (this.pool.getSize() > this.maxSize) {
+            this.pool.resize(this.maxSize);
+        }
+    }
+
+    /**
+     * Invoked by the pool when a thread could not acquire an instance without waiting.
+     * @return true, if the pool was grown, false if the pool has reached its maximum size
+     */
+    public boolean grow() {
+        this.waits.increment();
+        synchronized (this) {
+            int size = this.pool.getSize();
+            if (size >= this.maxSize) return false;
+            if (ROOT_LOGGER.isTraceEnabled()) {
+                ROOT_LOGGER.tracef("Growing pool %s to %d instances", this.pool, size + 1);
+            }
+            this.pool.resize(size + 1);
+            return true;
+        }
+    }
+
+    /**
+     * Invoked by the pool after a thread acquired an instance.
+     */
+    public void acquired() {
+        this.peakInUse.accumulate(this.pool.getInUseCount());
+    }
+
+    /**
+     * Invoked by the pool after a thread released an instance.
+     */
+    public void released() {
+        long next = this.nextEvaluation.get();
+        long now = this.ticker.getAsLong();
+        if ((now - next >= 0L) && this.nextEvaluation.compareAndSet(next, now + this.interval)) {
+            this.evaluate();
+        }
+    }
+
+    private synchronized void evaluate() {
+        long waits = this.waits.sumThenReset();
+        long peak = this.peakInUse.getThenReset();
+        // Seed the next interval with the instances still in use
+        this.peakInUse.accumulate(this.pool.getInUseCount());
+        if (waits > 0L) return;
+
+        int size = this.pool.getSize();
+        int target = (int) Math.max(this.minSize, peak);
+        if (target < size) {
+            int newSize = size - Math.max((size - target) / 2, 1);
+            if (ROOT_LOGGER.isTraceEnabled()) {
+                ROOT_LOGGER.tracef("Shrinking pool %s to %d instances", this.pool, newSize);
+            }
+            this.pool.resize(newSize);
+        }
+    }
+}
@@ -25,12 +25,14 @@ import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
 import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.AdaptivePoolSizer;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
 
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * A pool with a maximum size.
@@ -38,18 +40,26 @@ import java.util.concurrent.TimeUnit;
  * @author <a href="mailto:carlo.dewolf@jboss.com">Carlo de Wolf</a>
  * @author <a href="mailto:kabir.khan@jboss.org">Kabir Khan</a>
  */
-public class StrictMaxPool<T> extends AbstractPool<T> {
+public class StrictMaxPool<T> extends AbstractPool<T> implements AdaptivePoolSizer.Resizable {
 
     /**
      * A FIFO semaphore that is set when the strict max size behavior is in effect.
-     * When set, only maxSize instances may be active and any attempt to get an
+     * When set, only size instances may be active and any attempt to get an
      * instance will block until an instance is freed.
      */
-    private final Semaphore semaphore;
+    private final ResizableSemaphore semaphore;
     /**
      * The maximum number of instances allowed in the pool
      */
-    private final int maxSize;
+    private volatile int maxSize;
+    /**
+     * The number of instances currently allowed in the pool, which only differs from maxSize if the pool is adaptive
+     */
+    private volatile int size;
+    /**
+     * Adjusts the size of this pool between its min and max size, or null, if this pool has a fixed size
+     */
+    private final AdaptivePoolSizer sizer;
     /**
      * The time to wait for the semaphore.
      */
@@ -64,7 +74,27 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
     public StrictMaxPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
         super(factory);
         this.maxSize = maxSize;
-        this.semaphore = new Semaphore(maxSize, false);
+        this.size = maxSize;
+        this.sizer = null;
+        this.semaphore = new ResizableSemaphore(maxSize);
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Creates an adaptive pool, whose size starts at the specified minimum, and which grows towards the specified maximum
+     * whenever threads would otherwise need to wait for an instance.
+     */
+    public StrictMaxPool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, minSize, maxSize, timeout, timeUnit, System::nanoTime);
+    }
+
+    StrictMaxPool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long timeout, TimeUnit timeUnit, LongSupplier ticker) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.size = Math.min(minSize, maxSize);
+        this.sizer = new AdaptivePoolSizer(this, this.size, maxSize, AdaptivePoolSizer.DEFAULT_INTERVAL, AdaptivePoolSizer.DEFAULT_INTERVAL_UNIT, ticker);
+        this.semaphore = new ResizableSemaphore(this.size);
         this.timeout = timeout;
         this.timeUnit = timeUnit;
     }
@@ -86,7 +116,7 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
     }
 
     public int getAvailableCount() {
-        return semaphore.availablePermits();
+        return Math.max(semaphore.availablePermits(), 0);
     }
 
     public int getMaxSize() {
@@ -94,7 +124,40 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
     }
 
     public void setMaxSize(int maxSize) {
-        throw EjbLogger.ROOT_LOGGER.methodNotImplemented();
+        this.maxSize = maxSize;
+        if (sizer != null) {
+            sizer.setMaxSize(maxSize);
+        } else {
+            resize(maxSize);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getInUseCount() {
+        return size - semaphore.availablePermits();
+    }
+
+    @Override
+    public synchronized void resize(int size) {
+        int delta = size - this.size;
+        this.size = size;
+        if (delta > 0) {
+            semaphore.release(delta);
+        } else if (delta < 0) {
+            // Permits of instances currently in use are retired as those instances are released
+            semaphore.reducePermits(-delta);
+            // Evict idle instances in excess of the new size
+            while (getCurrentSize() > size) {
+                T obj = pool.poll();
+                if (obj == null) break;
+                destroy(obj);
+            }
+        }
     }
 
     /**
@@ -105,12 +168,18 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      */
     public T get() {
         try {
-            boolean acquired = semaphore.tryAcquire(timeout, timeUnit);
+            // An adaptive pool grows rather than make us wait, until it reaches its max size
+            boolean acquired = (sizer != null) && (semaphore.tryAcquire() || (sizer.grow() && semaphore.tryAcquire()));
+            if (!acquired)
+                acquired = semaphore.tryAcquire(timeout, timeUnit);
             if (!acquired)
                 throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(timeout, timeUnit);
         } catch (InterruptedException e) {
             throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
         }
+        if (sizer != null) {
+            sizer.acquired();
+        }
 
         T bean = pool.poll();
 
@@ -141,12 +210,21 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
      */
     public void release(T obj) {
         if (ROOT_LOGGER.isTraceEnabled()) {
-            ROOT_LOGGER.tracef("%s/%s Free instance: %s", pool.size(), maxSize, this);
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", pool.size(), size, this);
         }
 
-        pool.add(obj);
+        if (getCurrentSize() > size) {
+            // Pool was shrunk while this instance was in use
+            destroy(obj);
+        } else {
+            pool.add(obj);
+        }
 
         semaphore.release();
+
+        if (sizer != null) {
+            sizer.released();
+        }
     }
 
     @Override
@@ -171,4 +249,20 @@ public class StrictMaxPool<T> extends AbstractPool<T> {
             destroy(obj);
         }
     }
+
+    /**
+     * Exposes {@link Semaphore#reducePermits(int)}, so that the pool can shrink.
+     */
+    private static class ResizableSemaphore extends Semaphore {
+        private static final long serialVersionUID = -2707826442316209449L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, false);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
 }
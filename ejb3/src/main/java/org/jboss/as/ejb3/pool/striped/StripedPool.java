@@ -0,0 +1,348 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AbstractPool;
+import org.jboss.as.ejb3.pool.AdaptivePoolSizer;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+
+/**
+ * A pool with the same strict upper bound as {@link org.jboss.as.ejb3.pool.strictmax.StrictMaxPool}, but which avoids
+ * funnelling every invocation through a single semaphore and a single queue.
+ * <p/>
+ * Idle instances are kept in a number of stripes. A thread always returns instances to, and first looks for instances in,
+ * the stripe its identity hashes to, and only steals from the other stripes when its own stripe is empty. The capacity
+ * bound is a plain atomic counter; threads only fall back to a lock when the pool is exhausted and they have to wait.
+ */
+public class StripedPool<T> extends AbstractPool<T> implements AdaptivePoolSizer.Resizable {
+
+    private final Deque<T>[] stripes;
+    private final int mask;
+    /**
+     * Number of instances that may still be handed out. May become negative, transiently, if the size is reduced
+     * while instances are in use.
+     */
+    private final AtomicInteger permits;
+    private final AtomicInteger waiters = new AtomicInteger(0);
+    private final Lock lock = new ReentrantLock();
+    private final Condition released = this.lock.newCondition();
+    private final long timeout;
+    private final TimeUnit timeUnit;
+    private volatile int maxSize;
+    private volatile int size;
+    private final AdaptivePoolSizer sizer;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder steals = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public StripedPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedPool(StatelessObjectFactory<T> factory, int maxSize, long timeout, TimeUnit timeUnit, int concurrency) {
+        this(factory, maxSize, maxSize, timeout, timeUnit, concurrency, null);
+    }
+
+    /**
+     * Creates an adaptive pool, whose size starts at the specified minimum, and which grows towards the specified maximum
+     * whenever threads would otherwise need to wait for an instance.
+     */
+    public StripedPool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long timeout, TimeUnit timeUnit) {
+        this(factory, minSize, maxSize, timeout, timeUnit, System::nanoTime);
+    }
+
+    StripedPool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long timeout, TimeUnit timeUnit, LongSupplier ticker) {
+        this(factory, minSize, maxSize, timeout, timeUnit, Runtime.getRuntime().availableProcessors(), ticker);
+    }
+
+    @SuppressWarnings("unchecked")
+    // An adaptive pool is sized using the specified ticker, if non-null
+    private StripedPool(StatelessObjectFactory<T> factory, int minSize, int maxSize, long timeout, TimeUnit timeUnit, int concurrency, LongSupplier ticker) {
+        super(factory);
+        this.maxSize = maxSize;
+        this.size = Math.min(minSize, maxSize);
+        this.sizer = (ticker != null) ? new AdaptivePoolSizer(this, this.size, maxSize, AdaptivePoolSizer.DEFAULT_INTERVAL, AdaptivePoolSizer.DEFAULT_INTERVAL_UNIT, ticker) : null;
+        this.permits = new AtomicInteger(this.size);
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        // Round up to a power of 2, so that a stripe can be selected via a mask
+        int count = (concurrency > 1) ? Integer.highestOneBit(concurrency - 1) << 1 : 1;
+        this.stripes = new Deque[count];
+        for (int i = 0; i < count; ++i) {
+            this.stripes[i] = new ConcurrentLinkedDeque<>();
+        }
+        this.mask = count - 1;
+    }
+
+    @Override
+    public T get() {
+        if (!this.tryAcquire()) {
+            // An adaptive pool grows rather than make us wait, until it reaches its max size
+            if ((this.sizer == null) || !this.sizer.grow() || !this.tryAcquire()) {
+                this.acquire();
+            }
+        }
+        if (this.sizer != null) {
+            this.sizer.acquired();
+        }
+
+        int home = this.stripe();
+        // Most recently released instances first, as these are most likely still cached by this cpu
+        T bean = this.stripes[home].pollFirst();
+        if (bean != null) {
+            this.hits.increment();
+            return bean;
+        }
+        for (int i = 1; i < this.stripes.length; ++i) {
+            bean = this.stripes[(home + i) & this.mask].pollLast();
+            if (bean != null) {
+                this.steals.increment();
+                return bean;
+            }
+        }
+
+        this.misses.increment();
+        try {
+            // Pool is empty, create an instance
+            bean = this.create();
+        } finally {
+            if (bean == null) {
+                this.releasePermit();
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public void release(T obj) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("%s/%s Free instance: %s", this.getAvailableCount(), this.size, this);
+        }
+
+        if (this.getCurrentSize() > this.size) {
+            // Pool was shrunk while this instance was in use
+            this.destroy(obj);
+        } else {
+            this.stripes[this.stripe()].offerFirst(obj);
+        }
+
+        this.releasePermit();
+
+        if (this.sizer != null) {
+            this.sizer.released();
+        }
+    }
+
+    @Override
+    public void discard(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Discard instance %s#%s", this, ctx);
+        }
+
+        this.releasePermit();
+
+        // Let the super do any other remove stuff
+        super.doRemove(ctx);
+    }
+
+    @Override
+    @Deprecated
+    public void remove(T ctx) {
+        if (ROOT_LOGGER.isTraceEnabled()) {
+            ROOT_LOGGER.tracef("Removing instance: %s#%s", this, ctx);
+        }
+
+        this.releasePermit();
+
+        // let the super do the other remove stuff
+        super.doRemove(ctx);
+    }
+
+    @Override
+    public int getAvailableCount() {
+        return Math.max(this.permits.get(), 0);
+    }
+
+    @Override
+    public int getCurrentSize() {
+        return this.getCreateCount() - this.getRemoveCount();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    @Override
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+        if (this.sizer != null) {
+            this.sizer.setMaxSize(maxSize);
+        } else {
+            this.resize(maxSize);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return this.size;
+    }
+
+    @Override
+    public int getInUseCount() {
+        return this.size - this.permits.get();
+    }
+
+    @Override
+    public synchronized void resize(int size) {
+        int delta = size - this.size;
+        this.size = size;
+        if (delta != 0) {
+            this.permits.addAndGet(delta);
+            if (delta > 0) {
+                this.signal(true);
+            } else {
+                // Evict idle instances in excess of the new size
+                for (Deque<T> stripe : this.stripes) {
+                    while (this.getCurrentSize() > size) {
+                        T obj = stripe.pollLast();
+                        if (obj == null) break;
+                        this.destroy(obj);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of requests served by an idle instance from the stripe of the requesting thread.
+     * @return a number of requests
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of requests served by an idle instance stolen from the stripe of some other thread.
+     * @return a number of requests
+     */
+    public long getStealCount() {
+        return this.steals.sum();
+    }
+
+    /**
+     * Returns the number of requests that found no idle instance, and thus required the creation of a new instance.
+     * @return a number of requests
+     */
+    public long getMissCount() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public void start() {
+        // Nothing to start
+    }
+
+    @Override
+    public void stop() {
+        for (Deque<T> stripe : this.stripes) {
+            for (T obj = stripe.poll(); obj != null; obj = stripe.poll()) {
+                this.destroy(obj);
+            }
+        }
+    }
+
+    private int stripe() {
+        // Spread the bits of the thread id, since these tend to be sequential
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    private boolean tryAcquire() {
+        int current = this.permits.get();
+        while (current > 0) {
+            if (this.permits.compareAndSet(current, current - 1)) {
+                return true;
+            }
+            current = this.permits.get();
+        }
+        return false;
+    }
+
+    private void acquire() {
+        long remaining = this.timeUnit.toNanos(this.timeout);
+        this.lock.lock();
+        try {
+            // Register as a waiter *before* re-checking for a permit, so that a concurrent release is guaranteed to signal us
+            this.waiters.incrementAndGet();
+            try {
+                while (!this.tryAcquire()) {
+                    if (remaining <= 0L) {
+                        throw EjbLogger.ROOT_LOGGER.failedToAcquirePermit(this.timeout, this.timeUnit);
+                    }
+                    remaining = this.released.awaitNanos(remaining);
+                }
+            } finally {
+                this.waiters.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            throw EjbLogger.ROOT_LOGGER.acquireSemaphoreInterrupted();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void releasePermit() {
+        this.permits.incrementAndGet();
+        if (this.waiters.get() > 0) {
+            this.signal(false);
+        }
+    }
+
+    private void signal(boolean all) {
+        this.lock.lock();
+        try {
+            if (all) {
+                this.released.signalAll();
+            } else {
+                this.released.signal();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -47,10 +47,7 @@ import org.jboss.ejb.client.SessionID;
 import org.jboss.ejb.client.StatelessEJBLocator;
 import org.jboss.ejb.client.TransactionID;
 import org.jboss.invocation.InterceptorContext;
-import org.jboss.marshalling.cloner.ClassLoaderClassCloner;
-import org.jboss.marshalling.cloner.ClonerConfiguration;
 import org.jboss.marshalling.cloner.ObjectCloner;
-import org.jboss.marshalling.cloner.ObjectCloners;
 import org.jboss.security.SecurityContext;
 import org.jboss.security.SecurityContextAssociation;
 import org.wildfly.security.auth.server.SecurityDomain;
@@ -59,10 +56,31 @@ import org.wildfly.security.manager.WildFlySecurityManager;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Period;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -80,6 +98,21 @@ public class LocalEjbReceiver extends EJBReceiver {
     private static final EJBReceiverInvocationContext.ResultProducer.Immediate NULL_RESULT = new EJBReceiverInvocationContext.ResultProducer.Immediate(null);
     private static final AttachmentKey<CancellationFlag> CANCELLATION_FLAG_ATTACHMENT_KEY = new AttachmentKey<>();
 
+    // JDK types whose instances cannot be modified, and that are therefore never cloned
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+            BigInteger.class, BigDecimal.class, URI.class, UUID.class, Locale.class,
+            Duration.class, Instant.class, LocalDate.class, LocalDateTime.class, LocalTime.class, MonthDay.class, OffsetDateTime.class,
+            OffsetTime.class, Period.class, Year.class, YearMonth.class, ZonedDateTime.class));
+
+    // The cloners of invocation results, keyed by the class of the invoked proxy
+    private static final ClassValue<ObjectClonerPool> RESULT_CLONERS = new ClassValue<ObjectClonerPool>() {
+        @Override
+        protected ObjectClonerPool computeValue(final Class<?> proxyClass) {
+            return new ObjectClonerPool(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(proxyClass)));
+        }
+    };
+
     private final DeploymentRepository deploymentRepository;
 
     private final boolean allowPassByReference;
@@ -105,9 +138,6 @@ public class LocalEjbReceiver extends EJBReceiver {
         if (!ejb.isRemoteView(viewClass.getName())) {
             throw EjbLogger.ROOT_LOGGER.viewNotFound(viewClass.getName(), ejb.getEjbName());
         }
-        final ClonerConfiguration paramConfig = new ClonerConfiguration();
-        paramConfig.setClassCloner(new ClassLoaderClassCloner(ejb.getDeploymentClassLoader()));
-        final ObjectCloner parameterCloner = createCloner(paramConfig);
         //TODO: this is not very efficient
         final Method method = view.getMethod(invocation.getInvokedMethod().getName(), DescriptorUtils.methodDescriptor(invocation.getInvokedMethod()));
 
@@ -118,8 +148,25 @@ public class LocalEjbReceiver extends EJBReceiver {
             parameters = EMPTY_OBJECT_ARRAY;
         } else {
             parameters = new Object[invocation.getParameters().length];
-            for (int i = 0; i < parameters.length; ++i) {
-                parameters[i] = clone(method.getParameterTypes()[i], parameterCloner, invocation.getParameters()[i], allowPassByReference);
+            final ObjectClonerPool parameterCloners = ejb.getParameterCloners();
+            // All parameters are cloned by the same cloner, so that references between them are preserved
+            ObjectCloner parameterCloner = null;
+            try {
+                for (int i = 0; i < parameters.length; ++i) {
+                    final Object parameter = invocation.getParameters()[i];
+                    if (isPassedByReference(method.getParameterTypes()[i], parameter, allowPassByReference)) {
+                        parameters[i] = parameter;
+                    } else {
+                        if (parameterCloner == null) {
+                            parameterCloner = parameterCloners.acquire();
+                        }
+                        parameters[i] = clone(parameterCloner, parameter);
+                    }
+                }
+            } finally {
+                if (parameterCloner != null) {
+                    parameterCloners.release(parameterCloner);
+                }
             }
         }
 
@@ -165,9 +212,7 @@ public class LocalEjbReceiver extends EJBReceiver {
             throw EjbLogger.ROOT_LOGGER.ejbNotFoundInDeployment(locator);
         }
 
-        final ClonerConfiguration config = new ClonerConfiguration();
-        config.setClassCloner(new LocalInvocationClassCloner(WildFlySecurityManager.getClassLoaderPrivileged(invocation.getInvokedProxy().getClass())));
-        final ObjectCloner resultCloner = createCloner(config);
+        final ObjectClonerPool resultCloners = RESULT_CLONERS.get(invocation.getInvokedProxy().getClass());
         if (async) {
             if (ejbComponent instanceof SessionBeanComponent) {
                 final CancellationFlag flag = new CancellationFlag();
@@ -204,7 +249,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                             result = view.invoke(interceptorContext);
                         } catch (Exception e) {
                             // WFLY-4331 - clone the exception of an async task
-                            receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                            receiverContext.resultReady(new CloningExceptionProducer(resultCloners, e, allowPassByReference));
                             return;
                         }
                         // if the result is null, there is no cloning needed
@@ -225,7 +270,7 @@ public class LocalEjbReceiver extends EJBReceiver {
                                     intr = true;
                                 } catch (ExecutionException e) {
                                     // WFLY-4331 - clone the exception of an async task
-                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                                    receiverContext.resultReady(new CloningExceptionProducer(resultCloners, e, allowPassByReference));
                                     return;
                                 }
                             } finally {
@@ -236,10 +281,10 @@ public class LocalEjbReceiver extends EJBReceiver {
                                 receiverContext.resultReady(NULL_RESULT);
                                 return;
                             }
-                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, asyncValue, allowPassByReference));
+                            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloners, asyncValue, allowPassByReference));
                             return;
                         }
-                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+                        receiverContext.resultReady(new CloningResultProducer(invocation, resultCloners, result, allowPassByReference));
                     } finally {
                         StartupCountdown.restore(null);
                         clearSecurityContextOnAssociation();
@@ -267,10 +312,10 @@ public class LocalEjbReceiver extends EJBReceiver {
             } catch (Exception e) {
                 //we even have to clone the exception type
                 //to make sure it matches
-                receiverContext.resultReady(new CloningExceptionProducer(resultCloner, e, allowPassByReference));
+                receiverContext.resultReady(new CloningExceptionProducer(resultCloners, e, allowPassByReference));
                 return;
             }
-            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloner, result, allowPassByReference));
+            receiverContext.resultReady(new CloningResultProducer(invocation, resultCloners, result, allowPassByReference));
 
             for(Map.Entry<String, Object> entry : interceptorContext.getContextData().entrySet()) {
                 if (entry.getValue() instanceof Serializable) {
@@ -287,19 +332,19 @@ public class LocalEjbReceiver extends EJBReceiver {
 
     static final class CloningResultProducer implements EJBReceiverInvocationContext.ResultProducer {
         private final EJBClientInvocationContext invocation;
-        private final ObjectCloner resultCloner;
+        private final ObjectClonerPool resultCloners;
         private final Object result;
         private final boolean allowPassByReference;
 
-        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectCloner resultCloner, final Object result, final boolean allowPassByReference) {
+        CloningResultProducer(final EJBClientInvocationContext invocation, final ObjectClonerPool resultCloners, final Object result, final boolean allowPassByReference) {
             this.invocation = invocation;
-            this.resultCloner = resultCloner;
+            this.resultCloners = resultCloners;
             this.result = result;
             this.allowPassByReference = allowPassByReference;
         }
 
         public Object getResult() throws Exception {
-            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloner, result, allowPassByReference);
+            return LocalEjbReceiver.clone(invocation.getInvokedMethod().getReturnType(), resultCloners, result, allowPassByReference);
         }
 
         public void discardResult() {
@@ -307,18 +352,18 @@ public class LocalEjbReceiver extends EJBReceiver {
     }
 
     static final class CloningExceptionProducer implements EJBReceiverInvocationContext.ResultProducer {
-        private final ObjectCloner resultCloner;
+        private final ObjectClonerPool resultCloners;
         private final Exception exception;
         private final boolean allowPassByReference;
 
-        CloningExceptionProducer(final ObjectCloner resultCloner, final Exception exception, final boolean allowPassByReference) {
-            this.resultCloner = resultCloner;
+        CloningExceptionProducer(final ObjectClonerPool resultCloners, final Exception exception, final boolean allowPassByReference) {
+            this.resultCloners = resultCloners;
             this.exception = exception;
             this.allowPassByReference = allowPassByReference;
         }
 
         public Object getResult() throws Exception {
-            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultCloner, exception, allowPassByReference);
+            throw (Exception) LocalEjbReceiver.clone(Exception.class, resultCloners, exception, allowPassByReference);
         }
 
         public void discardResult() {
@@ -327,16 +372,6 @@ public class LocalEjbReceiver extends EJBReceiver {
 
 
 
-    private ObjectCloner createCloner(final ClonerConfiguration paramConfig) {
-        ObjectCloner parameterCloner;
-        if(WildFlySecurityManager.isChecking()) {
-            parameterCloner = WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig));
-        } else {
-            parameterCloner = ObjectCloners.getSerializingObjectClonerFactory().createCloner(paramConfig);
-        }
-        return parameterCloner;
-    }
-
     protected SessionID createSession(final EJBReceiverSessionCreationContext receiverContext) throws Exception {
         final StatelessEJBLocator<?> statelessLocator = receiverContext.getClientInvocationContext().getLocator().asStateless();
         final EjbDeploymentInformation ejbInfo = findBean(statelessLocator);
@@ -348,18 +383,42 @@ public class LocalEjbReceiver extends EJBReceiver {
         return ((StatefulSessionComponent) component).createSession();
     }
 
-    static Object clone(final Class<?> target, final ObjectCloner cloner, final Object object, final boolean allowPassByReference) {
+    static Object clone(final Class<?> target, final ObjectClonerPool cloners, final Object object, final boolean allowPassByReference) {
+        if (isPassedByReference(target, object, allowPassByReference)) {
+            return object;
+        }
+        final ObjectCloner cloner = cloners.acquire();
+        try {
+            return clone(cloner, object);
+        } finally {
+            cloners.release(cloner);
+        }
+    }
+
+    static boolean isPassedByReference(final Class<?> target, final Object object, final boolean allowPassByReference) {
         if (object == null) {
-            return null;
+            return true;
         }
         // don't clone primitives
         if (target.isPrimitive()) {
-            return object;
+            return true;
         }
-        if (allowPassByReference && target.isAssignableFrom(object.getClass())) {
-            return object;
+        if (isImmutable(object.getClass())) {
+            return true;
+        }
+        return allowPassByReference && target.isAssignableFrom(object.getClass());
+    }
+
+    /**
+     * Returns true if instances of the passed class cannot be modified, and the class is the same in every classloader,
+     * in which case a clone would be indistinguishable from the original.
+     */
+    static boolean isImmutable(final Class<?> type) {
+        if (IMMUTABLE_TYPES.contains(type)) {
+            return true;
         }
-        return clone(cloner, object);
+        // Time zones and enum constants of the JDK are resolved to the same instance when deserialized
+        return (type.getClassLoader() == null) && (ZoneId.class.isAssignableFrom(type) || Enum.class.isAssignableFrom(type));
     }
 
     private static Object clone(final ObjectCloner cloner, final Object object) {
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import java.security.PrivilegedAction;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.jboss.marshalling.cloner.ClassCloner;
+import org.jboss.marshalling.cloner.ClonerConfiguration;
+import org.jboss.marshalling.cloner.ObjectCloner;
+import org.jboss.marshalling.cloner.ObjectCloners;
+import org.wildfly.security.manager.WildFlySecurityManager;
+
+/**
+ * A bounded pool of {@link ObjectCloner} instances that share the same {@link ClassCloner}.
+ * <p>
+ * A cloner keeps track of the objects it has already cloned, so that references between them are preserved, and is
+ * therefore not thread safe. A cloner is acquired for the objects of a single invocation, and is reset when it is
+ * released back to the pool.
+ * </p>
+ */
+public final class ObjectClonerPool {
+
+    private static final int MAX_IDLE_CLONERS = 16;
+
+    private final ClonerConfiguration configuration = new ClonerConfiguration();
+    private final BlockingQueue<ObjectCloner> idle = new ArrayBlockingQueue<>(MAX_IDLE_CLONERS);
+
+    /**
+     * @param classCloner the class cloner used to resolve the classes of the cloned objects
+     */
+    public ObjectClonerPool(final ClassCloner classCloner) {
+        this.configuration.setClassCloner(classCloner);
+    }
+
+    /**
+     * Returns an idle cloner, or creates a new one if none is available.
+     *
+     * @return a cloner, which must be passed to {@link #release(ObjectCloner)} once the invocation no longer needs it
+     */
+    public ObjectCloner acquire() {
+        final ObjectCloner cloner = this.idle.poll();
+        return (cloner != null) ? cloner : this.createCloner();
+    }
+
+    /**
+     * Resets the passed cloner and returns it to the pool. The cloner is discarded if the pool is full.
+     *
+     * @param cloner a cloner obtained from {@link #acquire()}
+     */
+    public void release(final ObjectCloner cloner) {
+        cloner.reset();
+        this.idle.offer(cloner);
+    }
+
+    private ObjectCloner createCloner() {
+        if (WildFlySecurityManager.isChecking()) {
+            return WildFlySecurityManager.doUnchecked((PrivilegedAction<ObjectCloner>) () -> ObjectCloners.getSerializingObjectClonerFactory().createCloner(this.configuration));
+        }
+        return ObjectCloners.getSerializingObjectClonerFactory().createCloner(this.configuration);
+    }
+}
@@ -409,7 +409,7 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         }
     }
 
-    private void parseBeanInstancePools(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+    protected void parseBeanInstancePools(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
         // no attributes expected
         requireNoAttributes(reader);
 
@@ -487,7 +487,8 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         for (int i = 0; i < reader.getAttributeCount(); i++) {
             requireNoNamespaceAttribute(reader, i);
             final String value = reader.getAttributeValue(i);
-            switch (EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i))) {
+            final EJB3SubsystemXMLAttribute attribute = EJB3SubsystemXMLAttribute.forName(reader.getAttributeLocalName(i));
+            switch (attribute) {
                 case NAME: {
                     name = value;
                     break;
@@ -501,7 +502,9 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
                     break;
                 }
                 default: {
-                    throw unexpectedAttribute(reader, i);
+                    if (!this.parseCacheAttribute(reader, attribute, value, operation)) {
+                        throw unexpectedAttribute(reader, i);
+                    }
                 }
             }
         }
@@ -514,6 +517,14 @@ public class EJB3Subsystem12Parser implements XMLElementReader<List<ModelNode>>
         operations.add(operation);
     }
 
+    /**
+     * Parses a cache attribute introduced by a later version of the schema.
+     * @return true, if the attribute was parsed, false if the attribute is not supported by this version of the schema
+     */
+    protected boolean parseCacheAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        return false;
+    }
+
     @SuppressWarnings("deprecation")
     protected void parsePassivationStores(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
         // no attributes expected
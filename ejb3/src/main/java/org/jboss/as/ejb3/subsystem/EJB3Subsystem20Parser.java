@@ -163,7 +163,9 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
                     break;
                 }
                 default:
-                    throw unexpectedAttribute(reader, i);
+                    if (!this.parseTimerServiceAttribute(reader, attribute, value, timerServiceAdd)) {
+                        throw unexpectedAttribute(reader, i);
+                    }
             }
         }
         if (!required.isEmpty()) {
@@ -180,6 +182,14 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
         }
     }
 
+    /**
+     * Parses a timer service attribute introduced by a later version of the schema.
+     * @return true, if the attribute was parsed, false if the attribute is not supported by this version of the schema
+     */
+    protected boolean parseTimerServiceAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        return false;
+    }
+
     private void parseDataStores(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
         while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
             switch (EJB3SubsystemXMLElement.forName(reader.getLocalName())) {
@@ -202,6 +212,7 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
         String dataStorePath = null;
         String dataStorePathRelativeTo = null;
         String name = null;
+        final ModelNode fileDataStoreAdd = new ModelNode();
         final EnumSet<EJB3SubsystemXMLAttribute> required = EnumSet.of(EJB3SubsystemXMLAttribute.NAME, EJB3SubsystemXMLAttribute.PATH);
         final int count = reader.getAttributeCount();
         for (int i = 0; i < count; i++) {
@@ -229,7 +240,9 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
                     dataStorePathRelativeTo = FileDataStoreResourceDefinition.RELATIVE_TO.parse(value, reader).asString();
                     break;
                 default:
-                    throw unexpectedAttribute(reader, i);
+                    if (!this.parseFileDataStoreAttribute(reader, attribute, value, fileDataStoreAdd)) {
+                        throw unexpectedAttribute(reader, i);
+                    }
             }
         }
         if (!required.isEmpty()) {
@@ -239,7 +252,6 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
         address.add(SUBSYSTEM, EJB3Extension.SUBSYSTEM_NAME);
         address.add(SERVICE, TIMER_SERVICE);
         address.add(FILE_DATA_STORE, name);
-        final ModelNode fileDataStoreAdd = new ModelNode();
         fileDataStoreAdd.get(OP).set(ADD);
         fileDataStoreAdd.get(ADDRESS).set(address);
         fileDataStoreAdd.get(PATH).set(dataStorePath);
@@ -251,6 +263,14 @@ public class EJB3Subsystem20Parser extends EJB3Subsystem14Parser {
     }
 
 
+    /**
+     * Parses a file data store attribute introduced by a later version of the schema.
+     * @return true, if the attribute was parsed, false if the attribute is not supported by this version of the schema
+     */
+    protected boolean parseFileDataStoreAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        return false;
+    }
+
     protected void parseDatabaseDataStore(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
         String name = null;
 
@@ -137,7 +137,9 @@ public class EJB3Subsystem30Parser extends EJB3Subsystem20Parser {
                     DatabaseDataStoreResourceDefinition.ALLOW_EXECUTION.parseAndSetParameter(value, databaseDataStore, reader);
                     break;
                 default:
-                    throw unexpectedAttribute(reader, i);
+                    if (!this.parseDatabaseDataStoreAttribute(reader, attribute, value, databaseDataStore)) {
+                        throw unexpectedAttribute(reader, i);
+                    }
             }
         }
         if (!required.isEmpty()) {
@@ -153,6 +155,14 @@ public class EJB3Subsystem30Parser extends EJB3Subsystem20Parser {
         requireNoContent(reader);
     }
 
+    /**
+     * Parses a database data store attribute introduced by a later version of the schema.
+     * @return true, if the attribute was parsed, false if the attribute is not supported by this version of the schema
+     */
+    protected boolean parseDatabaseDataStoreAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        return false;
+    }
+
     protected void parseRemote(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
         final int count = reader.getAttributeCount();
         final PathAddress ejb3RemoteServiceAddress = SUBSYSTEM_PATH.append(SERVICE, REMOTE);
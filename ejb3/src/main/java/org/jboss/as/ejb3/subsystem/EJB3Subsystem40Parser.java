@@ -195,6 +195,10 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
     }
 
     void parseStrictMaxPool(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        this.parseStrictMaxPool(reader, operations, STRICT_MAX_BEAN_INSTANCE_POOL);
+    }
+
+    void parseStrictMaxPool(final XMLExtendedStreamReader reader, List<ModelNode> operations, String poolType) throws XMLStreamException {
         final int count = reader.getAttributeCount();
         String poolName = null;
         final ModelNode operation = Util.createAddOperation();
@@ -228,7 +232,9 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
                     StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.parseAndSetParameter(value, operation, reader);
                     break;
                 default:
-                    throw unexpectedAttribute(reader, i);
+                    if (!this.parseStrictMaxPoolAttribute(reader, attribute, value, operation)) {
+                        throw unexpectedAttribute(reader, i);
+                    }
             }
         }
         requireNoContent(reader);
@@ -237,11 +243,19 @@ public class EJB3Subsystem40Parser extends EJB3Subsystem30Parser {
         }
         // create and add the operation
         // create /subsystem=ejb3/strict-max-bean-instance-pool=name:add(...)
-        final PathAddress address = this.getEJB3SubsystemAddress().append(STRICT_MAX_BEAN_INSTANCE_POOL, poolName);
+        final PathAddress address = this.getEJB3SubsystemAddress().append(poolType, poolName);
         operation.get(OP_ADDR).set(address.toModelNode());
         operations.add(operation);
     }
 
+    /**
+     * Parses a pool attribute introduced by a later version of the schema.
+     * @return true, if the attribute was parsed, false if the attribute is not supported by this version of the schema
+     */
+    protected boolean parseStrictMaxPoolAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        return false;
+    }
+
     private XMLStreamException mutuallyExclusiveAttributes(XMLExtendedStreamReader reader) {
         return EjbLogger.ROOT_LOGGER.mutuallyExclusiveAttributes(reader.getLocation(), MAX_POOL_SIZE, DERIVE_SIZE);
     }
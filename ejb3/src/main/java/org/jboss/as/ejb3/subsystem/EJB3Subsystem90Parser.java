@@ -24,13 +24,17 @@ package org.jboss.as.ejb3.subsystem;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.parsing.ParseUtils.missingRequired;
+import static org.jboss.as.controller.parsing.ParseUtils.requireNoAttributes;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoContent;
 import static org.jboss.as.controller.parsing.ParseUtils.requireNoNamespaceAttribute;
 import static org.jboss.as.controller.parsing.ParseUtils.unexpectedAttribute;
+import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
 import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN;
+import static org.jboss.as.ejb3.subsystem.EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL;
 
 import java.util.Collections;
 import java.util.List;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 
 import org.jboss.as.controller.PathAddress;
@@ -52,6 +56,83 @@ public class EJB3Subsystem90Parser extends EJB3Subsystem80Parser {
         return EJB3SubsystemNamespace.EJB3_9_0;
     }
 
+    @Override
+    protected void parseBeanInstancePools(final XMLExtendedStreamReader reader, List<ModelNode> operations) throws XMLStreamException {
+        // no attributes expected
+        requireNoAttributes(reader);
+
+        while (reader.hasNext() && reader.nextTag() != XMLStreamConstants.END_ELEMENT) {
+            switch (EJB3SubsystemXMLElement.forName(reader.getLocalName())) {
+                case STRICT_MAX_POOL: {
+                    this.parseStrictMaxPool(reader, operations);
+                    break;
+                }
+                case STRIPED_POOL: {
+                    this.parseStrictMaxPool(reader, operations, STRIPED_BEAN_INSTANCE_POOL);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected boolean parseStrictMaxPoolAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case MIN_POOL_SIZE:
+                StrictMaxPoolResourceDefinition.MIN_POOL_SIZE.parseAndSetParameter(value, operation, reader);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected boolean parseCacheAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case MAX_SIZE:
+                CacheFactoryResourceDefinition.MAX_SIZE.parseAndSetParameter(value, operation, reader);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected boolean parseTimerServiceAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case TICK_DURATION:
+                TimerServiceResourceDefinition.TICK_DURATION.parseAndSetParameter(value, operation, reader);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected boolean parseFileDataStoreAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case JOURNAL:
+                FileDataStoreResourceDefinition.JOURNAL.parseAndSetParameter(value, operation, reader);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    protected boolean parseDatabaseDataStoreAttribute(final XMLExtendedStreamReader reader, EJB3SubsystemXMLAttribute attribute, String value, ModelNode operation) throws XMLStreamException {
+        switch (attribute) {
+            case INCREMENTAL_REFRESH:
+                DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH.parseAndSetParameter(value, operation, reader);
+                return true;
+            default:
+                return false;
+        }
+    }
+
     @Override
     protected void parseApplicationSecurityDomain(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
         String applicationSecurityDomain = null;
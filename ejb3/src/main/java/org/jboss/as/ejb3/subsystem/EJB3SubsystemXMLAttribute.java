@@ -61,14 +61,18 @@ public enum EJB3SubsystemXMLAttribute {
 
     @Deprecated IDLE_TIMEOUT("idle-timeout"),
     @Deprecated IDLE_TIMEOUT_UNIT("idle-timeout-unit"),
+    INCREMENTAL_REFRESH("incremental-refresh"),
     INSTANCE_ACQUISITION_TIMEOUT("instance-acquisition-timeout"),
     INSTANCE_ACQUISITION_TIMEOUT_UNIT("instance-acquisition-timeout-unit"),
 
+    JOURNAL("journal"),
+
     KEEPALIVE_TIME("keepalive-time"),
 
     LOCAL_RECEIVER_PASS_BY_VALUE("local-receiver-pass-by-value"),
 
     MAX_POOL_SIZE("max-pool-size"),
+    MIN_POOL_SIZE("min-pool-size"),
     MAX_SIZE("max-size"),
     DERIVE_SIZE("derive-size"),
     MAX_THREADS("max-threads"),
@@ -94,6 +98,7 @@ public enum EJB3SubsystemXMLAttribute {
     @Deprecated SUBDIRECTORY_COUNT("subdirectory-count"),
 
     THREAD_POOL_NAME("thread-pool-name"),
+    TICK_DURATION("tick-duration"),
     TYPE("type"),
 
     USE_QUALIFIED_NAME("use-qualified-name"),
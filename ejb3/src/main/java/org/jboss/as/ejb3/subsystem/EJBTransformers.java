@@ -327,6 +327,38 @@ public class EJBTransformers implements ExtensionTransformerRegistration {
                 .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION)
                 .addRejectCheck(RejectAttributeChecker.DEFINED, EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION)
                 .end();
+        // Reject ejb3/striped-bean-instance-pool
+        subsystemBuilder.rejectChildResource(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL_PATH);
+        // Reject adaptive strict-max-bean-instance-pool
+        subsystemBuilder.addChildResource(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, StrictMaxPoolResourceDefinition.MIN_POOL_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, StrictMaxPoolResourceDefinition.MIN_POOL_SIZE)
+                .end();
+        // Reject timing wheel of ejb3/service=timer-service
+        ResourceTransformationDescriptionBuilder timerService = subsystemBuilder.addChildResource(EJB3SubsystemModel.TIMER_SERVICE_PATH);
+        timerService.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, TimerServiceResourceDefinition.TICK_DURATION)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, TimerServiceResourceDefinition.TICK_DURATION)
+                .end();
+        // Reject journal of ejb3/service=timer-service/file-data-store
+        timerService.addChildResource(EJB3SubsystemModel.FILE_DATA_STORE_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, FileDataStoreResourceDefinition.JOURNAL)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, FileDataStoreResourceDefinition.JOURNAL)
+                .end();
+        // Reject incremental refresh of ejb3/service=timer-service/database-data-store
+        timerService.addChildResource(EJB3SubsystemModel.DATABASE_DATA_STORE_PATH)
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH)
+                .end();
+        // Reject max-size of ejb3/cache
+        subsystemBuilder.addChildResource(PathElement.pathElement(EJB3SubsystemModel.CACHE))
+                .getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.UNDEFINED, CacheFactoryResourceDefinition.MAX_SIZE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, CacheFactoryResourceDefinition.MAX_SIZE)
+                .end();
     }
     /*
      * This transformer is used with the datastores in /subsystem=ejb3/service=timer
@@ -58,11 +58,14 @@ public class StrictMaxPoolAdd extends AbstractAddStepHandler {
         final String poolName = PathAddress.pathAddress(operation.get(ModelDescriptionConstants.ADDRESS)).getLastElement().getValue();
         final int maxPoolSize = StrictMaxPoolResourceDefinition.MAX_POOL_SIZE.resolveModelAttribute(context, strictMaxPoolModel).asInt();
         final Derive derive = StrictMaxPoolResourceDefinition.parseDeriveSize(context, strictMaxPoolModel);
+        final int minPoolSize = StrictMaxPoolResourceDefinition.MIN_POOL_SIZE.resolveModelAttribute(context, strictMaxPoolModel).asInt(0);
         final long timeout = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT.resolveModelAttribute(context, strictMaxPoolModel).asLong();
         final String unit = StrictMaxPoolResourceDefinition.INSTANCE_ACQUISITION_TIMEOUT_UNIT.resolveModelAttribute(context, strictMaxPoolModel).asString();
 
         // create and install the service
-        final StrictMaxPoolConfigService poolConfigService = new StrictMaxPoolConfigService(poolName, maxPoolSize, derive, timeout, TimeUnit.valueOf(unit));
+        final StrictMaxPoolConfig poolConfig = this.createPoolConfig(poolName, maxPoolSize, timeout, TimeUnit.valueOf(unit));
+        poolConfig.setMinPoolSize(minPoolSize);
+        final StrictMaxPoolConfigService poolConfigService = new StrictMaxPoolConfigService(poolConfig, derive);
 
         CapabilityServiceTarget capabilityServiceTarget = context.getCapabilityServiceTarget();
         CapabilityServiceBuilder<StrictMaxPoolConfig> capabilityServiceBuilder = capabilityServiceTarget.addCapability(StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY, poolConfigService);
@@ -71,4 +74,11 @@ public class StrictMaxPoolAdd extends AbstractAddStepHandler {
         }
         capabilityServiceBuilder.install();
     }
+
+    /**
+     * Creates the configuration of the pools created for the beans using this pool resource.
+     */
+    protected StrictMaxPoolConfig createPoolConfig(String poolName, int maxPoolSize, long timeout, TimeUnit unit) {
+        return new StrictMaxPoolConfig(poolName, maxPoolSize, timeout, unit);
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.ejb3.component.pool.StrictMaxPoolConfig;
+import org.jboss.as.ejb3.component.pool.StripedPoolConfig;
+
+/**
+ * Adds a striped-bean-instance-pool to the EJB3 subsystem's bean-instance-pools.
+ * This installs the same {@link org.jboss.as.ejb3.component.pool.StrictMaxPoolConfigService} as a strict-max-pool,
+ * but whose configuration creates {@link org.jboss.as.ejb3.pool.striped.StripedPool} instances.
+ */
+class StripedPoolAdd extends StrictMaxPoolAdd {
+
+    StripedPoolAdd(AttributeDefinition... attributes) {
+        super(attributes);
+    }
+
+    @Override
+    protected StrictMaxPoolConfig createPoolConfig(String poolName, int maxPoolSize, long timeout, TimeUnit unit) {
+        return new StripedPoolConfig(poolName, maxPoolSize, timeout, unit);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.subsystem;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.ServiceRemoveStepHandler;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.registry.OperationEntry;
+
+/**
+ * {@link org.jboss.as.controller.ResourceDefinition} for the striped-bean-instance-pool resource.
+ * A striped pool is configured exactly like a strict-max pool, and provides the same pool config capability,
+ * so that it can be referenced anywhere a strict-max pool can.
+ */
+public class StripedPoolResourceDefinition extends SimpleResourceDefinition {
+
+    private static final StripedPoolAdd ADD_HANDLER = new StripedPoolAdd(StrictMaxPoolResourceDefinition.ATTRIBUTES);
+    public static final StripedPoolResourceDefinition INSTANCE = new StripedPoolResourceDefinition();
+
+    private StripedPoolResourceDefinition() {
+        super(new SimpleResourceDefinition.Parameters(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL_PATH, EJB3Extension.getResourceDescriptionResolver(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL))
+                .setAddHandler(ADD_HANDLER)
+                .setRemoveHandler(new ServiceRemoveStepHandler(null, ADD_HANDLER, StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY))
+                .setAddRestartLevel(OperationEntry.Flag.RESTART_NONE)
+                .setRemoveRestartLevel(OperationEntry.Flag.RESTART_RESOURCE_SERVICES)
+                .setCapabilities(StrictMaxPoolResourceDefinition.STRICT_MAX_POOL_CONFIG_CAPABILITY));
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        OperationStepHandler osh = new StrictMaxPoolWriteHandler(StrictMaxPoolResourceDefinition.ATTRIBUTES);
+        for (AttributeDefinition attr : StrictMaxPoolResourceDefinition.ATTRIBUTES) {
+            resourceRegistration.registerReadWriteAttribute(attr, null, osh);
+        }
+        resourceRegistration.registerReadOnlyAttribute(StrictMaxPoolResourceDefinition.DERIVED_SIZE, new StrictMaxPoolDerivedSizeReadHandler());
+    }
+}
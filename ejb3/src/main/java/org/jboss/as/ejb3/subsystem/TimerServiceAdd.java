@@ -22,18 +22,25 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import static java.security.AccessController.doPrivileged;
 import static org.jboss.as.ejb3.logging.EjbLogger.ROOT_LOGGER;
 
+import java.security.PrivilegedAction;
 import java.util.Timer;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 
 import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
+import org.jboss.as.controller.CapabilityServiceTarget;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.ejb3.deployment.processors.AroundTimeoutAnnotationParsingProcessor;
 import org.jboss.as.ejb3.deployment.processors.TimerServiceDeploymentProcessor;
 import org.jboss.as.ejb3.deployment.processors.annotation.TimerServiceAnnotationProcessor;
 import org.jboss.as.ejb3.deployment.processors.merging.TimerMethodMergingProcessor;
+import org.jboss.as.ejb3.timerservice.scheduler.TimerTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.scheduler.TimingWheelTimeoutScheduler;
+import org.jboss.as.ejb3.timerservice.spi.TimeoutScheduler;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
 import org.jboss.as.server.deployment.Phase;
@@ -43,6 +50,8 @@ import org.jboss.msc.service.ServiceName;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
+import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
 
 /**
  * Adds the timer service
@@ -62,6 +71,7 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
 
         final String defaultDataStore = TimerServiceResourceDefinition.DEFAULT_DATA_STORE.resolveModelAttribute(context, model).asString();
         final String threadPoolName = TimerServiceResourceDefinition.THREAD_POOL_NAME.resolveModelAttribute(context, model).asString();
+        final ModelNode tickDuration = TimerServiceResourceDefinition.TICK_DURATION.resolveModelAttribute(context, model);
 
         final ServiceName threadPoolServiceName = context.getCapabilityServiceName(TimerServiceResourceDefinition.THREAD_POOL_CAPABILITY_NAME, threadPoolName, Executor.class);
 
@@ -76,7 +86,17 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             }
         }, OperationContext.Stage.RUNTIME);
 
-        context.getCapabilityServiceTarget().addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, new TimerValueService()).install();
+        final CapabilityServiceTarget target = context.getCapabilityServiceTarget();
+        target.addCapability(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY, new TimerValueService()).install();
+
+        if (tickDuration.isDefined()) {
+            target.addCapability(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY, new TimingWheelValueService(tickDuration.asLong())).install();
+        } else {
+            final TimerTimeoutSchedulerValueService schedulerService = new TimerTimeoutSchedulerValueService();
+            target.addCapability(TimerServiceResourceDefinition.TIMEOUT_SCHEDULER_CAPABILITY, schedulerService)
+                    .addCapabilityRequirement(TimerServiceResourceDefinition.TIMER_SERVICE_CAPABILITY_NAME, Timer.class, schedulerService.timer)
+                    .install();
+        }
     }
 
     private static final class TimerValueService implements Service<Timer> {
@@ -99,4 +119,63 @@ public class TimerServiceAdd extends AbstractBoottimeAddStepHandler {
             return timer;
         }
     }
+
+    /**
+     * Schedules timeouts using the shared {@link Timer}.
+     */
+    private static final class TimerTimeoutSchedulerValueService implements Service<TimeoutScheduler> {
+
+        private final InjectedValue<Timer> timer = new InjectedValue<>();
+        private TimeoutScheduler scheduler;
+
+        @Override
+        public synchronized void start(final StartContext context) throws StartException {
+            scheduler = new TimerTimeoutScheduler(timer.getValue());
+        }
+
+        @Override
+        public synchronized void stop(final StopContext context) {
+            scheduler = null;
+        }
+
+        @Override
+        public synchronized TimeoutScheduler getValue() throws IllegalStateException, IllegalArgumentException {
+            return scheduler;
+        }
+    }
+
+    /**
+     * Schedules timeouts using a hierarchical timing wheel.
+     */
+    private static final class TimingWheelValueService implements Service<TimeoutScheduler> {
+
+        private final long tickDuration;
+        private TimingWheelTimeoutScheduler scheduler;
+
+        TimingWheelValueService(long tickDuration) {
+            this.tickDuration = tickDuration;
+        }
+
+        @Override
+        public synchronized void start(final StartContext context) throws StartException {
+            ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                public JBossThreadFactory run() {
+                    return new JBossThreadFactory(new ThreadGroup("EJB timer service"), Boolean.TRUE, null, "%G - %t", null, null);
+                }
+            });
+            scheduler = new TimingWheelTimeoutScheduler(tickDuration, threadFactory);
+            scheduler.start();
+        }
+
+        @Override
+        public synchronized void stop(final StopContext context) {
+            scheduler.stop();
+            scheduler = null;
+        }
+
+        @Override
+        public synchronized TimeoutScheduler getValue() throws IllegalStateException, IllegalArgumentException {
+            return scheduler;
+        }
+    }
 }
@@ -22,21 +22,30 @@
 
 package org.jboss.as.ejb3.subsystem;
 
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.OperationEntry;
 import org.jboss.as.controller.services.path.PathManager;
+import org.jboss.as.ejb3.timerservice.spi.TimeoutScheduler;
 import org.jboss.as.threads.ThreadsServices;
+import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
 
 import java.util.concurrent.ExecutorService;
+import java.util.function.ToLongFunction;
 
 /**
  * {@link org.jboss.as.controller.ResourceDefinition} for the timer-service resource.
@@ -54,6 +63,10 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
     public static final RuntimeCapability<Void> TIMER_SERVICE_CAPABILITY =
             RuntimeCapability.Builder.of(TIMER_SERVICE_CAPABILITY_NAME, java.util.Timer.class).build();
 
+    public static final String TIMEOUT_SCHEDULER_CAPABILITY_NAME = "org.wildfly.ejb3.timer-service.timeout-scheduler";
+    public static final RuntimeCapability<Void> TIMEOUT_SCHEDULER_CAPABILITY =
+            RuntimeCapability.Builder.of(TIMEOUT_SCHEDULER_CAPABILITY_NAME, TimeoutScheduler.class).build();
+
     static final SimpleAttributeDefinition THREAD_POOL_NAME =
             new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.THREAD_POOL_NAME, ModelType.STRING, false)
                     .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
@@ -68,7 +81,31 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                     .setCapabilityReference(DATASTORE_CAPABILITY_NAME, TIMER_SERVICE_CAPABILITY)
                     .build();
 
-    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE };
+    static final SimpleAttributeDefinition TICK_DURATION =
+            new SimpleAttributeDefinitionBuilder(EJB3SubsystemModel.TICK_DURATION, ModelType.LONG, true)
+                    .setAllowExpression(true)
+                    .setValidator(new LongRangeValidator(1, Integer.MAX_VALUE, true, true))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .build();
+
+    static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[] { THREAD_POOL_NAME, DEFAULT_DATA_STORE, TICK_DURATION };
+
+    static final SimpleAttributeDefinition SCHEDULED_TIMEOUT_COUNT = createMetric("scheduled-timeout-count", MeasurementUnit.NONE, AttributeAccess.Flag.COUNTER_METRIC);
+    static final SimpleAttributeDefinition PENDING_TIMEOUT_COUNT = createMetric("pending-timeout-count", MeasurementUnit.NONE);
+    static final SimpleAttributeDefinition FIRED_TIMEOUT_COUNT = createMetric("fired-timeout-count", MeasurementUnit.NONE, AttributeAccess.Flag.COUNTER_METRIC);
+    static final SimpleAttributeDefinition LATE_TIMEOUT_COUNT = createMetric("late-timeout-count", MeasurementUnit.NONE, AttributeAccess.Flag.COUNTER_METRIC);
+    static final SimpleAttributeDefinition AVERAGE_FIRING_LAG = createMetric("average-firing-lag", MeasurementUnit.MILLISECONDS);
+    static final SimpleAttributeDefinition MAX_FIRING_LAG = createMetric("max-firing-lag", MeasurementUnit.MILLISECONDS);
+
+    private static SimpleAttributeDefinition createMetric(String name, MeasurementUnit unit, AttributeAccess.Flag... flags) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO_LONG)
+                .setMeasurementUnit(unit)
+                .setFlags(flags)
+                .setStorageRuntime()
+                .build();
+    }
 
     private final PathManager pathManager;
 
@@ -78,7 +115,7 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
                 .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE)
                 .setAddRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
                 .setRemoveRestartLevel(OperationEntry.Flag.RESTART_ALL_SERVICES)
-                .setCapabilities(TIMER_SERVICE_CAPABILITY));
+                .setCapabilities(TIMER_SERVICE_CAPABILITY, TIMEOUT_SCHEDULER_CAPABILITY));
         this.pathManager = pathManager;
     }
 
@@ -87,6 +124,14 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         for (AttributeDefinition attr : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(attr, null, new ReloadRequiredWriteAttributeHandler(attr));
         }
+        if (resourceRegistration.getProcessType().isServer()) {
+            resourceRegistration.registerMetric(SCHEDULED_TIMEOUT_COUNT, new TimeoutSchedulerMetricHandler(TimeoutScheduler::getScheduledCount));
+            resourceRegistration.registerMetric(PENDING_TIMEOUT_COUNT, new TimeoutSchedulerMetricHandler(TimeoutScheduler::getPendingCount));
+            resourceRegistration.registerMetric(FIRED_TIMEOUT_COUNT, new TimeoutSchedulerMetricHandler(TimeoutScheduler::getFiredCount));
+            resourceRegistration.registerMetric(LATE_TIMEOUT_COUNT, new TimeoutSchedulerMetricHandler(TimeoutScheduler::getLateCount));
+            resourceRegistration.registerMetric(AVERAGE_FIRING_LAG, new TimeoutSchedulerMetricHandler(TimeoutScheduler::getAverageLag));
+            resourceRegistration.registerMetric(MAX_FIRING_LAG, new TimeoutSchedulerMetricHandler(TimeoutScheduler::getMaxLag));
+        }
     }
 
     @Override
@@ -95,4 +140,20 @@ public class TimerServiceResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerSubModel(DatabaseDataStoreResourceDefinition.INSTANCE);
     }
 
+    private static class TimeoutSchedulerMetricHandler extends AbstractRuntimeOnlyHandler {
+        private final ToLongFunction<TimeoutScheduler> metric;
+
+        TimeoutSchedulerMetricHandler(ToLongFunction<TimeoutScheduler> metric) {
+            this.metric = metric;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(context.getCapabilityServiceName(TIMEOUT_SCHEDULER_CAPABILITY_NAME, TimeoutScheduler.class));
+            if (controller != null && controller.getState() == ServiceController.State.UP) {
+                context.getResult().set(this.metric.applyAsLong((TimeoutScheduler) controller.getValue()));
+            }
+        }
+    }
+
 }
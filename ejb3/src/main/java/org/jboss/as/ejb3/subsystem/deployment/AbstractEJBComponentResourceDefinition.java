@@ -23,6 +23,7 @@
 package org.jboss.as.ejb3.subsystem.deployment;
 
 import java.util.Map;
+import java.util.function.ToLongFunction;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ObjectMapAttributeDefinition;
@@ -33,13 +34,18 @@ import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.StringListAttributeDefinition;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.ejb3.cache.Cache;
+import org.jboss.as.ejb3.cache.simple.SimpleCache;
 import org.jboss.as.ejb3.component.EJBComponent;
 import org.jboss.as.ejb3.component.invocationmetrics.InvocationMetrics;
 import org.jboss.as.ejb3.component.stateful.StatefulSessionComponent;
+import org.jboss.as.ejb3.pool.Pool;
+import org.jboss.as.ejb3.pool.striped.StripedPool;
 import org.jboss.as.ejb3.subsystem.EJB3Extension;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -104,9 +110,19 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC)
             .build();
 
+    // Latency percentiles, in milliseconds, of all invocations since the component started
+
+    private static final AttributeDefinition EXECUTION_TIME_P50 = createPercentileMetric("execution-time-p50");
+    private static final AttributeDefinition EXECUTION_TIME_P99 = createPercentileMetric("execution-time-p99");
+    private static final AttributeDefinition EXECUTION_TIME_P999 = createPercentileMetric("execution-time-p999");
+    private static final AttributeDefinition WAIT_TIME_P50 = createPercentileMetric("wait-time-p50");
+    private static final AttributeDefinition WAIT_TIME_P99 = createPercentileMetric("wait-time-p99");
+    private static final AttributeDefinition WAIT_TIME_P999 = createPercentileMetric("wait-time-p999");
+
     private static final AttributeDefinition METHODS = ObjectMapAttributeDefinition.Builder.of(
             "methods",
-            ObjectTypeAttributeDefinition.Builder.of("complex", EXECUTION_TIME, INVOCATIONS, WAIT_TIME)
+            ObjectTypeAttributeDefinition.Builder.of("complex", EXECUTION_TIME, INVOCATIONS, WAIT_TIME,
+                    EXECUTION_TIME_P50, EXECUTION_TIME_P99, EXECUTION_TIME_P999, WAIT_TIME_P50, WAIT_TIME_P99, WAIT_TIME_P999)
             .build())
             .setRequired(false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME)
@@ -155,6 +171,22 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
     public static final SimpleAttributeDefinition POOL_MAX_SIZE = new SimpleAttributeDefinitionBuilder("pool-max-size", ModelType.INT, false)
             .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME).build();
 
+    // Striped pool statistics, undefined for other pool types
+
+    private static final AttributeDefinition POOL_HIT_COUNT = new SimpleAttributeDefinitionBuilder("pool-hit-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    private static final AttributeDefinition POOL_STEAL_COUNT = new SimpleAttributeDefinitionBuilder("pool-steal-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    private static final AttributeDefinition POOL_MISS_COUNT = new SimpleAttributeDefinitionBuilder("pool-miss-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+
+    // Bounded simple cache statistics, undefined for other cache types
+
+    private static final AttributeDefinition PASSIVATION_COUNT = new SimpleAttributeDefinitionBuilder("passivation-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+    private static final AttributeDefinition ACTIVATION_COUNT = new SimpleAttributeDefinitionBuilder("activation-count", ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.COUNTER_METRIC).build();
+
     final EJBComponentType componentType;
 
     public AbstractEJBComponentResourceDefinition(final EJBComponentType componentType) {
@@ -191,6 +223,33 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
             resourceRegistration.registerReadOnlyAttribute(POOL_REMOVE_COUNT, handler);
             resourceRegistration.registerReadOnlyAttribute(POOL_CURRENT_SIZE, handler);
             resourceRegistration.registerReadWriteAttribute(POOL_MAX_SIZE, handler, handler);
+            resourceRegistration.registerMetric(POOL_HIT_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    final Pool<?> pool = componentType.getPool(component);
+                    if (pool instanceof StripedPool) {
+                        context.getResult().set(((StripedPool<?>) pool).getHitCount());
+                    }
+                }
+            });
+            resourceRegistration.registerMetric(POOL_STEAL_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    final Pool<?> pool = componentType.getPool(component);
+                    if (pool instanceof StripedPool) {
+                        context.getResult().set(((StripedPool<?>) pool).getStealCount());
+                    }
+                }
+            });
+            resourceRegistration.registerMetric(POOL_MISS_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    final Pool<?> pool = componentType.getPool(component);
+                    if (pool instanceof StripedPool) {
+                        context.getResult().set(((StripedPool<?>) pool).getMissCount());
+                    }
+                }
+            });
         }
 
         if (componentType.equals(EJBComponentType.STATEFUL)) {
@@ -212,6 +271,24 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     context.getResult().set(((StatefulSessionComponent) component).getCache().getTotalSize());
                 }
             });
+            resourceRegistration.registerMetric(PASSIVATION_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    final Cache<?, ?> cache = ((StatefulSessionComponent) component).getCache();
+                    if (cache instanceof SimpleCache) {
+                        context.getResult().set(((SimpleCache<?, ?>) cache).getPassivations());
+                    }
+                }
+            });
+            resourceRegistration.registerMetric(ACTIVATION_COUNT, new AbstractRuntimeMetricsHandler() {
+                @Override
+                protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                    final Cache<?, ?> cache = ((StatefulSessionComponent) component).getCache();
+                    if (cache instanceof SimpleCache) {
+                        context.getResult().set(((SimpleCache<?, ?>) cache).getActivations());
+                    }
+                }
+            });
         }
 
         resourceRegistration.registerMetric(EXECUTION_TIME, new AbstractRuntimeMetricsHandler() {
@@ -238,6 +315,12 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                 context.getResult().set(component.getInvocationMetrics().getWaitTime());
             }
         });
+        registerPercentileMetric(resourceRegistration, EXECUTION_TIME_P50, metrics -> metrics.getExecutionTimePercentile(50));
+        registerPercentileMetric(resourceRegistration, EXECUTION_TIME_P99, metrics -> metrics.getExecutionTimePercentile(99));
+        registerPercentileMetric(resourceRegistration, EXECUTION_TIME_P999, metrics -> metrics.getExecutionTimePercentile(99.9));
+        registerPercentileMetric(resourceRegistration, WAIT_TIME_P50, metrics -> metrics.getWaitTimePercentile(50));
+        registerPercentileMetric(resourceRegistration, WAIT_TIME_P99, metrics -> metrics.getWaitTimePercentile(99));
+        registerPercentileMetric(resourceRegistration, WAIT_TIME_P999, metrics -> metrics.getWaitTimePercentile(99.9));
         resourceRegistration.registerMetric(METHODS, new AbstractRuntimeMetricsHandler() {
             @Override
             protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
@@ -248,12 +331,35 @@ public abstract class AbstractEJBComponentResourceDefinition extends SimpleResou
                     result.get("execution-time").set(values.getExecutionTime());
                     result.get("invocations").set(values.getInvocations());
                     result.get("wait-time").set(values.getWaitTime());
+                    result.get(EXECUTION_TIME_P50.getName()).set(values.getExecutionTimePercentile(50));
+                    result.get(EXECUTION_TIME_P99.getName()).set(values.getExecutionTimePercentile(99));
+                    result.get(EXECUTION_TIME_P999.getName()).set(values.getExecutionTimePercentile(99.9));
+                    result.get(WAIT_TIME_P50.getName()).set(values.getWaitTimePercentile(50));
+                    result.get(WAIT_TIME_P99.getName()).set(values.getWaitTimePercentile(99));
+                    result.get(WAIT_TIME_P999.getName()).set(values.getWaitTimePercentile(99.9));
                     context.getResult().get(entry.getKey()).set(result);
                 }
             }
         });
     }
 
+    private static AttributeDefinition createPercentileMetric(final String name) {
+        return new SimpleAttributeDefinitionBuilder(name, ModelType.LONG)
+                .setUndefinedMetricValue(ModelNode.ZERO)
+                .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                .setFlags(AttributeAccess.Flag.STORAGE_RUNTIME, AttributeAccess.Flag.GAUGE_METRIC)
+                .build();
+    }
+
+    private static void registerPercentileMetric(final ManagementResourceRegistration resourceRegistration, final AttributeDefinition attribute, final ToLongFunction<InvocationMetrics> percentile) {
+        resourceRegistration.registerMetric(attribute, new AbstractRuntimeMetricsHandler() {
+            @Override
+            protected void executeReadMetricStep(final OperationContext context, final ModelNode operation, final EJBComponent component) throws OperationFailedException {
+                context.getResult().set(percentile.applyAsLong(component.getInvocationMetrics()));
+            }
+        });
+    }
+
     /* (non-Javadoc)
      * @see org.jboss.as.controller.SimpleResourceDefinition#registerChildren(org.jboss.as.controller.registry.ManagementResourceRegistration)
      */
@@ -47,6 +47,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -58,9 +59,11 @@ import java.util.regex.Pattern;
 import javax.sql.DataSource;
 import javax.transaction.HeuristicMixedException;
 import javax.transaction.HeuristicRollbackException;
+import javax.transaction.InvalidTransactionException;
 import javax.transaction.NotSupportedException;
 import javax.transaction.RollbackException;
 import javax.transaction.SystemException;
+import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
@@ -119,6 +122,10 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private final int refreshInterval;
     /** Flag whether this instance should execute persistent timers*/
     private final boolean allowExecution;
+    /** Flag whether a refresh should only load the timers changed since the previous refresh*/
+    private boolean incrementalRefresh;
+    /** Timers with a version greater than this one are loaded by the next incremental refresh, initially all timers*/
+    private volatile long refreshVersion;
     private volatile ManagedReference managedReference;
     private volatile DataSource dataSource;
     private volatile Properties sql;
@@ -134,17 +141,38 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private static final String LOAD_TIMER = "load-timer";
     private static final String DELETE_TIMER = "delete-timer";
     private static final String UPDATE_RUNNING = "update-running";
+    private static final String ADD_VERSION_COLUMN = "add-version-column";
+    private static final String CREATE_VERSIONED_TIMER = "create-versioned-timer";
+    private static final String UPDATE_VERSIONED_TIMER = "update-versioned-timer";
+    private static final String UPDATE_VERSIONED_RUNNING = "update-versioned-running";
+    private static final String LOAD_CHANGED_TIMERS = "load-changed-timers";
+    private static final String CREATE_VERSION_TABLE = "create-version-table";
+    private static final String LOAD_MAX_VERSION = "load-max-version";
+    private static final String INIT_VERSION = "init-version";
+    private static final String LOAD_VERSION = "load-version";
+    private static final String INCREMENT_VERSION = "increment-version";
+    /** Names of the tables and columns created by the SQL commands, used to check for their existence*/
+    private static final String TIMER_TABLE = "JBOSS_EJB_TIMER";
+    private static final String VERSION_TABLE = "JBOSS_EJB_TIMER_VERSION";
+    private static final String VERSION_COLUMN = "VERSION";
+    /** Every this many refreshes, an incremental refresh is replaced by a full one, which also detects removed timers*/
+    private static final int FULL_REFRESH_RATIO = 10;
     /** The format for scheduler start and end date*/
     private static final String SCHEDULER_DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
     /** Pattern to pickout MSSQL */
     private static final Pattern MSSQL_PATTERN = Pattern.compile("(sqlserver|microsoft|mssql)");
 
     public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution) {
+        this(database, partition, nodeName, refreshInterval, allowExecution, false);
+    }
+
+    public DatabaseTimerPersistence(final String database, String partition, String nodeName, int refreshInterval, boolean allowExecution, boolean incrementalRefresh) {
         this.database = database;
         this.partition = partition;
         this.nodeName = nodeName;
         this.refreshInterval = refreshInterval;
         this.allowExecution = allowExecution;
+        this.incrementalRefresh = incrementalRefresh;
     }
 
     @Override
@@ -168,6 +196,10 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         extractDialects();
         investigateDialect();
         checkDatabase();
+        if (incrementalRefresh) {
+            checkVersionColumn();
+        }
+        refreshVersion = -1L;
         refreshTask = new RefreshTask();
         if (refreshInterval > 0) {
             timerInjectedValue.getValue().schedule(refreshTask, refreshInterval, refreshInterval);
@@ -314,6 +346,179 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Checks whether the timer table has a version column and whether the version table contains the counter of this partition,
+     * as required for incremental refreshes, and creates them if necessary.
+     */
+    private void checkVersionColumn() {
+        Connection connection = null;
+        Statement statement = null;
+        try {
+            connection = dataSource.getConnection();
+            if (!exists(connection.getMetaData(), TIMER_TABLE, VERSION_COLUMN)) {
+                statement = connection.createStatement();
+                statement.executeUpdate(sql(ADD_VERSION_COLUMN));
+            }
+        } catch (SQLException e) {
+            EjbLogger.EJB3_TIMER_LOGGER.couldNotAddVersionColumn(e);
+            incrementalRefresh = false;
+        } finally {
+            safeClose(statement);
+            safeClose(connection);
+        }
+        if (incrementalRefresh) {
+            checkVersionTable();
+        }
+    }
+
+    /**
+     * Creates the version table, if necessary, and the version counter of this partition, if it does not exist yet.
+     * The counter starts at the greatest version of the timers of the partition, so that it remains monotonic
+     * across a restart.
+     */
+    private void checkVersionTable() {
+        Connection connection = null;
+        Statement statement = null;
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            connection = dataSource.getConnection();
+            if (!exists(connection.getMetaData(), VERSION_TABLE, null)) {
+                statement = connection.createStatement();
+                statement.executeUpdate(sql(CREATE_VERSION_TABLE));
+            } else if (loadVersion(connection) >= 0) {
+                return;
+            }
+            preparedStatement = connection.prepareStatement(sql(LOAD_MAX_VERSION));
+            preparedStatement.setString(1, partition);
+            resultSet = preparedStatement.executeQuery();
+            final long version = resultSet.next() ? resultSet.getLong(1) : 0L;
+            safeClose(resultSet);
+            resultSet = null;
+            safeClose(preparedStatement);
+            preparedStatement = connection.prepareStatement(sql(INIT_VERSION));
+            preparedStatement.setString(1, partition);
+            preparedStatement.setLong(2, version);
+            try {
+                preparedStatement.executeUpdate();
+            } catch (SQLException e) {
+                // another node might have created the counter concurrently
+                if (loadVersion(connection) < 0) {
+                    throw e;
+                }
+            }
+        } catch (SQLException e) {
+            EjbLogger.EJB3_TIMER_LOGGER.couldNotAddVersionColumn(e);
+            incrementalRefresh = false;
+        } finally {
+            safeClose(resultSet);
+            safeClose(preparedStatement);
+            safeClose(statement);
+            safeClose(connection);
+        }
+    }
+
+    /**
+     * Returns the current value of the version counter of this partition.
+     *
+     * @return the version, or -1 if the partition has no version counter
+     */
+    private long loadVersion(final Connection connection) throws SQLException {
+        PreparedStatement statement = null;
+        ResultSet resultSet = null;
+        try {
+            statement = connection.prepareStatement(sql(LOAD_VERSION));
+            statement.setString(1, partition);
+            resultSet = statement.executeQuery();
+            return resultSet.next() ? resultSet.getLong(1) : -1L;
+        } finally {
+            safeClose(resultSet);
+            safeClose(statement);
+        }
+    }
+
+    /**
+     * Allocates the next version of this partition, by incrementing its version counter within a short transaction of its own.
+     * Any transaction associated with the caller is suspended meanwhile, so that the counter row is not locked until the caller's
+     * transaction completes, and writers do not serialize on it. Consequently, versions are not necessarily committed in order,
+     * which {@link RefreshTask} compensates for by loading the timers changed since its penultimate refresh.
+     *
+     * @return a new version
+     */
+    private long nextVersion() throws SQLException {
+        final TransactionManager tm = ContextTransactionManager.getInstance();
+        final Transaction suspended;
+        try {
+            suspended = tm.suspend();
+        } catch (SystemException e) {
+            throw new SQLException(e);
+        }
+        Connection connection = null;
+        PreparedStatement statement = null;
+        boolean committed = false;
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            statement = connection.prepareStatement(sql(INCREMENT_VERSION));
+            statement.setString(1, partition);
+            statement.executeUpdate();
+            final long version = loadVersion(connection);
+            connection.commit();
+            committed = true;
+            return version;
+        } finally {
+            safeClose(statement);
+            if (connection != null) {
+                try {
+                    if (!committed) {
+                        connection.rollback();
+                    }
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.tracef(e, "Rollback of version counter update failed");
+                }
+            }
+            safeClose(connection);
+            if (suspended != null) {
+                try {
+                    tm.resume(suspended);
+                } catch (InvalidTransactionException | SystemException e) {
+                    throw new SQLException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the specified table, or the specified column of that table, exists, according to the meta data of the database.
+     *
+     * @param column a column name, or null, to only check for the table
+     */
+    private static boolean exists(final DatabaseMetaData metaData, final String table, final String column) throws SQLException {
+        final String tablePattern = pattern(metaData, table);
+        ResultSet resultSet = null;
+        try {
+            resultSet = (column != null) ? metaData.getColumns(null, null, tablePattern, pattern(metaData, column)) : metaData.getTables(null, null, tablePattern, null);
+            return resultSet.next();
+        } finally {
+            safeClose(resultSet);
+        }
+    }
+
+    /**
+     * Converts the specified unquoted identifier to the case in which the database stores it, escaped for use as a meta data search pattern.
+     */
+    private static String pattern(final DatabaseMetaData metaData, final String identifier) throws SQLException {
+        String name = identifier;
+        if (metaData.storesLowerCaseIdentifiers()) {
+            name = name.toLowerCase(Locale.ENGLISH);
+        } else if (metaData.storesUpperCaseIdentifiers()) {
+            name = name.toUpperCase(Locale.ENGLISH);
+        }
+        final String escape = metaData.getSearchStringEscape();
+        return (escape != null) ? name.replace("_", escape + "_") : name;
+    }
+
     private String sql(final String key) {
         if (database != null) {
             String result = sql.getProperty(key + "." + database);
@@ -333,7 +538,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             }
         }
 
-        String createTimer = sql(CREATE_TIMER);
+        String createTimer = sql(incrementalRefresh ? CREATE_VERSIONED_TIMER : CREATE_TIMER);
         Connection connection = null;
         PreparedStatement statement = null;
         try {
@@ -343,6 +548,9 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             connection = dataSource.getConnection();
             statement = connection.prepareStatement(createTimer);
             statementParameters(timerEntity, statement);
+            if (incrementalRefresh) {
+                statement.setLong(27, nextVersion());
+            }
             statement.execute();
         } catch (SQLException e) {
             throw new RuntimeException(e);
@@ -362,9 +570,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                     timerEntity.getState() == TimerState.EXPIRED) {
                 String deleteTimer = sql(DELETE_TIMER);
                 statement = connection.prepareStatement(deleteTimer);
-                statement.setString(1, timerEntity.getTimedObjectId());
-                statement.setString(2, timerEntity.getId());
-                statement.setString(3, partition);
+                deleteStatementParameters(timerEntity.getTimedObjectId(), timerEntity.getId(), statement);
                 statement.execute();
                 synchronized (this) {
                     knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
@@ -373,17 +579,9 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 synchronized (this) {
                     knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
                 }
-                String updateTimer = sql(UPDATE_TIMER);
+                String updateTimer = sql(incrementalRefresh ? UPDATE_VERSIONED_TIMER : UPDATE_TIMER);
                 statement = connection.prepareStatement(updateTimer);
-                statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
-                statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
-                statement.setString(3, timerEntity.getState().name());
-                setNodeName(timerEntity.getState(), statement, 4);
-                // WHERE CLAUSE
-                statement.setString(5, timerEntity.getTimedObjectId());
-                statement.setString(6, timerEntity.getId());
-                statement.setString(7, partition);
-                statement.setString(8, nodeName);   // only persist if this node or empty
+                updateStatementParameters(timerEntity, statement, incrementalRefresh ? nextVersion() : -1L);
                 statement.execute();
             }
         } catch (SQLException e) {
@@ -394,6 +592,60 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         }
     }
 
+    /**
+     * Persists the given timers, like {@link #persistTimer(TimerImpl)}, but using a single connection and JDBC batches.
+     */
+    private void persistTimers(final List<TimerImpl> timerEntities) {
+        if (timerEntities.isEmpty()) {
+            return;
+        }
+        Connection connection = null;
+        PreparedStatement deleteStatement = null;
+        PreparedStatement updateStatement = null;
+        try {
+            connection = dataSource.getConnection();
+            long version = -1L;
+            for (TimerImpl timerEntity : timerEntities) {
+                if (timerEntity.getState() == TimerState.CANCELED ||
+                        timerEntity.getState() == TimerState.EXPIRED) {
+                    if (deleteStatement == null) {
+                        deleteStatement = connection.prepareStatement(sql(DELETE_TIMER));
+                    }
+                    deleteStatementParameters(timerEntity.getTimedObjectId(), timerEntity.getId(), deleteStatement);
+                    deleteStatement.addBatch();
+                    synchronized (this) {
+                        knownTimerIds.get(timerEntity.getTimedObjectId()).remove(timerEntity.getId());
+                    }
+                } else {
+                    synchronized (this) {
+                        knownTimerIds.get(timerEntity.getTimedObjectId()).add(timerEntity.getId());
+                    }
+                    if (updateStatement == null) {
+                        updateStatement = connection.prepareStatement(sql(incrementalRefresh ? UPDATE_VERSIONED_TIMER : UPDATE_TIMER));
+                        if (incrementalRefresh) {
+                            // all updates of this batch share a version
+                            version = nextVersion();
+                        }
+                    }
+                    updateStatementParameters(timerEntity, updateStatement, version);
+                    updateStatement.addBatch();
+                }
+            }
+            if (deleteStatement != null) {
+                deleteStatement.executeBatch();
+            }
+            if (updateStatement != null) {
+                updateStatement.executeBatch();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        } finally {
+            safeClose(deleteStatement);
+            safeClose(updateStatement);
+            safeClose(connection);
+        }
+    }
+
     @Override
     public boolean shouldRun(TimerImpl timer, @Deprecated TransactionManager ignored) {
         final ContextTransactionManager tm = ContextTransactionManager.getInstance();
@@ -401,7 +653,7 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             //timers never execute on this node
             return false;
         }
-        String loadTimer = sql(UPDATE_RUNNING);
+        String loadTimer = sql(incrementalRefresh ? UPDATE_VERSIONED_RUNNING : UPDATE_RUNNING);
         Connection connection = null;
         PreparedStatement statement = null;
         try {
@@ -411,13 +663,18 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                 statement = connection.prepareStatement(loadTimer);
                 statement.setString(1, TimerState.IN_TIMEOUT.name());
                 setNodeName(TimerState.IN_TIMEOUT, statement, 2);
-                statement.setString(3, timer.getId());
-                statement.setString(4, TimerState.IN_TIMEOUT.name());
-                statement.setString(5, TimerState.RETRY_TIMEOUT.name());
+                int where = 3;
+                if (incrementalRefresh) {
+                    statement.setLong(where++, nextVersion());
+                }
+                // WHERE CLAUSE
+                statement.setString(where, timer.getId());
+                statement.setString(where + 1, TimerState.IN_TIMEOUT.name());
+                statement.setString(where + 2, TimerState.RETRY_TIMEOUT.name());
                 if (timer.getNextExpiration() == null) {
-                    statement.setTimestamp(6, null);
+                    statement.setTimestamp(where + 3, null);
                 } else {
-                    statement.setTimestamp(6, timestamp(timer.getNextExpiration()));
+                    statement.setTimestamp(where + 3, timestamp(timer.getNextExpiration()));
                 }
             } catch (SQLException e) {
                 try {
@@ -480,24 +737,30 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
             statement.setString(2, partition);
             resultSet = statement.executeQuery();
             final List<Holder> timers = new ArrayList<>();
+            final List<String> invalidTimerIds = new ArrayList<>();
             while (resultSet.next()) {
                 try {
                     final Holder timerImpl = timerFromResult(resultSet, timerService);
                     if (timerImpl != null) {
                         timers.add(timerImpl);
                     } else {
-                        final String deleteTimer = sql(DELETE_TIMER);
-                        try (PreparedStatement deleteStatement = connection.prepareStatement(deleteTimer)) {
-                            deleteStatement.setString(1, resultSet.getString(2));
-                            deleteStatement.setString(2, resultSet.getString(1));
-                            deleteStatement.setString(3, partition);
-                            deleteStatement.execute();
-                        }
+                        invalidTimerIds.add(resultSet.getString(1));
                     }
                 } catch (Exception e) {
                     EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                 }
             }
+            if (!invalidTimerIds.isEmpty()) {
+                final String deleteTimer = sql(DELETE_TIMER);
+                try (PreparedStatement deleteStatement = connection.prepareStatement(deleteTimer)) {
+                    for (String timerId : invalidTimerIds) {
+                        deleteStatementParameters(timedObjectId, timerId, deleteStatement);
+                        deleteStatement.addBatch();
+                    }
+                    deleteStatement.executeBatch();
+                }
+            }
+            final List<TimerImpl> resetTimers = new ArrayList<>();
             synchronized (this) {
                 // ids should be always be not null
                 Set<String> ids = knownTimerIds.get(timedObjectId);
@@ -511,14 +774,14 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
                         EjbLogger.DEPLOYMENT_LOGGER.loadedPersistentTimerInTimeout(ret.getId(), ret.getTimedObjectId());
                         if(ret.getNextExpiration() == null) {
                             ret.setTimerState(TimerState.CANCELED);
-                            persistTimer(ret);
                         } else {
                             ret.setTimerState(TimerState.ACTIVE);
-                            persistTimer(ret);
                         }
+                        resetTimers.add(ret);
                     }
                 }
             }
+            persistTimers(resetTimers);
             List<TimerImpl> ret = new ArrayList<>();
             for(Holder timer : timers) {
                 ret.add(timer.timer);
@@ -678,6 +941,28 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
         setNodeName(timerEntity.getState(), statement, 26);
     }
 
+    private void updateStatementParameters(final TimerImpl timerEntity, final PreparedStatement statement, final long version) throws SQLException {
+        statement.setTimestamp(1, timestamp(timerEntity.getNextExpiration()));
+        statement.setTimestamp(2, timestamp(timerEntity.getPreviousRun()));
+        statement.setString(3, timerEntity.getState().name());
+        setNodeName(timerEntity.getState(), statement, 4);
+        int where = 5;
+        if (incrementalRefresh) {
+            statement.setLong(where++, version);
+        }
+        // WHERE CLAUSE
+        statement.setString(where, timerEntity.getTimedObjectId());
+        statement.setString(where + 1, timerEntity.getId());
+        statement.setString(where + 2, partition);
+        statement.setString(where + 3, nodeName);   // only persist if this node or empty
+    }
+
+    private void deleteStatementParameters(final String timedObjectId, final String timerId, final PreparedStatement statement) throws SQLException {
+        statement.setString(1, timedObjectId);
+        statement.setString(2, timerId);
+        statement.setString(3, partition);
+    }
+
     private String serialize(final Serializable serializable) {
         if (serializable == null) {
             return null;
@@ -817,93 +1102,192 @@ public class DatabaseTimerPersistence implements TimerPersistence, Service<Datab
     private class RefreshTask extends TimerTask {
 
         private volatile AtomicBoolean running = new AtomicBoolean();
+        // only accessed while running
+        private int refreshes;
+        // the version counter read by the previous successful refresh, only accessed while running
+        private long previousVersion = -1L;
 
         @Override
         public void run() {
             if (running.compareAndSet(false, true)) {
                 try {
-                    Set<String> timedObjects;
+                    // Read the version counter before loading any timers, so that timers changed during this refresh are loaded again by the next one
+                    final long version = incrementalRefresh ? currentVersion() : -1L;
+                    final boolean refreshed;
+                    if (incrementalRefresh && (version >= 0) && (++refreshes % FULL_REFRESH_RATIO != 0)) {
+                        refreshed = refreshChangedTimers();
+                    } else {
+                        refreshAllTimers();
+                        refreshed = true;
+                    }
+                    if (refreshed && (version >= 0)) {
+                        // Versions are allocated before, but committed after, the write they version
+                        // Thus the next refresh loads the timers changed since the penultimate refresh, so as not to miss writes in flight during the previous one
+                        // Writes that take longer than a refresh interval to commit are only loaded by the next full refresh
+                        refreshVersion = previousVersion;
+                        previousVersion = version;
+                    }
+                } finally {
+                    running.set(false);
+                }
+            }
+
+        }
+
+        /**
+         * Returns the current value of the version counter of this partition.
+         *
+         * @return the version, or -1 if it could not be read
+         */
+        private long currentVersion() {
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                return loadVersion(connection);
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshChangedTimers(partition, refreshVersion, e);
+                return -1L;
+            } finally {
+                safeClose(connection);
+            }
+        }
+
+        /**
+         * Loads all timers of all timed objects, and adds, syncs or removes the timers that changed.
+         */
+        private void refreshAllTimers() {
+            Set<String> timedObjects;
+            synchronized (DatabaseTimerPersistence.this) {
+                timedObjects = new HashSet<>(knownTimerIds.keySet());
+            }
+            for (String timedObjectId : timedObjects) {
+                TimerChangeListener listener = changeListeners.get(timedObjectId);
+                if (listener == null) {
+                    continue;
+                }
+                final Set<String> existing;
+                synchronized (DatabaseTimerPersistence.this) {
+                    existing = new HashSet<>(knownTimerIds.get(timedObjectId));
+                }
+                String loadTimer = sql(LOAD_ALL_TIMERS);
+                Connection connection = null;
+                PreparedStatement statement = null;
+                ResultSet resultSet = null;
+                try {
+                    connection = dataSource.getConnection();
+                    statement = connection.prepareStatement(loadTimer);
+                    statement.setString(1, timedObjectId);
+                    statement.setString(2, partition);
+                    resultSet = statement.executeQuery();
+                    final TimerServiceImpl timerService = listener.getTimerService();
+                    while (resultSet.next()) {
+                        try {
+                            String id = resultSet.getString(1);
+                            refreshTimer(timedObjectId, listener, resultSet, existing.remove(id));
+                        } catch (Exception e) {
+                            EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
+                        }
+                    }
+
                     synchronized (DatabaseTimerPersistence.this) {
-                        timedObjects = new HashSet<>(knownTimerIds.keySet());
+                        Set<String> timers = knownTimerIds.get(timedObjectId);
+                        for (String timer : existing) {
+                            TimerImpl timer1 = timerService.getTimer(timer);
+                            if (timer1 != null && timer1.getState() != TimerState.CREATED) {
+                                timers.remove(timer);
+                                listener.timerRemoved(timer);
+                            }
+                        }
                     }
-                    for (String timedObjectId : timedObjects) {
-                        TimerChangeListener listener = changeListeners.get(timedObjectId);
+                } catch (SQLException e) {
+                    EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
+                } finally {
+                    safeClose(resultSet);
+                    safeClose(statement);
+                    safeClose(connection);
+                }
+            }
+        }
+
+        /**
+         * Loads the timers of the partition with a version greater than that read by the previous refresh with a single query, and adds or
+         * syncs them. Timers without a version, e.g. written before the version column existed, are only loaded by the initial
+         * and by full refreshes. Removed timers are only detected by a full refresh, however, their timeouts will not run,
+         * as the corresponding row can no longer be claimed by {@link DatabaseTimerPersistence#shouldRun(TimerImpl, TransactionManager)}.
+         *
+         * @return true, if the changed timers were loaded
+         */
+        private boolean refreshChangedTimers() {
+            final long version = refreshVersion;
+            Connection connection = null;
+            PreparedStatement statement = null;
+            ResultSet resultSet = null;
+            try {
+                connection = dataSource.getConnection();
+                statement = connection.prepareStatement(sql(LOAD_CHANGED_TIMERS));
+                statement.setString(1, partition);
+                statement.setLong(2, version);
+                resultSet = statement.executeQuery();
+                while (resultSet.next()) {
+                    try {
+                        final String timedObjectId = resultSet.getString(2);
+                        final TimerChangeListener listener = changeListeners.get(timedObjectId);
                         if (listener == null) {
                             continue;
                         }
-                        final Set<String> existing;
+                        final boolean known;
                         synchronized (DatabaseTimerPersistence.this) {
-                            existing = new HashSet<>(knownTimerIds.get(timedObjectId));
-                        }
-                        String loadTimer = sql(LOAD_ALL_TIMERS);
-                        Connection connection = null;
-                        PreparedStatement statement = null;
-                        ResultSet resultSet = null;
-                        try {
-                            connection = dataSource.getConnection();
-                            statement = connection.prepareStatement(loadTimer);
-                            statement.setString(1, timedObjectId);
-                            statement.setString(2, partition);
-                            resultSet = statement.executeQuery();
-                            final TimerServiceImpl timerService = listener.getTimerService();
-                            while (resultSet.next()) {
-                                try {
-                                    String id = resultSet.getString(1);
-                                    if (!existing.remove(id)) {
-                                        final Holder holder = timerFromResult(resultSet, timerService);
-                                        if(holder != null) {
-                                            synchronized (DatabaseTimerPersistence.this) {
-                                                knownTimerIds.get(timedObjectId).add(id);
-                                                listener.timerAdded(holder.timer);
-                                            }
-                                        }
-                                    } else {
-                                        final Holder holder = timerFromResult(resultSet, listener.getTimerService());
-                                        if (holder != null) {
-                                            TimerImpl oldTimer = listener.getTimerService().getTimer(id);
-                                            // if it is already in memory but it is not in sync we have a problem
-                                            // remove and add -> the probable cause is db glitch
-                                            EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
-                                            boolean validDBTimer = valid.contains(holder.timer.getState());
-                                            boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
-                                            // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
-                                            if (validMemoryTimer && validDBTimer) {
-                                                synchronized (DatabaseTimerPersistence.this) {
-                                                    knownTimerIds.get(timedObjectId).add(holder.timer.getId());
-                                                    listener.timerSync(oldTimer, holder.timer);
-                                                }
-
-                                            }
-                                        }
-                                    }
-                                } catch (Exception e) {
-                                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
-                                }
-                            }
-
-                            synchronized (DatabaseTimerPersistence.this) {
-                                Set<String> timers = knownTimerIds.get(timedObjectId);
-                                for (String timer : existing) {
-                                    TimerImpl timer1 = timerService.getTimer(timer);
-                                    if (timer1 != null && timer1.getState() != TimerState.CREATED) {
-                                        timers.remove(timer);
-                                        listener.timerRemoved(timer);
-                                    }
-                                }
+                            final Set<String> ids = knownTimerIds.get(timedObjectId);
+                            if (ids == null) {
+                                continue;
                             }
-                        } catch (SQLException e) {
-                            EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshTimers(timedObjectId);
-                        } finally {
-                            safeClose(resultSet);
-                            safeClose(statement);
-                            safeClose(connection);
+                            known = ids.contains(resultSet.getString(1));
                         }
+                        refreshTimer(timedObjectId, listener, resultSet, known);
+                    } catch (Exception e) {
+                        EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(resultSet.getString(2), resultSet.getString(1), e);
                     }
-                } finally {
-                    running.set(false);
                 }
+                return true;
+            } catch (SQLException e) {
+                EjbLogger.EJB3_TIMER_LOGGER.failedToRefreshChangedTimers(partition, version, e);
+                return false;
+            } finally {
+                safeClose(resultSet);
+                safeClose(statement);
+                safeClose(connection);
             }
+        }
 
+        /**
+         * Adds the timer of the current row, if it is not known yet, or syncs it with the timer in memory otherwise.
+         */
+        private void refreshTimer(final String timedObjectId, final TimerChangeListener listener, final ResultSet resultSet, final boolean known) throws SQLException {
+            final String id = resultSet.getString(1);
+            final Holder holder = timerFromResult(resultSet, listener.getTimerService());
+            if (holder == null) {
+                return;
+            }
+            if (!known) {
+                synchronized (DatabaseTimerPersistence.this) {
+                    knownTimerIds.get(timedObjectId).add(id);
+                    listener.timerAdded(holder.timer);
+                }
+            } else {
+                TimerImpl oldTimer = listener.getTimerService().getTimer(id);
+                // if it is already in memory but it is not in sync we have a problem
+                // remove and add -> the probable cause is db glitch
+                EnumSet<TimerState> valid = EnumSet.of(TimerState.IN_TIMEOUT, TimerState.RETRY_TIMEOUT, TimerState.CREATED, TimerState.ACTIVE);
+                boolean validDBTimer = valid.contains(holder.timer.getState());
+                boolean validMemoryTimer = oldTimer != null && !valid.contains(oldTimer.getState());
+                // if timers memory - db are in non intersect subsets of valid/invalid states. we put them in sync
+                if (validMemoryTimer && validDBTimer) {
+                    synchronized (DatabaseTimerPersistence.this) {
+                        knownTimerIds.get(timedObjectId).add(holder.timer.getId());
+                        listener.timerSync(oldTimer, holder.timer);
+                    }
+                }
+            }
         }
     }
 
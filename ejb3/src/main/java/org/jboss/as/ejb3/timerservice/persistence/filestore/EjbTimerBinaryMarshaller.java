@@ -0,0 +1,228 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.timerservice.CalendarTimer;
+import org.jboss.as.ejb3.timerservice.TimerImpl;
+import org.jboss.as.ejb3.timerservice.TimerServiceImpl;
+import org.jboss.as.ejb3.timerservice.TimerState;
+import org.jboss.as.ejb3.timerservice.persistence.TimeoutMethod;
+import org.jboss.marshalling.ByteBufferInput;
+import org.jboss.marshalling.Marshaller;
+import org.jboss.marshalling.MarshallerFactory;
+import org.jboss.marshalling.MarshallingConfiguration;
+import org.jboss.marshalling.OutputStreamByteOutput;
+import org.jboss.marshalling.Unmarshaller;
+
+/**
+ * Compact binary form of a persistent EJB timer, as stored in a {@link TimerJournal}.
+ * <p/>
+ * This holds the same state as written by {@link EjbTimerXmlPersister}, except that the timer info and primary key are
+ * stored as raw rather than base64 encoded bytes.
+ */
+public class EjbTimerBinaryMarshaller {
+
+    private static final byte TIMER = 0;
+    private static final byte CALENDAR_TIMER = 1;
+
+    private final MarshallerFactory factory;
+    private final MarshallingConfiguration configuration;
+
+    public EjbTimerBinaryMarshaller(MarshallerFactory factory, MarshallingConfiguration configuration) {
+        this.factory = factory;
+        this.configuration = configuration;
+    }
+
+    public void writeTimer(DataOutput output, TimerImpl timer) throws IOException {
+        // Marshal these first, so that a failure does not leave a partially written timer behind
+        byte[] info = this.marshal(timer.getTimerInfo());
+        byte[] primaryKey = this.marshal(timer.getPrimaryKey());
+
+        boolean calendar = timer instanceof CalendarTimer;
+        output.writeByte(calendar ? CALENDAR_TIMER : TIMER);
+        output.writeUTF(timer.getTimedObjectId());
+        output.writeUTF(timer.getId());
+        writeDate(output, timer.getInitialExpiration());
+        writeDate(output, timer.getNextExpiration());
+        output.writeUTF(timer.getState().name());
+        writeBytes(output, info);
+        writeBytes(output, primaryKey);
+        if (calendar) {
+            CalendarTimer calendarTimer = (CalendarTimer) timer;
+            ScheduleExpression schedule = calendarTimer.getScheduleExpression();
+            writeString(output, schedule.getSecond());
+            writeString(output, schedule.getMinute());
+            writeString(output, schedule.getHour());
+            writeString(output, schedule.getDayOfWeek());
+            writeString(output, schedule.getDayOfMonth());
+            writeString(output, schedule.getMonth());
+            writeString(output, schedule.getYear());
+            writeDate(output, schedule.getStart());
+            writeDate(output, schedule.getEnd());
+            writeString(output, schedule.getTimezone());
+            output.writeBoolean(calendarTimer.isAutoTimer());
+            if (calendarTimer.isAutoTimer()) {
+                Method method = calendarTimer.getTimeoutMethod();
+                output.writeUTF(method.getDeclaringClass().getName());
+                output.writeUTF(method.getName());
+                Class<?>[] parameterTypes = method.getParameterTypes();
+                output.writeByte(parameterTypes.length);
+                for (Class<?> parameterType : parameterTypes) {
+                    output.writeUTF(parameterType.getName());
+                }
+            }
+        } else {
+            output.writeLong(timer.getInterval());
+        }
+    }
+
+    /**
+     * Reads a timer written by {@link #writeTimer(DataOutput, TimerImpl)}.
+     *
+     * @return the timer, or null if its timeout method no longer exists
+     */
+    public TimerImpl readTimer(DataInput input, TimerServiceImpl timerService, ClassLoader classLoader) throws IOException, ClassNotFoundException {
+        boolean calendar = input.readByte() == CALENDAR_TIMER;
+        TimerImpl.Builder builder = calendar ? CalendarTimer.builder() : TimerImpl.builder();
+        builder.setPersistent(true);
+        builder.setTimedObjectId(input.readUTF());
+        builder.setId(input.readUTF());
+        builder.setInitialDate(readDate(input));
+        builder.setNextDate(readDate(input));
+        builder.setTimerState(TimerState.valueOf(input.readUTF()));
+        byte[] info = readBytes(input);
+        byte[] primaryKey = readBytes(input);
+        if (calendar) {
+            CalendarTimer.Builder calendarBuilder = (CalendarTimer.Builder) builder;
+            calendarBuilder.setScheduleExprSecond(readString(input))
+                    .setScheduleExprMinute(readString(input))
+                    .setScheduleExprHour(readString(input))
+                    .setScheduleExprDayOfWeek(readString(input))
+                    .setScheduleExprDayOfMonth(readString(input))
+                    .setScheduleExprMonth(readString(input))
+                    .setScheduleExprYear(readString(input))
+                    .setScheduleExprStartDate(readDate(input))
+                    .setScheduleExprEndDate(readDate(input))
+                    .setScheduleExprTimezone(readString(input));
+            boolean autoTimer = input.readBoolean();
+            calendarBuilder.setAutoTimer(autoTimer);
+            if (autoTimer) {
+                String declaringClass = input.readUTF();
+                String methodName = input.readUTF();
+                String[] parameterTypes = new String[input.readByte()];
+                for (int i = 0; i < parameterTypes.length; ++i) {
+                    parameterTypes[i] = input.readUTF();
+                }
+                Method method = CalendarTimer.getTimeoutMethod(new TimeoutMethod(declaringClass, methodName, parameterTypes), classLoader);
+                if (method == null) {
+                    EjbLogger.EJB3_TIMER_LOGGER.timerReinstatementFailed(builder.getTimedObjectId(), builder.getId(), null);
+                    return null;
+                }
+                calendarBuilder.setTimeoutMethod(method);
+            }
+        } else {
+            builder.setRepeatInterval(input.readLong());
+        }
+        if (info != null) {
+            builder.setInfo((Serializable) this.unmarshal(info));
+        }
+        if (primaryKey != null) {
+            builder.setPrimaryKey(this.unmarshal(primaryKey));
+        }
+        return builder.build(timerService);
+    }
+
+    private byte[] marshal(Object object) throws IOException {
+        if (object == null) {
+            return null;
+        }
+        Marshaller marshaller = this.factory.createMarshaller(this.configuration);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.start(new OutputStreamByteOutput(out));
+        marshaller.writeObject(object);
+        marshaller.finish();
+        marshaller.flush();
+        return out.toByteArray();
+    }
+
+    private Object unmarshal(byte[] data) throws IOException, ClassNotFoundException {
+        Unmarshaller unmarshaller = this.factory.createUnmarshaller(this.configuration);
+        unmarshaller.start(new ByteBufferInput(ByteBuffer.wrap(data)));
+        try {
+            return unmarshaller.readObject();
+        } finally {
+            unmarshaller.close();
+        }
+    }
+
+    private static void writeDate(DataOutput output, Date date) throws IOException {
+        output.writeBoolean(date != null);
+        if (date != null) {
+            output.writeLong(date.getTime());
+        }
+    }
+
+    private static Date readDate(DataInput input) throws IOException {
+        return input.readBoolean() ? new Date(input.readLong()) : null;
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeBytes(DataOutput output, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            output.writeInt(-1);
+        } else {
+            output.writeInt(bytes.length);
+            output.write(bytes);
+        }
+    }
+
+    private static byte[] readBytes(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
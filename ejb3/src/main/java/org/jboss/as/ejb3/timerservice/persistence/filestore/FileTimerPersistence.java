@@ -51,7 +51,11 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.XMLStreamWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -62,6 +66,7 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -75,6 +80,10 @@ import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
 /**
  * File based persistent timer store.
  * <p/>
+ * By default, each timer is stored in its own XML file. Alternatively, the timers of each timed object are stored in a
+ * {@link TimerJournal}, such that persisting a timer merely appends a record to a file, and restoring the timers of a
+ * timed object replays its journal in a single pass.
+ * <p/>
  * TODO: this is fairly hackey at the moment, it should be registered as an XA resource to support proper XA semantics
  *
  * @author Stuart Douglas
@@ -85,8 +94,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
 
     private final boolean createIfNotExists;
+    private final boolean journal;
     private MarshallerFactory factory;
     private MarshallingConfiguration configuration;
+    private EjbTimerBinaryMarshaller binaryMarshaller;
     private final InjectedValue<TransactionSynchronizationRegistry> transactionSynchronizationRegistry = new InjectedValue<TransactionSynchronizationRegistry>();
     private final InjectedValue<ModuleLoader> moduleLoader = new InjectedValue<ModuleLoader>();
     private final InjectedValue<PathManager> pathManager = new InjectedValue<PathManager>();
@@ -97,13 +108,19 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private final ConcurrentMap<String, Lock> locks = new ConcurrentHashMap<String, Lock>();
     private final ConcurrentMap<String, String> directories = new ConcurrentHashMap<String, String>();
+    private final ConcurrentMap<String, JournaledTimers> journals = new ConcurrentHashMap<String, JournaledTimers>();
 
     public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo) {
+        this(createIfNotExists, path, pathRelativeTo, false);
+    }
+
+    public FileTimerPersistence(final boolean createIfNotExists, final String path, final String pathRelativeTo, final boolean journal) {
         final SecurityManager sm = System.getSecurityManager();
         if (sm != null) {
             sm.checkPermission(FILE_PERMISSION);
         }
         this.createIfNotExists = createIfNotExists;
+        this.journal = journal;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
     }
@@ -130,6 +147,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
         this.configuration = configuration;
         this.factory = factory;
+        this.binaryMarshaller = new EjbTimerBinaryMarshaller(factory, configuration);
         if (pathRelativeTo != null) {
             callbackHandle = pathManager.getValue().registerCallback(pathRelativeTo, PathManager.ReloadServerCallback.create(), PathManager.Event.UPDATED, PathManager.Event.REMOVED);
         }
@@ -150,6 +168,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     @Override
     public void stop(final StopContext context) {
+        for (JournaledTimers journaled : journals.values()) {
+            safeClose(journaled.journal);
+        }
+        journals.clear();
         locks.clear();
         directories.clear();
         if (callbackHandle != null) {
@@ -157,6 +179,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         }
         factory = null;
         configuration = null;
+        binaryMarshaller = null;
     }
 
     @Override
@@ -201,6 +224,7 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
 
     private void persistTimer(final TimerImpl timer, boolean newTimer) {
         final Lock lock = getLock(timer.getTimedObjectId());
+        long position = 0L;
         try {
             final int status = ContextTransactionManager.getInstance().getStatus();
             if (status == Status.STATUS_MARKED_ROLLBACK || status == Status.STATUS_ROLLEDBACK ||
@@ -217,21 +241,25 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
                 if (timer.getState() == TimerState.CANCELED ||
                         timer.getState() == TimerState.EXPIRED) {
                     map.remove(timer.getId());
-                    writeFile(timer);
+                    position = writeFile(timer);
                 } else if (newTimer || map.containsKey(timer.getId())) {
                     //if it is not a new timer and is not in the map then it has
                     //been removed by another thread.
                     map.put(timer.getId(), timer);
-                    writeFile(timer);
+                    position = writeFile(timer);
                 }
             } else {
 
                 final String key = timerTransactionKey(timer);
-                Object existing = transactionSynchronizationRegistry.getValue().getResource(key);
-                //check is there is already a persist sync for this timer
-                if (existing == null) {
-                    transactionSynchronizationRegistry.getValue().registerInterposedSynchronization(new PersistTransactionSynchronization(lock, key, newTimer));
+                final String synchronizationKey = timerSynchronizationKey(timer.getTimedObjectId());
+                PersistTransactionSynchronization synchronization = (PersistTransactionSynchronization) transactionSynchronizationRegistry.getValue().getResource(synchronizationKey);
+                //check is there is already a persist sync for the timers of this object
+                if (synchronization == null) {
+                    synchronization = new PersistTransactionSynchronization(lock, timer.getTimedObjectId());
+                    transactionSynchronizationRegistry.getValue().registerInterposedSynchronization(synchronization);
+                    transactionSynchronizationRegistry.getValue().putResource(synchronizationKey, synchronization);
                 }
+                synchronization.addTimer(key, newTimer);
                 //update the most recent version of the timer to be persisted
                 transactionSynchronizationRegistry.getValue().putResource(key, timer);
             }
@@ -240,12 +268,18 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
         } finally {
             lock.unlock();
         }
+        // Outside of the lock, so that concurrent writers can share a single sync
+        syncJournal(timer.getTimedObjectId(), position);
     }
 
     private String timerTransactionKey(final TimerImpl TimerImpl) {
         return "org.jboss.as.ejb3.timerTransactionKey." + TimerImpl.getId();
     }
 
+    private String timerSynchronizationKey(final String timedObjectId) {
+        return "org.jboss.as.ejb3.timerSynchronizationKey." + timedObjectId;
+    }
+
     @Override
     public void timerUndeployed(final String timedObjectId) {
         final Lock lock = getLock(timedObjectId);
@@ -253,6 +287,10 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
             lock.lock();
             locks.remove(timedObjectId);
             directories.remove(timedObjectId);
+            final JournaledTimers journaled = journals.remove(timedObjectId);
+            if (journaled != null) {
+                safeClose(journaled.journal);
+            }
         } finally {
             lock.unlock();
         }
@@ -331,16 +369,69 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
      * @return The timers for the object
      */
     private Map<String, TimerImpl> getTimers(final String timedObjectId, final TimerServiceImpl timerService) {
+        if (journal) {
+            return getJournal(timedObjectId, timerService).timers;
+        }
         return loadTimersFromFile(timedObjectId, timerService);
     }
 
+    /**
+     * Gets the journal of the given timed object, replaying it if necessary. Should be called under lock
+     */
+    private JournaledTimers getJournal(final String timedObjectId, final TimerServiceImpl timerService) {
+        JournaledTimers journaled = journals.get(timedObjectId);
+        if (journaled == null) {
+            journaled = openJournal(timedObjectId, timerService);
+            journals.put(timedObjectId, journaled);
+        }
+        return journaled;
+    }
+
+    private JournaledTimers openJournal(final String timedObjectId, final TimerServiceImpl timerService) {
+        final TimerJournal journal = new TimerJournal(new File(getDirectory(timedObjectId)), TimerJournal.DEFAULT_SEGMENT_SIZE);
+        final JournaledTimers journaled = new JournaledTimers(journal);
+        final ClassLoader classLoader = timerService.getTimedObjectInvoker().getValue().getClassLoader();
+        try {
+            for (Map.Entry<String, byte[]> entry : journal.replay().entrySet()) {
+                try {
+                    final TimerImpl timer = binaryMarshaller.readTimer(new DataInputStream(new ByteArrayInputStream(entry.getValue())), timerService, classLoader);
+                    if (timer != null) {
+                        journaled.timers.put(entry.getKey(), timer);
+                        continue;
+                    }
+                } catch (Exception e) {
+                    EJB3_TIMER_LOGGER.timerReinstatementFailed(timedObjectId, entry.getKey(), e);
+                }
+                // retain the timer in the journal, as the XML store does with files it could not parse
+                journaled.unreadable.put(entry.getKey(), entry.getValue());
+            }
+            //move any timers persisted as XML files into the journal
+            final Map<String, TimerImpl> timers = loadTimersFromFile(timedObjectId, timerService);
+            if (!timers.isEmpty()) {
+                long position = 0L;
+                for (TimerImpl timer : timers.values()) {
+                    journaled.timers.put(timer.getId(), timer);
+                    position = appendToJournal(journaled, timer);
+                }
+                journal.sync(position);
+                for (TimerImpl timer : timers.values()) {
+                    fileName(timedObjectId, timer.getId()).delete();
+                }
+            }
+        } catch (IOException e) {
+            safeClose(journal);
+            throw new RuntimeException(e);
+        }
+        return journaled;
+    }
+
     private Map<String, TimerImpl> loadTimersFromFile(String timedObjectId, TimerServiceImpl timerService) {
         Map<String, TimerImpl> timers = new HashMap<>();
         String directory = getDirectory(timedObjectId);
 
         timers.putAll(LegacyFileStore.loadTimersFromFile(timedObjectId, timerService, directory, factory, configuration));
         for(Map.Entry<String, TimerImpl> entry : timers.entrySet()) {
-            writeFile(entry.getValue()); //write legacy timers into the new format
+            writeXmlFile(entry.getValue()); //write legacy timers into the new format
             //the legacy code handling code will write a marker file, to make sure that the old timers will not be loaded on next restart.
         }
         final File file = new File(directory);
@@ -428,62 +519,158 @@ public class FileTimerPersistence implements TimerPersistence, Service<FileTimer
     }
 
 
+    /**
+     * Persists the timers of a timed object that were changed within a transaction, once it commits.
+     */
     private final class PersistTransactionSynchronization implements Synchronization {
 
-        private final String transactionKey;
         private final Lock lock;
-        private final boolean newTimer;
-        private volatile TimerImpl timer;
+        private final String timedObjectId;
+        // transaction keys of the changed timers, indicating whether the timer is new
+        private final Map<String, Boolean> transactionKeys = new LinkedHashMap<String, Boolean>();
+        private volatile Map<TimerImpl, Boolean> timers;
 
-        public PersistTransactionSynchronization(final Lock lock, final String transactionKey, final boolean newTimer) {
+        public PersistTransactionSynchronization(final Lock lock, final String timedObjectId) {
             this.lock = lock;
-            this.transactionKey = transactionKey;
-            this.newTimer = newTimer;
+            this.timedObjectId = timedObjectId;
+        }
+
+        void addTimer(final String transactionKey, final boolean newTimer) {
+            transactionKeys.putIfAbsent(transactionKey, newTimer);
         }
 
         @Override
         public void beforeCompletion() {
-            //get the latest version of the entity
-            timer = (TimerImpl) transactionSynchronizationRegistry.getValue().getResource(transactionKey);
-            if (timer == null) {
-                return;
+            //get the latest version of the entities
+            final Map<TimerImpl, Boolean> timers = new LinkedHashMap<TimerImpl, Boolean>();
+            for (Map.Entry<String, Boolean> entry : transactionKeys.entrySet()) {
+                final TimerImpl timer = (TimerImpl) transactionSynchronizationRegistry.getValue().getResource(entry.getKey());
+                if (timer != null) {
+                    timers.put(timer, entry.getValue());
+                }
             }
+            this.timers = timers;
         }
 
         @Override
         public void afterCompletion(final int status) {
             doPrivileged(new PrivilegedAction<Void>() {
                 public Void run() {
-                    if (timer == null) {
+                    final Map<TimerImpl, Boolean> timers = PersistTransactionSynchronization.this.timers;
+                    if (timers == null || timers.isEmpty() || status != Status.STATUS_COMMITTED) {
                         return null;
                     }
+                    long position = 0L;
                     try {
                         lock.lock();
-                        if (status == Status.STATUS_COMMITTED) {
-                            final Map<String, TimerImpl> map = getTimers(timer.getTimedObjectId(), timer.getTimerService());
+                        Map<String, TimerImpl> map = null;
+                        for (Map.Entry<TimerImpl, Boolean> entry : timers.entrySet()) {
+                            final TimerImpl timer = entry.getKey();
+                            if (map == null) {
+                                map = getTimers(timedObjectId, timer.getTimerService());
+                            }
                             if (timer.getState() == TimerState.CANCELED ||
                                     timer.getState() == TimerState.EXPIRED) {
                                 map.remove(timer.getId());
-                            } else {
-                                if (newTimer || map.containsKey(timer.getId())) {
-                                    //if an existing timer is not in the map it has been cancelled by another thread
-                                    map.put(timer.getId(), timer);
-                                }
+                                position = writeFile(timer);
+                            } else if (entry.getValue() || map.containsKey(timer.getId())) {
+                                //if an existing timer is not in the map it has been cancelled by another thread
+                                map.put(timer.getId(), timer);
+                                position = writeFile(timer);
                             }
-                            writeFile(timer);
                         }
                     } finally {
                         lock.unlock();
                     }
+                    //a single sync for all timers of this transaction, possibly shared with concurrent transactions
+                    syncJournal(timedObjectId, position);
                     return null;
                 }
             });
         }
+    }
 
+    /**
+     * Persists the given timer, either as an XML file or as a journal record. Should be called under lock
+     *
+     * @return the journal position to sync, if any
+     */
+    private long writeFile(TimerImpl timer) {
+        if (journal) {
+            return appendToJournal(getJournal(timer.getTimedObjectId(), timer.getTimerService()), timer);
+        }
+        writeXmlFile(timer);
+        return 0L;
+    }
 
+    private long appendToJournal(JournaledTimers journaled, TimerImpl timer) {
+        try {
+            final long position;
+            if (timer.getState() == TimerState.CANCELED ||
+                    timer.getState() == TimerState.EXPIRED) {
+                position = journaled.journal.remove(timer.getId());
+            } else {
+                final byte[] payload = marshalTimer(timer);
+                if (payload == null) {
+                    return 0L;
+                }
+                position = journaled.journal.put(timer.getId(), payload);
+            }
+            journaled.unreadable.remove(timer.getId());
+            if (journaled.journal.isCompactionRequired()) {
+                final Map<String, byte[]> snapshot = new LinkedHashMap<String, byte[]>(journaled.unreadable);
+                for (TimerImpl live : journaled.timers.values()) {
+                    final byte[] data = marshalTimer(live);
+                    if (data != null) {
+                        snapshot.put(live.getId(), data);
+                    }
+                }
+                journaled.journal.compact(snapshot);
+            }
+            return position;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private byte[] marshalTimer(TimerImpl timer) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+            binaryMarshaller.writeTimer(output, timer);
+            output.flush();
+            return bytes.toByteArray();
+        } catch (Exception e) {
+            EJB3_TIMER_LOGGER.failedToPersistTimer(timer, e);
+            return null;
+        }
+    }
+
+    private void syncJournal(final String timedObjectId, final long position) {
+        if (position > 0L) {
+            final JournaledTimers journaled = journals.get(timedObjectId);
+            //if the journal was closed in the meantime, it was synced on close
+            if (journaled != null) {
+                try {
+                    journaled.journal.sync(position);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+    }
+
+    private static final class JournaledTimers {
+        final TimerJournal journal;
+        final Map<String, TimerImpl> timers = new HashMap<String, TimerImpl>();
+        final Map<String, byte[]> unreadable = new HashMap<String, byte[]>();
+
+        JournaledTimers(final TimerJournal journal) {
+            this.journal = journal;
+        }
     }
 
-    private void writeFile(TimerImpl timer) {
+    private void writeXmlFile(TimerImpl timer) {
         final File file = fileName(timer.getTimedObjectId(), timer.getId());
 
         //if the timer is expired or cancelled delete the file
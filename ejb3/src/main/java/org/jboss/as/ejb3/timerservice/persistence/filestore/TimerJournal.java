@@ -0,0 +1,475 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.jboss.as.ejb3.logging.EjbLogger.EJB3_TIMER_LOGGER;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of the persistent state of the timers of a single timed object.
+ * <p/>
+ * The journal is a sequence of segment files, each holding a sequence of checksummed records that either put or remove
+ * the state of a timer. Once a segment exceeds the configured size, subsequent records are appended to a new segment.
+ * Once the journal is more than twice the size of its live records, it can be compacted, i.e. replaced by a single
+ * snapshot segment holding only the live records, to which subsequent records are then appended.
+ * <p/>
+ * Appending a record does not force it to disk. Instead, {@link #sync(long)} forces all records appended so far, such
+ * that threads concurrently syncing their records share a single force of the underlying file (i.e. group commit).
+ */
+public class TimerJournal implements Closeable {
+
+    public static final long DEFAULT_SEGMENT_SIZE = 4L * 1024L * 1024L;
+
+    static final String PREFIX = "timers-";
+    static final String SUFFIX = ".journal";
+
+    private static final int MAGIC = 0x454a424a;
+    private static final byte VERSION = 1;
+    private static final int SEGMENT_HEADER_SIZE = Integer.BYTES + 2;
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES * 2;
+
+    // Segment types
+    private static final byte LOG = 0;
+    private static final byte SNAPSHOT = 1;
+
+    // Record types
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte SNAPSHOT_END = 3;
+
+    private final File directory;
+    private final long segmentSize;
+
+    // Indexed segment files, oldest first
+    private final TreeMap<Long, File> segments = new TreeMap<>();
+    // Size of the most recent record of each live timer
+    private final Map<String, Integer> live = new HashMap<>();
+    private long liveBytes = 0L;
+    private long journalBytes = 0L;
+    private FileChannel channel;
+    private long segmentBytes;
+    // Total number of bytes ever appended to this journal
+    private long position = 0L;
+
+    private final Object syncLock = new Object();
+    private long synced = 0L;
+    private boolean syncing = false;
+
+    public TimerJournal(File directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Reads the records of this journal, in a single sequential pass, truncating any incomplete record left by a crash.
+     *
+     * @return the most recently put state of all live timers, indexed by timer id
+     */
+    public synchronized Map<String, byte[]> replay() throws IOException {
+        File[] files = this.directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    try {
+                        this.segments.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+                    } catch (NumberFormatException e) {
+                        // Not one of ours
+                    }
+                }
+            }
+        }
+        Map<String, byte[]> timers = new LinkedHashMap<>();
+        for (Map.Entry<Long, File> entry : new ArrayList<>(this.segments.entrySet())) {
+            File file = entry.getValue();
+            boolean last = entry.getKey().equals(this.segments.lastKey());
+            switch (this.replay(file, last, timers)) {
+                case SUPERSEDING: {
+                    // A complete snapshot supersedes all preceding segments
+                    for (File segment : this.segments.headMap(entry.getKey()).values()) {
+                        segment.delete();
+                    }
+                    this.segments.headMap(entry.getKey()).clear();
+                    break;
+                }
+                case INVALID: {
+                    // Segment was never fully created, or compaction did not complete
+                    file.delete();
+                    this.segments.remove(entry.getKey());
+                    break;
+                }
+                default: {
+                    break;
+                }
+            }
+        }
+        this.liveBytes = 0L;
+        for (int size : this.live.values()) {
+            this.liveBytes += size;
+        }
+        this.journalBytes = 0L;
+        for (File file : this.segments.values()) {
+            this.journalBytes += file.length();
+        }
+        return timers;
+    }
+
+    private enum ReplayResult {
+        APPLIED, SUPERSEDING, INVALID
+    }
+
+    /**
+     * Replays the records of a single segment.
+     */
+    private ReplayResult replay(File file, boolean last, Map<String, byte[]> timers) throws IOException {
+        long length = file.length();
+        long offset = 0L;
+        ReplayResult result = ReplayResult.APPLIED;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if ((length < SEGMENT_HEADER_SIZE) || (input.readInt() != MAGIC) || (input.readByte() != VERSION)) {
+                return ReplayResult.INVALID;
+            }
+            boolean snapshot = input.readByte() == SNAPSHOT;
+            offset = SEGMENT_HEADER_SIZE;
+            // Until a snapshot is complete, its records apply to the snapshot only
+            Map<String, byte[]> target = snapshot ? new LinkedHashMap<>() : timers;
+            Map<String, Integer> targetSizes = snapshot ? new HashMap<>() : this.live;
+            if (snapshot) {
+                result = ReplayResult.INVALID;
+            }
+            CRC32 crc = new CRC32();
+            while (length - offset >= RECORD_HEADER_SIZE) {
+                int size = input.readInt();
+                long checksum = input.readInt() & 0xffffffffL;
+                if ((size <= 0) || (size > length - offset - RECORD_HEADER_SIZE)) {
+                    break;
+                }
+                byte[] body = new byte[size];
+                input.readFully(body);
+                crc.reset();
+                crc.update(body, 0, size);
+                if (crc.getValue() != checksum) {
+                    break;
+                }
+                offset += RECORD_HEADER_SIZE + size;
+                DataInputStream record = new DataInputStream(new ByteArrayInputStream(body));
+                switch (record.readByte()) {
+                    case PUT: {
+                        String id = record.readUTF();
+                        byte[] payload = new byte[record.available()];
+                        record.readFully(payload);
+                        target.put(id, payload);
+                        targetSizes.put(id, RECORD_HEADER_SIZE + size);
+                        break;
+                    }
+                    case REMOVE: {
+                        String id = record.readUTF();
+                        target.remove(id);
+                        targetSizes.remove(id);
+                        break;
+                    }
+                    case SNAPSHOT_END: {
+                        timers.clear();
+                        timers.putAll(target);
+                        this.live.clear();
+                        this.live.putAll(targetSizes);
+                        // Subsequent records apply to the completed snapshot
+                        target = timers;
+                        targetSizes = this.live;
+                        result = ReplayResult.SUPERSEDING;
+                        break;
+                    }
+                    default: {
+                        // Ignore
+                    }
+                }
+            }
+        } catch (EOFException e) {
+            // Handled below
+        }
+        if ((offset < length) && (result != ReplayResult.INVALID)) {
+            this.discard(file, offset, last);
+        }
+        return result;
+    }
+
+    private void discard(File file, long offset, boolean last) throws IOException {
+        EJB3_TIMER_LOGGER.discardingTimerJournalRecords(file, offset);
+        if (last) {
+            // Truncate the incomplete record left by a crash, so that we can safely append to this segment
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(offset);
+            }
+        }
+    }
+
+    /**
+     * Appends a record of the current state of the specified timer.
+     *
+     * @return the position to {@link #sync(long)} to make this record durable
+     */
+    public synchronized long put(String id, byte[] payload) throws IOException {
+        int size = this.append(PUT, id, payload);
+        Integer previous = this.live.put(id, size);
+        this.liveBytes += size - ((previous != null) ? previous : 0);
+        return this.position;
+    }
+
+    /**
+     * Appends a record of the removal of the specified timer, if it was ever put.
+     *
+     * @return the position to {@link #sync(long)} to make this record durable
+     */
+    public synchronized long remove(String id) throws IOException {
+        Integer previous = this.live.remove(id);
+        if (previous != null) {
+            this.liveBytes -= previous;
+            this.append(REMOVE, id, null);
+        }
+        return this.position;
+    }
+
+    /**
+     * Indicates whether this journal is worth compacting, i.e. whether more than half of it is obsolete records.
+     */
+    public synchronized boolean isCompactionRequired() {
+        return (this.journalBytes > this.segmentSize) && (this.journalBytes > 2 * this.liveBytes);
+    }
+
+    /**
+     * Replaces all segments of this journal by a single snapshot of the specified live timers.
+     *
+     * @param timers the current state of all live timers, indexed by timer id
+     */
+    public synchronized void compact(Map<String, byte[]> timers) throws IOException {
+        File file = this.createSegment(SNAPSHOT);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        Map<String, Integer> live = new HashMap<>();
+        long bytes = 0L;
+        long liveBytes = 0L;
+        try {
+            bytes += this.write(channel, this.header(SNAPSHOT));
+            for (Map.Entry<String, byte[]> entry : timers.entrySet()) {
+                int size = this.write(channel, this.record(PUT, entry.getKey(), entry.getValue()));
+                live.put(entry.getKey(), size);
+                liveBytes += size;
+            }
+            bytes += liveBytes;
+            bytes += this.write(channel, this.record(SNAPSHOT_END, null, null));
+            channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            this.segments.remove(this.segments.lastKey()).delete();
+            throw e;
+        }
+        // The snapshot is now durable, so the segments it supersedes are no longer needed
+        this.closeSegment(false);
+        Map<Long, File> obsolete = this.segments.headMap(this.segments.lastKey());
+        for (File segment : obsolete.values()) {
+            segment.delete();
+        }
+        obsolete.clear();
+        this.channel = channel;
+        this.segmentBytes = bytes;
+        this.journalBytes = bytes;
+        this.position += bytes;
+        this.live.clear();
+        this.live.putAll(live);
+        this.liveBytes = liveBytes;
+        synchronized (this.syncLock) {
+            // The snapshot covers everything appended so far
+            this.synced = Math.max(this.synced, this.position);
+            this.syncLock.notifyAll();
+        }
+    }
+
+    /**
+     * Forces all records up to the specified position to disk, unless already done by a concurrent caller.
+     */
+    public void sync(long target) throws IOException {
+        boolean interrupted = false;
+        synchronized (this.syncLock) {
+            while (this.syncing && (this.synced < target)) {
+                try {
+                    this.syncLock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (this.synced >= target) {
+                return;
+            }
+            this.syncing = true;
+        }
+        long position = 0L;
+        try {
+            FileChannel channel;
+            synchronized (this) {
+                position = this.position;
+                channel = this.channel;
+            }
+            if (channel != null) {
+                try {
+                    channel.force(false);
+                } catch (ClosedChannelException e) {
+                    // Segments are forced before they are closed
+                }
+            }
+        } finally {
+            synchronized (this.syncLock) {
+                this.syncing = false;
+                this.synced = Math.max(this.synced, position);
+                this.syncLock.notifyAll();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.closeSegment(true);
+    }
+
+    private int append(byte type, String id, byte[] payload) throws IOException {
+        ByteBuffer record = this.record(type, id, payload);
+        if (this.channel == null) {
+            this.openSegment();
+        }
+        int size = this.write(this.channel, record);
+        this.segmentBytes += size;
+        this.journalBytes += size;
+        this.position += size;
+        if (this.segmentBytes >= this.segmentSize) {
+            this.closeSegment(true);
+        }
+        return size;
+    }
+
+    private void openSegment() throws IOException {
+        if (!this.segments.isEmpty()) {
+            File last = this.segments.lastEntry().getValue();
+            long length = last.length();
+            if (length < this.segmentSize) {
+                // Resume appending to the segment we last replayed
+                this.channel = FileChannel.open(last.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                this.segmentBytes = length;
+                return;
+            }
+        }
+        File file = this.createSegment(LOG);
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            int size = this.write(channel, this.header(LOG));
+            this.journalBytes += size;
+            this.position += size;
+            this.segmentBytes = size;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.channel = channel;
+    }
+
+    private File createSegment(byte type) throws IOException {
+        long index = this.segments.isEmpty() ? 0L : this.segments.lastKey() + 1L;
+        File file = new File(this.directory, String.format("%s%016d%s", PREFIX, index, SUFFIX));
+        if (!file.createNewFile()) {
+            throw new IOException(file.getAbsolutePath());
+        }
+        this.segments.put(index, file);
+        return file;
+    }
+
+    private void closeSegment(boolean force) throws IOException {
+        FileChannel channel = this.channel;
+        if (channel != null) {
+            this.channel = null;
+            try {
+                if (force) {
+                    channel.force(false);
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    private ByteBuffer header(byte type) {
+        ByteBuffer buffer = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        buffer.putInt(MAGIC).put(VERSION).put(type);
+        buffer.flip();
+        return buffer;
+    }
+
+    private ByteBuffer record(byte type, String id, byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(RECORD_HEADER_SIZE + 64 + ((payload != null) ? payload.length : 0));
+        DataOutputStream output = new DataOutputStream(bytes);
+        // Reserve space for the record header
+        output.writeLong(0L);
+        output.writeByte(type);
+        if (id != null) {
+            output.writeUTF(id);
+        }
+        if (payload != null) {
+            output.write(payload);
+        }
+        output.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        int size = buffer.limit() - RECORD_HEADER_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), RECORD_HEADER_SIZE, size);
+        buffer.putInt(0, size);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer;
+    }
+
+    private int write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        int size = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.schedule;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.chrono.IsoChronology;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfMonth;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.DayOfWeek;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Hour;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Minute;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Month;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Second;
+import org.jboss.as.ejb3.timerservice.schedule.attribute.Year;
+
+/**
+ * The attributes of a {@link javax.ejb.ScheduleExpression}, compiled into bit masks.
+ * <p>
+ * The next matching time is found by advancing the wall clock fields of the schedule's timezone, one field at a time,
+ * to the next set bit of the corresponding mask. Relative day-of-month values (e.g. "Last" or "2nd Fri") only depend
+ * on the length of the month and on the day of the week of its first day, so they are resolved once for each of the
+ * 28 possible combinations.
+ * </p>
+ */
+class ScheduleMatcher {
+
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int MIN_DAYS_IN_MONTH = 28;
+    private static final int[] MONTH_OFFSETS = { 0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4 };
+    private static final long ALL_HOURS = (1L << (Hour.MAX_HOUR + 1)) - 1;
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long DAYS_PER_ERA = 146097L;
+    // Days from 0000-03-01 to 1970-01-01
+    private static final long DAYS_0000_TO_1970 = 719468L;
+    // UTC offsets never differ by more than 36 hours, so a wall clock time further than this from an offset transition occurs exactly once
+    private static final long TRANSITION_MARGIN = 2L * SECONDS_PER_DAY;
+
+    static final long NO_MATCH = Long.MIN_VALUE;
+
+    private final long seconds;
+    private final long minutes;
+    private final long hours;
+    private final long months;
+    private final long daysOfMonth;
+    private final boolean dayOfMonthWildcard;
+    private final boolean dayOfWeekWildcard;
+    // Indexed by the day of the week (0 = Sunday) of the first day of the month
+    private final long[] daysOfWeek = new long[DAYS_IN_WEEK];
+    // Indexed by (length of month - 28) * 7 + day of the week of the first day of the month
+    private final long[] relativeDaysOfMonth;
+    // null if any year matches
+    private final BitSet years;
+    private final TimeZone timezone;
+    private final ZoneRules rules;
+    // The offset period of the timezone that contained the most recent search
+    private volatile OffsetPeriod period;
+
+    ScheduleMatcher(Second second, Minute minute, Hour hour, DayOfWeek dayOfWeek, DayOfMonth dayOfMonth, Month month, Year year, TimeZone timezone) {
+        this.seconds = toMask(second.toBitSet());
+        this.minutes = toMask(minute.toBitSet());
+        this.hours = toMask(hour.toBitSet());
+        this.months = toMask(month.toBitSet());
+        // Day 0 and negative days can only result from a wrapping range, and never match
+        this.daysOfMonth = toMask(dayOfMonth.toBitSet()) & ~1L;
+        this.dayOfMonthWildcard = dayOfMonth.isWildcard();
+        this.dayOfWeekWildcard = dayOfWeek.isWildcard();
+        long week = toMask(dayOfWeek.toBitSet());
+        for (int first = 0; first < DAYS_IN_WEEK; ++first) {
+            for (int day = 1; day <= DayOfMonth.MAX_DAY_OF_MONTH; ++day) {
+                if ((week & (1L << ((first + day - 1) % DAYS_IN_WEEK))) != 0) {
+                    this.daysOfWeek[first] |= 1L << day;
+                }
+            }
+        }
+        this.relativeDaysOfMonth = dayOfMonth.hasRelativeDayOfMonth() ? resolveRelativeDaysOfMonth(dayOfMonth) : null;
+        this.years = year.isWildcard() ? null : year.toBitSet();
+        this.timezone = timezone;
+        this.rules = timezone.toZoneId().getRules();
+        this.period = this.rules.isFixedOffset() ? new OffsetPeriod(Long.MIN_VALUE, Long.MAX_VALUE, this.rules.getOffset(Instant.EPOCH).getTotalSeconds()) : new OffsetPeriod(0L, 0L, 0);
+    }
+
+    /**
+     * Moves the passed calendar to the first time, at or after its current time, that matches the schedule.
+     * The millisecond component of the current time is retained.
+     *
+     * @param cal the calendar, in the timezone of the schedule
+     * @return false if the schedule has no further matches, in which case the calendar is left unchanged
+     * @see #next(long)
+     */
+    boolean next(Calendar cal) {
+        return this.next(cal.getTimeInMillis(), cal) != NO_MATCH;
+    }
+
+    /**
+     * Returns the first time, at or after the passed time, that matches the schedule.
+     * The millisecond component of the passed time is retained.
+     * <p>
+     * A time that falls into a daylight saving gap is shifted forward by the length of the gap. A time that occurs
+     * twice, because the clock is set back, matches once, unless the schedule matches every hour, in which case it
+     * also matches during the repeated period (WFLY-9537).
+     * </p>
+     * <p>
+     * Does not allocate, unless the passed time lies in a different offset period of the timezone than that of the
+     * previous invocation, or the match lies outside of that period or within two days of either of its ends.
+     * </p>
+     *
+     * @param time a number of milliseconds since the epoch
+     * @return a number of milliseconds since the epoch, or {@link #NO_MATCH} if the schedule has no further matches
+     */
+    long next(long time) {
+        return this.next(time, null);
+    }
+
+    private long next(long time, Calendar cal) {
+        int millis = (int) Math.floorMod(time, 1000L);
+        long from = Math.floorDiv(time, 1000L);
+        while (true) {
+            OffsetPeriod period = this.getOffsetPeriod(from);
+            int offset = period.offset;
+            long local = this.search(from + offset);
+            if (local == NO_MATCH) {
+                return NO_MATCH;
+            }
+            long match = local - offset;
+            if (period.isInterior(match)) {
+                return setTime(cal, (match * 1000L) + millis);
+            }
+            // The match lies near an offset transition
+            LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(local, 0, ZoneOffset.UTC);
+            ZoneOffsetTransition transition = this.rules.getTransition(localDateTime);
+            int matchOffset;
+            if (transition == null) {
+                matchOffset = this.rules.getOffset(localDateTime).getTotalSeconds();
+            } else if (transition.isGap()) {
+                // Keep the wall clock time, but with the offset from before the transition, as GregorianCalendar does
+                int dst = transition.getOffsetBefore().getTotalSeconds() - this.rules.getStandardOffset(transition.getInstant()).getTotalSeconds();
+                Calendar gapCal = (cal != null) ? cal : new GregorianCalendar(this.timezone);
+                gapCal.clear();
+                gapCal.set(localDateTime.getYear(), localDateTime.getMonthValue() - 1, localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(), localDateTime.getSecond());
+                gapCal.set(Calendar.MILLISECOND, millis);
+                gapCal.set(Calendar.DST_OFFSET, dst * 1000);
+                return gapCal.getTimeInMillis();
+            } else {
+                // The first occurrence, unless that was already passed
+                int before = transition.getOffsetBefore().getTotalSeconds();
+                matchOffset = (local - before >= from) ? before : transition.getOffsetAfter().getTotalSeconds();
+            }
+            match = local - matchOffset;
+            if ((this.hours == ALL_HOURS) && (matchOffset < offset)) {
+                // The clock was set back before the match, so search again from the start of the repeated period
+                ZoneOffsetTransition overlap = this.rules.nextTransition(Instant.ofEpochSecond(from));
+                if ((overlap != null) && overlap.isOverlap() && (overlap.toEpochSecond() <= match)) {
+                    from = overlap.toEpochSecond();
+                    continue;
+                }
+            }
+            return setTime(cal, (match * 1000L) + millis);
+        }
+    }
+
+    private static long setTime(Calendar cal, long time) {
+        if (cal != null) {
+            cal.setTimeInMillis(time);
+        }
+        return time;
+    }
+
+    private OffsetPeriod getOffsetPeriod(long second) {
+        OffsetPeriod period = this.period;
+        if (!period.contains(second)) {
+            Instant instant = Instant.ofEpochSecond(second);
+            ZoneOffsetTransition previous = this.rules.previousTransition(instant.plusSeconds(1));
+            ZoneOffsetTransition next = this.rules.nextTransition(instant);
+            period = new OffsetPeriod((previous != null) ? previous.toEpochSecond() : Long.MIN_VALUE, (next != null) ? next.toEpochSecond() : Long.MAX_VALUE, this.rules.getOffset(instant).getTotalSeconds());
+            this.period = period;
+        }
+        return period;
+    }
+
+    /**
+     * Returns the first wall clock time, at or after the passed time, that matches the schedule, or {@link #NO_MATCH} if none.
+     * Wall clock times are expressed as a number of seconds since 1970-01-01T00:00:00 in the timezone of the schedule.
+     */
+    private long search(long start) {
+        long startDay = Math.floorDiv(start, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(start, SECONDS_PER_DAY);
+        // Converts the epoch day to a proleptic Gregorian date, using eras of 400 years starting on March 1st
+        long shiftedDay = startDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(shiftedDay, DAYS_PER_ERA);
+        int dayOfEra = (int) (shiftedDay - era * DAYS_PER_ERA);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = (shiftedMonth < 10) ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = (int) (era * 400 + yearOfEra) + ((month <= 2) ? 1 : 0);
+        int hour = secondOfDay / 3600;
+        int minute = (secondOfDay / 60) % 60;
+        int second = secondOfDay % 60;
+        while (true) {
+            if (this.years != null) {
+                int nextYear = this.years.nextSetBit(year);
+                if (nextYear < 0) {
+                    return NO_MATCH;
+                }
+                if (nextYear != year) {
+                    year = nextYear;
+                    month = 1;
+                    day = 1;
+                    hour = minute = second = 0;
+                }
+            }
+            if (year > Year.MAX_YEAR) {
+                return NO_MATCH;
+            }
+            int nextMonth = next(this.months, month);
+            if (nextMonth < 0) {
+                year++;
+                month = 1;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextMonth != month) {
+                month = nextMonth;
+                day = 1;
+                hour = minute = second = 0;
+            }
+            int nextDay = next(this.getDaysOfMonth(year, month), day);
+            if (nextDay < 0) {
+                month++;
+                day = 1;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = minute = second = 0;
+            }
+            int nextHour = next(this.hours, hour);
+            if (nextHour < 0) {
+                day++;
+                hour = minute = second = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                minute = second = 0;
+            }
+            int nextMinute = next(this.minutes, minute);
+            if (nextMinute < 0) {
+                hour++;
+                minute = second = 0;
+                continue;
+            }
+            if (nextMinute != minute) {
+                minute = nextMinute;
+                second = 0;
+            }
+            int nextSecond = next(this.seconds, second);
+            if (nextSecond < 0) {
+                minute++;
+                second = 0;
+                continue;
+            }
+            return (toEpochDay(year, month, day) * SECONDS_PER_DAY) + (hour * 3600) + (minute * 60) + nextSecond;
+        }
+    }
+
+    private long getDaysOfMonth(int year, int month) {
+        int length = lengthOfMonth(year, month);
+        int first = dayOfWeek(year, month, 1);
+        long days;
+        if (this.dayOfMonthWildcard) {
+            days = this.dayOfWeekWildcard ? -1L : this.daysOfWeek[first];
+        } else {
+            days = this.daysOfMonth;
+            if (this.relativeDaysOfMonth != null) {
+                days |= this.relativeDaysOfMonth[(length - MIN_DAYS_IN_MONTH) * DAYS_IN_WEEK + first];
+            }
+            // If both day-of-month and day-of-week are specified, a day matching either of them matches
+            if (!this.dayOfWeekWildcard) {
+                days |= this.daysOfWeek[first];
+            }
+        }
+        // Only days 1 to length
+        return days & (((1L << length) - 1) << 1);
+    }
+
+    private static long[] resolveRelativeDaysOfMonth(DayOfMonth dayOfMonth) {
+        long[] result = new long[(DayOfMonth.MAX_DAY_OF_MONTH - MIN_DAYS_IN_MONTH + 1) * DAYS_IN_WEEK];
+        boolean[] resolved = new boolean[result.length];
+        int remaining = result.length;
+        // Every combination of month length and day of the week of its first day occurs within a 28 year cycle
+        for (int year = 2000; remaining > 0; ++year) {
+            for (int month = 1; month <= Month.MAX_MONTH; ++month) {
+                int index = (lengthOfMonth(year, month) - MIN_DAYS_IN_MONTH) * DAYS_IN_WEEK + dayOfWeek(year, month, 1);
+                if (!resolved[index]) {
+                    Calendar cal = new GregorianCalendar(year, month - 1, 1);
+                    result[index] = toMask(dayOfMonth.toBitSet(cal));
+                    resolved[index] = true;
+                    remaining--;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return java.time.Month.of(month).length(IsoChronology.INSTANCE.isLeapYear(year));
+    }
+
+    /**
+     * Returns the number of days since 1970-01-01 of the passed date of the proleptic Gregorian calendar.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        int shiftedYear = (month <= 2) ? year - 1 : year;
+        long era = Math.floorDiv(shiftedYear, 400);
+        int yearOfEra = (int) (shiftedYear - era * 400);
+        int shiftedMonth = (month > 2) ? month - 3 : month + 9;
+        int dayOfYear = (153 * shiftedMonth + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Returns the day of the week of the passed date of the proleptic Gregorian calendar, where 0 is Sunday.
+     */
+    private static int dayOfWeek(int year, int month, int day) {
+        int y = (month < 3) ? year - 1 : year;
+        return Math.floorMod(y + Math.floorDiv(y, 4) - Math.floorDiv(y, 100) + Math.floorDiv(y, 400) + MONTH_OFFSETS[month - 1] + day, DAYS_IN_WEEK);
+    }
+
+    /**
+     * Returns the lowest set bit of the passed mask that is greater than or equal to the passed value, or -1 if none.
+     */
+    private static int next(long mask, int value) {
+        if (value >= Long.SIZE) {
+            return -1;
+        }
+        long remaining = mask & (-1L << value);
+        return (remaining == 0L) ? -1 : Long.numberOfTrailingZeros(remaining);
+    }
+
+    private static long toMask(BitSet bits) {
+        long[] words = bits.toLongArray();
+        return (words.length == 0) ? 0L : words[0];
+    }
+
+    /**
+     * A period of time, in seconds since the epoch, during which the UTC offset of a timezone does not change.
+     */
+    private static class OffsetPeriod {
+        final long start;
+        final long end;
+        final int offset;
+
+        OffsetPeriod(long start, long end, int offset) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+        }
+
+        boolean contains(long second) {
+            return (this.start <= second) && (second < this.end);
+        }
+
+        /**
+         * Indicates whether the passed time lies far enough from either end of this period that its wall clock time occurs exactly once.
+         */
+        boolean isInterior(long second) {
+            return (second >= this.start + TRANSITION_MARGIN) && (second < this.end - TRANSITION_MARGIN);
+        }
+    }
+}
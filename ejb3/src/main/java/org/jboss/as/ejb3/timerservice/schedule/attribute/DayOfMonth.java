@@ -28,6 +28,7 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleValue;
 import org.jboss.as.ejb3.timerservice.schedule.value.SingleValue;
 
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -189,7 +190,7 @@ public class DayOfMonth extends IntegerBasedExpression {
         super.assertValid(value);
     }
 
-    private boolean hasRelativeDayOfMonth() {
+    public boolean hasRelativeDayOfMonth() {
         if (this.relativeValues.isEmpty()) {
             return false;
         }
@@ -383,6 +384,24 @@ public class DayOfMonth extends IntegerBasedExpression {
         return eligibleDaysOfMonth.first();
     }
 
+    /**
+     * Returns the days of the month of the passed {@link Calendar} which match this expression, including the
+     * relative values resolved against that month, as a {@link BitSet} in which bit <code>n</code> is set if
+     * day <code>n</code> matches.
+     *
+     * @param cal a date within the month
+     * @return the matching days of the month
+     */
+    public BitSet toBitSet(Calendar cal) {
+        BitSet daysOfMonth = new BitSet(MAX_DAY_OF_MONTH + 1);
+        for (Integer dayOfMonth : this.getEligibleDaysOfMonth(cal)) {
+            if (dayOfMonth > 0) {
+                daysOfMonth.set(dayOfMonth);
+            }
+        }
+        return daysOfMonth;
+    }
+
     @Override
     protected Integer parseInt(String alias) {
         try {
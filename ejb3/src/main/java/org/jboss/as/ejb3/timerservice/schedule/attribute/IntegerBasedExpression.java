@@ -30,6 +30,7 @@ import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleExpressionType;
 import org.jboss.as.ejb3.timerservice.schedule.value.ScheduleValue;
 import org.jboss.as.ejb3.timerservice.schedule.value.SingleValue;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.SortedSet;
@@ -211,6 +212,31 @@ public abstract class IntegerBasedExpression {
         }
     }
 
+    public boolean isWildcard() {
+        return this.scheduleExpressionType == ScheduleExpressionType.WILDCARD;
+    }
+
+    /**
+     * Returns the absolute values of this expression as a {@link BitSet}, in which bit <code>n</code> is set
+     * if the value <code>n</code> matches. A wildcard matches every value between the minimum and maximum allowed value.
+     * Negative values are not included.
+     *
+     * @return the matching values
+     */
+    public BitSet toBitSet() {
+        BitSet values = new BitSet(this.getMaxValue() + 1);
+        if (this.isWildcard()) {
+            values.set(Math.max(this.getMinValue(), 0), this.getMaxValue() + 1);
+        } else {
+            for (Integer value : this.absoluteValues) {
+                if (value >= 0) {
+                    values.set(value);
+                }
+            }
+        }
+        return values;
+    }
+
     public abstract boolean isRelativeValue(String value);
 
 }
@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.timerservice.spi.TimeoutScheduler;
+
+/**
+ * Collects the metrics common to all {@link TimeoutScheduler} implementations.
+ */
+public abstract class AbstractTimeoutScheduler implements TimeoutScheduler {
+
+    private final long lateThreshold;
+
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder pending = new LongAdder();
+    private final LongAdder fired = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * @param lateThreshold the lag, in milliseconds, beyond which a fired timeout is considered late
+     */
+    protected AbstractTimeoutScheduler(long lateThreshold) {
+        this.lateThreshold = lateThreshold;
+    }
+
+    /**
+     * Records the scheduling of a timeout.
+     */
+    protected void scheduled() {
+        this.scheduled.increment();
+        this.pending.increment();
+    }
+
+    /**
+     * Records the cancellation of a pending timeout.
+     */
+    protected void cancelled() {
+        this.pending.decrement();
+    }
+
+    /**
+     * Records the firing of a timeout, and runs its task.
+     *
+     * @param task the task of the timeout
+     * @param lag the delay in milliseconds between the scheduled and actual time of this firing
+     * @param last indicates whether the timeout will not fire again
+     */
+    protected void fire(Runnable task, long lag, boolean last) {
+        if (last) {
+            this.pending.decrement();
+        }
+        this.fired.increment();
+        this.totalLag.add(lag);
+        this.maxLag.accumulate(lag);
+        if (lag > this.lateThreshold) {
+            this.late.increment();
+        }
+        try {
+            task.run();
+        } catch (Throwable e) {
+            // Never let a single task take down the scheduler thread
+            EjbLogger.EJB3_TIMER_LOGGER.failedToDispatchTimeout(task, e);
+        }
+    }
+
+    @Override
+    public long getScheduledCount() {
+        return this.scheduled.sum();
+    }
+
+    @Override
+    public long getPendingCount() {
+        return this.pending.sum();
+    }
+
+    @Override
+    public long getFiredCount() {
+        return this.fired.sum();
+    }
+
+    @Override
+    public long getLateCount() {
+        return this.late.sum();
+    }
+
+    @Override
+    public long getAverageLag() {
+        long fired = this.fired.sum();
+        return (fired > 0) ? this.totalLag.sum() / fired : 0L;
+    }
+
+    @Override
+    public long getMaxLag() {
+        return this.maxLag.get();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link org.jboss.as.ejb3.timerservice.spi.TimeoutScheduler} that delegates to a {@link Timer}, i.e. a single thread
+ * servicing a binary heap of tasks.
+ */
+public class TimerTimeoutScheduler extends AbstractTimeoutScheduler {
+
+    public static final long DEFAULT_LATE_THRESHOLD = 10L;
+
+    private final Timer timer;
+
+    public TimerTimeoutScheduler(Timer timer) {
+        super(DEFAULT_LATE_THRESHOLD);
+        this.timer = timer;
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay) {
+        TimerTimeout timeout = new TimerTimeout(task, false);
+        this.scheduled();
+        this.timer.schedule(timeout, delay);
+        return timeout;
+    }
+
+    @Override
+    public Timeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        TimerTimeout timeout = new TimerTimeout(task, true);
+        this.scheduled();
+        this.timer.scheduleAtFixedRate(timeout, delay, period);
+        return timeout;
+    }
+
+    @Override
+    public void purge() {
+        this.timer.purge();
+    }
+
+    private class TimerTimeout extends TimerTask implements Timeout {
+        private final Runnable task;
+        private final boolean periodic;
+        // Set once this timeout will no longer fire
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        TimerTimeout(Runnable task, boolean periodic) {
+            this.task = task;
+            this.periodic = periodic;
+        }
+
+        @Override
+        public void run() {
+            long lag = Math.max(System.currentTimeMillis() - this.scheduledExecutionTime(), 0L);
+            if (this.periodic) {
+                if (!this.done.get()) {
+                    TimerTimeoutScheduler.this.fire(this.task, lag, false);
+                }
+            } else if (this.done.compareAndSet(false, true)) {
+                TimerTimeoutScheduler.this.fire(this.task, lag, true);
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            super.cancel();
+            if (this.done.compareAndSet(false, true)) {
+                TimerTimeoutScheduler.this.cancelled();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.task.toString();
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link org.jboss.as.ejb3.timerservice.spi.TimeoutScheduler} based on a hierarchical timing wheel.
+ * <p/>
+ * Timeouts are hashed into the slots of a wheel of {@value #WHEEL_SIZE} slots, each spanning a single tick.
+ * Timeouts too far in the future for this wheel are placed into an overflow wheel, whose slots each span a whole revolution
+ * of the wheel below it, and so on; as time advances, the timeouts of the slot of an overflow wheel cascade into the finer
+ * wheels below. Scheduling and cancellation are thus constant time operations, regardless of the number of pending
+ * timeouts, at the expense of a resolution of a single tick.
+ * <p/>
+ * Threads scheduling or cancelling timeouts never contend on a lock: they merely enqueue the timeout, which the thread of
+ * the wheel moves into (or out of) its slot on its next tick. Cancelled timeouts are thus unlinked promptly, rather than
+ * lingering until their expiration.
+ */
+public class TimingWheelTimeoutScheduler extends AbstractTimeoutScheduler implements Runnable {
+
+    public static final long DEFAULT_TICK = 10L;
+    static final int WHEEL_SIZE = 512;
+
+    private static final int PENDING = 0;
+    private static final int FIRED = 1;
+    private static final int CANCELLED = 2;
+
+    private final long tick;
+    private final ThreadFactory threadFactory;
+    private final long origin = System.nanoTime();
+    private final Queue<Entry> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancellations = new ConcurrentLinkedQueue<>();
+    // The following are only accessed by the thread of the wheel
+    private final PriorityQueue<Bucket> buckets = new PriorityQueue<>(Comparator.comparingLong(Bucket::getExpiration));
+    // Timeouts due before the next tick, which must not fire early
+    private final Queue<Entry> deferred = new ArrayDeque<>();
+    private Wheel wheel;
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    /**
+     * @param tick the resolution of this scheduler, in milliseconds
+     * @param threadFactory the factory for the thread of the wheel
+     */
+    public TimingWheelTimeoutScheduler(long tick, ThreadFactory threadFactory) {
+        super(tick);
+        this.tick = tick;
+        this.threadFactory = threadFactory;
+    }
+
+    public synchronized void start() {
+        this.wheel = new Wheel(this.tick, this.now());
+        this.running = true;
+        this.thread = this.threadFactory.newThread(this);
+        this.thread.start();
+    }
+
+    public synchronized void stop() {
+        Thread thread = this.thread;
+        if (thread != null) {
+            this.running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            this.thread = null;
+        }
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay) {
+        return this.add(new Entry(this, task, this.deadline(delay), 0L));
+    }
+
+    @Override
+    public Timeout scheduleAtFixedRate(Runnable task, long delay, long period) {
+        return this.add(new Entry(this, task, this.deadline(delay), period));
+    }
+
+    @Override
+    public void purge() {
+        // Cancelled timeouts are already unlinked on the next tick
+    }
+
+    @Override
+    public void run() {
+        long deadline = this.now() + this.tick;
+        while (this.running) {
+            long now = this.now();
+            if (now < deadline) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(deadline - now));
+                continue;
+            }
+            this.advance(now);
+            // If we fell behind, skip the missed ticks rather than race to catch up
+            deadline = Math.max(deadline + this.tick, now + 1L);
+        }
+    }
+
+    private Timeout add(Entry entry) {
+        this.scheduled();
+        this.additions.add(entry);
+        return entry;
+    }
+
+    private long now() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.origin);
+    }
+
+    private long deadline(long delay) {
+        // Round up, so that a timeout never fires before its delay elapsed
+        long nanos = System.nanoTime() - this.origin;
+        return TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1L) - 1L) + Math.max(delay, 0L);
+    }
+
+    private void advance(long now) {
+        for (Entry entry = this.cancellations.poll(); entry != null; entry = this.cancellations.poll()) {
+            Bucket bucket = entry.bucket;
+            if (bucket != null) {
+                bucket.remove(entry);
+            }
+        }
+        // Expire, or cascade to a finer wheel, the timeouts of all due slots
+        for (Bucket bucket = this.buckets.peek(); (bucket != null) && (bucket.getExpiration() <= now); bucket = this.buckets.peek()) {
+            this.buckets.poll();
+            this.wheel.advanceClock(bucket.getExpiration());
+            Entry entry = bucket.drain();
+            while (entry != null) {
+                Entry next = entry.next;
+                entry.next = null;
+                this.insert(entry, now);
+                entry = next;
+            }
+        }
+        // Only safe to advance the clock to the present once all due slots were drained
+        this.wheel.advanceClock(now);
+        for (int i = this.deferred.size(); i > 0; --i) {
+            this.insert(this.deferred.poll(), now);
+        }
+        for (Entry entry = this.additions.poll(); entry != null; entry = this.additions.poll()) {
+            this.insert(entry, now);
+        }
+    }
+
+    private void insert(Entry entry, long now) {
+        while (entry.state == PENDING) {
+            if (this.wheel.add(entry)) return;
+            // Timeout is due within the current tick
+            if (entry.deadline > now) {
+                this.deferred.add(entry);
+                return;
+            }
+            long lag = now - entry.deadline;
+            if (entry.period > 0L) {
+                this.fire(entry.task, lag, false);
+                entry.deadline += entry.period;
+            } else {
+                if (Entry.STATE_UPDATER.compareAndSet(entry, PENDING, FIRED)) {
+                    this.fire(entry.task, lag, true);
+                }
+                return;
+            }
+        }
+    }
+
+    private final class Wheel {
+        private final long tick;
+        private final long interval;
+        private final Bucket[] slots = new Bucket[WHEEL_SIZE];
+        private long currentTime;
+        private Wheel overflow;
+
+        Wheel(long tick, long startTime) {
+            this.tick = tick;
+            this.interval = tick * WHEEL_SIZE;
+            this.currentTime = startTime - (startTime % tick);
+            for (int i = 0; i < WHEEL_SIZE; ++i) {
+                this.slots[i] = new Bucket();
+            }
+        }
+
+        /**
+         * Adds the specified timeout to the appropriate slot of this wheel, or one of its overflow wheels.
+         * @return true, if the timeout was added, false if it is due within the current tick.
+         */
+        boolean add(Entry entry) {
+            long deadline = entry.deadline;
+            if (deadline < this.currentTime + this.tick) {
+                return false;
+            }
+            if (deadline < this.currentTime + this.interval) {
+                long virtualSlot = deadline / this.tick;
+                Bucket bucket = this.slots[(int) (virtualSlot & (WHEEL_SIZE - 1))];
+                bucket.add(entry);
+                if (bucket.setExpiration(virtualSlot * this.tick)) {
+                    TimingWheelTimeoutScheduler.this.buckets.add(bucket);
+                }
+                return true;
+            }
+            if (this.overflow == null) {
+                this.overflow = new Wheel(this.interval, this.currentTime);
+            }
+            return this.overflow.add(entry);
+        }
+
+        void advanceClock(long time) {
+            if (time >= this.currentTime + this.tick) {
+                this.currentTime = time - (time % this.tick);
+                if (this.overflow != null) {
+                    this.overflow.advanceClock(this.currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * A slot of a wheel, i.e. a doubly linked list of timeouts.
+     */
+    private static final class Bucket {
+        private long expiration = -1L;
+        private Entry head;
+
+        long getExpiration() {
+            return this.expiration;
+        }
+
+        boolean setExpiration(long expiration) {
+            if (this.expiration == expiration) return false;
+            this.expiration = expiration;
+            return true;
+        }
+
+        void add(Entry entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = this.head;
+            if (this.head != null) {
+                this.head.prev = entry;
+            }
+            this.head = entry;
+        }
+
+        void remove(Entry entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            } else {
+                this.head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /**
+         * Empties this bucket, returning the former head of its list.
+         */
+        Entry drain() {
+            Entry head = this.head;
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                entry.prev = null;
+                entry.bucket = null;
+            }
+            this.head = null;
+            this.expiration = -1L;
+            return head;
+        }
+    }
+
+    private static final class Entry implements Timeout {
+        static final AtomicIntegerFieldUpdater<Entry> STATE_UPDATER = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "state");
+
+        private final TimingWheelTimeoutScheduler scheduler;
+        final Runnable task;
+        final long period;
+        // The following are only accessed by the thread of the wheel
+        long deadline;
+        Bucket bucket;
+        Entry prev;
+        Entry next;
+
+        volatile int state = PENDING;
+
+        Entry(TimingWheelTimeoutScheduler scheduler, Runnable task, long deadline, long period) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATE_UPDATER.compareAndSet(this, PENDING, CANCELLED)) {
+                this.scheduler.cancelled();
+                // Let the wheel thread unlink us from our slot
+                this.scheduler.cancellations.add(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return this.task.toString();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.spi;
+
+/**
+ * Schedules the timeouts of the timers of all timer services.
+ * <p/>
+ * Scheduled tasks are run by the thread of the scheduler, and must therefore only dispatch the actual work elsewhere.
+ */
+public interface TimeoutScheduler {
+
+    /**
+     * A scheduled task.
+     */
+    interface Timeout {
+        /**
+         * Cancels this timeout.
+         *
+         * @return true, if this cancellation prevented the task from running, false if it already ran or was already cancelled.
+         */
+        boolean cancel();
+    }
+
+    /**
+     * Schedules the specified task to run once, after the specified delay.
+     *
+     * @param task  the task to run
+     * @param delay the delay in milliseconds
+     * @return a timeout via which the task can be cancelled
+     */
+    Timeout schedule(Runnable task, long delay);
+
+    /**
+     * Schedules the specified task to run repeatedly, at a fixed rate, after the specified delay.
+     *
+     * @param task   the task to run
+     * @param delay  the delay in milliseconds
+     * @param period the time between successive runs of the task in milliseconds
+     * @return a timeout via which the task can be cancelled
+     */
+    Timeout scheduleAtFixedRate(Runnable task, long delay, long period);
+
+    /**
+     * Releases any resources retained by cancelled timeouts.
+     */
+    void purge();
+
+    /**
+     * @return the number of timeouts scheduled since this scheduler started
+     */
+    long getScheduledCount();
+
+    /**
+     * @return the number of timeouts that are scheduled, but neither fired nor cancelled
+     */
+    long getPendingCount();
+
+    /**
+     * @return the number of times a timeout fired
+     */
+    long getFiredCount();
+
+    /**
+     * @return the number of times a timeout fired later than the resolution of this scheduler allows
+     */
+    long getLateCount();
+
+    /**
+     * @return the average delay in milliseconds between the scheduled and actual time at which a timeout fired
+     */
+    long getAverageLag();
+
+    /**
+     * @return the maximum delay in milliseconds between the scheduled and actual time at which a timeout fired
+     */
+    long getMaxLag();
+}
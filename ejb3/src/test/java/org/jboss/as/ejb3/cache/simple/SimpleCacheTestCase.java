@@ -0,0 +1,220 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.cache.simple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.jboss.as.ejb3.cache.Identifiable;
+import org.jboss.as.ejb3.cache.StatefulObjectFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wildfly.clustering.ejb.PassivationListener;
+import org.wildfly.clustering.marshalling.spi.ByteBufferMarshaller;
+
+/**
+ * Tests the passivation of idle beans by a bounded {@link SimpleCache}.
+ */
+public class SimpleCacheTestCase {
+
+    private final AtomicInteger ids = new AtomicInteger();
+    private final List<Integer> destroyed = new ArrayList<>();
+    private final List<Integer> prePassivated = new ArrayList<>();
+    private final List<Integer> postActivated = new ArrayList<>();
+    private Path directory;
+    private SimpleCache<Integer, Bean> cache;
+
+    @Before
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("simple-cache");
+        StatefulObjectFactory<Bean> factory = new StatefulObjectFactory<Bean>() {
+            @Override
+            public Bean createInstance() {
+                return new Bean(SimpleCacheTestCase.this.ids.incrementAndGet());
+            }
+
+            @Override
+            public void destroyInstance(Bean instance) {
+                SimpleCacheTestCase.this.destroyed.add(instance.getId());
+            }
+        };
+        PassivationListener<Bean> listener = new PassivationListener<Bean>() {
+            @Override
+            public void prePassivate(Bean bean) {
+                SimpleCacheTestCase.this.prePassivated.add(bean.getId());
+            }
+
+            @Override
+            public void postActivate(Bean bean) {
+                SimpleCacheTestCase.this.postActivated.add(bean.getId());
+            }
+        };
+        this.cache = new SimpleCache<>(factory, this.ids::incrementAndGet, null, null, 2, listener, new FileBeanStore<>(new SerializationMarshaller(), this.directory));
+        this.cache.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        this.cache.stop();
+        Files.deleteIfExists(this.directory);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedBeanIsPassivated() {
+        Bean first = this.cache.create();
+        Bean second = this.cache.create();
+        // Use the first bean, so that the second is the least recently used
+        this.cache.release(this.cache.get(first.getId()));
+        this.cache.create();
+
+        assertEquals(Collections.singletonList(second.getId()), this.prePassivated);
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(3, this.cache.getTotalSize());
+        assertEquals(1L, this.cache.getPassivations());
+        assertTrue(this.cache.contains(second.getId()));
+    }
+
+    @Test
+    public void testPassivatedBeanIsActivatedOnGet() {
+        Bean first = this.cache.create();
+        first.state = "state";
+        this.cache.create();
+        this.cache.create();
+
+        Bean activated = this.cache.get(first.getId());
+        assertNotNull(activated);
+        assertEquals("state", activated.state);
+        assertEquals(Collections.singletonList(first.getId()), this.postActivated);
+        assertEquals(1L, this.cache.getActivations());
+        // Activating the first bean evicts the least recently used of the others
+        assertEquals(2, this.cache.getCacheSize());
+        assertEquals(1, this.cache.getPassivatedCount());
+        assertEquals(2L, this.cache.getPassivations());
+        this.cache.release(activated);
+    }
+
+    @Test
+    public void testBeansInUseAreNotPassivated() {
+        Bean first = this.cache.get(this.cache.create().getId());
+        Bean second = this.cache.get(this.cache.create().getId());
+        Bean third = this.cache.get(this.cache.create().getId());
+
+        assertTrue(this.prePassivated.isEmpty());
+        assertEquals(3, this.cache.getCacheSize());
+
+        this.cache.release(second);
+        assertEquals(Collections.singletonList(second.getId()), this.prePassivated);
+        assertEquals(2, this.cache.getCacheSize());
+
+        this.cache.release(first);
+        this.cache.release(third);
+        assertEquals(Collections.singletonList(second.getId()), this.prePassivated);
+    }
+
+    @Test
+    public void testRemovePassivatedBean() throws IOException {
+        Bean first = this.cache.create();
+        this.cache.create();
+        this.cache.create();
+        assertEquals(1, this.cache.getPassivatedCount());
+
+        this.cache.remove(first.getId());
+        assertFalse(this.cache.contains(first.getId()));
+        assertNull(this.cache.get(first.getId()));
+        assertEquals(0, this.cache.getPassivatedCount());
+        // A passivated bean is discarded without being activated
+        assertTrue(this.destroyed.isEmpty());
+        try (Stream<Path> files = Files.list(this.directory)) {
+            assertEquals(0L, files.count());
+        }
+    }
+
+    @Test
+    public void testStopDeletesPassivatedBeans() {
+        this.cache.create();
+        this.cache.create();
+        this.cache.create();
+        assertTrue(Files.isDirectory(this.directory));
+
+        this.cache.stop();
+        assertFalse(Files.exists(this.directory));
+        assertEquals(2, this.destroyed.size());
+    }
+
+    static class Bean implements Identifiable<Integer>, Serializable {
+        private static final long serialVersionUID = -4578405787262436284L;
+
+        private final Integer id;
+        String state;
+
+        Bean(Integer id) {
+            this.id = id;
+        }
+
+        @Override
+        public Integer getId() {
+            return this.id;
+        }
+    }
+
+    static class SerializationMarshaller implements ByteBufferMarshaller {
+        @Override
+        public Object readFrom(InputStream input) throws IOException {
+            try (ObjectInputStream objectInput = new ObjectInputStream(input)) {
+                return objectInput.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException(e);
+            }
+        }
+
+        @Override
+        public void writeTo(OutputStream output, Object object) throws IOException {
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(output)) {
+                objectOutput.writeObject(object);
+            }
+        }
+
+        @Override
+        public boolean isMarshallable(Object object) {
+            return object instanceof Serializable;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.component.invocationmetrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTestCase {
+
+    @Test
+    public void testBuckets() {
+        long previous = -1;
+        for (int index = 0; LatencyHistogram.highestValue(index) < (1L << 40) - 1; ++index) {
+            long highest = LatencyHistogram.highestValue(index);
+            assertTrue(highest > previous);
+            // Every value of a bucket maps to that bucket
+            assertEquals(index, LatencyHistogram.index(previous + 1));
+            assertEquals(index, LatencyHistogram.index(highest));
+            // Buckets are no wider than 1/8 of their lowest value
+            assertTrue((highest - previous - 1) * 8 <= Math.max(previous + 1, 8));
+            previous = highest;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.index(1L << 40)));
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.highestValue(LatencyHistogram.index(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.record(i);
+        }
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(511, histogram.getValueAtPercentile(50));
+        assertEquals(1023, histogram.getValueAtPercentile(99));
+        assertEquals(1023, histogram.getValueAtPercentile(100));
+
+        histogram = new LatencyHistogram();
+        for (int i = 0; i < 999; ++i) {
+            histogram.record(2);
+        }
+        histogram.record(5000);
+        histogram.record(-1);
+        assertEquals(2, histogram.getValueAtPercentile(50));
+        assertEquals(2, histogram.getValueAtPercentile(99.9));
+        assertEquals(5119, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 4;
+        int values = 10000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(threads);
+            for (int i = 0; i < threads; ++i) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 1; j <= values; ++j) {
+                        histogram.record(j % 8);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // No recorded value is lost, i.e. each of the exactly recorded values 0-7 accounts for 1/8 of all values
+        assertEquals(0, histogram.getValueAtPercentile(12.5));
+        assertEquals(1, histogram.getValueAtPercentile(12.5 + 0.001));
+        assertEquals(6, histogram.getValueAtPercentile(87.5));
+        assertEquals(7, histogram.getValueAtPercentile(87.5 + 0.001));
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Supplier;
+
+import org.jboss.as.ejb3.component.singleton.EJBReadWriteLock;
+import org.jboss.as.ejb3.component.singleton.StripedEJBReadWriteLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the throughput of the read-write lock implementations used by container managed concurrency of singleton beans, when accessed concurrently by multiple threads.
+ * Locks are acquired as by the container managed concurrency interceptor, i.e. via {@link Lock#tryLock(long, TimeUnit)}.
+ * The "read" group only acquires read locks; the "mixed" group adds a single writer, which does the specified amount of work between writes.
+ * Run from the test classpath via {@link org.openjdk.jmh.Main}, using -tg to vary the number of threads per group (e.g. -tg 16 or -tg 16,1).
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class ReadWriteLockBenchmark {
+
+    private static final long TIMEOUT = TimeUnit.MINUTES.toNanos(1);
+
+    public enum Implementation implements Supplier<ReadWriteLock> {
+        DEFAULT() {
+            @Override
+            public ReadWriteLock get() {
+                return new EJBReadWriteLock();
+            }
+        },
+        STRIPED() {
+            @Override
+            public ReadWriteLock get() {
+                return new StripedEJBReadWriteLock();
+            }
+        },
+        ;
+    }
+
+    @Param
+    private Implementation implementation;
+
+    // The amount of work done by the writer between writes, in JMH tokens
+    @Param({ "1000", "100000" })
+    private long writeInterval;
+
+    private Lock readLock;
+    private Lock writeLock;
+    private long value;
+
+    @Setup
+    public void setup() {
+        ReadWriteLock lock = this.implementation.get();
+        this.readLock = lock.readLock();
+        this.writeLock = lock.writeLock();
+    }
+
+    @Benchmark
+    @Group("read")
+    @GroupThreads(4)
+    public long read() throws InterruptedException {
+        return this.read(this.readLock);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(4)
+    public long mixedRead() throws InterruptedException {
+        return this.read(this.readLock);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedWrite() throws InterruptedException {
+        Blackhole.consumeCPU(this.writeInterval);
+        if (!this.writeLock.tryLock(TIMEOUT, TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException();
+        }
+        try {
+            this.value++;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private long read(Lock lock) throws InterruptedException {
+        if (!lock.tryLock(TIMEOUT, TimeUnit.NANOSECONDS)) {
+            throw new IllegalStateException();
+        }
+        try {
+            return this.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+import javax.ejb.IllegalLoopbackException;
+
+import org.jboss.as.ejb3.component.singleton.StripedEJBReadWriteLock;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StripedEJBReadWriteLock}
+ */
+public class StripedEJBReadWriteLockTest {
+
+    private final StripedEJBReadWriteLock lock = new StripedEJBReadWriteLock();
+
+    @Test
+    public void testIllegalLoopBack() {
+        Lock readLock = this.lock.readLock();
+        readLock.lock();
+        // Read locks are reentrant
+        readLock.lock();
+        try {
+            this.lock.writeLock().lock();
+            this.lock.writeLock().unlock();
+            Assert.fail("Unexpected acquired write lock");
+        } catch (IllegalLoopbackException expected) {
+            // expected
+        } finally {
+            readLock.unlock();
+            readLock.unlock();
+        }
+        // Once all read locks are released, the write lock can be acquired
+        Assert.assertTrue(this.lock.writeLock().tryLock());
+        this.lock.writeLock().unlock();
+    }
+
+    @Test
+    public void testSameThreadCanGetWriteThenReadLock() throws Exception {
+        Lock writeLock = this.lock.writeLock();
+        writeLock.lock();
+        // Write locks are reentrant
+        Assert.assertTrue(writeLock.tryLock(1, TimeUnit.SECONDS));
+        writeLock.unlock();
+        try {
+            Assert.assertTrue(this.lock.readLock().tryLock(1, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        this.lock.writeLock().lock();
+        try {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Boolean> result = executor.submit(() -> this.lock.readLock().tryLock(100, TimeUnit.MILLISECONDS));
+                Assert.assertFalse(result.get(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Boolean> result = executor.submit(() -> this.lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS));
+                Assert.assertFalse(result.get(10, TimeUnit.SECONDS));
+                // A writer that timed out does not block readers
+                result = executor.submit(() -> {
+                    boolean locked = this.lock.readLock().tryLock(0, TimeUnit.SECONDS);
+                    if (locked) {
+                        this.lock.readLock().unlock();
+                    }
+                    return locked;
+                });
+                Assert.assertTrue(result.get(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tests that a read lock acquired while holding the write lock is retained once the write lock is released
+     */
+    @Test
+    public void testDowngrade() throws Exception {
+        this.lock.writeLock().lock();
+        this.lock.readLock().lock();
+        this.lock.writeLock().unlock();
+        try {
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Boolean> result = executor.submit(() -> this.lock.writeLock().tryLock(100, TimeUnit.MILLISECONDS));
+                Assert.assertFalse(result.get(10, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            this.lock.readLock().unlock();
+        }
+        Assert.assertTrue(this.lock.writeLock().tryLock());
+        this.lock.writeLock().unlock();
+    }
+
+    /**
+     * Tests that a thread holding a read lock can reacquire it while a writer is waiting
+     */
+    @Test
+    public void testReentrantReadWithWaitingWriter() throws Exception {
+        this.lock.readLock().lock();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<Boolean> writer = executor.submit(() -> {
+                started.countDown();
+                boolean locked = this.lock.writeLock().tryLock(10, TimeUnit.SECONDS);
+                if (locked) {
+                    this.lock.writeLock().unlock();
+                }
+                return locked;
+            });
+            started.await();
+            Thread.sleep(100);
+            Assert.assertTrue(this.lock.readLock().tryLock(1, TimeUnit.SECONDS));
+            this.lock.readLock().unlock();
+            this.lock.readLock().unlock();
+            Assert.assertTrue(writer.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMutualExclusion() throws Exception {
+        AtomicInteger readers = new AtomicInteger();
+        AtomicInteger writers = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; ++t) {
+                boolean writer = (t == 0);
+                futures[t] = executor.submit(() -> {
+                    for (int i = 0; i < 20000; ++i) {
+                        if (writer && (i % 10 == 0)) {
+                            Assert.assertTrue(this.lock.writeLock().tryLock(10, TimeUnit.SECONDS));
+                            try {
+                                if ((writers.incrementAndGet() != 1) || (readers.get() != 0)) {
+                                    violations.incrementAndGet();
+                                }
+                                writers.decrementAndGet();
+                            } finally {
+                                this.lock.writeLock().unlock();
+                            }
+                        } else {
+                            Assert.assertTrue(this.lock.readLock().tryLock(10, TimeUnit.SECONDS));
+                            try {
+                                readers.incrementAndGet();
+                                if (writers.get() != 0) {
+                                    violations.incrementAndGet();
+                                }
+                                readers.decrementAndGet();
+                            } finally {
+                                this.lock.readLock().unlock();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertEquals(0, violations.get());
+    }
+}
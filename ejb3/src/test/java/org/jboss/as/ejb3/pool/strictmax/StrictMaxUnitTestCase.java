@@ -31,8 +31,10 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AdaptivePoolSizer;
 import org.jboss.as.ejb3.pool.Pool;
 import org.jboss.as.ejb3.pool.StatelessObjectFactory;
 import org.jboss.as.ejb3.pool.common.MockBean;
@@ -157,4 +159,76 @@ public class StrictMaxUnitTestCase {
         assertEquals(10, MockBean.getPostConstructs());
         assertEquals(10, MockBean.getPreDestroys());
     }
+
+    @Test
+    public void testSetMaxSize() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        Pool<MockBean> pool = new StrictMaxPool<MockBean>(factory, 1, 10, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean bean = pool.get();
+
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            // Should block until the pool grows
+            Future<MockBean> result = service.submit(pool::get);
+            pool.setMaxSize(2);
+            assertEquals(2, pool.getMaxSize());
+            pool.release(result.get(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdown();
+        }
+        pool.release(bean);
+        assertEquals(2, pool.getAvailableCount());
+
+        pool.setMaxSize(1);
+        assertEquals(1, pool.getAvailableCount());
+        assertEquals(1, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(2, MockBean.getPostConstructs());
+        assertEquals(2, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testAdaptive() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        AtomicLong ticker = new AtomicLong();
+        StrictMaxPool<MockBean> pool = new StrictMaxPool<MockBean>(factory, 2, 4, 5, TimeUnit.SECONDS, ticker::get);
+        pool.start();
+        assertEquals(2, pool.getSize());
+
+        // Pool should grow instead of blocking
+        MockBean[] beans = new MockBean[4];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(4, pool.getSize());
+        assertEquals(0, pool.getAvailableCount());
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+
+        // Previous interval saw requests that would have waited, so pool should not shrink
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(AdaptivePoolSizer.DEFAULT_INTERVAL));
+        pool.release(pool.get());
+        assertEquals(4, pool.getSize());
+
+        // Pool should shrink half way towards the peak usage of the previous interval, evicting idle instances
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(AdaptivePoolSizer.DEFAULT_INTERVAL));
+        pool.release(pool.get());
+        assertEquals(3, pool.getSize());
+        assertEquals(3, pool.getCurrentSize());
+        assertEquals(1, MockBean.getPreDestroys());
+
+        pool.stop();
+
+        assertEquals(4, MockBean.getPostConstructs());
+        assertEquals(4, MockBean.getPreDestroys());
+    }
 }
@@ -0,0 +1,263 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.pool.striped;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.as.ejb3.logging.EjbLogger;
+import org.jboss.as.ejb3.pool.AdaptivePoolSizer;
+import org.jboss.as.ejb3.pool.StatelessObjectFactory;
+import org.jboss.as.ejb3.pool.common.MockBean;
+import org.jboss.as.ejb3.pool.common.MockFactory;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link StripedPool}.
+ */
+public class StripedPoolUnitTestCase {
+
+    @Test
+    public void test() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StripedPool<MockBean> pool = new StripedPool<>(factory, 10, 1, TimeUnit.SECONDS, 4);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(0, pool.getAvailableCount());
+        assertEquals(10, pool.getMissCount());
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+        assertEquals(10, pool.getAvailableCount());
+
+        // Same thread should find its most recently released instance
+        MockBean bean = pool.get();
+        assertEquals(1, pool.getHitCount());
+        pool.release(bean);
+        assertSame(bean, pool.get());
+        pool.release(bean);
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testSteal() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StripedPool<MockBean> pool = new StripedPool<>(factory, 10, 1, TimeUnit.SECONDS, 64);
+        pool.start();
+
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            // Release an instance from another thread
+            service.submit(() -> pool.release(pool.get())).get();
+        } finally {
+            service.shutdown();
+        }
+
+        // Whether this is a hit or a steal depends on how thread ids map to stripes, but it must not be a miss
+        pool.release(pool.get());
+        assertEquals(1, pool.getMissCount());
+        assertEquals(1, pool.getHitCount() + pool.getStealCount());
+
+        pool.stop();
+
+        assertEquals(1, MockBean.getPostConstructs());
+        assertEquals(1, MockBean.getPreDestroys());
+    }
+
+    /**
+     * More threads than the pool size.
+     */
+    @Test
+    public void testMultiThread() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        final StripedPool<MockBean> pool = new StripedPool<>(factory, 10, 60, TimeUnit.SECONDS);
+        pool.start();
+
+        final AtomicInteger used = new AtomicInteger(0);
+        final CountDownLatch in = new CountDownLatch(1);
+        final CountDownLatch ready = new CountDownLatch(10);
+
+        Callable<Void> task = new Callable<Void>() {
+            public Void call() throws Exception {
+                MockBean bean = pool.get();
+                ready.countDown();
+                in.await();
+                pool.release(bean);
+
+                used.incrementAndGet();
+
+                return null;
+            }
+        };
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        Future<?>[] results = new Future<?>[20];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = service.submit(task);
+        }
+
+        ready.await(120, TimeUnit.SECONDS);
+        in.countDown();
+
+        for (Future<?> result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        service.shutdown();
+
+        pool.stop();
+
+        assertEquals(20, used.intValue());
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testTooMany() {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StripedPool<MockBean> pool = new StripedPool<>(factory, 10, 1, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean[] beans = new MockBean[10];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+
+        try {
+            pool.get();
+            fail("should have thrown an exception");
+        } catch (Exception e) {
+            assertEquals(EjbLogger.ROOT_LOGGER.failedToAcquirePermit(1, TimeUnit.SECONDS).getMessage(), e.getMessage());
+        }
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+
+        pool.stop();
+
+        assertEquals(10, MockBean.getPostConstructs());
+        assertEquals(10, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testSetMaxSize() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        StripedPool<MockBean> pool = new StripedPool<>(factory, 1, 10, TimeUnit.SECONDS);
+        pool.start();
+
+        MockBean bean = pool.get();
+
+        ExecutorService service = Executors.newSingleThreadExecutor();
+        try {
+            // Should block until the pool grows
+            Future<MockBean> result = service.submit(pool::get);
+            pool.setMaxSize(2);
+            assertEquals(2, pool.getMaxSize());
+            pool.release(result.get(5, TimeUnit.SECONDS));
+        } finally {
+            service.shutdown();
+        }
+        pool.release(bean);
+        assertEquals(2, pool.getAvailableCount());
+
+        pool.setMaxSize(1);
+        assertEquals(1, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(2, MockBean.getPostConstructs());
+        assertEquals(2, MockBean.getPreDestroys());
+    }
+
+    @Test
+    public void testAdaptive() throws Exception {
+        MockBean.reset();
+        StatelessObjectFactory<MockBean> factory = new MockFactory();
+        AtomicLong ticker = new AtomicLong();
+        StripedPool<MockBean> pool = new StripedPool<>(factory, 2, 4, 5, TimeUnit.SECONDS, ticker::get);
+        pool.start();
+        assertEquals(2, pool.getSize());
+
+        // Pool should grow instead of blocking
+        MockBean[] beans = new MockBean[4];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = pool.get();
+        }
+        assertEquals(4, pool.getSize());
+        assertEquals(0, pool.getAvailableCount());
+
+        for (int i = 0; i < beans.length; i++) {
+            pool.release(beans[i]);
+            beans[i] = null;
+        }
+
+        // Previous interval saw requests that would have waited, so pool should not shrink
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(AdaptivePoolSizer.DEFAULT_INTERVAL));
+        pool.release(pool.get());
+        assertEquals(4, pool.getSize());
+
+        // Pool should shrink half way towards the peak usage of the previous interval, evicting idle instances
+        ticker.addAndGet(TimeUnit.SECONDS.toNanos(AdaptivePoolSizer.DEFAULT_INTERVAL));
+        pool.release(pool.get());
+        assertEquals(3, pool.getSize());
+        assertEquals(3, pool.getCurrentSize());
+        assertEquals(1, MockBean.getPreDestroys());
+
+        // Max size only limits growth
+        pool.setMaxSize(2);
+        assertEquals(2, pool.getMaxSize());
+        assertEquals(2, pool.getSize());
+        assertEquals(2, pool.getAvailableCount());
+
+        pool.stop();
+
+        assertEquals(4, MockBean.getPostConstructs());
+        assertEquals(4, MockBean.getPreDestroys());
+    }
+}
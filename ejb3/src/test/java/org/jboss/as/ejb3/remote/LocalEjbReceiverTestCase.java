@@ -0,0 +1,75 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.remote;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests which objects {@link LocalEjbReceiver} passes by reference.
+ */
+public class LocalEjbReceiverTestCase {
+
+    @Test
+    public void testImmutable() {
+        assertTrue(LocalEjbReceiver.isImmutable(String.class));
+        assertTrue(LocalEjbReceiver.isImmutable(Integer.class));
+        assertTrue(LocalEjbReceiver.isImmutable(BigInteger.class));
+        assertTrue(LocalEjbReceiver.isImmutable(Instant.class));
+        assertTrue(LocalEjbReceiver.isImmutable(ZoneId.of("Europe/Berlin").getClass()));
+        assertTrue(LocalEjbReceiver.isImmutable(DayOfWeek.class));
+        assertTrue(LocalEjbReceiver.isImmutable(TimeUnit.SECONDS.getClass()));
+
+        assertFalse(LocalEjbReceiver.isImmutable(Date.class));
+        assertFalse(LocalEjbReceiver.isImmutable(ArrayList.class));
+        assertFalse(LocalEjbReceiver.isImmutable(String[].class));
+        // Not necessarily the same class in the target classloader
+        assertFalse(LocalEjbReceiver.isImmutable(TestEnum.class));
+        // A subclass might be mutable
+        assertFalse(LocalEjbReceiver.isImmutable(new BigInteger("1") { }.getClass()));
+    }
+
+    @Test
+    public void testPassedByReference() {
+        assertTrue(LocalEjbReceiver.isPassedByReference(Object.class, null, false));
+        assertTrue(LocalEjbReceiver.isPassedByReference(int.class, 1, false));
+        assertTrue(LocalEjbReceiver.isPassedByReference(Object.class, "value", false));
+
+        assertFalse(LocalEjbReceiver.isPassedByReference(Object.class, new ArrayList<>(), false));
+        assertTrue(LocalEjbReceiver.isPassedByReference(Object.class, new ArrayList<>(), true));
+        assertFalse(LocalEjbReceiver.isPassedByReference(Date.class, new ArrayList<>(), true));
+    }
+
+    enum TestEnum {
+        VALUE
+    }
+}
@@ -409,6 +409,15 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.REMOTE_SERVICE_PATH),
                     new FailedOperationTransformationConfig.NewAttributesConfig(EJB3RemoteResourceDefinition.CLIENT_MAPPINGS_CLUSTER_NAME, EJB3RemoteResourceDefinition.CONNECTORS));
 
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
+
             //Special handling for this test!!!!
             //Don't transform the resulting composite, instead rather transform the individual steps
             config.setDontTransformComposite();
@@ -469,6 +478,14 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             // reject the attribute core-threads from resource /subsystem=ejb3/thread-pool=default
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.THREAD_POOL_PATH), new FailedOperationTransformationConfig.NewAttributesConfig(PoolAttributeDefinitions.CORE_THREADS));
             config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN, "domain2")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
         }
 
         // need to include all changes from current to 4.0.0
@@ -501,6 +518,20 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                             .append(PathElement.pathElement(EJB3SubsystemModel.REMOTE_HTTP_CONNECTION, "connection")),
                     FailedOperationTransformationConfig.REJECTED_RESOURCE);
             config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN, "domain2")), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
+            // reject the attribute 'incremental-refresh' from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH));
+            // reject the attribute 'max-size' from resource /subsystem=ejb3/cache=*
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE)),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.MAX_SIZE));
         }
 
         // need to include all changes from current to 5.0.0
@@ -524,6 +555,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                     FailedOperationTransformationConfig.REJECTED_RESOURCE);
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN),
                     new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION));
+
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
+            // reject the attribute 'incremental-refresh' from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH));
+            // reject the attribute 'max-size' from resource /subsystem=ejb3/cache=*
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE)),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.MAX_SIZE));
         }
 
         // need to include all changes from current to 6.0.0
@@ -540,6 +586,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
                     FailedOperationTransformationConfig.REJECTED_RESOURCE);
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN),
                     new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION));
+
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
+            // reject the attribute 'incremental-refresh' from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH));
+            // reject the attribute 'max-size' from resource /subsystem=ejb3/cache=*
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE)),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.MAX_SIZE));
         }
 
         // need to include all changes from current to 7.0.0
@@ -556,6 +617,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
 
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN),
                     new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION));
+
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
+            // reject the attribute 'incremental-refresh' from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH));
+            // reject the attribute 'max-size' from resource /subsystem=ejb3/cache=*
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE)),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.MAX_SIZE));
         }
 
         // need to include all changes from current to 8.0.0
@@ -564,6 +640,21 @@ public class Ejb3TransformersTestCase extends AbstractSubsystemBaseTest {
             // reject the legacy-compliant-principal-propagation attribute
             config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.APPLICATION_SECURITY_DOMAIN),
                     new FailedOperationTransformationConfig.NewAttributesConfig(EJB3SubsystemModel.LEGACY_COMPLIANT_PRINCIPAL_PROPAGATION));
+
+            // reject the resource /subsystem=ejb3/striped-bean-instance-pool=striped-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRIPED_BEAN_INSTANCE_POOL, "striped-pool"), FailedOperationTransformationConfig.REJECTED_RESOURCE);
+            // reject the attribute 'min-pool-size' from resource /subsystem=ejb3/strict-max-bean-instance-pool=adaptive-pool
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.STRICT_MAX_BEAN_INSTANCE_POOL, "adaptive-pool"),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(StrictMaxPoolResourceDefinition.MIN_POOL_SIZE));
+            // reject the attribute 'tick-duration' from resource /subsystem=ejb3/service=timer-service
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(TimerServiceResourceDefinition.TICK_DURATION));
+            // reject the attribute 'incremental-refresh' from resource /subsystem=ejb3/service=timer-service/database-data-store=*
+            config.addFailedAttribute(subsystemAddress.append(EJB3SubsystemModel.TIMER_SERVICE_PATH, EJB3SubsystemModel.DATABASE_DATA_STORE_PATH),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(DatabaseDataStoreResourceDefinition.INCREMENTAL_REFRESH));
+            // reject the attribute 'max-size' from resource /subsystem=ejb3/cache=*
+            config.addFailedAttribute(subsystemAddress.append(PathElement.pathElement(EJB3SubsystemModel.CACHE)),
+                    new FailedOperationTransformationConfig.NewAttributesConfig(CacheFactoryResourceDefinition.MAX_SIZE));
         }
 
         return config;
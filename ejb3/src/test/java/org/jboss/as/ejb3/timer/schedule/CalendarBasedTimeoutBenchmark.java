@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timer.schedule;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import javax.ejb.ScheduleExpression;
+
+import org.jboss.as.ejb3.timerservice.schedule.CalendarBasedTimeout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of computing the next timeout of a calendar timer via the {@link Calendar} and the {@link Date} based methods of {@link CalendarBasedTimeout},
+ * and via the {@link Calendar} walk that preceded them, as copied into {@link LegacyCalendarBasedTimeout}.
+ * Run from the test classpath via {@link org.openjdk.jmh.Main}, with the GC profiler (-prof gc) to compare allocation rates.
+ * The {@link Date} based method only avoids allocations away from the offset transitions of the timezone, hence the start time within two days of one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+public class CalendarBasedTimeoutBenchmark {
+
+    @Param({ "UTC", "Europe/Berlin" })
+    private String timezone;
+
+    // hour, minute, second, day of week
+    @Param({ "*;*/15;0;*", "9-17;0,30;0;Mon-Fri", "3;0;0;Sun" })
+    private String expression;
+
+    // Within the CEST period, and a day before its end
+    @Param({ "1497052800000", "1509148800000" })
+    private long start;
+
+    private CalendarBasedTimeout timeout;
+    private LegacyCalendarBasedTimeout legacyTimeout;
+    private Calendar calendar;
+    private Date date;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] fields = this.expression.split(";");
+        ScheduleExpression schedule = new ScheduleExpression().hour(fields[0]).minute(fields[1]).second(fields[2]).dayOfWeek(fields[3]).timezone(this.timezone);
+        this.timeout = new CalendarBasedTimeout(schedule);
+        this.legacyTimeout = new LegacyCalendarBasedTimeout(schedule);
+        this.calendar = new GregorianCalendar(TimeZone.getTimeZone(this.timezone));
+        this.calendar.setTimeInMillis(this.start);
+        this.date = this.calendar.getTime();
+    }
+
+    @Benchmark
+    public Calendar legacy() {
+        return this.legacyTimeout.getNextTimeout(this.calendar);
+    }
+
+    @Benchmark
+    public Calendar calendar() {
+        return this.timeout.getNextTimeout(this.calendar);
+    }
+
+    @Benchmark
+    public Date date() {
+        return this.timeout.getNextTimeout(this.date);
+    }
+}
@@ -1160,6 +1160,129 @@ public class CalendarBasedTimeoutTestCase {
         }
     }
 
+    /**
+     * This test asserts that a timer scheduled for a day-of-week, once the month has advanced,
+     * is fired on that day-of-week rather than on the first day of the month.
+     */
+    @Test
+    public void testDayOfWeekInNextMatchingMonth() {
+        Calendar start = new GregorianCalendar(TimeZone.getTimeZone("Europe/Berlin"));
+        start.clear();
+        // Wednesday, 30 October 2019
+        start.set(2019, Calendar.OCTOBER, 30, 20, 24, 0);
+
+        ScheduleExpression schedule = new ScheduleExpression();
+        schedule.dayOfWeek("Wed")
+                .month("Oct")
+                .hour("20")
+                .minute("24")
+                .second("0")
+                .timezone("Europe/Berlin")
+                .start(start.getTime());
+        CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+        Calendar timeout = calendarTimeout.getNextTimeout(calendarTimeout.getFirstTimeout());
+
+        // Wednesday, 7 October 2020
+        Assert.assertEquals(2020, timeout.get(Calendar.YEAR));
+        Assert.assertEquals(Calendar.OCTOBER, timeout.get(Calendar.MONTH));
+        Assert.assertEquals(7, timeout.get(Calendar.DAY_OF_MONTH));
+        Assert.assertEquals(Calendar.WEDNESDAY, timeout.get(Calendar.DAY_OF_WEEK));
+        Assert.assertEquals(20, timeout.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(24, timeout.get(Calendar.MINUTE));
+    }
+
+    /**
+     * This test asserts that a timer scheduled later on the day the Daylight Savings period ends
+     * is fired at the scheduled wall clock time, i.e. using the offset in effect at that time.
+     */
+    @Test
+    public void testTimerAfterCESTtoCETOnSameDay() {
+        // CEST -> CET
+        // Sunday, 29 October 2017, 03:00:00 -> 02:00:00
+        Calendar start = new GregorianCalendar(TimeZone.getTimeZone("Europe/Berlin"));
+        start.clear();
+        start.set(2017, Calendar.OCTOBER, 29, 0, 0, 0);
+
+        ScheduleExpression schedule = new ScheduleExpression();
+        schedule.hour("23")
+                .minute("0")
+                .second("0")
+                .timezone("Europe/Berlin")
+                .start(start.getTime());
+        CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+        Calendar timeout = calendarTimeout.getFirstTimeout();
+
+        Assert.assertEquals(29, timeout.get(Calendar.DAY_OF_MONTH));
+        Assert.assertEquals(23, timeout.get(Calendar.HOUR_OF_DAY));
+        Assert.assertEquals(0, timeout.get(Calendar.DST_OFFSET));
+        // 23 hours of wall clock time, plus the hour that was repeated
+        Assert.assertEquals(24 * 60 * 60 * 1000, timeout.getTimeInMillis() - start.getTimeInMillis());
+    }
+
+    /**
+     * Asserts timeouts based on relative day-of-month values, which are resolved against each month.
+     */
+    @Test
+    public void testRelativeDayOfMonth() {
+        testRelativeDayOfMonth("Last", 31, 29, 31, 30);
+        testRelativeDayOfMonth("-2", 29, 27, 29, 28);
+        testRelativeDayOfMonth("2nd Fri", 12, 9, 8, 12);
+        testRelativeDayOfMonth("Last Mon", 29, 26, 25, 29);
+        // Only January 2024 has a 5th Wednesday, otherwise the last day of the month is used
+        testRelativeDayOfMonth("5th Wed", 31, 29, 31, 30);
+    }
+
+    private void testRelativeDayOfMonth(String dayOfMonth, int... expectedDays) {
+        Calendar start = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        start.clear();
+        start.set(2024, Calendar.JANUARY, 1, 0, 0, 0);
+
+        ScheduleExpression schedule = new ScheduleExpression();
+        schedule.dayOfMonth(dayOfMonth)
+                .hour("12")
+                .minute("0")
+                .second("0")
+                .timezone("UTC")
+                .start(start.getTime());
+        CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+        Calendar timeout = calendarTimeout.getFirstTimeout();
+        for (int i = 0; i < expectedDays.length; i++) {
+            Assert.assertEquals(dayOfMonth, Calendar.JANUARY + i, timeout.get(Calendar.MONTH));
+            Assert.assertEquals(dayOfMonth, expectedDays[i], timeout.get(Calendar.DAY_OF_MONTH));
+            Assert.assertEquals(dayOfMonth, 12, timeout.get(Calendar.HOUR_OF_DAY));
+            timeout = calendarTimeout.getNextTimeout(timeout);
+        }
+    }
+
+    /**
+     * Verifies that the {@link Date} based next timeout, used when a timer fires, matches the {@link Calendar} based next timeout,
+     * including within and across the daylight saving transitions of 2017 in Europe/Berlin.
+     */
+    @Test
+    public void testNextTimeoutDate() {
+        Calendar start = new GregorianCalendar(TimeZone.getTimeZone("Europe/Berlin"));
+        start.clear();
+        start.set(2017, Calendar.MARCH, 20, 0, 0, 0);
+
+        String[][] expressions = { { "*", "0/15" }, { "2", "30" }, { "1-3", "0,45" }, { "12", "0" } };
+        for (String[] expression : expressions) {
+            ScheduleExpression schedule = new ScheduleExpression();
+            schedule.hour(expression[0])
+                    .minute(expression[1])
+                    .second("0")
+                    .timezone("Europe/Berlin")
+                    .start(start.getTime());
+            CalendarBasedTimeout calendarTimeout = new CalendarBasedTimeout(schedule);
+            Calendar timeout = calendarTimeout.getFirstTimeout();
+            Date date = timeout.getTime();
+            for (int i = 0; i < 2000; ++i) {
+                timeout = calendarTimeout.getNextTimeout(timeout);
+                date = calendarTimeout.getNextTimeout(date);
+                Assert.assertEquals(Arrays.toString(expression), timeout.getTime(), date);
+            }
+        }
+    }
+
     private ScheduleExpression getTimezoneSpecificScheduleExpression() {
         ScheduleExpression scheduleExpression = new ScheduleExpression().timezone(this.timezone.getID());
         GregorianCalendar start = new GregorianCalendar(this.timezone);
@@ -0,0 +1,218 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.ejb3.timerservice.persistence.database;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the statements of timer-sql.properties used by the incremental refresh of {@link DatabaseTimerPersistence}.
+ */
+public class IncrementalRefreshTestCase {
+
+    private static final Path SQL = Paths.get(System.getProperty("basedir", "."), "..", "ee-feature-pack", "common", "src", "main", "resources", "modules", "system", "layers", "base", "org", "jboss", "as", "ejb3", "main", "timers", "timer-sql.properties");
+    private static final String PARTITION = "partition";
+
+    private final Properties sql = new Properties();
+    private Connection connection;
+
+    @Before
+    public void init() throws IOException, SQLException {
+        try (InputStream input = Files.newInputStream(SQL)) {
+            this.sql.load(input);
+        }
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:" + this.getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1");
+        try (Statement statement = this.connection.createStatement()) {
+            for (String sql : this.sql.getProperty("create-table").split(";")) {
+                statement.executeUpdate(sql);
+            }
+            statement.executeUpdate(this.sql.getProperty("create-version-table"));
+        }
+    }
+
+    @After
+    public void destroy() throws SQLException {
+        try (Statement statement = this.connection.createStatement()) {
+            statement.executeUpdate("DROP ALL OBJECTS");
+        }
+        this.connection.close();
+    }
+
+    @Test
+    public void test() throws SQLException {
+        // Timer written before the version column existed
+        this.insert("legacy", PARTITION, null);
+        this.insert("other", "other-partition", null);
+
+        // Counter starts at the greatest version of the partition
+        Assert.assertEquals(-1L, this.loadVersion());
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty("load-max-version"))) {
+            statement.setString(1, PARTITION);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                Assert.assertTrue(resultSet.next());
+                Assert.assertEquals(0L, resultSet.getLong(1));
+            }
+        }
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty("init-version"))) {
+            statement.setString(1, PARTITION);
+            statement.setLong(2, 0L);
+            statement.executeUpdate();
+        }
+        Assert.assertEquals(0L, this.loadVersion());
+
+        // Initial refresh loads all timers of the partition, including those without a version
+        Assert.assertEquals(set("legacy"), this.loadChanged(-1L));
+        long version = this.loadVersion();
+        Assert.assertEquals(set(), this.loadChanged(version));
+
+        // Versioned insert
+        this.insert("created", PARTITION, this.incrementVersion());
+        Assert.assertEquals(set("created"), this.loadChanged(version));
+        version = this.loadVersion();
+        Assert.assertEquals(1L, version);
+
+        // Versioned update
+        long updateVersion = this.incrementVersion();
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty("update-versioned-timer"))) {
+            statement.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+            statement.setTimestamp(2, null);
+            statement.setString(3, "ACTIVE");
+            statement.setString(4, null);
+            statement.setLong(5, updateVersion);
+            statement.setString(6, "timed-object");
+            statement.setString(7, "legacy");
+            statement.setString(8, PARTITION);
+            statement.setString(9, "node");
+            Assert.assertEquals(1, statement.executeUpdate());
+        }
+        Assert.assertEquals(set("legacy"), this.loadChanged(version));
+        version = this.loadVersion();
+        Assert.assertEquals(set(), this.loadChanged(version));
+
+        // Versions are allocated in a transaction of their own, so rolled back writes leave a gap in the counter
+        long rolledBackVersion = this.incrementVersion();
+        this.connection.setAutoCommit(false);
+        this.insert("rolled-back", PARTITION, rolledBackVersion);
+        this.connection.rollback();
+        this.connection.setAutoCommit(true);
+        Assert.assertEquals(version + 1, this.loadVersion());
+        Assert.assertEquals(set(), this.loadChanged(version));
+
+        // Writes may commit out of version order, so a refresh must load the timers changed since the penultimate refresh
+        long previousVersion = this.loadVersion();
+        long slowVersion = this.incrementVersion();
+        long fastVersion = this.incrementVersion();
+        this.insert("fast", PARTITION, fastVersion);
+        Assert.assertEquals(set("fast"), this.loadChanged(previousVersion));
+        long refreshVersion = this.loadVersion();
+        this.insert("slow", PARTITION, slowVersion);
+        Assert.assertEquals(set(), this.loadChanged(refreshVersion));
+        Assert.assertEquals(set("fast", "slow"), this.loadChanged(previousVersion));
+    }
+
+    private long loadVersion() throws SQLException {
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty("load-version"))) {
+            statement.setString(1, PARTITION);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : -1L;
+            }
+        }
+    }
+
+    private long incrementVersion() throws SQLException {
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty("increment-version"))) {
+            statement.setString(1, PARTITION);
+            Assert.assertEquals(1, statement.executeUpdate());
+        }
+        return this.loadVersion();
+    }
+
+    private Set<String> loadChanged(long version) throws SQLException {
+        Set<String> ids = new HashSet<>();
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty("load-changed-timers"))) {
+            statement.setString(1, PARTITION);
+            statement.setLong(2, version);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private void insert(String id, String partition, Long version) throws SQLException {
+        try (PreparedStatement statement = this.connection.prepareStatement(this.sql.getProperty((version != null) ? "create-versioned-timer" : "create-timer"))) {
+            statement.setString(1, id);
+            statement.setString(2, "timed-object");
+            statement.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+            statement.setLong(4, 0L);
+            statement.setTimestamp(5, new Timestamp(System.currentTimeMillis()));
+            statement.setTimestamp(6, null);
+            statement.setString(7, null);
+            statement.setString(8, null);
+            statement.setString(9, "ACTIVE");
+            for (int i = 10; i <= 19; ++i) {
+                statement.setString(i, null);
+            }
+            statement.setBoolean(20, false);
+            for (int i = 21; i <= 23; ++i) {
+                statement.setString(i, null);
+            }
+            statement.setBoolean(24, false);
+            statement.setString(25, partition);
+            statement.setNull(26, Types.VARCHAR);
+            if (version != null) {
+                statement.setLong(27, version);
+            }
+            statement.executeUpdate();
+        }
+    }
+
+    private static Set<String> set(String... ids) {
+        Set<String> set = new HashSet<>();
+        for (String id : ids) {
+            set.add(id);
+        }
+        return set;
+    }
+}
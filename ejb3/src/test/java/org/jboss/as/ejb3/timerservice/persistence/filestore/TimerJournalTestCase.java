@@ -0,0 +1,216 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.persistence.filestore;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimerJournal}.
+ */
+public class TimerJournalTestCase {
+
+    private File directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("timer-journal").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        TimerJournal journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        assertTrue(journal.replay().isEmpty());
+        journal.put("a", bytes("a1"));
+        journal.put("b", bytes("b1"));
+        journal.put("a", bytes("a2"));
+        long position = journal.remove("b");
+        journal.sync(position);
+        // Removing a timer that was never put does not append anything
+        assertEquals(position, journal.remove("c"));
+        journal.close();
+
+        journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        Map<String, byte[]> timers = journal.replay();
+        assertEquals(1, timers.size());
+        assertArrayEquals(bytes("a2"), timers.get("a"));
+        // Resume appending after replay
+        journal.put("d", bytes("d1"));
+        journal.close();
+
+        journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        timers = journal.replay();
+        assertEquals(2, timers.size());
+        assertArrayEquals(bytes("d1"), timers.get("d"));
+        journal.close();
+    }
+
+    @Test
+    public void testIncompleteRecord() throws IOException {
+        TimerJournal journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        journal.replay();
+        journal.put("a", bytes("a1"));
+        journal.put("b", bytes("b1"));
+        journal.close();
+
+        // Simulate a crash while appending the last record
+        File segment = segments()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 1);
+        }
+        long length = segment.length();
+
+        journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        Map<String, byte[]> timers = journal.replay();
+        assertEquals(1, timers.size());
+        assertArrayEquals(bytes("a1"), timers.get("a"));
+        assertTrue(segment.length() < length);
+        journal.put("c", bytes("c1"));
+        journal.close();
+
+        journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        timers = journal.replay();
+        assertEquals(2, timers.size());
+        assertArrayEquals(bytes("c1"), timers.get("c"));
+        journal.close();
+    }
+
+    @Test
+    public void testCompaction() throws IOException {
+        long segmentSize = 1024;
+        TimerJournal journal = new TimerJournal(directory, segmentSize);
+        journal.replay();
+        Map<String, byte[]> expected = new HashMap<>();
+        for (int i = 0; i < 100; ++i) {
+            String id = Integer.toString(i % 10);
+            byte[] payload = bytes(id + "-" + i);
+            journal.put(id, payload);
+            expected.put(id, payload);
+            if (journal.isCompactionRequired()) {
+                journal.compact(expected);
+            }
+        }
+        assertFalse(journal.isCompactionRequired());
+        assertTrue(segments().length <= 2);
+        journal.close();
+
+        journal = new TimerJournal(directory, segmentSize);
+        Map<String, byte[]> timers = journal.replay();
+        assertEquals(expected.size(), timers.size());
+        for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+            assertArrayEquals(entry.getValue(), timers.get(entry.getKey()));
+        }
+        journal.close();
+    }
+
+    @Test
+    public void testIncompleteCompaction() throws IOException {
+        TimerJournal journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        journal.replay();
+        journal.put("a", bytes("a1"));
+        journal.put("a", bytes("a2"));
+        Map<String, byte[]> snapshot = new HashMap<>();
+        snapshot.put("a", bytes("a2"));
+        journal.compact(snapshot);
+        journal.put("b", bytes("b1"));
+        journal.close();
+        assertEquals(1, segments().length);
+
+        // Simulate a crash during a subsequent compaction, i.e. a snapshot without its end marker
+        File segment = segments()[0];
+        File incomplete = new File(directory, segment.getName().replace("0000000000000001", "0000000000000002"));
+        byte[] content = Files.readAllBytes(segment.toPath());
+        Files.write(incomplete.toPath(), Arrays.copyOf(content, 20));
+
+        journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        Map<String, byte[]> timers = journal.replay();
+        assertEquals(2, timers.size());
+        assertArrayEquals(bytes("a2"), timers.get("a"));
+        assertArrayEquals(bytes("b1"), timers.get("b"));
+        assertFalse(incomplete.exists());
+        journal.close();
+    }
+
+    @Test
+    public void testConcurrentSync() throws Exception {
+        TimerJournal journal = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        journal.replay();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Future<?>[] futures = new Future<?>[64];
+            for (int i = 0; i < futures.length; ++i) {
+                String id = Integer.toString(i);
+                futures[i] = executor.submit(() -> {
+                    journal.sync(journal.put(id, bytes(id)));
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+            journal.close();
+        }
+        TimerJournal replayed = new TimerJournal(directory, TimerJournal.DEFAULT_SEGMENT_SIZE);
+        assertEquals(64, replayed.replay().size());
+        replayed.close();
+    }
+
+    private File[] segments() {
+        return directory.listFiles((dir, name) -> name.startsWith(TimerJournal.PREFIX) && name.endsWith(TimerJournal.SUFFIX));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.jboss.as.ejb3.timerservice.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.as.ejb3.timerservice.spi.TimeoutScheduler.Timeout;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link TimingWheelTimeoutScheduler}.
+ */
+public class TimingWheelTimeoutSchedulerTestCase {
+
+    @Test
+    public void testSchedule() throws InterruptedException {
+        TimingWheelTimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(TimingWheelTimeoutScheduler.DEFAULT_TICK, Executors.defaultThreadFactory());
+        scheduler.start();
+        try {
+            int count = 100;
+            CountDownLatch latch = new CountDownLatch(count);
+            AtomicInteger early = new AtomicInteger();
+            for (int i = 0; i < count; ++i) {
+                long delay = i * 3;
+                long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+                scheduler.schedule(() -> {
+                    if (System.nanoTime() < due) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }, delay);
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(0, early.get());
+            assertEquals(count, scheduler.getScheduledCount());
+            assertEquals(count, scheduler.getFiredCount());
+            assertEquals(0, scheduler.getPendingCount());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        TimingWheelTimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(TimingWheelTimeoutScheduler.DEFAULT_TICK, Executors.defaultThreadFactory());
+        scheduler.start();
+        try {
+            AtomicInteger fired = new AtomicInteger();
+            Timeout timeout = scheduler.schedule(fired::incrementAndGet, 50);
+            assertEquals(1, scheduler.getPendingCount());
+            assertTrue(timeout.cancel());
+            assertFalse(timeout.cancel());
+            assertEquals(0, scheduler.getPendingCount());
+
+            CountDownLatch latch = new CountDownLatch(1);
+            Timeout other = scheduler.schedule(latch::countDown, 100);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertFalse(other.cancel());
+            assertEquals(0, fired.get());
+            assertEquals(1, scheduler.getFiredCount());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    public void testOverflow() throws InterruptedException {
+        // A wheel of 1ms ticks spans ~0.5s, so these timeouts must cascade from the overflow wheel
+        TimingWheelTimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(1L, Executors.defaultThreadFactory());
+        scheduler.start();
+        try {
+            long delay = TimingWheelTimeoutScheduler.WHEEL_SIZE * 2;
+            CountDownLatch latch = new CountDownLatch(2);
+            AtomicInteger early = new AtomicInteger();
+            for (long d : new long[] { delay, delay + 100 }) {
+                long due = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(d);
+                scheduler.schedule(() -> {
+                    if (System.nanoTime() < due) {
+                        early.incrementAndGet();
+                    }
+                    latch.countDown();
+                }, d);
+            }
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertEquals(0, early.get());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    public void testScheduleAtFixedRate() throws InterruptedException {
+        TimingWheelTimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(TimingWheelTimeoutScheduler.DEFAULT_TICK, Executors.defaultThreadFactory());
+        scheduler.start();
+        try {
+            CountDownLatch latch = new CountDownLatch(5);
+            Timeout timeout = scheduler.scheduleAtFixedRate(latch::countDown, 0, 20);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(timeout.cancel());
+            long fired = scheduler.getFiredCount();
+            Thread.sleep(100);
+            // At most one run could have been in progress at the time of cancellation
+            assertTrue(scheduler.getFiredCount() <= fired + 1);
+            assertEquals(0, scheduler.getPendingCount());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    public void testFailingTask() throws InterruptedException {
+        TimingWheelTimeoutScheduler scheduler = new TimingWheelTimeoutScheduler(TimingWheelTimeoutScheduler.DEFAULT_TICK, Executors.defaultThreadFactory());
+        scheduler.start();
+        try {
+            scheduler.schedule(() -> {
+                throw new IllegalStateException();
+            }, 0);
+            CountDownLatch latch = new CountDownLatch(1);
+            scheduler.schedule(latch::countDown, 20);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } finally {
+            scheduler.stop();
+        }
+    }
+}
@@ -63,6 +63,8 @@ class AccessLogAdd extends AbstractAddStepHandler {
         final boolean extended = AccessLogDefinition.EXTENDED.resolveModelAttribute(context, model).asBoolean();
         final ModelNode relativeToNode = AccessLogDefinition.RELATIVE_TO.resolveModelAttribute(context, model);
         final String relativeTo = relativeToNode.isDefined() ? relativeToNode.asString() : null;
+        final ModelNode queueSizeNode = AccessLogDefinition.QUEUE_SIZE.resolveModelAttribute(context, model);
+        final Integer queueSize = queueSizeNode.isDefined() ? queueSizeNode.asInt() : null;
 
         Predicate predicate = null;
         ModelNode predicateNode = AccessLogDefinition.PREDICATE.resolveModelAttribute(context, model);
@@ -74,7 +76,7 @@ class AccessLogAdd extends AbstractAddStepHandler {
         if (useServerLog) {
             service = new AccessLogService(pattern, extended, predicate);
         } else {
-            service = new AccessLogService(pattern, directory, relativeTo, filePrefix, fileSuffix, rotate, extended, predicate);
+            service = new AccessLogService(pattern, directory, relativeTo, filePrefix, fileSuffix, rotate, extended, predicate, queueSize);
         }
 
         final String serverName = serverAddress.getLastElement().getValue();
@@ -37,14 +37,20 @@ import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StartException;
 import org.jboss.msc.service.StopContext;
 import org.jboss.msc.value.InjectedValue;
+import org.jboss.threads.JBossThreadFactory;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
 import org.xnio.IoUtils;
 import org.xnio.XnioWorker;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ThreadFactory;
+
+import static java.security.AccessController.doPrivileged;
 
 /**
  * @author Tomaz Cerar (c) 2013 Red Hat Inc.
@@ -61,6 +67,7 @@ class AccessLogService implements Service<AccessLogService> {
     private final boolean useServerLog;
     private final boolean extended;
     private final Predicate predicate;
+    private final Integer queueSize;
     private volatile AccessLogReceiver logReceiver;
 
 
@@ -82,9 +89,10 @@ class AccessLogService implements Service<AccessLogService> {
         this.useServerLog = true;
         this.rotate = false; //doesn't really matter
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
+        this.queueSize = null;
     }
 
-    AccessLogService(String pattern, String path, String pathRelativeTo, String filePrefix, String fileSuffix, boolean rotate, boolean extended, Predicate predicate) {
+    AccessLogService(String pattern, String path, String pathRelativeTo, String filePrefix, String fileSuffix, boolean rotate, boolean extended, Predicate predicate, Integer queueSize) {
         this.pattern = pattern;
         this.path = path;
         this.pathRelativeTo = pathRelativeTo;
@@ -94,6 +102,7 @@ class AccessLogService implements Service<AccessLogService> {
         this.extended = extended;
         this.useServerLog = false;
         this.predicate = predicate == null ? Predicates.truePredicate() : predicate;
+        this.queueSize = queueSize;
     }
 
     @Override
@@ -112,21 +121,39 @@ class AccessLogService implements Service<AccessLogService> {
                     throw UndertowLogger.ROOT_LOGGER.couldNotCreateLogDirectory(directory, e);
                 }
             }
-            try {
-                DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.getValue())
-                        .setOutputDirectory(directory)
-                        .setLogBaseName(filePrefix)
-                        .setLogNameSuffix(fileSuffix)
-                        .setRotate(rotate);
-                if(extended) {
-                    builder.setLogFileHeaderGenerator(new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern));
-                    extendedPattern = new ExtendedAccessLogParser(getClass().getClassLoader()).parse(pattern);
-                } else {
-                    extendedPattern = null;
+            if (extended) {
+                extendedPattern = new ExtendedAccessLogParser(getClass().getClassLoader()).parse(pattern);
+            } else {
+                extendedPattern = null;
+            }
+            if (queueSize != null) {
+                String hostName = host.getValue().getName();
+                ThreadFactory threadFactory = doPrivileged(new PrivilegedAction<JBossThreadFactory>() {
+                    public JBossThreadFactory run() {
+                        return new JBossThreadFactory(new ThreadGroup("access-log-" + hostName), Boolean.TRUE, null, "%G - %t", null, null);
+                    }
+                });
+                BatchingAccessLogReceiver receiver = new BatchingAccessLogReceiver(directory, filePrefix, fileSuffix, rotate, extended ? new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern) : null, queueSize, threadFactory);
+                try {
+                    receiver.start();
+                } catch (IOException e) {
+                    throw new StartException(e);
+                }
+                logReceiver = receiver;
+            } else {
+                try {
+                    DefaultAccessLogReceiver.Builder builder = DefaultAccessLogReceiver.builder().setLogWriteExecutor(worker.getValue())
+                            .setOutputDirectory(directory)
+                            .setLogBaseName(filePrefix)
+                            .setLogNameSuffix(fileSuffix)
+                            .setRotate(rotate);
+                    if (extended) {
+                        builder.setLogFileHeaderGenerator(new ExtendedAccessLogParser.ExtendedAccessLogHeaderGenerator(pattern));
+                    }
+                    logReceiver = builder.build();
+                } catch (IllegalStateException e) {
+                    throw new StartException(e);
                 }
-                logReceiver = builder.build();
-            } catch (IllegalStateException e) {
-                throw new StartException(e);
             }
         }
         host.getValue().setAccessLogService(this);
@@ -139,8 +166,12 @@ class AccessLogService implements Service<AccessLogService> {
             callbackHandle.remove();
             callbackHandle = null;
         }
-        if( logReceiver instanceof DefaultAccessLogReceiver ) {
-            IoUtils.safeClose((DefaultAccessLogReceiver) logReceiver);
+        if (logReceiver instanceof BatchingAccessLogReceiver) {
+            // Draining the queued records may take a while, so complete the stop from the writer thread once it terminates, rather than block the MSC thread
+            context.asynchronous();
+            ((BatchingAccessLogReceiver) logReceiver).close(context::complete);
+        } else if (logReceiver instanceof Closeable) {
+            IoUtils.safeClose((Closeable) logReceiver);
         }
         logReceiver = null;
     }
@@ -177,4 +208,14 @@ class AccessLogService implements Service<AccessLogService> {
     String getPath() {
         return path;
     }
+
+    long getQueuedRecords() {
+        AccessLogReceiver receiver = logReceiver;
+        return (receiver instanceof BatchingAccessLogReceiver) ? ((BatchingAccessLogReceiver) receiver).getQueuedCount() : 0;
+    }
+
+    long getDroppedRecords() {
+        AccessLogReceiver receiver = logReceiver;
+        return (receiver instanceof BatchingAccessLogReceiver) ? ((BatchingAccessLogReceiver) receiver).getDroppedCount() : 0;
+    }
 }
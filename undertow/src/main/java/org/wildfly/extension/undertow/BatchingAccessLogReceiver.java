@@ -0,0 +1,293 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.undertow.server.handlers.accesslog.AccessLogReceiver;
+import io.undertow.server.handlers.accesslog.LogFileHeaderGenerator;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+import org.xnio.IoUtils;
+
+/**
+ * Access log receiver that queues log records into a bounded queue, from which a single writer thread writes them to the log file in batches.
+ * Request threads never block on the log file, not even during rotation, which is performed by the writer thread.
+ * If the queue is full, records are dropped rather than blocking the request thread.
+ * On close, the writer thread drains the remaining records for a bounded time, and drops any records still queued thereafter.
+ */
+class BatchingAccessLogReceiver implements AccessLogReceiver, Runnable, Closeable {
+
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final char[] LINE_SEPARATOR = System.lineSeparator().toCharArray();
+
+    private final BlockingQueue<String> queue;
+    private final Path directory;
+    private final String baseName;
+    private final String suffix;
+    private final boolean rotate;
+    private final LogFileHeaderGenerator headerGenerator;
+    private final Clock clock;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    // Accessed only by the writer thread, or before it starts, or after it terminates
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final List<String> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    private LocalDate date;
+
+    // Written only by the writer thread, or before it starts, but closed by close() if the writer fails to terminate
+    private volatile FileChannel channel;
+
+    private volatile boolean closed = false;
+    // Written before closed, read by the writer thread once closed
+    private volatile long drainDeadline;
+    // Completed by the writer thread on exit
+    private final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+    BatchingAccessLogReceiver(Path directory, String baseName, String suffix, boolean rotate, LogFileHeaderGenerator headerGenerator, int queueSize, ThreadFactory threadFactory) {
+        this(directory, baseName, suffix, rotate, headerGenerator, queueSize, threadFactory, Clock.systemDefaultZone());
+    }
+
+    BatchingAccessLogReceiver(Path directory, String baseName, String suffix, boolean rotate, LogFileHeaderGenerator headerGenerator, int queueSize, ThreadFactory threadFactory, Clock clock) {
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.directory = directory;
+        this.baseName = baseName;
+        this.suffix = suffix;
+        this.rotate = rotate;
+        this.headerGenerator = headerGenerator;
+        this.clock = clock;
+        this.writer = threadFactory.newThread(this);
+    }
+
+    void start() throws IOException {
+        Path file = this.getLogFile();
+        this.date = LocalDate.now(this.clock);
+        if (this.rotate && Files.exists(file)) {
+            // Rotate existing log file if it was last modified before today
+            LocalDate modified = Instant.ofEpochMilli(Files.getLastModifiedTime(file).toMillis()).atZone(this.clock.getZone()).toLocalDate();
+            if (modified.isBefore(this.date)) {
+                this.move(file, modified);
+            }
+        }
+        this.open();
+        this.writer.start();
+    }
+
+    @Override
+    public void logMessage(String message) {
+        if (this.closed || !this.queue.offer(message)) {
+            this.dropped.increment();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            this.drain();
+        } finally {
+            IoUtils.safeClose(this.channel);
+            this.termination.complete(null);
+        }
+    }
+
+    private void drain() {
+        // N.B. Interruption of a blocking write closes the channel, so stop rather than reopen it
+        while ((!this.closed || !this.queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+            if (this.closed && (System.nanoTime() - this.drainDeadline > 0)) {
+                // Abandon any remaining records
+                int remaining = this.queue.size();
+                this.queue.clear();
+                this.dropped.add(remaining);
+                return;
+            }
+            try {
+                String message = this.queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    this.batch.add(message);
+                    this.queue.drainTo(this.batch, MAX_BATCH_SIZE - 1);
+                }
+                if (this.rotate && !LocalDate.now(this.clock).equals(this.date)) {
+                    this.rotate();
+                } else if (!this.channel.isOpen()) {
+                    // Reopen following a failed rotation
+                    this.open();
+                }
+                if (!this.batch.isEmpty()) {
+                    this.write(this.batch);
+                    this.written.add(this.batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                this.dropped.add(this.batch.size());
+                UndertowLogger.ROOT_LOGGER.failedToWriteAccessLog(e, this.batch.size());
+            } finally {
+                this.batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Closes this receiver without waiting for the writer thread to drain the remaining records.
+     * @param task a task run once the writer thread has terminated, by the writer thread itself if it is still running
+     */
+    void close(Runnable task) {
+        this.drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        this.closed = true;
+        this.termination.whenComplete((result, exception) -> task.run());
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.close(() -> {});
+        try {
+            // Allow writer to drain remaining records
+            this.termination.get(DRAIN_TIMEOUT_NANOS + TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Writer is blocked, or never started
+            this.writer.interrupt();
+        }
+        // The writer closes the channel on exit, but may never have started, or may still be blocked
+        FileChannel channel = this.channel;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns the number of log records waiting to be written.
+     * @return a number of records
+     */
+    long getQueuedCount() {
+        return this.queue.size();
+    }
+
+    /**
+     * Returns the number of log records that were dropped, either because the queue was full, or because they failed to be written.
+     * @return a number of records
+     */
+    long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Returns the number of log records that were written.
+     * @return a number of records
+     */
+    long getWrittenCount() {
+        return this.written.sum();
+    }
+
+    private void write(List<String> messages) throws IOException {
+        for (String message : messages) {
+            this.encode(CharBuffer.wrap(message));
+            this.encode(CharBuffer.wrap(LINE_SEPARATOR));
+        }
+        this.flush();
+    }
+
+    private void encode(CharBuffer chars) throws IOException {
+        CoderResult result = this.encoder.encode(chars, this.buffer, true);
+        while (result.isOverflow()) {
+            this.flush();
+            result = this.encoder.encode(chars, this.buffer, true);
+        }
+        this.encoder.reset();
+    }
+
+    private void flush() throws IOException {
+        this.buffer.flip();
+        try {
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+        } finally {
+            this.buffer.clear();
+        }
+    }
+
+    private void rotate() throws IOException {
+        this.channel.close();
+        try {
+            this.move(this.getLogFile(), this.date);
+        } finally {
+            this.date = LocalDate.now(this.clock);
+            this.open();
+        }
+    }
+
+    private void open() throws IOException {
+        this.channel = FileChannel.open(this.getLogFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if ((this.headerGenerator != null) && (this.channel.size() == 0)) {
+            this.write(this.headerGenerator.generateHeader());
+        }
+    }
+
+    private void move(Path file, LocalDate date) throws IOException {
+        String name = this.baseName + DATE_FORMAT.format(date);
+        Path target = this.directory.resolve(name + "." + this.suffix);
+        int count = 0;
+        while (Files.exists(target)) {
+            target = this.directory.resolve(name + "-" + (++count) + "." + this.suffix);
+        }
+        Files.move(file, target);
+    }
+
+    private Path getLogFile() {
+        return this.directory.resolve(this.baseName + this.suffix);
+    }
+}
@@ -255,6 +255,11 @@ public interface Constants {
     String FILE_CACHE_MAX_FILE_SIZE = "file-cache-max-file-size";
     String FILE_CACHE_METADATA_SIZE = "file-cache-metadata-size";
     String FILE_CACHE_TIME_TO_LIVE =  "file-cache-time-to-live";
+    String PRECOMPRESS_STATIC_CONTENT = "precompress-static-content";
+    String QUEUE_SIZE = "queue-size";
+    String QUEUED_RECORDS = "queued-records";
+    String DROPPED_RECORDS = "dropped-records";
+    String ADAPTIVE_REQUEST_LIMIT = "adaptive-request-limit";
     String SESSION_ID = "session-id";
     String ATTRIBUTE = "attribute";
     String INVALIDATE_SESSION = "invalidate-session";
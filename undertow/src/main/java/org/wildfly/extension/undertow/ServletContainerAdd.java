@@ -93,6 +93,7 @@ final class ServletContainerAdd extends AbstractBoottimeAddStepHandler {
         final Integer fileCacheTimeToLive = fileCacheTtlNode.isDefined()  ? fileCacheTtlNode.asInt() : null;
         final int defaultCookieVersion = ServletContainerDefinition.DEFAULT_COOKIE_VERSION.resolveModelAttribute(context, model).asInt();
         final boolean preservePathOnForward = ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD.resolveModelAttribute(context, model).asBoolean();
+        final boolean precompressStaticContent = ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT.resolveModelAttribute(context, model).asBoolean();
 
         Boolean directoryListingEnabled = null;
         if(model.hasDefined(Constants.DIRECTORY_LISTING)) {
@@ -140,7 +141,7 @@ final class ServletContainerAdd extends AbstractBoottimeAddStepHandler {
                 webSocketInfo != null && webSocketInfo.isPerMessageDeflate(), webSocketInfo == null ? -1 : webSocketInfo.getDeflaterLevel(),
                 mimeMappings,
                 welcomeFiles, directoryListingEnabled, proactiveAuth, sessionIdLength, authenticationMechanisms, maxSessions, crawlerSessionManagerConfig, disableFileWatchService, disableSessionIdReususe, fileCacheMetadataSize, fileCacheMaxFileSize, fileCacheTimeToLive, defaultCookieVersion,
-                preservePathOnForward);
+                preservePathOnForward, precompressStaticContent);
 
 
         final CapabilityServiceBuilder<?> builder = context.getCapabilityServiceTarget()
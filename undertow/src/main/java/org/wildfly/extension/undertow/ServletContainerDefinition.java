@@ -197,6 +197,13 @@ class ServletContainerDefinition extends PersistentResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
+    protected static final AttributeDefinition PRECOMPRESS_STATIC_CONTENT =
+            new SimpleAttributeDefinitionBuilder(Constants.PRECOMPRESS_STATIC_CONTENT, ModelType.BOOLEAN, true)
+                    .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+
     private static final List<? extends PersistentResourceDefinition> CHILDREN;
     static final Collection<AttributeDefinition> ATTRIBUTES = Arrays.asList(
             ALLOW_NON_STANDARD_WRAPPERS,
@@ -218,7 +225,8 @@ class ServletContainerDefinition extends PersistentResourceDefinition {
             FILE_CACHE_MAX_FILE_SIZE,
             FILE_CACHE_TIME_TO_LIVE,
             DEFAULT_COOKIE_VERSION,
-            PRESERVE_PATH_ON_FORWARD
+            PRESERVE_PATH_ON_FORWARD,
+            PRECOMPRESS_STATIC_CONTENT
             );
 
     static final ServletContainerDefinition INSTANCE = new ServletContainerDefinition();
@@ -30,6 +30,7 @@ import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.PersistentResourceXMLDescription;
 import org.jboss.as.controller.PersistentResourceXMLParser;
 import org.jboss.as.controller.operations.common.Util;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitDefinition;
 import org.wildfly.extension.undertow.filters.CustomFilterDefinition;
 import org.wildfly.extension.undertow.filters.ErrorPageDefinition;
 import org.wildfly.extension.undertow.filters.ExpressionFilterDefinition;
@@ -146,7 +147,8 @@ public class UndertowSubsystemParser_12_0 extends PersistentResourceXMLParser {
                                                                 AccessLogDefinition.ROTATE,
                                                                 AccessLogDefinition.USE_SERVER_LOG,
                                                                 AccessLogDefinition.EXTENDED,
-                                                                AccessLogDefinition.PREDICATE)
+                                                                AccessLogDefinition.PREDICATE,
+                                                                AccessLogDefinition.QUEUE_SIZE)
                                         ).addChild(
                                                 builder(ConsoleAccessLogDefinition.INSTANCE.getPathElement())
                                                     .addAttributes(
@@ -191,6 +193,7 @@ public class UndertowSubsystemParser_12_0 extends PersistentResourceXMLParser {
                                 .addAttribute(ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE)
                                 .addAttribute(ServletContainerDefinition.DEFAULT_COOKIE_VERSION)
                                 .addAttribute(ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD)
+                                .addAttribute(ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT)
                                 .addChild(
                                         builder(JspDefinition.INSTANCE.getPathElement())
                                                 .setXmlElementName(Constants.JSP_CONFIG)
@@ -361,6 +364,9 @@ public class UndertowSubsystemParser_12_0 extends PersistentResourceXMLParser {
                         ).addChild(
                                 builder(RewriteFilterDefinition.INSTANCE.getPathElement())
                                         .addAttributes(RewriteFilterDefinition.TARGET, RewriteFilterDefinition.REDIRECT)
+                        ).addChild(
+                                builder(AdaptiveRequestLimitDefinition.INSTANCE.getPathElement())
+                                        .addAttributes(AdaptiveRequestLimitDefinition.INITIAL_LIMIT, AdaptiveRequestLimitDefinition.MIN_LIMIT, AdaptiveRequestLimitDefinition.MAX_LIMIT)
                         )
 
                 )
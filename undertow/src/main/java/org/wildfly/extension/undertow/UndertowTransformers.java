@@ -45,6 +45,7 @@ import static org.wildfly.extension.undertow.ServletContainerDefinition.DISABLE_
 import static org.wildfly.extension.undertow.ServletContainerDefinition.FILE_CACHE_MAX_FILE_SIZE;
 import static org.wildfly.extension.undertow.ServletContainerDefinition.FILE_CACHE_METADATA_SIZE;
 import static org.wildfly.extension.undertow.ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE;
+import static org.wildfly.extension.undertow.ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT;
 import static org.wildfly.extension.undertow.ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD;
 import static org.wildfly.extension.undertow.WebsocketsDefinition.DEFLATER_LEVEL;
 import static org.wildfly.extension.undertow.WebsocketsDefinition.PER_MESSAGE_DEFLATE;
@@ -69,6 +70,7 @@ import org.jboss.as.controller.transform.description.RejectAttributeChecker.Simp
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.dmr.ModelNode;
+import org.wildfly.extension.undertow.filters.AdaptiveRequestLimitDefinition;
 import org.wildfly.extension.undertow.filters.ModClusterDefinition;
 import org.wildfly.extension.undertow.filters.NoAffinityResourceDefinition;
 import org.wildfly.extension.undertow.filters.RankedAffinityResourceDefinition;
@@ -111,6 +113,26 @@ public class UndertowTransformers implements ExtensionTransformerRegistration {
         subsystemBuilder.getAttributeBuilder().addRejectCheck(RejectAttributeChecker.DEFINED, OBFUSCATE_SESSION_ROUTE)
                 .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, OBFUSCATE_SESSION_ROUTE)
                 .end();
+
+        subsystemBuilder
+                .addChildResource(UndertowExtension.PATH_SERVLET_CONTAINER)
+                .getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PRECOMPRESS_STATIC_CONTENT)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, PRECOMPRESS_STATIC_CONTENT)
+                .end();
+
+        subsystemBuilder
+                .addChildResource(UndertowExtension.SERVER_PATH)
+                .addChildResource(UndertowExtension.HOST_PATH)
+                .addChildResource(UndertowExtension.PATH_ACCESS_LOG)
+                .getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, AccessLogDefinition.QUEUE_SIZE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, AccessLogDefinition.QUEUE_SIZE)
+                .end();
+
+        subsystemBuilder
+                .addChildResource(UndertowExtension.PATH_FILTERS)
+                .rejectChildResource(AdaptiveRequestLimitDefinition.INSTANCE.getPathElement());
     }
 
     private static void registerTransformersWildFly18(ResourceTransformationDescriptionBuilder subsystemBuilder) {
@@ -0,0 +1,347 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.vfs.VFSUtils;
+import org.jboss.vfs.VirtualFile;
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+/**
+ * Persistent cache of metadata parsed from deployment descriptors, e.g. TLDs and web fragments, keyed by a hash of the descriptor content.
+ * This avoids re-parsing the descriptors of unchanged libraries on every deployment and server restart.
+ * The descriptors of an archive can also be cached as a whole, keyed by a hash of the central directory of the archive,
+ * which additionally avoids scanning the archive for descriptors, and reading them.
+ * Each lookup returns a distinct copy of the cached metadata, so callers are free to mutate it.
+ */
+public class DescriptorCache {
+
+    /**
+     * Parses metadata from the content of a descriptor.
+     */
+    public interface Parser<T> {
+        T parse(InputStream input) throws IOException, XMLStreamException;
+    }
+
+    private static final String SUFFIX = ".ser";
+    // Entries not accessed within this period are removed
+    private static final long RETENTION_MILLIS = TimeUnit.DAYS.toMillis(30);
+    private static final int END_HEADER_SIGNATURE = 0x06054b50;
+    private static final int END_HEADER_SIZE = 22;
+    private static final String PERMITTED_PACKAGE = "org.jboss.metadata.";
+    // Concrete JDK types referenced by metadata, including the maps of cached archives
+    private static final Set<String> PERMITTED_CLASSES = new HashSet<>(Arrays.asList(
+            String.class.getName(), Boolean.class.getName(), Integer.class.getName(), Long.class.getName(), Number.class.getName(), Enum.class.getName(),
+            "java.util.ArrayList", "java.util.LinkedList", "java.util.HashMap", "java.util.LinkedHashMap", "java.util.TreeMap", "java.util.HashSet", "java.util.LinkedHashSet", "java.util.TreeSet",
+            "java.util.Arrays$ArrayList", "java.util.Collections$EmptyList", "java.util.Collections$EmptyMap", "java.util.Collections$EmptySet",
+            "java.util.Collections$UnmodifiableCollection", "java.util.Collections$UnmodifiableList", "java.util.Collections$UnmodifiableRandomAccessList",
+            "java.util.Collections$UnmodifiableSet", "java.util.Collections$UnmodifiableMap"));
+
+    private final Path directory;
+
+    /**
+     * Creates a descriptor cache persisted to the specified directory.
+     * @param directory a directory, or null, if parsed metadata should not be cached.
+     */
+    public DescriptorCache(Path directory) {
+        this.directory = directory;
+        if (directory != null) {
+            this.prune();
+        }
+    }
+
+    /**
+     * Parses the specified descriptor, reusing previously parsed metadata if a descriptor with identical content was already parsed.
+     * @param file a descriptor
+     * @param targetClass the type of the parsed metadata
+     * @param propertyReplacement indicates whether the parser replaces expressions within the descriptor, in which case descriptors containing expressions are never cached.
+     * @param parser a descriptor parser
+     * @return the parsed metadata
+     * @throws IOException if the descriptor could not be read
+     * @throws XMLStreamException if the descriptor could not be parsed
+     */
+    public <T> T parse(VirtualFile file, Class<T> targetClass, boolean propertyReplacement, Parser<T> parser) throws IOException, XMLStreamException {
+        if (this.directory == null) {
+            try (InputStream input = file.openStream()) {
+                return parser.parse(input);
+            }
+        }
+        byte[] content = read(file);
+        // The result of parsing a descriptor containing expressions depends on more than its content
+        if (propertyReplacement && containsExpressionDelimiter(content)) {
+            return parser.parse(new ByteArrayInputStream(content));
+        }
+        return this.parse(file, content, targetClass, parser);
+    }
+
+    /**
+     * Parses the descriptors of the specified archive, reusing previously parsed metadata if an archive with an identical central directory was already parsed,
+     * in which case the archive is not scanned for descriptors.
+     * Descriptors of exploded archives are parsed individually via {@link #parse(VirtualFile, Class, boolean, Parser)}.
+     * @param archive the root of an archive
+     * @param locator locates the descriptors within an archive
+     * @param targetClass the type of the parsed metadata
+     * @param propertyReplacement indicates whether the parser replaces expressions within the descriptors, in which case archives with descriptors containing expressions are never cached as a whole.
+     * @param parsers provides the parser of each descriptor
+     * @return the parsed metadata of each descriptor, keyed by its path relative to the archive, in the order located
+     * @throws IOException if a descriptor could not be read
+     * @throws XMLStreamException if a descriptor could not be parsed
+     */
+    public <T> Map<String, T> parse(VirtualFile archive, Function<VirtualFile, List<VirtualFile>> locator, Class<T> targetClass, boolean propertyReplacement, Function<VirtualFile, Parser<T>> parsers) throws IOException, XMLStreamException {
+        String key = (this.directory != null) ? archiveKey(archive, targetClass) : null;
+        Path entry = (key != null) ? this.directory.resolve(key + SUFFIX) : null;
+        if ((entry != null) && Files.exists(entry)) {
+            try {
+                Map<?, ?> cached = this.read(entry, Map.class, targetClass.getClassLoader());
+                Map<String, T> result = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> cachedEntry : cached.entrySet()) {
+                    result.put((String) cachedEntry.getKey(), targetClass.cast(cachedEntry.getValue()));
+                }
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+                return result;
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                UndertowLogger.ROOT_LOGGER.debugf(e, "Discarding cached metadata %s for %s", entry, archive);
+            }
+        }
+        Map<String, T> result = new LinkedHashMap<>();
+        boolean cacheable = (entry != null);
+        for (VirtualFile file : locator.apply(archive)) {
+            String path = file.getPathNameRelativeTo(archive);
+            Parser<T> parser = parsers.apply(file);
+            if (entry == null) {
+                result.put(path, this.parse(file, targetClass, propertyReplacement, parser));
+            } else {
+                byte[] content = read(file);
+                if (propertyReplacement && containsExpressionDelimiter(content)) {
+                    cacheable = false;
+                    result.put(path, parser.parse(new ByteArrayInputStream(content)));
+                } else {
+                    result.put(path, this.parse(file, content, targetClass, parser));
+                }
+            }
+        }
+        if (cacheable) {
+            this.write(entry, result);
+        }
+        return result;
+    }
+
+    private <T> T parse(VirtualFile file, byte[] content, Class<T> targetClass, Parser<T> parser) throws IOException, XMLStreamException {
+        Path entry = this.directory.resolve(key(targetClass, content) + SUFFIX);
+        if (Files.exists(entry)) {
+            try {
+                T result = this.read(entry, targetClass, targetClass.getClassLoader());
+                Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+                return result;
+            } catch (IOException | ClassNotFoundException | ClassCastException e) {
+                // Cache entry is corrupt or was written by an incompatible version - parse and overwrite
+                UndertowLogger.ROOT_LOGGER.debugf(e, "Discarding cached metadata %s for %s", entry, file);
+            }
+        }
+        T result = parser.parse(new ByteArrayInputStream(content));
+        this.write(entry, result);
+        return result;
+    }
+
+    private <T> T read(Path entry, Class<T> targetClass, ClassLoader loader) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream input = new FilteringObjectInputStream(Files.newInputStream(entry), loader)) {
+            return targetClass.cast(input.readObject());
+        }
+    }
+
+    private void write(Path entry, Object metaData) {
+        try {
+            // Serialize fully before touching the file system, as metadata might not be serializable
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+                output.writeObject(metaData);
+            }
+            Files.createDirectories(this.directory);
+            Path temp = Files.createTempFile(this.directory, entry.getFileName().toString(), null);
+            try {
+                try (OutputStream output = Files.newOutputStream(temp)) {
+                    bytes.writeTo(output);
+                }
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.debugf(e, "Failed to cache metadata %s", entry);
+        }
+    }
+
+    private void prune() {
+        if (Files.isDirectory(this.directory)) {
+            long threshold = System.currentTimeMillis() - RETENTION_MILLIS;
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.directory)) {
+                for (Path entry : entries) {
+                    if (Files.getLastModifiedTime(entry).toMillis() < threshold) {
+                        Files.deleteIfExists(entry);
+                    }
+                }
+            } catch (IOException e) {
+                UndertowLogger.ROOT_LOGGER.debugf(e, "Failed to prune %s", this.directory);
+            }
+        }
+    }
+
+    private static byte[] read(VirtualFile file) throws IOException {
+        try (InputStream input = file.openStream()) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read = input.read(buffer);
+            while (read >= 0) {
+                output.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static boolean containsExpressionDelimiter(byte[] content) {
+        for (byte b : content) {
+            if (b == '$') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the key of the specified archive, derived from its central directory, which contains the name, size and CRC-32 of every entry.
+     * Unlike the modification time of an archive, this survives copying, e.g. when an archive nested within a deployment is mounted.
+     * @return a key, or null, if the archive is exploded, or its central directory could not be read.
+     */
+    private static String archiveKey(VirtualFile archive, Class<?> targetClass) {
+        File source = VFSUtils.getMountSource(archive);
+        if ((source == null) || !source.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Locate the end of central directory record, which is followed by a comment of at most 64K
+            ByteBuffer tail = ByteBuffer.allocate((int) Math.min(size, END_HEADER_SIZE + 0xFFFF)).order(ByteOrder.LITTLE_ENDIAN);
+            read(channel, tail, size - tail.capacity());
+            for (int position = tail.capacity() - END_HEADER_SIZE; position >= 0; --position) {
+                if (tail.getInt(position) == END_HEADER_SIGNATURE) {
+                    long directorySize = Integer.toUnsignedLong(tail.getInt(position + 12));
+                    long directoryOffset = Integer.toUnsignedLong(tail.getInt(position + 16));
+                    // Zip64 archives are not supported
+                    if ((directorySize > Integer.MAX_VALUE) || (directoryOffset + directorySize > size)) {
+                        return null;
+                    }
+                    ByteBuffer directory = ByteBuffer.allocate((int) directorySize);
+                    read(channel, directory, directoryOffset);
+                    return key(targetClass, directory.array());
+                }
+            }
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.debugf(e, "Failed to read central directory of %s", source);
+        }
+        return null;
+    }
+
+    private static void read(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    private static String key(Class<?> targetClass, byte[] content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Include the metadata version, so that an upgrade does not reuse metadata from an older parser
+            String implementationVersion = (targetClass.getPackage() != null) ? targetClass.getPackage().getImplementationVersion() : null;
+            digest.update((targetClass.getName() + ':' + implementationVersion).getBytes(StandardCharsets.UTF_8));
+            digest.update(content);
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Restricts deserialization to metadata types, and the concrete JDK types they reference, and resolves them using the class loader of the metadata module.
+     */
+    private static class FilteringObjectInputStream extends ObjectInputStream {
+        private final ClassLoader loader;
+
+        FilteringObjectInputStream(InputStream input, ClassLoader loader) throws IOException {
+            super(input);
+            this.loader = loader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+            String name = descriptor.getName();
+            int dimensions = name.lastIndexOf('[') + 1;
+            // Arrays of primitives are always permitted
+            boolean permitted = (dimensions > 0) && (name.charAt(dimensions) != 'L');
+            String className = (dimensions > 0) ? name.substring(dimensions + 1, name.length() - 1) : name;
+            if (permitted || className.startsWith(PERMITTED_PACKAGE) || PERMITTED_CLASSES.contains(className)) {
+                return Class.forName(name, false, this.loader);
+            }
+            throw new InvalidClassException(name, "Not a metadata type");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.wildfly.extension.undertow.deployment.PrecompressedResources.PrecompressedResource;
+
+import io.undertow.server.HandlerWrapper;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.servlet.api.ServletInfo;
+import io.undertow.servlet.handlers.DefaultServlet;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import io.undertow.util.CanonicalPathUtils;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETagUtils;
+import io.undertow.util.HeaderValues;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+
+/**
+ * Handler of the default servlet that serves the precompressed variant of a static resource to clients that accept gzip encoding.
+ * Requests for which no precompressed variant exists, or that the default servlet must handle itself, e.g. range requests,
+ * or requests whose request or response were wrapped by a filter, are delegated to the default servlet.
+ */
+public class PrecompressedResourceHandler implements HttpHandler {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY = "*";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    // Init parameters of the default servlet that alter its resource resolution
+    private static final List<String> RESOLUTION_INIT_PARAMETERS = Arrays.asList("allowed-extensions", "disallowed-extensions", "default-allowed", "resolve-against-context-root");
+
+    private final HttpHandler next;
+    private final PrecompressedResources resources;
+
+    public PrecompressedResourceHandler(HttpHandler next, PrecompressedResources resources) {
+        this.next = next;
+        this.resources = resources;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        ServletRequestContext context = exchange.getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+        // Defer to default servlet if a filter wrapped the request or response
+        if ((context == null) || (context.getServletRequest() != context.getOriginalRequest()) || (context.getServletResponse() != context.getOriginalResponse())) {
+            this.next.handleRequest(exchange);
+            return;
+        }
+        this.handleRequest(exchange, context.getOriginalRequest(), context.getOriginalResponse(), context.getDeployment().getServletContext());
+    }
+
+    void handleRequest(HttpServerExchange exchange, HttpServletRequest request, HttpServletResponse response, ServletContext servletContext) throws Exception {
+        String path = getPath(exchange, request);
+        PrecompressedResource resource = (path != null) ? this.resources.getResource(path) : null;
+        if (resource == null) {
+            this.next.handleRequest(exchange);
+            return;
+        }
+        // Response varies by encoding, regardless of whether we serve the compressed variant
+        response.addHeader(Headers.VARY_STRING, Headers.ACCEPT_ENCODING_STRING);
+        if (exchange.getRequestHeaders().contains(Headers.RANGE) || !acceptsGzip(exchange.getRequestHeaders().get(Headers.ACCEPT_ENCODING))) {
+            this.next.handleRequest(exchange);
+            return;
+        }
+        String etag = resource.getETag().toString();
+        if (!isModified(exchange, resource)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(Headers.ETAG_STRING, etag);
+            return;
+        }
+        // Prevent the mapped buffers from being released while we write from them
+        long stamp = this.resources.acquire();
+        if (stamp == 0L) {
+            // Deployment is stopping
+            this.next.handleRequest(exchange);
+            return;
+        }
+        try {
+            String contentType = servletContext.getMimeType(path);
+            response.setContentType((contentType != null) ? contentType : DEFAULT_CONTENT_TYPE);
+            response.setHeader(Headers.CONTENT_ENCODING_STRING, GZIP);
+            response.setHeader(Headers.ETAG_STRING, etag);
+            if (resource.getLastModifiedString() != null) {
+                response.setHeader(Headers.LAST_MODIFIED_STRING, resource.getLastModifiedString());
+            }
+            ByteBuffer content = resource.getContent();
+            response.setContentLengthLong(content.remaining());
+            if (!Methods.HEAD.equals(exchange.getRequestMethod())) {
+                // Write mapped buffer directly, without copying into heap
+                ((ServletOutputStreamImpl) response.getOutputStream()).write(content);
+            }
+        } finally {
+            this.resources.release(stamp);
+        }
+    }
+
+    private static boolean isModified(HttpServerExchange exchange, PrecompressedResource resource) {
+        // If-Modified-Since must be ignored if If-None-Match is present, see RFC 7232 section 3.3
+        if (exchange.getRequestHeaders().contains(Headers.IF_NONE_MATCH)) {
+            return ETagUtils.handleIfNoneMatch(exchange, resource.getETag(), true);
+        }
+        return DateUtils.handleIfModifiedSince(exchange, resource.getLastModified());
+    }
+
+    private static String getPath(HttpServerExchange exchange, HttpServletRequest request) {
+        HttpString method = exchange.getRequestMethod();
+        if (!Methods.GET.equals(method) && !Methods.HEAD.equals(method)) return null;
+        if (request.getDispatcherType() != DispatcherType.REQUEST) return null;
+        // Path info is only present if the default servlet was mapped to a path prefix
+        return (request.getPathInfo() == null) ? CanonicalPathUtils.canonicalize(request.getServletPath()) : null;
+    }
+
+    static boolean acceptsGzip(HeaderValues values) {
+        if (values == null) return false;
+        boolean any = false;
+        for (String value : values) {
+            for (String element : value.split(",")) {
+                String[] parameters = element.split(";");
+                String coding = parameters[0].trim();
+                if (coding.equalsIgnoreCase(GZIP) || coding.equalsIgnoreCase(X_GZIP)) {
+                    return quality(parameters) > 0;
+                }
+                if (coding.equals(ANY)) {
+                    any = quality(parameters) > 0;
+                }
+            }
+        }
+        return any;
+    }
+
+    private static float quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; ++i) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Float.parseFloat(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Indicates whether the specified default servlet resolves resources in a way compatible with this handler.
+     * @param servlet the default servlet of a deployment
+     * @return true, if precompressed resources can be served on behalf of the specified servlet, false otherwise
+     */
+    public static boolean isSupported(ServletInfo servlet) {
+        if ((servlet == null) || (servlet.getServletClass() != DefaultServlet.class)) return false;
+        Map<String, String> parameters = servlet.getInitParams();
+        for (String parameter : RESOLUTION_INIT_PARAMETERS) {
+            if (parameters.containsKey(parameter)) return false;
+        }
+        return true;
+    }
+
+    public static HandlerWrapper wrapper(PrecompressedResources resources) {
+        return handler -> new PrecompressedResourceHandler(handler, resources);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import org.wildfly.extension.undertow.logging.UndertowLogger;
+
+import io.undertow.server.DirectByteBufferDeallocator;
+import io.undertow.server.handlers.resource.Resource;
+import io.undertow.util.DateUtils;
+import io.undertow.util.ETag;
+
+/**
+ * Gzip compressed variants of the compressible static resources of a deployment, computed once when the deployment starts.
+ * Compressed variants are written to files within the temporary directory of the deployment and memory mapped,
+ * so that they can be served without recompression, and without occupying heap.
+ * The mapped buffers are released, and their files deleted, when closed, i.e. when the deployment stops.
+ */
+public class PrecompressedResources implements Closeable {
+
+    /** Resources smaller than this are not worth compressing */
+    static final int MIN_SIZE = 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = new HashSet<>(Arrays.asList("css", "htm", "html", "js", "json", "map", "mjs", "svg", "txt"));
+
+    private final Path directory;
+    private final Map<String, PrecompressedResource> resources;
+    // Read locked while a mapped buffer is being written, write locked once closed
+    private final StampedLock lock = new StampedLock();
+
+    private PrecompressedResources(Path directory, Map<String, PrecompressedResource> resources) {
+        this.directory = directory;
+        this.resources = resources;
+    }
+
+    /**
+     * Compresses the compressible static resources of the specified resource manager.
+     * @param manager the resource manager of a deployment
+     * @param tempDir the temporary directory of a deployment
+     * @param maxSize the maximum size of a resource to compress
+     * @return the precompressed resources of a deployment
+     * @throws IOException if the temporary directory for compressed resources could not be created
+     */
+    public static PrecompressedResources create(ServletResourceManager manager, File tempDir, int maxSize) throws IOException {
+        long start = System.currentTimeMillis();
+        // Use a new directory for each deployment start, since any previous files might still be mapped
+        Path directory = Files.createTempDirectory(tempDir.toPath(), "precompressed");
+        Map<String, PrecompressedResource> resources = new HashMap<>();
+        collect(manager, "/", directory, maxSize, new HashSet<>(), resources);
+        UndertowLogger.ROOT_LOGGER.debugf("Precompressed %d static resources into %s in %d ms", resources.size(), directory, System.currentTimeMillis() - start);
+        return new PrecompressedResources(directory, Collections.unmodifiableMap(resources));
+    }
+
+    private static void collect(ServletResourceManager manager, String path, Path directory, int maxSize, Set<String> visited, Map<String, PrecompressedResource> resources) {
+        for (Resource child : manager.list(path)) {
+            String childPath = path.endsWith("/") ? path + child.getName() : path + "/" + child.getName();
+            // Overlays may list the same path more than once
+            if (!visited.add(childPath)) continue;
+            if (child.isDirectory()) {
+                if (!isProtected(childPath)) {
+                    collect(manager, childPath, directory, maxSize, visited, resources);
+                }
+            } else if (isCompressible(child.getName())) {
+                try {
+                    // Resolve effective resource, honoring the precedence of overlays
+                    Resource resource = manager.getResource(childPath);
+                    Long size = (resource != null) ? resource.getContentLength() : null;
+                    if ((size != null) && (size >= MIN_SIZE) && (size <= maxSize)) {
+                        PrecompressedResource compressed = compress(resource, size, directory.resolve(resources.size() + ".gz"));
+                        if (compressed != null) {
+                            resources.put(childPath, compressed);
+                        }
+                    }
+                } catch (IOException e) {
+                    UndertowLogger.ROOT_LOGGER.failedToPrecompressResource(e, childPath);
+                }
+            }
+        }
+    }
+
+    private static PrecompressedResource compress(Resource resource, long originalSize, Path file) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (InputStream input = resource.getUrl().openStream()) {
+            try (OutputStream output = new GZIPOutputStream(new CheckedOutputStream(Files.newOutputStream(file), checksum), BUFFER_SIZE) {
+                {
+                    // Compression cost is paid only once, so favor size over speed
+                    this.def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                byte[] buffer = new byte[BUFFER_SIZE];
+                int read = input.read(buffer);
+                while (read >= 0) {
+                    output.write(buffer, 0, read);
+                    read = input.read(buffer);
+                }
+            }
+        }
+        long size = Files.size(file);
+        // Skip resources that do not compress well
+        if (size > originalSize * 9 / 10) {
+            Files.delete(file);
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            ETag etag = new ETag(false, Long.toHexString(checksum.getValue()) + '-' + Long.toHexString(size) + "-gzip");
+            return new PrecompressedResource(content, etag, resource.getLastModified());
+        }
+    }
+
+    private static boolean isProtected(String path) {
+        String upperCasePath = path.toUpperCase(Locale.ENGLISH);
+        return upperCasePath.startsWith("/WEB-INF") || upperCasePath.startsWith("/META-INF");
+    }
+
+    private static boolean isCompressible(String name) {
+        int index = name.lastIndexOf('.');
+        return (index > 0) && COMPRESSIBLE_EXTENSIONS.contains(name.substring(index + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Returns the precompressed variant of the resource with the specified canonical path.
+     * @param path a canonical resource path
+     * @return a precompressed resource, or null, if no precompressed variant exists for the specified path
+     */
+    public PrecompressedResource getResource(String path) {
+        return this.resources.get(path);
+    }
+
+    /**
+     * Prevents the mapped buffers of these resources from being released until {@link #release(long)} is called.
+     * @return a non-zero stamp, or zero, if these resources were closed.
+     */
+    long acquire() {
+        return this.lock.tryReadLock();
+    }
+
+    /**
+     * Allows the mapped buffers of these resources to be released.
+     * @param stamp a stamp returned by {@link #acquire()}
+     */
+    void release(long stamp) {
+        this.lock.unlockRead(stamp);
+    }
+
+    /**
+     * Releases the mapped buffers of these resources, once no response is using them, and deletes their files.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.lock.isWriteLocked()) return;
+        // Never unlocked, so that subsequent requests fall through to the default servlet
+        this.lock.writeLock();
+        for (PrecompressedResource resource : this.resources.values()) {
+            DirectByteBufferDeallocator.free(resource.content);
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+            Files.delete(this.directory);
+        } catch (IOException e) {
+            UndertowLogger.ROOT_LOGGER.debugf(e, "Failed to delete %s", this.directory);
+        }
+    }
+
+    /**
+     * Returns the number of precompressed resources.
+     * @return a number of resources
+     */
+    public int size() {
+        return this.resources.size();
+    }
+
+    /**
+     * A gzip compressed variant of a static resource.
+     */
+    public static class PrecompressedResource {
+        private final ByteBuffer content;
+        private final ETag etag;
+        private final Date lastModified;
+        private final String lastModifiedString;
+
+        PrecompressedResource(ByteBuffer content, ETag etag, Date lastModified) {
+            this.content = content;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.lastModifiedString = (lastModified != null) ? DateUtils.toDateString(lastModified) : null;
+        }
+
+        /**
+         * Returns a read-only view of the compressed content, whose position is independent of any other view.
+         * @return a buffer
+         */
+        public ByteBuffer getContent() {
+            return this.content.duplicate();
+        }
+
+        public ETag getETag() {
+            return this.etag;
+        }
+
+        public Date getLastModified() {
+            return this.lastModified;
+        }
+
+        public String getLastModifiedString() {
+            return this.lastModifiedString;
+        }
+    }
+}
@@ -27,6 +27,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.jboss.vfs.VirtualFile;
 import io.undertow.server.handlers.resource.PathResourceManager;
@@ -34,6 +35,7 @@ import io.undertow.server.handlers.resource.Resource;
 import io.undertow.server.handlers.resource.ResourceChangeListener;
 import io.undertow.server.handlers.resource.ResourceManager;
 import io.undertow.util.CanonicalPathUtils;
+import io.undertow.util.LRUCache;
 
 /**
  * Resource manager that deals with overlays
@@ -43,10 +45,19 @@ import io.undertow.util.CanonicalPathUtils;
 public class ServletResourceManager implements ResourceManager {
 
     public static final int TRANSFER_MIN_SIZE = 1024 * 1024;
+    public static final int RESOLUTION_CACHE_SIZE = 1024;
+    // Marks a path that resolved to no resource
+    private static final Object NO_RESOURCE = new Object();
+
     private final PathResourceManager deploymentResourceManager;
     private final Collection<VirtualFile> overlays;
     private final ResourceManager[] externalOverlays;
     private final boolean explodedDeployment;
+    // Caches the resolution of a path, including negative lookups, or null if content may change without notification
+    private final LRUCache<String, Object> resolutionCache;
+    private final ResourceChangeListener invalidationListener;
+    // Incremented by every invalidation, so that a resolution racing with an invalidation is never cached
+    private final AtomicLong generation = new AtomicLong();
 
     public ServletResourceManager(final VirtualFile resourcesRoot, final Collection<VirtualFile> overlays,
                                   boolean explodedDeployment, boolean followSymlink, boolean disableFileWatchService,
@@ -67,10 +78,54 @@ public class ServletResourceManager implements ResourceManager {
                 this.externalOverlays[i] = pr;
             }
         }
+        // Content of exploded deployments and external overlays can change, so cache only if we are notified of changes
+        boolean notifiable = !explodedDeployment || deploymentResourceManager.isResourceChangeListenerSupported();
+        for (ResourceManager external : this.externalOverlays) {
+            notifiable &= external.isResourceChangeListenerSupported();
+        }
+        if (notifiable) {
+            this.resolutionCache = new LRUCache<>(RESOLUTION_CACHE_SIZE, -1);
+            this.invalidationListener = changes -> this.invalidate();
+            this.registerResourceChangeListener(this.invalidationListener);
+        } else {
+            this.resolutionCache = null;
+            this.invalidationListener = null;
+        }
     }
 
     @Override
     public Resource getResource(final String path) throws IOException {
+        if (resolutionCache == null) {
+            return resolveResource(path);
+        }
+        Object cached = resolutionCache.get(path);
+        if (cached != null) {
+            return (cached != NO_RESOURCE) ? (Resource) cached : null;
+        }
+        long generation = this.generation.get();
+        Resource res = resolveResource(path);
+        if (this.generation.get() == generation) {
+            resolutionCache.add(path, (res != null) ? res : NO_RESOURCE);
+            // An invalidation may have cleared the cache between the check and the add
+            if (this.generation.get() != generation) {
+                resolutionCache.remove(path);
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Discards all cached resolutions.
+     */
+    void invalidate() {
+        // Increment before clearing, so that resolutions in progress are not cached
+        generation.incrementAndGet();
+        if (resolutionCache != null) {
+            resolutionCache.clear();
+        }
+    }
+
+    Resource resolveResource(final String path) throws IOException {
         Resource res = deploymentResourceManager.getResource(path);
         if (res != null) {
             return new ServletResource(this, res);
@@ -137,6 +192,9 @@ public class ServletResourceManager implements ResourceManager {
 
     @Override
     public void close() throws IOException {
+        if (invalidationListener != null) {
+            removeResourceChangeListener(invalidationListener);
+        }
         deploymentResourceManager.close();
     }
 
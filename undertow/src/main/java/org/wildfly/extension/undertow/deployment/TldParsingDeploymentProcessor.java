@@ -23,7 +23,6 @@
 package org.wildfly.extension.undertow.deployment;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -66,6 +65,12 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
     private static final String IMPLICIT_TLD = "implicit.tld";
     private static final String RESOURCES = "resources";
 
+    private final DescriptorCache descriptorCache;
+
+    public TldParsingDeploymentProcessor(DescriptorCache descriptorCache) {
+        this.descriptorCache = descriptorCache;
+    }
+
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
@@ -129,9 +134,9 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
         List<ResourceRoot> resourceRoots = deploymentUnit.getAttachmentList(Attachments.RESOURCE_ROOTS);
         for (ResourceRoot resourceRoot : resourceRoots) {
             if (resourceRoot.getRoot().getName().toLowerCase(Locale.ENGLISH).endsWith(".jar")) {
-                VirtualFile webFragment = resourceRoot.getRoot().getChild(META_INF);
-                if (webFragment.exists() && webFragment.isDirectory()) {
-                    processTlds(deploymentRoot, webFragment.getChildren(), tlds, uniqueTlds);
+                VirtualFile archive = resourceRoot.getRoot();
+                for (Map.Entry<String, TldMetaData> entry : parseTLDs(archive).entrySet()) {
+                    addTld(deploymentRoot, archive.getChild(entry.getKey()), entry.getValue(), tlds, uniqueTlds);
                 }
             }
         }
@@ -168,11 +173,17 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
     public void undeploy(final DeploymentUnit context) {
     }
 
-    private boolean isTldFile(VirtualFile file) {
+    private static boolean isTldFile(VirtualFile file) {
         return file.isFile() && file.getName().toLowerCase(Locale.ENGLISH).endsWith(TLD);
     }
 
     private TldMetaData processTld(VirtualFile root, VirtualFile file, Map<String, TldMetaData> tlds, List<TldMetaData> uniqueTlds) throws DeploymentUnitProcessingException {
+        final TldMetaData value = parseTLD(file);
+        addTld(root, file, value, tlds, uniqueTlds);
+        return value;
+    }
+
+    private void addTld(VirtualFile root, VirtualFile file, TldMetaData value, Map<String, TldMetaData> tlds, List<TldMetaData> uniqueTlds) throws DeploymentUnitProcessingException {
         String pathNameRelativeToRoot;
 
         try {
@@ -182,15 +193,12 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
                     root.getPathName()), e);
         }
 
-        final TldMetaData value = parseTLD(file);
         String key = "/" + pathNameRelativeToRoot;
         uniqueTlds.add(value);
 
         if (!tlds.containsKey(key)) {
             tlds.put(key, value);
         }
-
-        return value;
     }
 
     private void processTlds(VirtualFile root, List<VirtualFile> files, Map<String, TldMetaData> tlds, final List<TldMetaData> uniqueTlds)
@@ -204,32 +212,63 @@ public class TldParsingDeploymentProcessor implements DeploymentUnitProcessor {
         }
     }
 
-    private TldMetaData parseTLD(VirtualFile tld)
-            throws DeploymentUnitProcessingException {
+    private static List<VirtualFile> locateTLDs(VirtualFile archive) {
+        // TLDs of a JAR are located in META-INF or any subdir
+        List<VirtualFile> result = new ArrayList<>();
+        VirtualFile metaInf = archive.getChild(META_INF);
+        if (metaInf.exists() && metaInf.isDirectory()) {
+            locateTLDs(metaInf.getChildren(), result);
+        }
+        return result;
+    }
+
+    private static void locateTLDs(List<VirtualFile> files, List<VirtualFile> result) {
+        for (VirtualFile file : files) {
+            if (isTldFile(file)) {
+                result.add(file);
+            } else if (file.isDirectory()) {
+                locateTLDs(file.getChildren(), result);
+            }
+        }
+    }
+
+    private static DescriptorCache.Parser<TldMetaData> getParser(VirtualFile tld) {
         if (IMPLICIT_TLD.equals(tld.getName())) {
             // Implicit TLDs are different from regular TLDs
-            return new TldMetaData();
+            return is -> new TldMetaData();
         }
-        InputStream is = null;
-        try {
-            is = tld.openStream();
+        return is -> {
             final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
             inputFactory.setXMLResolver(NoopXMLResolver.create());
             XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(is);
             return TldMetaDataParser.parse(xmlReader);
+        };
+    }
+
+    private Map<String, TldMetaData> parseTLDs(VirtualFile archive) throws DeploymentUnitProcessingException {
+        try {
+            return this.descriptorCache.parse(archive, TldParsingDeploymentProcessor::locateTLDs, TldMetaData.class, false, TldParsingDeploymentProcessor::getParser);
+        } catch (XMLStreamException e) {
+            throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(archive.toString(), e.getLocation().getLineNumber(),
+                    e.getLocation().getColumnNumber()), e);
+        } catch (IOException e) {
+            throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(archive.toString()), e);
+        }
+    }
+
+    private TldMetaData parseTLD(VirtualFile tld)
+            throws DeploymentUnitProcessingException {
+        if (IMPLICIT_TLD.equals(tld.getName())) {
+            // Implicit TLDs are different from regular TLDs
+            return new TldMetaData();
+        }
+        try {
+            return this.descriptorCache.parse(tld, TldMetaData.class, false, getParser(tld));
         } catch (XMLStreamException e) {
             throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(tld.toString(), e.getLocation().getLineNumber(),
                     e.getLocation().getColumnNumber()), e);
         } catch (IOException e) {
             throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(tld.toString()), e);
-        } finally {
-            try {
-                if (is != null) {
-                    is.close();
-                }
-            } catch (IOException e) {
-                // Ignore
-            }
         }
     }
 
@@ -198,6 +198,7 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     public static final String UNDERTOW = "undertow";
 
     private DeploymentInfo deploymentInfo;
+    private PrecompressedResources precompressedResources;
     private Registration registration;
 
     private final JBossWebMetaData mergedMetaData;
@@ -421,6 +422,11 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             deploymentInfo.setUseCachedAuthenticationMechanism(!deploymentInfo.getAuthenticationMechanisms().containsKey(SingleSignOnService.AUTHENTICATION_MECHANISM_NAME));
 
             this.deploymentInfo = deploymentInfo;
+        } catch (StartException | RuntimeException e) {
+            // stop() is not called if start() fails, so release any precompressed resources here
+            IoUtils.safeClose(this.precompressedResources);
+            this.precompressedResources = null;
+            throw e;
         } finally {
             Thread.currentThread().setContextClassLoader(oldTccl);
         }
@@ -439,6 +445,8 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
     @Override
     public synchronized void stop(final StopContext stopContext) {
         IoUtils.safeClose(this.deploymentInfo.getResourceManager());
+        IoUtils.safeClose(this.precompressedResources);
+        this.precompressedResources = null;
         if (securityDomain != null && !isElytronActive()) {
             AuthenticationManager authManager = securityDomainContextValue.getValue().getAuthenticationManager();
             if (authManager != null && authManager instanceof JBossCachedAuthenticationManager) {
@@ -558,13 +566,19 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
             d.setHostName(host.getValue().getName());
 
             final ServletContainerService servletContainer = container.getValue();
+            PrecompressedResources precompressedResources = null;
             try {
                 //TODO: make the caching limits configurable
                 List<String> externalOverlays = mergedMetaData.getOverlays();
 
-                ResourceManager resourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays);
+                ServletResourceManager servletResourceManager = new ServletResourceManager(deploymentRoot, overlays, explodedDeployment, mergedMetaData.isSymbolicLinkingEnabled(), servletContainer.isDisableFileWatchService(), externalOverlays);
+                // Content of exploded deployments and external resources can change, so only precompress immutable content
+                if (servletContainer.isPrecompressStaticContent() && !explodedDeployment && (externalOverlays == null || externalOverlays.isEmpty()) && (externalResources == null || externalResources.isEmpty())) {
+                    precompressedResources = PrecompressedResources.create(servletResourceManager, tempDir, servletContainer.getFileCacheMaxFileSize());
+                    this.precompressedResources = precompressedResources;
+                }
 
-                resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), resourceManager, servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive());
+                ResourceManager resourceManager = new CachingResourceManager(servletContainer.getFileCacheMetadataSize(), servletContainer.getFileCacheMaxFileSize(), servletContainer.getBufferCache(), servletResourceManager, servletContainer.getFileCacheTimeToLive() == null ? (explodedDeployment ? 2000 : -1) : servletContainer.getFileCacheTimeToLive());
                 if(externalResources != null && !externalResources.isEmpty()) {
                     //TODO: we don't cache external deployments, as they are intended for development use
                     //should be make this configurable or something?
@@ -791,6 +805,13 @@ public class UndertowDeploymentInfoService implements Service<DeploymentInfo> {
                 defaultServlet.addInitParam(DefaultServlet.DIRECTORY_LISTING, servletContainer.getDirectoryListingEnabled().toString());
             }
 
+            if (precompressedResources != null && precompressedResources.size() > 0) {
+                ServletInfo defaultServlet = d.getServlets().get(DEFAULT_SERVLET_NAME);
+                if (PrecompressedResourceHandler.isSupported(defaultServlet)) {
+                    defaultServlet.addHandlerChainWrapper(PrecompressedResourceHandler.wrapper(precompressedResources));
+                }
+            }
+
             if (mergedMetaData.getFilters() != null) {
                 for (final FilterMetaData filter : mergedMetaData.getFilters()) {
                     Class<? extends Filter> filterClass = (Class<? extends Filter>) module.getClassLoader().loadClass(filter.getFilterClass());
@@ -23,7 +23,6 @@
 package org.wildfly.extension.undertow.deployment;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -45,6 +44,7 @@ import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.web.common.WarMetaData;
 import org.jboss.metadata.parser.servlet.WebFragmentMetaDataParser;
 import org.jboss.metadata.parser.util.NoopXMLResolver;
+import org.jboss.metadata.property.PropertyReplacer;
 import org.jboss.metadata.web.spec.WebFragmentMetaData;
 import org.jboss.vfs.VirtualFile;
 import org.wildfly.extension.undertow.logging.UndertowLogger;
@@ -56,6 +56,12 @@ public class WebFragmentParsingDeploymentProcessor implements DeploymentUnitProc
 
     private static final String WEB_FRAGMENT_XML = "META-INF/web-fragment.xml";
 
+    private final DescriptorCache descriptorCache;
+
+    public WebFragmentParsingDeploymentProcessor(DescriptorCache descriptorCache) {
+        this.descriptorCache = descriptorCache;
+    }
+
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
@@ -69,19 +75,20 @@ public class WebFragmentParsingDeploymentProcessor implements DeploymentUnitProc
             webFragments = new HashMap<String, WebFragmentMetaData>();
             warMetaData.setWebFragmentsMetaData(webFragments);
         }
+        final PropertyReplacer propertyReplacer = SpecDescriptorPropertyReplacement.propertyReplacer(deploymentUnit);
+        final boolean propertyReplacement = !Boolean.FALSE.equals(deploymentUnit.getAttachment(org.jboss.as.ee.structure.Attachments.SPEC_DESCRIPTOR_PROPERTY_REPLACEMENT));
         List<ResourceRoot> resourceRoots = deploymentUnit.getAttachmentList(Attachments.RESOURCE_ROOTS);
         for (ResourceRoot resourceRoot : resourceRoots) {
             if (resourceRoot.getRoot().getName().toLowerCase(Locale.ENGLISH).endsWith(".jar")) {
                 VirtualFile webFragment = resourceRoot.getRoot().getChild(WEB_FRAGMENT_XML);
                 if (webFragment.exists() && webFragment.isFile()) {
-                    InputStream is = null;
                     try {
-                        is = webFragment.openStream();
-                        final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
-                        inputFactory.setXMLResolver(NoopXMLResolver.create());
-                        XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(is);
-
-                        WebFragmentMetaData webFragmentMetaData = WebFragmentMetaDataParser.parse(xmlReader, SpecDescriptorPropertyReplacement.propertyReplacer(deploymentUnit));
+                        WebFragmentMetaData webFragmentMetaData = this.descriptorCache.parse(webFragment, WebFragmentMetaData.class, propertyReplacement, is -> {
+                            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+                            inputFactory.setXMLResolver(NoopXMLResolver.create());
+                            XMLStreamReader xmlReader = inputFactory.createXMLStreamReader(is);
+                            return WebFragmentMetaDataParser.parse(xmlReader, propertyReplacer);
+                        });
                         webFragments.put(resourceRoot.getRootName(), webFragmentMetaData);
                         /*Log message to inform that distributable is not set in web-fragment.xml while it is set in web.xml*/
                         if (warMetaData.getWebMetaData() != null && warMetaData.getWebMetaData().getDistributable()!= null && webFragmentMetaData.getDistributable() == null)
@@ -90,14 +97,6 @@ public class WebFragmentParsingDeploymentProcessor implements DeploymentUnitProc
                         throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(webFragment.toString(), e.getLocation().getLineNumber(), e.getLocation().getColumnNumber()));
                     } catch (IOException e) {
                         throw new DeploymentUnitProcessingException(UndertowLogger.ROOT_LOGGER.failToParseXMLDescriptor(webFragment.toString()), e);
-                    } finally {
-                        try {
-                            if (is != null) {
-                                is.close();
-                            }
-                        } catch (IOException e) {
-                            // Ignore
-                        }
                     }
                 }
             }
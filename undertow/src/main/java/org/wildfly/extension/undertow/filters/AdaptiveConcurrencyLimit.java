@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that adapts to the observed round trip time of requests, using a gradient algorithm.
+ * Round trip times are averaged over short sampling windows and compared against a long-term average.
+ * While the short-term average stays within a tolerance of the long-term average, the limit grows by roughly the square root of the current limit per window.
+ * Once latency starts to rise, i.e. requests start to queue within the server, the limit shrinks proportionally.
+ */
+class AdaptiveConcurrencyLimit {
+
+    // Minimum duration and number of samples of a sampling window
+    static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    static final int WINDOW_SAMPLES = 10;
+    // Number of sampling windows over which the long-term round trip time is averaged
+    private static final int LONG_WINDOW = 600;
+    // Ratio by which the short-term round trip time may exceed the long-term average before the limit shrinks
+    private static final double TOLERANCE = 1.5;
+    // Weight of each new estimate relative to the current limit
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder windowRoundTripTime = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxActive = new AtomicInteger();
+    private final AtomicLong windowEnd;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRoundTripTime = Double.NaN;
+
+    private volatile int limit;
+
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        this.estimatedLimit = this.clamp(initialLimit);
+        this.limit = (int) this.estimatedLimit;
+        this.windowEnd = new AtomicLong(System.nanoTime() + WINDOW_NANOS);
+    }
+
+    /**
+     * Attempts to admit a request.
+     * @return true, if the request was admitted, false if the limit was reached.
+     */
+    boolean tryAcquire() {
+        int current = this.active.get();
+        while (current < this.limit) {
+            if (this.active.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = this.active.get();
+        }
+        this.rejected.increment();
+        return false;
+    }
+
+    /**
+     * Completes a previously admitted request.
+     * @param roundTripNanos the duration of the request
+     * @param active the number of active requests when the request was admitted, including itself
+     */
+    void release(long roundTripNanos, int active) {
+        this.active.decrementAndGet();
+        this.sample(System.nanoTime(), roundTripNanos, active);
+    }
+
+    void sample(long now, long roundTripNanos, int active) {
+        this.windowRoundTripTime.add(roundTripNanos);
+        this.windowSamples.increment();
+        this.windowMaxActive.accumulateAndGet(active, Math::max);
+        long end = this.windowEnd.get();
+        if ((now - end >= 0) && (this.windowSamples.sum() >= WINDOW_SAMPLES) && this.windowEnd.compareAndSet(end, now + WINDOW_NANOS)) {
+            long samples = this.windowSamples.sumThenReset();
+            long roundTripTime = this.windowRoundTripTime.sumThenReset();
+            int maxActive = this.windowMaxActive.getAndSet(0);
+            if (samples > 0) {
+                this.update((double) roundTripTime / samples, maxActive);
+            }
+        }
+    }
+
+    private synchronized void update(double shortRoundTripTime, int maxActive) {
+        double longRoundTripTime = Double.isNaN(this.longRoundTripTime) ? shortRoundTripTime : this.longRoundTripTime + (shortRoundTripTime - this.longRoundTripTime) / LONG_WINDOW;
+        // Let the long-term average recover quickly after a period of overload
+        if (longRoundTripTime > 2 * shortRoundTripTime) {
+            longRoundTripTime *= 0.95;
+        }
+        this.longRoundTripTime = longRoundTripTime;
+
+        // If the limit was not exercised during this window, latency tells us nothing about it
+        if (maxActive >= this.estimatedLimit / 2) {
+            double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRoundTripTime / shortRoundTripTime));
+            double newLimit = this.estimatedLimit * gradient + Math.sqrt(this.estimatedLimit);
+            this.estimatedLimit = this.clamp(this.estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+            this.limit = (int) this.estimatedLimit;
+        }
+    }
+
+    private double clamp(double limit) {
+        return Math.max(this.minLimit, Math.min(this.maxLimit, limit));
+    }
+
+    int getLimit() {
+        return this.limit;
+    }
+
+    int getActiveRequests() {
+        return this.active.get();
+    }
+
+    long getRejectedRequests() {
+        return this.rejected.sum();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpHandler;
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.msc.service.ServiceController;
+import org.wildfly.extension.undertow.Constants;
+import org.wildfly.extension.undertow.UndertowService;
+
+/**
+ * Request limiting filter whose concurrency limit adapts to observed request latency, rejecting excess requests with a 503.
+ * The limit is shared by every filter-ref of a given filter.
+ */
+public class AdaptiveRequestLimitDefinition extends Filter {
+
+    public static final AttributeDefinition INITIAL_LIMIT = new SimpleAttributeDefinitionBuilder("initial-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(20))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MIN_LIMIT = new SimpleAttributeDefinitionBuilder("min-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1))
+            .setRestartAllServices()
+            .build();
+
+    public static final AttributeDefinition MAX_LIMIT = new SimpleAttributeDefinitionBuilder("max-limit", ModelType.INT)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .setAllowExpression(true)
+            .setRequired(false)
+            .setDefaultValue(new ModelNode(1000))
+            .setRestartAllServices()
+            .build();
+
+    static final AttributeDefinition CURRENT_LIMIT = new SimpleAttributeDefinitionBuilder("current-limit", ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition ACTIVE_REQUESTS = new SimpleAttributeDefinitionBuilder("active-requests", ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setStorageRuntime()
+            .build();
+
+    static final AttributeDefinition REJECTED_REQUESTS = new SimpleAttributeDefinitionBuilder("rejected-requests", ModelType.LONG)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .setFlags(AttributeAccess.Flag.COUNTER_METRIC)
+            .setStorageRuntime()
+            .build();
+
+    public static final AdaptiveRequestLimitDefinition INSTANCE = new AdaptiveRequestLimitDefinition();
+
+    private AdaptiveRequestLimitDefinition() {
+        super(Constants.ADAPTIVE_REQUEST_LIMIT);
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return Arrays.asList(INITIAL_LIMIT, MIN_LIMIT, MAX_LIMIT);
+    }
+
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (AttributeDefinition metric : Arrays.asList(CURRENT_LIMIT, ACTIVE_REQUESTS, REJECTED_REQUESTS)) {
+            resourceRegistration.registerMetric(metric, ReadLimitStatisticHandler.INSTANCE);
+        }
+    }
+
+    @Override
+    protected FilterService createService(ModelNode model) {
+        return new AdaptiveRequestLimitService(this, model);
+    }
+
+    @Override
+    public Class<? extends HttpHandler> getHandlerClass() {
+        return AdaptiveRequestLimitingHandler.class;
+    }
+
+    @Override
+    public HttpHandler createHttpHandler(Predicate predicate, ModelNode model, HttpHandler next) {
+        throw new IllegalStateException(); //should not be used, as the handler is constructed by AdaptiveRequestLimitService
+    }
+
+    @Override
+    protected Class[] getConstructorSignature() {
+        throw new IllegalStateException(); //should not be used, as the handler is constructed by AdaptiveRequestLimitService
+    }
+
+    private static class ReadLimitStatisticHandler implements OperationStepHandler {
+
+        static final ReadLimitStatisticHandler INSTANCE = new ReadLimitStatisticHandler();
+
+        @Override
+        public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(UndertowService.FILTER.append(context.getCurrentAddressValue()));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return;
+            }
+            AdaptiveConcurrencyLimit limit = ((AdaptiveRequestLimitService) controller.getValue()).getLimit();
+            String name = operation.get(ModelDescriptionConstants.NAME).asString();
+            if (name.equals(CURRENT_LIMIT.getName())) {
+                context.getResult().set(limit.getLimit());
+            } else if (name.equals(ACTIVE_REQUESTS.getName())) {
+                context.getResult().set(limit.getActiveRequests());
+            } else if (name.equals(REJECTED_REQUESTS.getName())) {
+                context.getResult().set(limit.getRejectedRequests());
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import io.undertow.Handlers;
+import io.undertow.predicate.Predicate;
+import io.undertow.server.HttpHandler;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.StartContext;
+import org.jboss.msc.service.StartException;
+import org.wildfly.extension.undertow.Handler;
+
+/**
+ * Filter service whose handlers, i.e. one per filter-ref, share a single {@link AdaptiveConcurrencyLimit}.
+ */
+class AdaptiveRequestLimitService extends FilterService {
+
+    private final ModelNode model;
+    private volatile AdaptiveConcurrencyLimit limit;
+
+    AdaptiveRequestLimitService(Handler handler, ModelNode model) {
+        super(handler, model);
+        this.model = model;
+    }
+
+    @Override
+    public void start(StartContext context) throws StartException {
+        int initialLimit = this.model.get(AdaptiveRequestLimitDefinition.INITIAL_LIMIT.getName()).asInt();
+        int minLimit = this.model.get(AdaptiveRequestLimitDefinition.MIN_LIMIT.getName()).asInt();
+        int maxLimit = this.model.get(AdaptiveRequestLimitDefinition.MAX_LIMIT.getName()).asInt();
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public HttpHandler createHttpHandler(Predicate predicate, HttpHandler next) {
+        HttpHandler handler = new AdaptiveRequestLimitingHandler(this.limit, next);
+        return (predicate != null) ? Handlers.predicate(predicate, handler, next) : handler;
+    }
+
+    AdaptiveConcurrencyLimit getLimit() {
+        return this.limit;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.ResponseCodeHandler;
+
+/**
+ * Handler that rejects requests with a 503 once the number of active requests reaches an {@link AdaptiveConcurrencyLimit}.
+ * Unlike {@link io.undertow.server.handlers.RequestLimitingHandler}, excess requests are never queued.
+ */
+class AdaptiveRequestLimitingHandler implements HttpHandler {
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final HttpHandler next;
+
+    AdaptiveRequestLimitingHandler(AdaptiveConcurrencyLimit limit, HttpHandler next) {
+        this.limit = limit;
+        this.next = next;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        if (!this.limit.tryAcquire()) {
+            ResponseCodeHandler.HANDLE_503.handleRequest(exchange);
+            return;
+        }
+        int active = this.limit.getActiveRequests();
+        long start = System.nanoTime();
+        exchange.addExchangeCompleteListener((completedExchange, nextListener) -> {
+            try {
+                this.limit.release(System.nanoTime() - start, active);
+            } finally {
+                nextListener.proceed();
+            }
+        });
+        this.next.handleRequest(exchange);
+    }
+}
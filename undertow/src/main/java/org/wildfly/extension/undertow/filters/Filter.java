@@ -57,6 +57,10 @@ abstract class Filter extends AbstractHandlerDefinition {
         registerRemoveOperation(resourceRegistration, new ServiceRemoveStepHandler(UndertowService.FILTER, add), OperationEntry.Flag.RESTART_RESOURCE_SERVICES);
     }
 
+    protected FilterService createService(final ModelNode model) {
+        return new FilterService(this, model);
+    }
+
     public HttpHandler createHttpHandler(final Predicate predicate, final ModelNode model, HttpHandler next) {
         List<AttributeDefinition> attributes = new ArrayList<>(getAttributes());
         HttpHandler handler = createHandler(getHandlerClass(), model, attributes, next);
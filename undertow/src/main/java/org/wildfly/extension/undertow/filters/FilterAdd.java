@@ -29,7 +29,6 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.ServiceTarget;
-import org.wildfly.extension.undertow.Handler;
 import org.wildfly.extension.undertow.UndertowService;
 
 /**
@@ -37,18 +36,18 @@ import org.wildfly.extension.undertow.UndertowService;
  */
 class FilterAdd extends AbstractAddStepHandler {
 
-    private Handler handler;
+    private Filter filter;
 
-    FilterAdd(Handler handler) {
-        super(handler.getAttributes());
-        this.handler = handler;
+    FilterAdd(Filter filter) {
+        super(filter.getAttributes());
+        this.filter = filter;
     }
 
     @Override
     protected void performRuntime(OperationContext context, ModelNode operation, ModelNode model) throws OperationFailedException {
         final String name = context.getCurrentAddressValue();
 
-        final FilterService service = new FilterService(handler, getResolvedModel(context, model));
+        final FilterService service = filter.createService(getResolvedModel(context, model));
         final ServiceTarget target = context.getServiceTarget();
         target.addService(UndertowService.FILTER.append(name), service)
                 .setInitialMode(ServiceController.Mode.ON_DEMAND)
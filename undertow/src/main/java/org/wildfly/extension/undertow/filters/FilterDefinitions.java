@@ -52,7 +52,8 @@ public class FilterDefinitions extends PersistentResourceDefinition {
             CustomFilterDefinition.INSTANCE,
             ModClusterDefinition.INSTANCE,
             ExpressionFilterDefinition.INSTANCE,
-            RewriteFilterDefinition.INSTANCE
+            RewriteFilterDefinition.INSTANCE,
+            AdaptiveRequestLimitDefinition.INSTANCE
     ));
 
     private FilterDefinitions() {
@@ -432,4 +432,12 @@ public interface UndertowLogger extends BasicLogger {
     @LogMessage(level = INFO)
     @Message(id = 107, value = "Generated obfuscated session route '%s' from '%s'")
     void obfuscatedSessionRoute(String obfuscatedRoute, String route);
+
+    @LogMessage(level = WARN)
+    @Message(id = 108, value = "Failed to precompress static resource %s")
+    void failedToPrecompressResource(@Cause Throwable cause, String path);
+
+    @LogMessage(level = WARN)
+    @Message(id = 109, value = "Failed to write %d access log records")
+    void failedToWriteAccessLog(@Cause Throwable cause, int records);
 }
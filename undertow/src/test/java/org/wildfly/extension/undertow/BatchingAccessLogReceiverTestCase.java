@@ -0,0 +1,230 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit test for {@link BatchingAccessLogReceiver}.
+ */
+public class BatchingAccessLogReceiverTestCase {
+
+    private static final String BASE_NAME = "access_log.";
+    private static final String SUFFIX = "log";
+
+    private final CountDownLatch writerStart = new CountDownLatch(1);
+    // Delays the writer until released by the test
+    private final ThreadFactory threadFactory = task -> new Thread(() -> {
+        try {
+            if (this.writerStart.await(10, TimeUnit.SECONDS)) {
+                task.run();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    });
+    private final MutableClock clock = new MutableClock(LocalDate.of(2020, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC));
+
+    private Path directory;
+
+    @Before
+    public void init() throws IOException {
+        this.directory = Files.createTempDirectory("access-log");
+    }
+
+    @After
+    public void destroy() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(this.directory);
+    }
+
+    @Test
+    public void drainOnClose() throws IOException {
+        BatchingAccessLogReceiver receiver = new BatchingAccessLogReceiver(this.directory, BASE_NAME, SUFFIX, false, null, 10, this.threadFactory, this.clock);
+        receiver.start();
+
+        receiver.logMessage("foo");
+        receiver.logMessage("bar");
+
+        assertEquals(2, receiver.getQueuedCount());
+
+        this.writerStart.countDown();
+        receiver.close();
+
+        assertEquals(0, receiver.getQueuedCount());
+        assertEquals(2, receiver.getWrittenCount());
+        assertEquals(0, receiver.getDroppedCount());
+        assertEquals(Arrays.asList("foo", "bar"), this.read(BASE_NAME + SUFFIX));
+
+        // Records logged after close are dropped
+        receiver.logMessage("baz");
+
+        assertEquals(1, receiver.getDroppedCount());
+        assertEquals(Arrays.asList("foo", "bar"), this.read(BASE_NAME + SUFFIX));
+    }
+
+    @Test
+    public void closeAsynchronously() throws IOException, InterruptedException {
+        BatchingAccessLogReceiver receiver = new BatchingAccessLogReceiver(this.directory, BASE_NAME, SUFFIX, false, null, 10, this.threadFactory, this.clock);
+        receiver.start();
+
+        receiver.logMessage("foo");
+
+        CountDownLatch terminated = new CountDownLatch(1);
+        receiver.close(terminated::countDown);
+
+        // Close does not wait for the writer
+        assertEquals(1, terminated.getCount());
+        assertEquals(1, receiver.getQueuedCount());
+
+        this.writerStart.countDown();
+
+        assertTrue(terminated.await(10, TimeUnit.SECONDS));
+        assertEquals(1, receiver.getWrittenCount());
+        assertEquals(Collections.singletonList("foo"), this.read(BASE_NAME + SUFFIX));
+    }
+
+    @Test
+    public void dropOnFull() throws IOException {
+        BatchingAccessLogReceiver receiver = new BatchingAccessLogReceiver(this.directory, BASE_NAME, SUFFIX, false, null, 2, this.threadFactory, this.clock);
+        receiver.start();
+
+        receiver.logMessage("foo");
+        receiver.logMessage("bar");
+        // Queue is full, and the writer has not yet started
+        receiver.logMessage("baz");
+
+        assertEquals(2, receiver.getQueuedCount());
+        assertEquals(1, receiver.getDroppedCount());
+
+        this.writerStart.countDown();
+        receiver.close();
+
+        assertEquals(2, receiver.getWrittenCount());
+        assertEquals(1, receiver.getDroppedCount());
+        assertEquals(Arrays.asList("foo", "bar"), this.read(BASE_NAME + SUFFIX));
+    }
+
+    @Test
+    public void rotate() throws IOException, InterruptedException {
+        BatchingAccessLogReceiver receiver = new BatchingAccessLogReceiver(this.directory, BASE_NAME, SUFFIX, true, null, 10, this.threadFactory, this.clock);
+        receiver.start();
+        this.writerStart.countDown();
+
+        receiver.logMessage("foo");
+        this.awaitWritten(receiver, 1);
+
+        this.clock.instant = this.clock.instant.plus(1, ChronoUnit.DAYS);
+
+        receiver.logMessage("bar");
+        receiver.close();
+
+        assertEquals(2, receiver.getWrittenCount());
+        assertEquals(Collections.singletonList("foo"), this.read(BASE_NAME + "2020-01-01." + SUFFIX));
+        assertEquals(Collections.singletonList("bar"), this.read(BASE_NAME + SUFFIX));
+    }
+
+    @Test
+    public void rotateOnStart() throws IOException {
+        Path file = this.directory.resolve(BASE_NAME + SUFFIX);
+        Files.write(file, Collections.singletonList("foo"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(file, FileTime.from(this.clock.instant));
+
+        this.clock.instant = this.clock.instant.plus(1, ChronoUnit.DAYS);
+
+        BatchingAccessLogReceiver receiver = new BatchingAccessLogReceiver(this.directory, BASE_NAME, SUFFIX, true, null, 10, this.threadFactory, this.clock);
+        receiver.start();
+        this.writerStart.countDown();
+
+        receiver.logMessage("bar");
+        receiver.close();
+
+        assertEquals(Collections.singletonList("foo"), this.read(BASE_NAME + "2020-01-01." + SUFFIX));
+        assertEquals(Collections.singletonList("bar"), this.read(BASE_NAME + SUFFIX));
+    }
+
+    private List<String> read(String name) throws IOException {
+        Path file = this.directory.resolve(name);
+        assertTrue(name, Files.exists(file));
+        return Files.readAllLines(file, StandardCharsets.UTF_8);
+    }
+
+    private void awaitWritten(BatchingAccessLogReceiver receiver, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (receiver.getWrittenCount() < count) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        volatile Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return this.instant;
+        }
+    }
+}
@@ -139,11 +139,14 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                                 ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE,
                                 ServletContainerDefinition.DISABLE_FILE_WATCH_SERVICE,
                                 ServletContainerDefinition.DISABLE_SESSION_ID_REUSE,
-                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
+                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD,
+                                ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT
                                 ))
                 .addFailedAttribute(ajpAddress,
                         new FailedOperationTransformationConfig.NewAttributesConfig(
                                 ALLOW_UNESCAPED_CHARACTERS_IN_URL, RFC6265_COOKIE_VALIDATION))
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG), new FailedOperationTransformationConfig.NewAttributesConfig(AccessLogDefinition.QUEUE_SIZE))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(Constants.ADAPTIVE_REQUEST_LIMIT, "adaptive-limit"), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, Constants.CONSOLE_ACCESS_LOG)), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(subsystemAddress,
                         new FailedOperationTransformationConfig.NewAttributesConfig(UndertowRootDefinition.OBFUSCATE_SESSION_ROUTE))
@@ -181,12 +184,15 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
                                 ServletContainerDefinition.FILE_CACHE_MAX_FILE_SIZE,
                                 ServletContainerDefinition.FILE_CACHE_METADATA_SIZE,
                                 ServletContainerDefinition.FILE_CACHE_TIME_TO_LIVE,
-                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
+                                ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD,
+                                ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT
                         )
                 )
                 .addFailedAttribute(ajpAddress,
                         new FailedOperationTransformationConfig.NewAttributesConfig(
                                 ALLOW_UNESCAPED_CHARACTERS_IN_URL))
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG), new FailedOperationTransformationConfig.NewAttributesConfig(AccessLogDefinition.QUEUE_SIZE))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(Constants.ADAPTIVE_REQUEST_LIMIT, "adaptive-limit"), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, Constants.CONSOLE_ACCESS_LOG)), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_APPLICATION_SECURITY_DOMAIN).append(UndertowExtension.PATH_SSO),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
@@ -205,10 +211,13 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
         PathAddress servletContainer = subsystemAddress.append(UndertowExtension.PATH_SERVLET_CONTAINER);
 
         doRejectTest(ModelTestControllerVersion.EAP_7_2_0, EAP7_2_0, new FailedOperationTransformationConfig()
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG), new FailedOperationTransformationConfig.NewAttributesConfig(AccessLogDefinition.QUEUE_SIZE))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(Constants.ADAPTIVE_REQUEST_LIMIT, "adaptive-limit"), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, Constants.CONSOLE_ACCESS_LOG)), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(servletContainer,
                          new FailedOperationTransformationConfig.NewAttributesConfig(
-                                 ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD
+                                 ServletContainerDefinition.PRESERVE_PATH_ON_FORWARD,
+                                 ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT
                          ))
                 .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_APPLICATION_SECURITY_DOMAIN).append(UndertowExtension.PATH_SSO),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
@@ -222,8 +231,13 @@ public class UndertowTransformersTestCase extends AbstractSubsystemTest {
         final PathAddress subsystemAddress = PathAddress.pathAddress(UndertowExtension.SUBSYSTEM_PATH);
         final PathAddress serverAddress = subsystemAddress.append(UndertowExtension.SERVER_PATH);
         final PathAddress hostAddress = serverAddress.append(UndertowExtension.HOST_PATH);
+        final PathAddress servletContainer = subsystemAddress.append(UndertowExtension.PATH_SERVLET_CONTAINER);
 
         doRejectTest(ModelTestControllerVersion.EAP_7_3_0, EAP7_3_0, new FailedOperationTransformationConfig()
+                .addFailedAttribute(servletContainer,
+                        new FailedOperationTransformationConfig.NewAttributesConfig(ServletContainerDefinition.PRECOMPRESS_STATIC_CONTENT))
+                .addFailedAttribute(hostAddress.append(UndertowExtension.PATH_ACCESS_LOG), new FailedOperationTransformationConfig.NewAttributesConfig(AccessLogDefinition.QUEUE_SIZE))
+                .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_FILTERS).append(Constants.ADAPTIVE_REQUEST_LIMIT, "adaptive-limit"), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(hostAddress.append(PathElement.pathElement(Constants.SETTING, "console-access-log")), FailedOperationTransformationConfig.REJECTED_RESOURCE)
                 .addFailedAttribute(subsystemAddress.append(UndertowExtension.PATH_APPLICATION_SECURITY_DOMAIN).append(UndertowExtension.PATH_SSO),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE)
@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.metadata.parser.jsp.TldMetaDataParser;
+import org.jboss.metadata.parser.util.NoopXMLResolver;
+import org.jboss.metadata.web.spec.TldMetaData;
+import org.jboss.vfs.TempFileProvider;
+import org.jboss.vfs.VFS;
+import org.jboss.vfs.VirtualFile;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for {@link DescriptorCache}.
+ */
+public class DescriptorCacheTestCase {
+
+    private static final String TLD = "<taglib xmlns=\"http://java.sun.com/xml/ns/javaee\" version=\"2.1\">"
+            + "<tlib-version>%s</tlib-version><short-name>test</short-name><uri>http://wildfly.org/test</uri>"
+            + "</taglib>";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    public void test() throws IOException, XMLStreamException {
+        Path cacheDirectory = this.folder.newFolder("cache").toPath();
+        VirtualFile tld = this.createTld("1.0");
+
+        TldMetaData metaData = new DescriptorCache(cacheDirectory).parse(tld, TldMetaData.class, false, this::parse);
+        Assert.assertEquals(1, this.parsed.get());
+        Assert.assertEquals("1.0", metaData.getTlibVersion());
+
+        // Simulate restart
+        TldMetaData cached = new DescriptorCache(cacheDirectory).parse(tld, TldMetaData.class, false, this::parse);
+        Assert.assertEquals(1, this.parsed.get());
+        Assert.assertNotSame(metaData, cached);
+        Assert.assertEquals("1.0", cached.getTlibVersion());
+        Assert.assertEquals("http://wildfly.org/test", cached.getUri());
+
+        // Modified descriptor must be parsed
+        tld = this.createTld("2.0");
+        TldMetaData modified = new DescriptorCache(cacheDirectory).parse(tld, TldMetaData.class, false, this::parse);
+        Assert.assertEquals(2, this.parsed.get());
+        Assert.assertEquals("2.0", modified.getTlibVersion());
+    }
+
+    @Test
+    public void archive() throws IOException, XMLStreamException {
+        Path cacheDirectory = this.folder.newFolder("cache").toPath();
+        AtomicInteger located = new AtomicInteger();
+        Function<VirtualFile, List<VirtualFile>> locator = archive -> {
+            located.incrementAndGet();
+            return archive.getChild("META-INF").getChildren();
+        };
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try (TempFileProvider provider = TempFileProvider.create("test", executor)) {
+            File jar = this.createJar("1.0");
+
+            Map<String, TldMetaData> metaData = this.parse(new DescriptorCache(cacheDirectory), jar, locator, provider);
+            Assert.assertEquals(1, this.parsed.get());
+            Assert.assertEquals(1, located.get());
+            Assert.assertEquals(Collections.singleton("META-INF/test.tld"), metaData.keySet());
+            Assert.assertEquals("1.0", metaData.get("META-INF/test.tld").getTlibVersion());
+
+            // Simulate redeployment, which mounts a new copy of the archive
+            Map<String, TldMetaData> cached = this.parse(new DescriptorCache(cacheDirectory), jar, locator, provider);
+            Assert.assertEquals(1, this.parsed.get());
+            Assert.assertEquals(1, located.get());
+            Assert.assertNotSame(metaData.get("META-INF/test.tld"), cached.get("META-INF/test.tld"));
+            Assert.assertEquals("1.0", cached.get("META-INF/test.tld").getTlibVersion());
+
+            // Modified archive must be scanned
+            jar = this.createJar("2.0");
+            Map<String, TldMetaData> modified = this.parse(new DescriptorCache(cacheDirectory), jar, locator, provider);
+            Assert.assertEquals(2, this.parsed.get());
+            Assert.assertEquals(2, located.get());
+            Assert.assertEquals("2.0", modified.get("META-INF/test.tld").getTlibVersion());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void expressions() throws IOException, XMLStreamException {
+        DescriptorCache cache = new DescriptorCache(this.folder.newFolder("cache").toPath());
+        VirtualFile tld = this.createTld("${tlib.version:1.0}");
+
+        cache.parse(tld, TldMetaData.class, true, this::parse);
+        cache.parse(tld, TldMetaData.class, true, this::parse);
+        Assert.assertEquals(2, this.parsed.get());
+
+        cache.parse(tld, TldMetaData.class, false, this::parse);
+        cache.parse(tld, TldMetaData.class, false, this::parse);
+        Assert.assertEquals(3, this.parsed.get());
+    }
+
+    @Test
+    public void disabled() throws IOException, XMLStreamException {
+        DescriptorCache cache = new DescriptorCache(null);
+        VirtualFile tld = this.createTld("1.0");
+
+        cache.parse(tld, TldMetaData.class, false, this::parse);
+        cache.parse(tld, TldMetaData.class, false, this::parse);
+        Assert.assertEquals(2, this.parsed.get());
+    }
+
+    private TldMetaData parse(InputStream input) throws XMLStreamException {
+        this.parsed.incrementAndGet();
+        XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+        inputFactory.setXMLResolver(NoopXMLResolver.create());
+        return TldMetaDataParser.parse(inputFactory.createXMLStreamReader(input));
+    }
+
+    private Map<String, TldMetaData> parse(DescriptorCache cache, File jar, Function<VirtualFile, List<VirtualFile>> locator, TempFileProvider provider) throws IOException, XMLStreamException {
+        VirtualFile archive = VFS.getChild(jar.getAbsolutePath());
+        try (Closeable mount = VFS.mountZip(archive, archive, provider)) {
+            return cache.parse(archive, locator, TldMetaData.class, false, file -> this::parse);
+        }
+    }
+
+    private File createJar(String version) throws IOException {
+        File file = new File(this.folder.getRoot(), "test.jar");
+        try (OutputStream output = Files.newOutputStream(file.toPath()); ZipOutputStream zip = new ZipOutputStream(output)) {
+            zip.putNextEntry(new ZipEntry("META-INF/test.tld"));
+            zip.write(String.format(TLD, version).getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return file;
+    }
+
+    private VirtualFile createTld(String version) throws IOException {
+        File file = new File(this.folder.getRoot(), "test.tld");
+        Files.write(file.toPath(), String.format(TLD, version).getBytes(StandardCharsets.UTF_8));
+        return VFS.getChild(file.getAbsolutePath());
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Date;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.servlet.api.Deployment;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.HttpServletRequestImpl;
+import io.undertow.servlet.spec.HttpServletResponseImpl;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import io.undertow.util.DateUtils;
+import io.undertow.util.HeaderMap;
+import io.undertow.util.Headers;
+import io.undertow.util.HttpString;
+import io.undertow.util.Methods;
+import org.jboss.vfs.VFS;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.wildfly.extension.undertow.deployment.PrecompressedResources.PrecompressedResource;
+
+/**
+ * Unit test for {@link PrecompressedResourceHandler} and {@link PrecompressedResources}.
+ * Requests are handled on behalf of mocked servlet API objects, except for those the handler must delegate based on its {@link ServletRequestContext}.
+ */
+public class PrecompressedResourceHandlerTestCase {
+
+    private static final String PATH = "/app.js";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    private final ServletContext servletContext = mock(ServletContext.class);
+    private final ServletOutputStreamImpl output = mock(ServletOutputStreamImpl.class);
+    private final HttpHandler next = mock(HttpHandler.class);
+
+    private byte[] content;
+    private ServletResourceManager manager;
+    private PrecompressedResources resources;
+    private PrecompressedResourceHandler handler;
+
+    @Before
+    public void init() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; ++i) {
+            builder.append("function f").append(i).append("() { return ").append(i).append("; }\n");
+        }
+        this.content = builder.toString().getBytes(StandardCharsets.UTF_8);
+        File root = this.folder.newFolder("root");
+        Files.write(new File(root, PATH.substring(1)).toPath(), this.content);
+        // Too small to be worth compressing
+        Files.write(new File(root, "small.js").toPath(), "var x;".getBytes(StandardCharsets.UTF_8));
+        // Not compressible
+        Files.write(new File(root, "image.png").toPath(), this.content);
+
+        this.manager = new ServletResourceManager(VFS.getChild(root.getAbsolutePath()), Collections.emptyList(), false, false, true, null);
+        this.resources = PrecompressedResources.create(this.manager, this.folder.newFolder("tmp"), Integer.MAX_VALUE);
+        this.handler = new PrecompressedResourceHandler(this.next, this.resources);
+
+        when(this.servletContext.getMimeType(PATH)).thenReturn("application/javascript");
+        when(this.request.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+        when(this.request.getServletPath()).thenReturn(PATH);
+        when(this.response.getOutputStream()).thenReturn(this.output);
+    }
+
+    @After
+    public void destroy() throws IOException {
+        this.resources.close();
+        this.manager.close();
+    }
+
+    @Test
+    public void resources() {
+        Assert.assertEquals(1, this.resources.size());
+        Assert.assertNotNull(this.resources.getResource(PATH));
+        Assert.assertNull(this.resources.getResource("/small.js"));
+        Assert.assertNull(this.resources.getResource("/image.png"));
+    }
+
+    @Test
+    public void acceptEncoding() {
+        Assert.assertFalse(acceptsGzip());
+        Assert.assertTrue(acceptsGzip("gzip"));
+        Assert.assertTrue(acceptsGzip("GZIP"));
+        Assert.assertTrue(acceptsGzip("x-gzip"));
+        Assert.assertTrue(acceptsGzip("deflate, gzip;q=0.5"));
+        Assert.assertTrue(acceptsGzip("deflate", "gzip; q=0.001"));
+        Assert.assertFalse(acceptsGzip("gzip;q=0"));
+        Assert.assertFalse(acceptsGzip("gzip;q=0.0, deflate"));
+        Assert.assertFalse(acceptsGzip("gzip;q=invalid"));
+        Assert.assertFalse(acceptsGzip("identity, deflate"));
+        Assert.assertTrue(acceptsGzip("*"));
+        Assert.assertTrue(acceptsGzip("deflate, *;q=0.1"));
+        Assert.assertFalse(acceptsGzip("*;q=0"));
+        // An explicit coding takes precedence over the wildcard
+        Assert.assertFalse(acceptsGzip("gzip;q=0, *"));
+        Assert.assertTrue(acceptsGzip("*;q=0, gzip"));
+    }
+
+    private static boolean acceptsGzip(String... values) {
+        HeaderMap headers = new HeaderMap();
+        for (String value : values) {
+            headers.add(Headers.ACCEPT_ENCODING, value);
+        }
+        return PrecompressedResourceHandler.acceptsGzip(headers.get(Headers.ACCEPT_ENCODING));
+    }
+
+    @Test
+    public void get() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+
+        this.handle(exchange);
+
+        verify(this.next, never()).handleRequest(exchange);
+        PrecompressedResource resource = this.resources.getResource(PATH);
+        verify(this.response).addHeader(Headers.VARY_STRING, Headers.ACCEPT_ENCODING_STRING);
+        verify(this.response).setContentType("application/javascript");
+        verify(this.response).setHeader(Headers.CONTENT_ENCODING_STRING, "gzip");
+        verify(this.response).setHeader(Headers.ETAG_STRING, resource.getETag().toString());
+        verify(this.response).setHeader(Headers.LAST_MODIFIED_STRING, resource.getLastModifiedString());
+        ArgumentCaptor<ByteBuffer> captor = ArgumentCaptor.forClass(ByteBuffer.class);
+        verify(this.output).write(captor.capture());
+        ByteBuffer buffer = captor.getValue();
+        verify(this.response).setContentLengthLong(buffer.remaining());
+        Assert.assertTrue(buffer.remaining() < this.content.length);
+        byte[] compressed = new byte[buffer.remaining()];
+        buffer.get(compressed);
+        Assert.assertArrayEquals(this.content, decompress(compressed));
+    }
+
+    @Test
+    public void head() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.HEAD);
+
+        this.handle(exchange);
+
+        verify(this.next, never()).handleRequest(exchange);
+        verify(this.response).setHeader(Headers.CONTENT_ENCODING_STRING, "gzip");
+        verify(this.response).setContentLengthLong(this.resources.getResource(PATH).getContent().remaining());
+        verify(this.output, never()).write(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void post() throws Exception {
+        this.assertDelegated(createExchange(Methods.POST));
+    }
+
+    @Test
+    public void range() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        exchange.getRequestHeaders().put(Headers.RANGE, "bytes=0-99");
+
+        this.assertDelegated(exchange);
+        // Response still varies by encoding
+        verify(this.response).addHeader(Headers.VARY_STRING, Headers.ACCEPT_ENCODING_STRING);
+    }
+
+    @Test
+    public void notAccepted() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, "gzip;q=0");
+
+        this.assertDelegated(exchange);
+    }
+
+    @Test
+    public void notPrecompressed() throws Exception {
+        when(this.request.getServletPath()).thenReturn("/small.js");
+
+        this.assertDelegated(createExchange(Methods.GET));
+    }
+
+    @Test
+    public void noContext() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+
+        PrecompressedResourceHandler.wrapper(this.resources).wrap(this.next).handleRequest(exchange);
+
+        verify(this.next).handleRequest(exchange);
+    }
+
+    @Test
+    public void wrappedRequest() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        ServletRequestContext context = createContext(exchange);
+        context.setServletRequest(new HttpServletRequestWrapper(context.getOriginalRequest()));
+
+        this.assertContextDelegated(exchange);
+    }
+
+    @Test
+    public void wrappedResponse() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        ServletRequestContext context = createContext(exchange);
+        context.setServletResponse(new HttpServletResponseWrapper(context.getOriginalResponse()));
+
+        this.assertContextDelegated(exchange);
+    }
+
+    @Test
+    public void forward() throws Exception {
+        when(this.request.getDispatcherType()).thenReturn(DispatcherType.FORWARD);
+
+        this.assertDelegated(createExchange(Methods.GET));
+    }
+
+    @Test
+    public void ifNoneMatch() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        exchange.getRequestHeaders().put(Headers.IF_NONE_MATCH, this.resources.getResource(PATH).getETag().toString());
+
+        this.assertNotModified(exchange);
+    }
+
+    @Test
+    public void ifModifiedSince() throws Exception {
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        exchange.getRequestHeaders().put(Headers.IF_MODIFIED_SINCE, DateUtils.toDateString(new Date(System.currentTimeMillis() + 3600000L)));
+
+        this.assertNotModified(exchange);
+    }
+
+    @Test
+    public void ifNoneMatchPrecedesIfModifiedSince() throws Exception {
+        // If-Modified-Since is ignored in the presence of If-None-Match, per RFC 7232 section 3.3
+        HttpServerExchange exchange = createExchange(Methods.GET);
+        exchange.getRequestHeaders().put(Headers.IF_NONE_MATCH, "\"other\"");
+        exchange.getRequestHeaders().put(Headers.IF_MODIFIED_SINCE, DateUtils.toDateString(new Date(System.currentTimeMillis() + 3600000L)));
+
+        this.handle(exchange);
+
+        verify(this.next, never()).handleRequest(exchange);
+        verify(this.response, never()).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(this.output).write(any(ByteBuffer.class));
+    }
+
+    @Test
+    public void closed() throws Exception {
+        this.resources.close();
+        // Close is idempotent
+        this.resources.close();
+
+        this.assertDelegated(createExchange(Methods.GET));
+        // Compressed files were deleted
+        try (Stream<Path> files = Files.list(new File(this.folder.getRoot(), "tmp").toPath())) {
+            Assert.assertEquals(0, files.count());
+        }
+    }
+
+    private void handle(HttpServerExchange exchange) throws Exception {
+        this.handler.handleRequest(exchange, this.request, this.response, this.servletContext);
+    }
+
+    private static HttpServerExchange createExchange(HttpString method) {
+        HttpServerExchange exchange = new HttpServerExchange(null);
+        exchange.setRequestMethod(method);
+        exchange.getRequestHeaders().put(Headers.ACCEPT_ENCODING, "gzip, deflate");
+        return exchange;
+    }
+
+    private static ServletRequestContext createContext(HttpServerExchange exchange) {
+        ServletRequestContext context = new ServletRequestContext(mock(Deployment.class), new HttpServletRequestImpl(exchange, null), new HttpServletResponseImpl(exchange, null), null);
+        exchange.putAttachment(ServletRequestContext.ATTACHMENT_KEY, context);
+        return context;
+    }
+
+    private void assertContextDelegated(HttpServerExchange exchange) throws Exception {
+        this.handler.handleRequest(exchange);
+
+        verify(this.next).handleRequest(exchange);
+        Assert.assertFalse(exchange.getResponseHeaders().contains(Headers.CONTENT_ENCODING));
+        Assert.assertFalse(exchange.getResponseHeaders().contains(Headers.VARY));
+    }
+
+    private void assertDelegated(HttpServerExchange exchange) throws Exception {
+        this.handle(exchange);
+
+        verify(this.next).handleRequest(exchange);
+        verify(this.response, never()).setHeader(eq(Headers.CONTENT_ENCODING_STRING), anyString());
+        verify(this.response, never()).setContentLengthLong(anyLong());
+        verify(this.output, never()).write(any(ByteBuffer.class));
+    }
+
+    private void assertNotModified(HttpServerExchange exchange) throws Exception {
+        this.handle(exchange);
+
+        verify(this.next, never()).handleRequest(exchange);
+        verify(this.response).setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        verify(this.response).setHeader(Headers.ETAG_STRING, this.resources.getResource(PATH).getETag().toString());
+        verify(this.output, never()).write(any(ByteBuffer.class));
+    }
+
+    private static byte[] decompress(byte[] compressed) throws IOException {
+        try (InputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read = input.read(buffer);
+            while (read >= 0) {
+                output.write(buffer, 0, read);
+                read = input.read(buffer);
+            }
+            return output.toByteArray();
+        }
+    }
+}
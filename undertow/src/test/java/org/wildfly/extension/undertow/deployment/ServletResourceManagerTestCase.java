@@ -0,0 +1,122 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.deployment;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+
+import io.undertow.server.handlers.resource.Resource;
+import org.jboss.vfs.VFS;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit test for the path resolution cache of {@link ServletResourceManager}.
+ */
+public class ServletResourceManagerTestCase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void positive() throws IOException {
+        File file = this.folder.newFile("index.html");
+        try (ServletResourceManager manager = this.createResourceManager()) {
+            Resource resource = manager.getResource("/index.html");
+            Assert.assertNotNull(resource);
+            Assert.assertSame(resource, manager.getResource("/index.html"));
+
+            // Cached resolution does not consult the file system
+            Files.delete(file.toPath());
+            Assert.assertSame(resource, manager.getResource("/index.html"));
+
+            manager.invalidate();
+            Assert.assertNull(manager.getResource("/index.html"));
+        }
+    }
+
+    @Test
+    public void negative() throws IOException {
+        try (ServletResourceManager manager = this.createResourceManager()) {
+            Assert.assertNull(manager.getResource("/rest/resource"));
+
+            // Cached negative resolution does not consult the file system
+            this.createFile("rest/resource");
+            Assert.assertNull(manager.getResource("/rest/resource"));
+
+            manager.invalidate();
+            Resource resource = manager.getResource("/rest/resource");
+            Assert.assertNotNull(resource);
+            Assert.assertSame(resource, manager.getResource("/rest/resource"));
+        }
+    }
+
+    @Test
+    public void concurrentInvalidation() throws IOException {
+        File file = this.folder.newFile("index.html");
+        File root = this.folder.getRoot();
+        // Simulates an invalidation, e.g. a file system change notification, while a path is being resolved
+        try (ServletResourceManager manager = new ServletResourceManager(VFS.getChild(root.getAbsolutePath()), Collections.emptyList(), false, false, true, null) {
+            @Override
+            Resource resolveResource(String path) throws IOException {
+                Resource resource = super.resolveResource(path);
+                this.invalidate();
+                return resource;
+            }
+        }) {
+            Assert.assertNotNull(manager.getResource("/index.html"));
+
+            // Resolution racing with an invalidation must not be cached
+            Files.delete(file.toPath());
+            Assert.assertNull(manager.getResource("/index.html"));
+        }
+    }
+
+    @Test
+    public void disabled() throws IOException {
+        File file = this.folder.newFile("index.html");
+        // Content of an exploded deployment can change without notification if the file watch service is disabled
+        try (ServletResourceManager manager = new ServletResourceManager(VFS.getChild(this.folder.getRoot().getAbsolutePath()), Collections.emptyList(), true, false, true, null)) {
+            Assert.assertNotNull(manager.getResource("/index.html"));
+
+            Files.delete(file.toPath());
+            Assert.assertNull(manager.getResource("/index.html"));
+        }
+    }
+
+    private ServletResourceManager createResourceManager() throws IOException {
+        // Non-exploded deployments cannot change, so resolutions are cached regardless of the file watch service
+        return new ServletResourceManager(VFS.getChild(this.folder.getRoot().getAbsolutePath()), Collections.emptyList(), false, false, true, null);
+    }
+
+    private void createFile(String path) throws IOException {
+        File file = new File(this.folder.getRoot(), path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), "test".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2021, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.undertow.filters;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit test for {@link AdaptiveConcurrencyLimit}.
+ */
+public class AdaptiveConcurrencyLimitTestCase {
+
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    public void acquire() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, limit.getActiveRequests());
+        assertEquals(1L, limit.getRejectedRequests());
+
+        limit.release(ROUND_TRIP_NANOS, 2);
+
+        assertEquals(1, limit.getActiveRequests());
+        assertTrue(limit.tryAcquire());
+        assertEquals(1L, limit.getRejectedRequests());
+    }
+
+    @Test
+    public void grow() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+        long now = System.nanoTime();
+        // Latency remains stable while the limit is fully exercised
+        for (int i = 0; i < 200; ++i) {
+            now = this.window(limit, now, ROUND_TRIP_NANOS, limit.getLimit());
+        }
+        assertEquals(100, limit.getLimit());
+    }
+
+    @Test
+    public void shrink() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 10, 100);
+        long now = System.nanoTime();
+        now = this.window(limit, now, ROUND_TRIP_NANOS, 100);
+        assertEquals(100, limit.getLimit());
+        // Latency quadruples, i.e. requests are queueing
+        for (int i = 0; i < 50; ++i) {
+            now = this.window(limit, now, 4 * ROUND_TRIP_NANOS, limit.getLimit());
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    public void idle() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 100);
+        long now = System.nanoTime();
+        // Limit is not exercised, so it should not change, regardless of latency
+        for (int i = 0; i < 20; ++i) {
+            now = this.window(limit, now, (i + 1) * ROUND_TRIP_NANOS, 2);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    private long window(AdaptiveConcurrencyLimit limit, long now, long roundTripNanos, int active) {
+        long end = now + AdaptiveConcurrencyLimit.WINDOW_NANOS;
+        for (int i = 0; i < AdaptiveConcurrencyLimit.WINDOW_SAMPLES; ++i) {
+            limit.sample(end, roundTripNanos, active);
+        }
+        return end;
+    }
+}